@@ -0,0 +1,134 @@
+package com.phenix.timecode;
+
+import com.phenix.timecode.exceptions.TimecodeRuntimeException;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Conversion exacte (SMPTE ST 12-1) entre un nombre d'images et le label d'un
+ * timecode ("<em>HH:mm:ss;ii</em>"), en temps constant.<br>
+ * En drop-frame, les labels des {@code n} premières images de chaque minute
+ * sont sautés, sauf toutes les 10 minutes ({@code n} vaut 2 en 29,97is et 4
+ * en 59,94is). Avec {@code n} à 0, les mêmes formules donnent la conversion
+ * non drop-frame : il n'y a donc pas de cas particulier.<br>
+ * Les labels sont ceux de {@link TimecodeParser}.
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public final class DropFrame {
+
+    /**
+     * Classe utilitaire.
+     */
+    private DropFrame() {
+    }
+
+    /**
+     * Retourne le nombre d'images sautées par minute pour un framerate.
+     *
+     * @param framerate Le framerate.
+     * @return 2 en 29,97is DF, 4 en 59,94is DF, 0 si le framerate n'est pas
+     * drop-frame.
+     */
+    public static int imageSauteeParMinute(@NotNull Framerate framerate) {
+        return framerate.getImageSautee();
+    }
+
+    /**
+     * Retourne le nombre d'images sautées par minute pour un timecode
+     * drop-frame.
+     *
+     * @param image_par_seconde Nombre d'images par seconde du timecode (30 ou
+     * 60).
+     * @return Le nombre d'images sautées, 0 si le drop-frame n'existe pas pour
+     * ce nombre d'images par seconde.
+     */
+    public static int imageSauteeParMinute(int image_par_seconde) {
+        return (image_par_seconde % 30 == 0) ? image_par_seconde / 15 : 0;
+    }
+
+    /**
+     * Retourne le nombre d'images d'un label.
+     *
+     * @param label Le label.
+     * @param framerate Le framerate.
+     * @return Le nombre d'images depuis "<em>00:00:00:00</em>".
+     */
+    public static long toImage(long label, @NotNull Framerate framerate) {
+        return toImage(TimecodeParser.heure(label), TimecodeParser.minute(label), TimecodeParser.seconde(label), TimecodeParser.image(label), framerate.getImageParSeconde(), imageSauteeParMinute(framerate));
+    }
+
+    /**
+     * Retourne le nombre d'images d'un timecode.
+     *
+     * @param heure Heure du timecode.
+     * @param minute Minute du timecode.
+     * @param seconde Seconde du timecode.
+     * @param image Image du timecode.
+     * @param framerate Le framerate.
+     * @return Le nombre d'images depuis "<em>00:00:00:00</em>".
+     */
+    public static long toImage(int heure, int minute, int seconde, int image, @NotNull Framerate framerate) {
+        return toImage(heure, minute, seconde, image, framerate.getImageParSeconde(), imageSauteeParMinute(framerate));
+    }
+
+    /**
+     * Retourne le nombre d'images d'un timecode.
+     *
+     * @param heure Heure du timecode.
+     * @param minute Minute du timecode.
+     * @param seconde Seconde du timecode.
+     * @param image Image du timecode.
+     * @param image_par_seconde Nombre d'images par seconde du timecode.
+     * @param image_sautee Nombre d'images sautées par minute (0 en non
+     * drop-frame).
+     * @return Le nombre d'images depuis "<em>00:00:00:00</em>".
+     */
+    public static long toImage(int heure, int minute, int seconde, int image, int image_par_seconde, int image_sautee) {
+        long minutes = 60L * heure + minute;
+
+        return (minutes * 60 + seconde) * image_par_seconde + image - image_sautee * (minutes - minutes / 10);
+    }
+
+    /**
+     * Retourne le label d'un nombre d'images.
+     *
+     * @param nombre_image Le nombre d'images depuis "<em>00:00:00:00</em>".
+     * @param framerate Le framerate.
+     * @return Le label (avec l'indicateur drop-frame du framerate).
+     */
+    public static long toLabel(long nombre_image, @NotNull Framerate framerate) {
+        return toLabel(nombre_image, framerate.getImageParSeconde(), imageSauteeParMinute(framerate));
+    }
+
+    /**
+     * Retourne le label d'un nombre d'images.
+     *
+     * @param nombre_image Le nombre d'images depuis "<em>00:00:00:00</em>".
+     * @param image_par_seconde Nombre d'images par seconde du timecode.
+     * @param image_sautee Nombre d'images sautées par minute (0 en non
+     * drop-frame).
+     * @return Le label (drop-frame si {@code image_sautee} n'est pas 0).
+     */
+    public static long toLabel(long nombre_image, int image_par_seconde, int image_sautee) {
+        if (nombre_image < 0) {
+            throw new TimecodeRuntimeException("Le nombre d'images ne peut pas être négatif : " + nombre_image);
+        }
+
+        long image_par_minute = 60L * image_par_seconde - image_sautee;
+        long image_par_10_minutes = 600L * image_par_seconde - 9L * image_sautee;
+
+        // Remet les labels sautés : 9 minutes par dizaine complète, puis une
+        // par minute commencée après la première de la dizaine. Pour les
+        // premières images de la dizaine, (reste - image_sautee) est négatif
+        // mais plus petit qu'une minute : la division donne 0.
+        long reste = nombre_image % image_par_10_minutes;
+        long label = nombre_image
+                + 9L * image_sautee * (nombre_image / image_par_10_minutes)
+                + image_sautee * ((reste - image_sautee) / image_par_minute);
+
+        long secondes = label / image_par_seconde;
+        long minutes = secondes / 60;
+
+        return TimecodeParser.pack((int) (minutes / 60), (int) (minutes % 60), (int) (secondes % 60), (int) (label % image_par_seconde), image_sautee != 0);
+    }
+}
@@ -4,7 +4,13 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Null;
 
 /**
- * Liste les différents framerates.
+ * Liste les différents framerates.<br>
+ * Chaque framerate est décrit par une fraction exacte
+ * ({@link #getNumerateur()} / {@link #getDenominateur()}, par exemple
+ * <em>24000/1001</em> pour du 23,976is) et garde les constantes utiles aux
+ * calculs de timecode (images par seconde, par minute, par heure...).<br>
+ * L'ordre des constantes ne doit pas changer : {@link #ordinal()} est stocké
+ * par {@link PackedTimecode}. Les nouveaux framerates sont ajoutés à la fin.
  *
  * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
  */
@@ -13,66 +19,148 @@ public enum Framerate {
     /**
      * Framerate 23,976is.
      */
-    F23976(23.976D, false),
+    F23976(23.976D, 24000, 1001, false),
     /**
      * Framerate 24is (cinéma/Blu-ray).
      */
-    F24(24D, false),
+    F24(24D, 24, 1, false),
     /**
      * Framerate 25is (PAL TV).
      */
-    F25(25D, false),
+    F25(25D, 25, 1, false),
     /**
      * Framerate 29,97 (NTSC TV).
      */
-    F2997(29.97D, true),
+    F2997(29.97D, 30000, 1001, true),
     /**
      * Framerate 29,97 (NTSC TV).
      */
-    F2997ND(29.97D, false),
+    F2997ND(29.97D, 30000, 1001, false),
     /**
      * Framerate 30 (NTSC TV).
      */
-    F30(30D, false);
+    F30(30D, 30, 1, false),
+    /**
+     * Framerate 59,94 DF (HD NTSC).
+     */
+    F5994(59.94D, 60000, 1001, true),
+    /**
+     * Framerate 48is (cinéma HFR).
+     */
+    F48(48D, 48, 1, false),
+    /**
+     * Framerate 50is (HD PAL).
+     */
+    F50(50D, 50, 1, false),
+    /**
+     * Framerate 59,94 NDF (HD NTSC).
+     */
+    F5994ND(59.94D, 60000, 1001, false),
+    /**
+     * Framerate 60is.
+     */
+    F60(60D, 60, 1, false),
+    /**
+     * Framerate 100is (UHD PAL).
+     */
+    F100(100D, 100, 1, false),
+    /**
+     * Framerate 119,88 NDF (UHD NTSC).
+     */
+    F11988(119.88D, 120000, 1001, false),
+    /**
+     * Framerate 120is.
+     */
+    F120(120D, 120, 1, false);
+
+    /**
+     * Les framerates, indexés par {@link #ordinal()}.
+     */
+    private static final Framerate[] FRAMERATES = values();
 
     /**
      * Valeur à utiliser.
      */
     private final double framerate;
 
+    /**
+     * Numérateur de la fraction exacte.
+     */
+    private final int numerateur;
+
+    /**
+     * Dénominateur de la fraction exacte.
+     */
+    private final int denominateur;
+
     /**
      * Si drop frame ou non.
      */
     private final boolean drop_frame;
 
+    /**
+     * Nombre d'images par seconde dans le timecode (24 pour du 23,976is, 30
+     * pour du 29,97is).
+     */
+    private final int image_par_seconde;
+
+    /**
+     * Nombre d'images sautées par minute (0 si pas en drop-frame).
+     */
+    private final int image_sautee;
+
+    /**
+     * Nombre d'images dans une minute qui n'est pas une dizaine.
+     */
+    private final int image_par_minute;
+
+    /**
+     * Nombre d'images dans 10 minutes.
+     */
+    private final int image_par_10_minutes;
+
+    /**
+     * Nombre d'images dans une heure.
+     */
+    private final int image_par_heure;
+
     /**
      * Définit un frame rate.
      *
      * @param framerate Le framerate.
+     * @param numerateur Numérateur de la fraction exacte.
+     * @param denominateur Dénominateur de la fraction exacte.
      * @param drop_frame Si on est en dropframe ou non.
      */
-    private Framerate(double framerate, boolean drop_frame) {
+    private Framerate(double framerate, int numerateur, int denominateur, boolean drop_frame) {
         this.framerate = framerate;
+        this.numerateur = numerateur;
+        this.denominateur = denominateur;
         this.drop_frame = drop_frame;
+        this.image_par_seconde = (numerateur + denominateur / 2) / denominateur;
+        this.image_sautee = drop_frame ? DropFrame.imageSauteeParMinute(this.image_par_seconde) : 0;
+        this.image_par_minute = 60 * this.image_par_seconde - this.image_sautee;
+        this.image_par_10_minutes = 600 * this.image_par_seconde - 9 * this.image_sautee;
+        this.image_par_heure = 6 * this.image_par_10_minutes;
     }
 
     /**
-     * Retourne un {@code Framerate} en fonction d'une valeur en {@code String}.
+     * Retourne un {@code Framerate} en fonction d'une valeur en
+     * {@code String}, décimale ("<em>29.97</em>") ou en fraction
+     * ("<em>30000/1001</em>").
      *
      * @param value La valeur.
      * @return Soite le {@code Framerate} associé sinon {@code null}.
      */
     @Null
     public static Framerate fromValue(@NotNull String value) {
-        double value_d = Double.parseDouble(value);
+        int barre = value.indexOf('/');
 
-        for (Framerate framerate : values()) {
-            if (framerate.framerate == value_d) {
-                return framerate;
-            }
+        if (barre >= 0) {
+            return fromFraction(Long.parseLong(value.substring(0, barre).trim()), Long.parseLong(value.substring(barre + 1).trim()));
         }
 
-        return null;
+        return fromValue(Double.parseDouble(value));
     }
 
     /**
@@ -83,7 +171,7 @@ public enum Framerate {
      */
     @Null
     public static Framerate fromValue(double value) {
-        for (Framerate framerate : values()) {
+        for (Framerate framerate : FRAMERATES) {
             if (framerate.framerate == value) {
                 return framerate;
             }
@@ -92,6 +180,64 @@ public enum Framerate {
         return null;
     }
 
+    /**
+     * Retourne un {@code Framerate} en fonction d'une valeur en {@code double}
+     * et du drop-frame.
+     *
+     * @param value La valeur.
+     * @param drop_frame Si on est en dropframe ou non.
+     * @return Soite le {@code Framerate} associé sinon {@code null}.
+     */
+    @Null
+    public static Framerate fromValue(double value, boolean drop_frame) {
+        for (Framerate framerate : FRAMERATES) {
+            if (framerate.framerate == value && framerate.drop_frame == drop_frame) {
+                return framerate;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Retourne un {@code Framerate} en fonction d'une fraction.
+     *
+     * @param numerateur Le numérateur.
+     * @param denominateur Le dénominateur.
+     * @return Soite le {@code Framerate} associé (le drop-frame en priorité)
+     * sinon {@code null}.
+     */
+    @Null
+    public static Framerate fromFraction(long numerateur, long denominateur) {
+        for (Framerate framerate : FRAMERATES) {
+            if (framerate.numerateur * denominateur == numerateur * framerate.denominateur) {
+                return framerate;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Retourne un {@code Framerate} en fonction d'une fraction et du
+     * drop-frame.
+     *
+     * @param numerateur Le numérateur.
+     * @param denominateur Le dénominateur.
+     * @param drop_frame Si on est en dropframe ou non.
+     * @return Soite le {@code Framerate} associé sinon {@code null}.
+     */
+    @Null
+    public static Framerate fromFraction(long numerateur, long denominateur, boolean drop_frame) {
+        for (Framerate framerate : FRAMERATES) {
+            if (framerate.numerateur * denominateur == numerateur * framerate.denominateur && framerate.drop_frame == drop_frame) {
+                return framerate;
+            }
+        }
+
+        return null;
+    }
+
     /**
      * Retourne le framerate.
      *
@@ -101,6 +247,34 @@ public enum Framerate {
         return this.framerate;
     }
 
+    /**
+     * Retourne la valeur exacte du framerate (par exemple 23,976023... pour
+     * <em>24000/1001</em>).
+     *
+     * @return La valeur exacte.
+     */
+    public double getValeurExacte() {
+        return (double) this.numerateur / this.denominateur;
+    }
+
+    /**
+     * Retourne le numérateur de la fraction exacte.
+     *
+     * @return Le numérateur (<em>24000</em> pour du 23,976is).
+     */
+    public int getNumerateur() {
+        return this.numerateur;
+    }
+
+    /**
+     * Retourne le dénominateur de la fraction exacte.
+     *
+     * @return Le dénominateur (<em>1001</em> pour du 23,976is).
+     */
+    public int getDenominateur() {
+        return this.denominateur;
+    }
+
     /**
      * Retourne si le framerate est en dropframe ou non.
      *
@@ -109,4 +283,52 @@ public enum Framerate {
     public boolean getDropFrame() {
         return this.drop_frame;
     }
+
+    /**
+     * Retourne le nombre d'images par seconde utilisé dans le timecode (la
+     * valeur arrondie du framerate : 24 pour du 23,976is, 30 pour du
+     * 29,97is).
+     *
+     * @return Le nombre d'images par seconde du timecode.
+     */
+    public int getImageParSeconde() {
+        return this.image_par_seconde;
+    }
+
+    /**
+     * Retourne le nombre d'images sautées par minute.
+     *
+     * @return 2 en 29,97is DF, 4 en 59,94is DF, sinon 0.
+     */
+    public int getImageSautee() {
+        return this.image_sautee;
+    }
+
+    /**
+     * Retourne le nombre d'images dans une minute du timecode qui n'est pas
+     * une dizaine (les images sautées sont déduites).
+     *
+     * @return Le nombre d'images par minute.
+     */
+    public int getImageParMinute() {
+        return this.image_par_minute;
+    }
+
+    /**
+     * Retourne le nombre d'images dans 10 minutes du timecode.
+     *
+     * @return Le nombre d'images par 10 minutes.
+     */
+    public int getImageParDixMinutes() {
+        return this.image_par_10_minutes;
+    }
+
+    /**
+     * Retourne le nombre d'images dans une heure du timecode.
+     *
+     * @return Le nombre d'images par heure.
+     */
+    public int getImageParHeure() {
+        return this.image_par_heure;
+    }
 }
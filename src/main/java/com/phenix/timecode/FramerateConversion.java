@@ -0,0 +1,480 @@
+package com.phenix.timecode;
+
+import com.phenix.timecode.exceptions.TimecodeRuntimeException;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Null;
+import java.math.RoundingMode;
+
+/**
+ * Convertit des nombres d'images d'un {@link Framerate} vers un autre, en
+ * lot sur des tableaux {@code int[]} ou {@code long[]}.<br>
+ * La façon de faire correspondre les images est donnée par la
+ * {@link Strategie}. Les constantes de la conversion sont calculées une
+ * seule fois, à la création : une conversion est immuable et peut être
+ * partagée entre des threads.<br>
+ * Avec une {@link TimecodeOrigine}, les stratégies
+ * {@link Strategie#TEMPS_REEL}, {@link Strategie#PULLDOWN} et
+ * {@link Strategie#VITESSE} travaillent sur les images utiles (depuis le
+ * début du programme) : l'origine reste à la même place dans les deux
+ * framerates.
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public final class FramerateConversion {
+
+    /**
+     * 2:3, film vers vidéo : première image vidéo qui contient chacune des 4
+     * images film ("<em>AA BB BC CD DD</em>").
+     */
+    private static final int[] FILM_VERS_VIDEO = {0, 1, 2, 3};
+
+    /**
+     * 3:2, vidéo vers film : image film de la première trame de chacune des 5
+     * images vidéo.
+     */
+    private static final int[] VIDEO_VERS_FILM = {0, 1, 1, 2, 3};
+
+    /**
+     * Façon de faire correspondre les images des deux framerates.
+     */
+    public enum Strategie {
+
+        /**
+         * Garde le label ("<em>01:00:00:12</em>" reste
+         * "<em>01:00:00:12</em>"). Une image qui n'existe pas dans le
+         * nouveau framerate prend la dernière image de la seconde ; un label
+         * sauté en drop-frame ("<em>00:01:00;00</em>") prend le premier
+         * label qui existe ("<em>00:01:00;02</em>").
+         */
+        LABEL,
+        /**
+         * Garde le temps réel : l'image la plus proche au même instant,
+         * selon l'arrondi choisi.
+         */
+        TEMPS_REEL,
+        /**
+         * Cadence 2:3 (24 vers 30 images par seconde) ou 3:2 (30 vers 24),
+         * 4 images film pour 5 images vidéo.
+         */
+        PULLDOWN,
+        /**
+         * Changement de vitesse (24 vers 25 images par seconde en PAL par
+         * exemple) : chaque image est gardée, la durée change.
+         */
+        VITESSE
+    }
+
+    /**
+     * La stratégie.
+     */
+    private final Strategie strategie;
+
+    /**
+     * Le framerate d'origine.
+     */
+    private final Framerate source;
+
+    /**
+     * Le nouveau framerate.
+     */
+    private final Framerate cible;
+
+    /**
+     * L'arrondi en {@link Strategie#TEMPS_REEL}.
+     */
+    private final RoundingMode arrondi;
+
+    /**
+     * Le timecode de début, {@code null} pour "<em>00:00:00:00</em>".
+     */
+    private final TimecodeOrigine origine;
+
+    /**
+     * Nombre d'images de l'origine dans le framerate d'origine.
+     */
+    private final long origine_source;
+
+    /**
+     * Nombre d'images de l'origine dans le nouveau framerate.
+     */
+    private final long origine_cible;
+
+    /**
+     * Rapport entre les framerates (numérateur, fraction réduite).
+     */
+    private final long rapport_numerateur;
+
+    /**
+     * Rapport entre les framerates (dénominateur, fraction réduite).
+     */
+    private final long rapport_denominateur;
+
+    /**
+     * Valeur ajoutée avant la division pour arrondir (en demi-unités).
+     */
+    private final long ajout_arrondi;
+
+    /**
+     * Cadence utilisée en {@link Strategie#PULLDOWN}.
+     */
+    private final int[] cadence;
+
+    /**
+     * Nombre d'images d'un cycle de la cadence dans le framerate d'origine.
+     */
+    private final int cycle_source;
+
+    /**
+     * Nombre d'images d'un cycle de la cadence dans le nouveau framerate.
+     */
+    private final int cycle_cible;
+
+    /**
+     * Construit une conversion.
+     *
+     * @param strategie La stratégie.
+     * @param source Le framerate d'origine.
+     * @param cible Le nouveau framerate.
+     * @param arrondi L'arrondi.
+     * @param origine Le timecode de début.
+     */
+    private FramerateConversion(Strategie strategie, Framerate source, Framerate cible, RoundingMode arrondi, TimecodeOrigine origine) {
+        this.strategie = strategie;
+        this.source = source;
+        this.cible = cible;
+        this.arrondi = arrondi;
+        this.origine = origine;
+        this.origine_source = (origine != null) ? origine.getImage(source) : 0;
+        this.origine_cible = (origine != null) ? origine.getImage(cible) : 0;
+
+        // image_cible = image_source * (cible / source).
+        long numerateur = (long) cible.getNumerateur() * source.getDenominateur();
+        long denominateur = (long) cible.getDenominateur() * source.getNumerateur();
+        long pgcd = pgcd(numerateur, denominateur);
+        this.rapport_numerateur = numerateur / pgcd;
+        this.rapport_denominateur = denominateur / pgcd;
+
+        this.ajout_arrondi = switch (arrondi) {
+            case FLOOR, DOWN, UNNECESSARY ->
+                0;
+            case CEILING, UP ->
+                2 * this.rapport_denominateur - 1;
+            case HALF_UP, HALF_EVEN ->
+                this.rapport_denominateur;
+            case HALF_DOWN ->
+                this.rapport_denominateur - 1;
+        };
+
+        if (strategie == Strategie.PULLDOWN) {
+            int base_source = source.getImageParSeconde();
+            int base_cible = cible.getImageParSeconde();
+
+            if (base_source * 5 == base_cible * 4) {
+                this.cadence = FILM_VERS_VIDEO;
+                this.cycle_source = 4;
+                this.cycle_cible = 5;
+            } else if (base_source * 4 == base_cible * 5) {
+                this.cadence = VIDEO_VERS_FILM;
+                this.cycle_source = 5;
+                this.cycle_cible = 4;
+            } else {
+                throw new TimecodeRuntimeException("Le pulldown n'existe pas de " + source + " vers " + cible + ".");
+            }
+        } else {
+            this.cadence = null;
+            this.cycle_source = 1;
+            this.cycle_cible = 1;
+        }
+    }
+
+    /**
+     * Conversion qui garde le label.
+     *
+     * @param source Le framerate d'origine.
+     * @param cible Le nouveau framerate.
+     * @return La conversion.
+     */
+    @NotNull
+    public static FramerateConversion label(@NotNull Framerate source, @NotNull Framerate cible) {
+        return new FramerateConversion(Strategie.LABEL, source, cible, RoundingMode.FLOOR, null);
+    }
+
+    /**
+     * Conversion qui garde le temps réel.
+     *
+     * @param source Le framerate d'origine.
+     * @param cible Le nouveau framerate.
+     * @param arrondi L'arrondi quand l'instant tombe entre deux images.
+     * @return La conversion.
+     */
+    @NotNull
+    public static FramerateConversion tempsReel(@NotNull Framerate source, @NotNull Framerate cible, @NotNull RoundingMode arrondi) {
+        return new FramerateConversion(Strategie.TEMPS_REEL, source, cible, arrondi, null);
+    }
+
+    /**
+     * Conversion par cadence 2:3 ou 3:2.
+     *
+     * @param source Le framerate d'origine (24 ou 30 images par seconde).
+     * @param cible Le nouveau framerate (30 ou 24 images par seconde).
+     * @return La conversion.
+     */
+    @NotNull
+    public static FramerateConversion pulldown(@NotNull Framerate source, @NotNull Framerate cible) {
+        return new FramerateConversion(Strategie.PULLDOWN, source, cible, RoundingMode.FLOOR, null);
+    }
+
+    /**
+     * Conversion par changement de vitesse.
+     *
+     * @param source Le framerate d'origine.
+     * @param cible Le nouveau framerate.
+     * @return La conversion.
+     */
+    @NotNull
+    public static FramerateConversion vitesse(@NotNull Framerate source, @NotNull Framerate cible) {
+        return new FramerateConversion(Strategie.VITESSE, source, cible, RoundingMode.FLOOR, null);
+    }
+
+    /**
+     * Retourne la même conversion, à partir d'un timecode de début.
+     *
+     * @param origine Le timecode de début.
+     * @return La conversion.
+     */
+    @NotNull
+    public FramerateConversion avecOrigine(@Null TimecodeOrigine origine) {
+        return new FramerateConversion(this.strategie, this.source, this.cible, this.arrondi, origine);
+    }
+
+    /**
+     * Retourne la stratégie.
+     *
+     * @return La stratégie.
+     */
+    @NotNull
+    public Strategie getStrategie() {
+        return this.strategie;
+    }
+
+    /**
+     * Retourne le framerate d'origine.
+     *
+     * @return Le framerate d'origine.
+     */
+    @NotNull
+    public Framerate getSource() {
+        return this.source;
+    }
+
+    /**
+     * Retourne le nouveau framerate.
+     *
+     * @return Le nouveau framerate.
+     */
+    @NotNull
+    public Framerate getCible() {
+        return this.cible;
+    }
+
+    /**
+     * Convertit un nombre d'images.
+     *
+     * @param image Le nombre d'images dans le framerate d'origine.
+     * @return Le nombre d'images dans le nouveau framerate.
+     */
+    public long convertir(long image) {
+        return switch (this.strategie) {
+            case LABEL ->
+                this.label(image);
+            case TEMPS_REEL ->
+                this.tempsReel(image - this.origine_source) + this.origine_cible;
+            case PULLDOWN ->
+                this.pulldown(image - this.origine_source) + this.origine_cible;
+            case VITESSE ->
+                image - this.origine_source + this.origine_cible;
+        };
+    }
+
+    /**
+     * Convertit des nombres d'images.<br>
+     * Pour convertir sur place, donner le même tableau avec le même offset ;
+     * les deux plages ne doivent pas se recouvrir autrement.
+     *
+     * @param images Les nombres d'images dans le framerate d'origine.
+     * @param offset Index du premier nombre d'images.
+     * @param destination Les nombres d'images dans le nouveau framerate.
+     * @param offset_destination Index du premier résultat.
+     * @param nombre Nombre de valeurs à convertir.
+     */
+    public void convertir(@NotNull int[] images, int offset, @NotNull int[] destination, int offset_destination, int nombre) {
+        verifier(images.length, offset, destination.length, offset_destination, nombre);
+
+        long decalage_source = this.origine_source;
+        long decalage_cible = this.origine_cible;
+
+        // Une boucle par stratégie : pas de choix dans la boucle.
+        switch (this.strategie) {
+            case LABEL -> {
+                for (int i = 0; i < nombre; i++) {
+                    destination[offset_destination + i] = Math.toIntExact(this.label(images[offset + i]));
+                }
+            }
+            case TEMPS_REEL -> {
+                for (int i = 0; i < nombre; i++) {
+                    destination[offset_destination + i] = Math.toIntExact(this.tempsReel(images[offset + i] - decalage_source) + decalage_cible);
+                }
+            }
+            case PULLDOWN -> {
+                for (int i = 0; i < nombre; i++) {
+                    destination[offset_destination + i] = Math.toIntExact(this.pulldown(images[offset + i] - decalage_source) + decalage_cible);
+                }
+            }
+            case VITESSE -> {
+                int decalage = Math.toIntExact(decalage_cible - decalage_source);
+                for (int i = 0; i < nombre; i++) {
+                    destination[offset_destination + i] = images[offset + i] + decalage;
+                }
+            }
+        }
+    }
+
+    /**
+     * Convertit des nombres d'images.<br>
+     * Pour convertir sur place, donner le même tableau avec le même offset ;
+     * les deux plages ne doivent pas se recouvrir autrement.
+     *
+     * @param images Les nombres d'images dans le framerate d'origine.
+     * @param offset Index du premier nombre d'images.
+     * @param destination Les nombres d'images dans le nouveau framerate.
+     * @param offset_destination Index du premier résultat.
+     * @param nombre Nombre de valeurs à convertir.
+     */
+    public void convertir(@NotNull long[] images, int offset, @NotNull long[] destination, int offset_destination, int nombre) {
+        verifier(images.length, offset, destination.length, offset_destination, nombre);
+
+        long decalage_source = this.origine_source;
+        long decalage_cible = this.origine_cible;
+
+        switch (this.strategie) {
+            case LABEL -> {
+                for (int i = 0; i < nombre; i++) {
+                    destination[offset_destination + i] = this.label(images[offset + i]);
+                }
+            }
+            case TEMPS_REEL -> {
+                for (int i = 0; i < nombre; i++) {
+                    destination[offset_destination + i] = this.tempsReel(images[offset + i] - decalage_source) + decalage_cible;
+                }
+            }
+            case PULLDOWN -> {
+                for (int i = 0; i < nombre; i++) {
+                    destination[offset_destination + i] = this.pulldown(images[offset + i] - decalage_source) + decalage_cible;
+                }
+            }
+            case VITESSE -> {
+                long decalage = decalage_cible - decalage_source;
+                for (int i = 0; i < nombre; i++) {
+                    destination[offset_destination + i] = images[offset + i] + decalage;
+                }
+            }
+        }
+    }
+
+    /**
+     * Garde le label.
+     *
+     * @param image Le nombre d'images dans le framerate d'origine.
+     * @return Le nombre d'images dans le nouveau framerate.
+     */
+    private long label(long image) {
+        long label = DropFrame.toLabel(image, this.source);
+        int minute = TimecodeParser.minute(label);
+        int seconde = TimecodeParser.seconde(label);
+        int image_label = Math.min(TimecodeParser.image(label), this.cible.getImageParSeconde() - 1);
+        int image_sautee = this.cible.getImageSautee();
+
+        // Label sauté en drop-frame : on prend le premier label qui existe.
+        if (seconde == 0 && minute % 10 != 0 && image_label < image_sautee) {
+            image_label = image_sautee;
+        }
+
+        return DropFrame.toImage(TimecodeParser.heure(label), minute, seconde, image_label, this.cible);
+    }
+
+    /**
+     * Garde le temps réel.
+     *
+     * @param image Le nombre d'images (utiles) dans le framerate d'origine.
+     * @return Le nombre d'images (utiles) dans le nouveau framerate.
+     */
+    private long tempsReel(long image) {
+        if (image < 0) {
+            throw new TimecodeRuntimeException("Le nombre d'images ne peut pas être négatif : " + image);
+        }
+
+        // image * a / b découpé en (q * b + r) * a / b pour ne pas déborder.
+        long a = this.rapport_numerateur;
+        long b = this.rapport_denominateur;
+        long q = image / b;
+        long r = image % b;
+
+        long double_reste = 2 * r * a + this.ajout_arrondi;
+        long resultat = q * a + double_reste / (2 * b);
+
+        if (this.arrondi == RoundingMode.HALF_EVEN && double_reste % (2 * b) == 0 && (resultat & 1) == 1) {
+            // Égalité exacte arrondie vers l'impair : on prend le pair.
+            resultat--;
+        } else if (this.arrondi == RoundingMode.UNNECESSARY && (r * a) % b != 0) {
+            throw new ArithmeticException("L'image " + image + " ne tombe pas sur une image de " + this.cible + ".");
+        }
+
+        return resultat;
+    }
+
+    /**
+     * Applique la cadence.
+     *
+     * @param image Le nombre d'images (utiles) dans le framerate d'origine.
+     * @return Le nombre d'images (utiles) dans le nouveau framerate.
+     */
+    private long pulldown(long image) {
+        if (image < 0) {
+            throw new TimecodeRuntimeException("Le nombre d'images ne peut pas être négatif : " + image);
+        }
+
+        return (image / this.cycle_source) * this.cycle_cible + this.cadence[(int) (image % this.cycle_source)];
+    }
+
+    /**
+     * Vérifie les bornes des tableaux.
+     *
+     * @param longueur Longueur du tableau source.
+     * @param offset Index du premier nombre d'images.
+     * @param longueur_destination Longueur du tableau destination.
+     * @param offset_destination Index du premier résultat.
+     * @param nombre Nombre de valeurs à convertir.
+     */
+    private static void verifier(int longueur, int offset, int longueur_destination, int offset_destination, int nombre) {
+        if (offset < 0 || nombre < 0 || offset + nombre > longueur || offset_destination < 0 || offset_destination + nombre > longueur_destination) {
+            throw new TimecodeRuntimeException("Les tableaux sont trop petits pour " + nombre + " valeurs.");
+        }
+    }
+
+    /**
+     * Retourne le plus grand diviseur commun.
+     *
+     * @param a Premier nombre.
+     * @param b Second nombre.
+     * @return Le PGCD.
+     */
+    private static long pgcd(long a, long b) {
+        while (b != 0) {
+            long r = a % b;
+            a = b;
+            b = r;
+        }
+
+        return a;
+    }
+}
@@ -0,0 +1,262 @@
+package com.phenix.timecode;
+
+import com.phenix.timecode.exceptions.TimecodeRuntimeException;
+import jakarta.validation.constraints.NotNull;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * Conversion exacte entre un nombre d'images et un temps dans une base de
+ * temps (nanosecondes, PTS MPEG-TS à 90 kHz, échantillons audio...).<br>
+ * La base de temps est donnée comme la durée d'une unité en secondes, sous
+ * forme de fraction (<em>1/90000</em> pour des PTS, comme le
+ * {@code time_base} de FFmpeg). Le rapport entre images et unités est calculé
+ * une seule fois en fraction réduite ; chaque conversion est ensuite une
+ * multiplication et une division entières, découpées pour ne pas déborder
+ * (avec un repli sur {@link BigInteger} si besoin) et arrondies selon le
+ * {@link RoundingMode} demandé. Il n'y a donc aucune dérive en 23,976is ou
+ * 29,97is, même sur des millions de paquets.<br>
+ * <br>
+ * Une conversion qui ne tient pas dans un {@code long} lève une
+ * {@link ArithmeticException}, comme {@link RoundingMode#UNNECESSARY} quand
+ * le résultat n'est pas exact.
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public final class MediaTime {
+
+    /**
+     * Le framerate.
+     */
+    private final Framerate framerate;
+
+    /**
+     * Numérateur (réduit) du nombre d'unités par image.
+     */
+    private final long unites_par_image;
+
+    /**
+     * Dénominateur (réduit) du nombre d'unités par image.
+     */
+    private final long images_par_unite;
+
+    /**
+     * Construit une conversion.
+     *
+     * @param framerate Le framerate.
+     * @param numerateur Numérateur de la durée d'une unité, en secondes.
+     * @param denominateur Dénominateur de la durée d'une unité, en secondes.
+     */
+    private MediaTime(Framerate framerate, long numerateur, long denominateur) {
+        if (numerateur <= 0 || denominateur <= 0) {
+            throw new TimecodeRuntimeException("La base de temps doit être positive : " + numerateur + "/" + denominateur);
+        }
+
+        // unités = images * (den_framerate / num_framerate) / (num / den)
+        long a = Math.multiplyExact((long) framerate.getDenominateur(), denominateur);
+        long b = Math.multiplyExact((long) framerate.getNumerateur(), numerateur);
+        long pgcd = BigInteger.valueOf(a).gcd(BigInteger.valueOf(b)).longValue();
+
+        this.framerate = framerate;
+        this.unites_par_image = a / pgcd;
+        this.images_par_unite = b / pgcd;
+    }
+
+    /**
+     * Construit une conversion vers une base de temps.
+     *
+     * @param framerate Le framerate.
+     * @param numerateur Numérateur de la durée d'une unité, en secondes.
+     * @param denominateur Dénominateur de la durée d'une unité, en secondes.
+     * @return La conversion.
+     */
+    @NotNull
+    public static MediaTime of(@NotNull Framerate framerate, long numerateur, long denominateur) {
+        return new MediaTime(framerate, numerateur, denominateur);
+    }
+
+    /**
+     * Construit une conversion vers des nanosecondes.
+     *
+     * @param framerate Le framerate.
+     * @return La conversion.
+     */
+    @NotNull
+    public static MediaTime nanosecondes(@NotNull Framerate framerate) {
+        return new MediaTime(framerate, 1, 1_000_000_000L);
+    }
+
+    /**
+     * Construit une conversion vers des PTS / DTS MPEG à 90 kHz.
+     *
+     * @param framerate Le framerate.
+     * @return La conversion.
+     */
+    @NotNull
+    public static MediaTime pts(@NotNull Framerate framerate) {
+        return new MediaTime(framerate, 1, 90_000L);
+    }
+
+    /**
+     * Construit une conversion vers des échantillons audio.
+     *
+     * @param framerate Le framerate.
+     * @param frequence Fréquence d'échantillonnage (en Hz).
+     * @return La conversion.
+     */
+    @NotNull
+    public static MediaTime echantillons(@NotNull Framerate framerate, int frequence) {
+        return new MediaTime(framerate, 1, frequence);
+    }
+
+    /**
+     * Convertit un nombre d'images en unités.
+     *
+     * @param nombre_image Le nombre d'images.
+     * @param arrondi L'arrondi.
+     * @return Le nombre d'unités.
+     */
+    public long toUnites(long nombre_image, @NotNull RoundingMode arrondi) {
+        return multiplierDiviser(nombre_image, this.unites_par_image, this.images_par_unite, arrondi);
+    }
+
+    /**
+     * Convertit un timecode en unités.
+     *
+     * @param timecode Le timecode.
+     * @param arrondi L'arrondi.
+     * @return Le nombre d'unités.
+     */
+    public long toUnites(@NotNull Timecode timecode, @NotNull RoundingMode arrondi) {
+        return this.toUnites(timecode.toImage(), arrondi);
+    }
+
+    /**
+     * Convertit des unités en nombre d'images.
+     *
+     * @param unites Le nombre d'unités.
+     * @param arrondi L'arrondi.
+     * @return Le nombre d'images.
+     */
+    public long toImage(long unites, @NotNull RoundingMode arrondi) {
+        return multiplierDiviser(unites, this.images_par_unite, this.unites_par_image, arrondi);
+    }
+
+    /**
+     * Convertit des unités en timecode.
+     *
+     * @param unites Le nombre d'unités.
+     * @param arrondi L'arrondi.
+     * @return Le timecode.
+     */
+    @NotNull
+    public Timecode toTimecode(long unites, @NotNull RoundingMode arrondi) {
+        return new Timecode(Math.toIntExact(this.toImage(unites, arrondi)), this.framerate);
+    }
+
+    /**
+     * Convertit des nombres d'images en unités.
+     *
+     * @param images Les nombres d'images.
+     * @param offset Index du premier nombre d'images.
+     * @param unites Reçoit les nombres d'unités (peut être {@code images}).
+     * @param offset_unites Index du premier nombre d'unités.
+     * @param nombre Nombre de valeurs.
+     * @param arrondi L'arrondi.
+     */
+    public void toUnites(@NotNull long[] images, int offset, @NotNull long[] unites, int offset_unites, int nombre, @NotNull RoundingMode arrondi) {
+        for (int i = 0; i < nombre; i++) {
+            unites[offset_unites + i] = multiplierDiviser(images[offset + i], this.unites_par_image, this.images_par_unite, arrondi);
+        }
+    }
+
+    /**
+     * Convertit des unités en nombres d'images.
+     *
+     * @param unites Les nombres d'unités.
+     * @param offset Index du premier nombre d'unités.
+     * @param images Reçoit les nombres d'images (peut être {@code unites}).
+     * @param offset_images Index du premier nombre d'images.
+     * @param nombre Nombre de valeurs.
+     * @param arrondi L'arrondi.
+     */
+    public void toImages(@NotNull long[] unites, int offset, @NotNull long[] images, int offset_images, int nombre, @NotNull RoundingMode arrondi) {
+        for (int i = 0; i < nombre; i++) {
+            images[offset_images + i] = multiplierDiviser(unites[offset + i], this.images_par_unite, this.unites_par_image, arrondi);
+        }
+    }
+
+    /**
+     * Retourne le framerate.
+     *
+     * @return Le framerate.
+     */
+    @NotNull
+    public Framerate getFramerate() {
+        return this.framerate;
+    }
+
+    /**
+     * Calcule {@code valeur * multiplicateur / diviseur} sans perte.
+     *
+     * @param valeur La valeur.
+     * @param multiplicateur Le multiplicateur (positif).
+     * @param diviseur Le diviseur (positif).
+     * @param arrondi L'arrondi.
+     * @return Le résultat arrondi.
+     */
+    public static long multiplierDiviser(long valeur, long multiplicateur, long diviseur, @NotNull RoundingMode arrondi) {
+        long q = valeur / diviseur;
+        long r = valeur % diviseur;
+
+        // r * multiplicateur tient dans un long : le cas courant.
+        if (Math.abs(r) <= Long.MAX_VALUE / multiplicateur) {
+            long produit = r * multiplicateur;
+
+            return arrondir(Math.addExact(Math.multiplyExact(q, multiplicateur), produit / diviseur), produit % diviseur, diviseur, arrondi);
+        }
+
+        BigInteger[] division = BigInteger.valueOf(valeur).multiply(BigInteger.valueOf(multiplicateur)).divideAndRemainder(BigInteger.valueOf(diviseur));
+
+        return arrondir(division[0].longValueExact(), division[1].longValue(), diviseur, arrondi);
+    }
+
+    /**
+     * Arrondit {@code quotient + reste / diviseur}.
+     *
+     * @param quotient Le quotient (tronqué vers 0).
+     * @param reste Le reste (du signe de la valeur divisée).
+     * @param diviseur Le diviseur (positif).
+     * @param arrondi L'arrondi.
+     * @return Le résultat arrondi.
+     */
+    private static long arrondir(long quotient, long reste, long diviseur, RoundingMode arrondi) {
+        if (reste == 0) {
+            return quotient;
+        }
+
+        long signe = reste > 0 ? 1 : -1;
+        long absolu = Math.abs(reste);
+
+        switch (arrondi) {
+            case DOWN:
+                return quotient;
+            case UP:
+                return quotient + signe;
+            case FLOOR:
+                return signe < 0 ? quotient - 1 : quotient;
+            case CEILING:
+                return signe > 0 ? quotient + 1 : quotient;
+            case UNNECESSARY:
+                throw new ArithmeticException("La conversion n'est pas exacte.");
+            default:
+                int moitie = Long.compare(absolu, diviseur - absolu);
+
+                if (moitie > 0 || (moitie == 0 && (arrondi == RoundingMode.HALF_UP || (arrondi == RoundingMode.HALF_EVEN && (quotient & 1) != 0)))) {
+                    return quotient + signe;
+                }
+
+                return quotient;
+        }
+    }
+}
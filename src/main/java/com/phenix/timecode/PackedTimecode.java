@@ -0,0 +1,237 @@
+package com.phenix.timecode;
+
+import com.phenix.timecode.exceptions.TimecodeRuntimeException;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Timecode immuable stocké dans un seul {@code long} : le nombre d'images
+ * (depuis "<em>00:00:00:00</em>") et le {@link Framerate} (qui porte aussi le
+ * drop-frame).<br>
+ * Contrairement à {@link Timecode}, il n'y a rien à recalculer à la lecture,
+ * ce qui permet d'en garder des millions dans des {@code Map} ou des tableaux
+ * triés.<br>
+ * Les méthodes statiques ({@link #pack(long, Framerate)},
+ * {@link #nombreImage(long)}, {@link #framerate(long)}) permettent de
+ * travailler directement sur la valeur {@code long}, sans objet.<br>
+ * <br>
+ * Organisation de la valeur :<br>
+ * * bits 0 à 55 : nombre d'images (positif)<br>
+ * * bits 56 à 62 : {@link Framerate#ordinal()}<br>
+ * Le bit de signe reste toujours à 0 : comparer deux valeurs {@code long}
+ * revient donc à les trier par framerate puis par nombre d'images.
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public final class PackedTimecode implements Comparable<PackedTimecode> {
+
+    /**
+     * Position du framerate dans la valeur.
+     */
+    private static final int DECALAGE_FRAMERATE = 56;
+
+    /**
+     * Masque du nombre d'images.
+     */
+    private static final long MASQUE_NOMBRE_IMAGE = (1L << DECALAGE_FRAMERATE) - 1;
+
+    /**
+     * Les framerates, indexés par {@link Framerate#ordinal()}.
+     */
+    private static final Framerate[] FRAMERATES = Framerate.values();
+
+    /**
+     * Nombre d'images et framerate.
+     */
+    private final long valeur;
+
+    /**
+     * Construit un timecode depuis sa valeur.
+     *
+     * @param valeur Nombre d'images et framerate.
+     */
+    private PackedTimecode(long valeur) {
+        this.valeur = valeur;
+    }
+
+    /**
+     * Construit un timecode en fonction de sa durée en nombre d'images et d'un
+     * framerate.
+     *
+     * @param nombre_image Durée en nombre d'images.
+     * @param framerate Framerate du timecode.
+     * @return Le timecode.
+     */
+    @NotNull
+    public static PackedTimecode of(long nombre_image, @NotNull Framerate framerate) {
+        return new PackedTimecode(pack(nombre_image, framerate));
+    }
+
+    /**
+     * Construit un timecode depuis un {@link Timecode}.
+     *
+     * @param timecode Le timecode.
+     * @return Le timecode.
+     */
+    @NotNull
+    public static PackedTimecode of(@NotNull Timecode timecode) {
+        Framerate framerate = timecode.getFramerateConnu();
+
+        if (framerate == null) {
+            throw new TimecodeRuntimeException("Le framerate du timecode n'est pas supporté : " + timecode.getFramerate());
+        }
+
+        return of(timecode.toImage(), framerate);
+    }
+
+    /**
+     * Construit un timecode depuis une valeur obtenue par {@link #toLong()} ou
+     * {@link #pack(long, Framerate)}.
+     *
+     * @param valeur La valeur.
+     * @return Le timecode.
+     */
+    @NotNull
+    public static PackedTimecode fromLong(long valeur) {
+        // Vérifie le framerate.
+        framerate(valeur);
+
+        return new PackedTimecode(valeur);
+    }
+
+    /**
+     * Regroupe un nombre d'images et un framerate dans un {@code long}.
+     *
+     * @param nombre_image Durée en nombre d'images.
+     * @param framerate Framerate du timecode.
+     * @return La valeur.
+     */
+    public static long pack(long nombre_image, @NotNull Framerate framerate) {
+        if (nombre_image < 0 || nombre_image > MASQUE_NOMBRE_IMAGE) {
+            throw new TimecodeRuntimeException("Le nombre d'images n'est pas représentable : " + nombre_image);
+        }
+
+        return ((long) framerate.ordinal() << DECALAGE_FRAMERATE) | nombre_image;
+    }
+
+    /**
+     * Retourne le nombre d'images d'une valeur.
+     *
+     * @param valeur La valeur.
+     * @return Le nombre d'images.
+     */
+    public static long nombreImage(long valeur) {
+        return valeur & MASQUE_NOMBRE_IMAGE;
+    }
+
+    /**
+     * Retourne le framerate d'une valeur.
+     *
+     * @param valeur La valeur.
+     * @return Le framerate.
+     */
+    @NotNull
+    public static Framerate framerate(long valeur) {
+        int index = (int) (valeur >>> DECALAGE_FRAMERATE);
+
+        if (index >= FRAMERATES.length) {
+            throw new TimecodeRuntimeException("La valeur ne contient pas de framerate connu : " + valeur);
+        }
+
+        return FRAMERATES[index];
+    }
+
+    /**
+     * Retourne un nouveau timecode décalé d'un certain nombre d'images.
+     *
+     * @param nombre_image Nombre d'images (peut être négatif).
+     * @return Le nouveau timecode.
+     */
+    @NotNull
+    public PackedTimecode plusImages(long nombre_image) {
+        return of(this.getNombreImage() + nombre_image, this.getFramerate());
+    }
+
+    /**
+     * Retourne le nombre d'images.
+     *
+     * @return Le nombre d'images.
+     */
+    public long getNombreImage() {
+        return nombreImage(this.valeur);
+    }
+
+    /**
+     * Retourne le framerate.
+     *
+     * @return Le framerate.
+     */
+    @NotNull
+    public Framerate getFramerate() {
+        return FRAMERATES[(int) (this.valeur >>> DECALAGE_FRAMERATE)];
+    }
+
+    /**
+     * Retourne la valeur {@code long} (nombre d'images et framerate).
+     *
+     * @return La valeur.
+     */
+    public long toLong() {
+        return this.valeur;
+    }
+
+    /**
+     * Retourne un {@link Timecode} équivalent.
+     *
+     * @return Le timecode.
+     */
+    @NotNull
+    public Timecode toTimecode() {
+        return new Timecode(Math.toIntExact(this.getNombreImage()), this.getFramerate());
+    }
+
+    /**
+     * Compare d'abord le framerate puis le nombre d'images.
+     *
+     * @param autre L'autre timecode.
+     * @return La comparaison.
+     */
+    @Override
+    public int compareTo(@NotNull PackedTimecode autre) {
+        return Long.compare(this.valeur, autre.valeur);
+    }
+
+    /**
+     * Retourne si deux timecodes ont le même nombre d'images et le même
+     * framerate.
+     *
+     * @param objet L'autre objet.
+     * @return {@code true} si les timecodes sont égaux.
+     */
+    @Override
+    public boolean equals(Object objet) {
+        return objet instanceof PackedTimecode autre && autre.valeur == this.valeur;
+    }
+
+    /**
+     * Retourne le hash du timecode.
+     *
+     * @return Le hash.
+     */
+    @Override
+    public int hashCode() {
+        return Long.hashCode(this.valeur);
+    }
+
+    /**
+     * Retourne le timecode en {@code String} sous la représentation SMPTE.
+     *
+     * @return Le timecode en {@code String}.
+     */
+    @Override
+    @NotNull
+    public String toString() {
+        long label = DropFrame.toLabel(this.getNombreImage(), this.getFramerate());
+
+        return TimecodeFormatter.format(label, new StringBuilder(TimecodeFormatter.LONGUEUR)).toString();
+    }
+}
@@ -2,10 +2,14 @@ package com.phenix.timecode;
 
 import com.phenix.timecode.exceptions.TimecodeException;
 import com.phenix.timecode.exceptions.TimecodeRuntimeException;
+import com.phenix.timecode.metrics.AnalyseEvent;
+import com.phenix.timecode.metrics.ConversionEvent;
+import com.phenix.timecode.metrics.FormatageEvent;
+import com.phenix.timecode.metrics.TimecodeMetrics;
+import com.phenix.timecode.metrics.ValidationEvent;
 import jakarta.validation.constraints.NotNull;
-import java.util.InputMismatchException;
-import java.util.NoSuchElementException;
-import java.util.Scanner;
+import jakarta.validation.constraints.Null;
+import java.nio.ByteBuffer;
 
 /**
  * Permet de gérer le timecode en SMPTE et en nombre d'images.<br>
@@ -13,74 +17,47 @@ import java.util.Scanner;
  * * <em>23,976</em> i/s<br>
  * * <em>24</em> i/s<br>
  * * <em>25</em> i/s<br>
- * * <em>29,976</em> NDF i/s<br>
+ * * <em>29,97</em> DF et NDF i/s<br>
  * * <em>30</em> i/s<br>
+ * * <em>48</em> i/s<br>
+ * * <em>50</em> i/s<br>
+ * * <em>59,94</em> DF et NDF i/s<br>
+ * * <em>60</em> i/s<br>
+ * * <em>100</em> i/s<br>
+ * * <em>119,88</em> i/s<br>
+ * * <em>120</em> i/s<br>
  * <br>
- * Note : pour l'instant, la class ne supporte pas en {@code String} de timecode
- * en drop-frame ("<em>HH:mm:ss;ii</em>").
+ * En drop-frame, heure, minute, seconde et image sont toujours le label
+ * affiché ("<em>HH:mm:ss;ii</em>"), la conversion est faite par
+ * {@link DropFrame}.<br>
+ * <br>
+ * Toutes les valeurs du timecode sont regroupées dans un état immuable,
+ * calculé entièrement à chaque modification et publié par un champ
+ * {@code volatile}. La lecture ne modifie rien : un timecode partagé peut être
+ * lu par plusieurs threads en même temps, sans verrou. Les modifications ne
+ * sont pas synchronisées entre elles : deux threads qui modifient le même
+ * timecode doivent se synchroniser.<br>
+ * <br>
+ * Les timecodes sont triés par framerate, puis drop-frame, puis nombre
+ * d'images ; deux timecodes sont égaux quand ces trois valeurs le sont (le
+ * timecode de début n'est pas comparé). Comme un timecode est modifiable, il
+ * ne doit pas être modifié pendant qu'il est dans un {@code HashSet} ou un
+ * {@code TreeSet}.
  *
  * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
  */
-public final class Timecode {
-
-    /**
-     * Heure du timecode.
-     */
-    private int heure;
-
-    /**
-     * Minute du timecode.
-     */
-    private int minute;
-
-    /**
-     * Seconde du timecode.
-     */
-    private int seconde;
-
-    /**
-     * Image du timecode.
-     */
-    private int image;
-
-    /**
-     * Si le framerate (29,97is) est en drop-frame ou non.
-     */
-    private boolean drop_frame;
-
-    /**
-     * Framerate du timecode.
-     */
-    private double framerate;
-
-    /**
-     * Nombre d'images (totale) du programme.
-     */
-    private int nombre_image;
+public final class Timecode implements Comparable<Timecode> {
 
     /**
-     * Où commence le programme.<br>
-     * Sert pour les conversions de timecode.
+     * L'état du timecode.
      */
-    private String timecode_debut = "00:00:00:00";
-
-    /**
-     * Si les informations de base ne sont pas définies.
-     */
-    private String is_null;
-
-    /**
-     * Si la valeur du timecode doit être calculé.<br>
-     * Le seul a être calculé est pour quand on encode un nombre d'images.
-     */
-    private boolean doit_etre_calcule = false;
+    private volatile Etat etat;
 
     /**
      * Construit un timecode "{@code null}".
      */
     public Timecode() {
-        this.is_null = "-1";
-        this.drop_frame = false;
+        this.etat = new Etat(true, false, 0, 0, 0, 0, 0, 0, false, TimecodeOrigine.ZERO);
     }
 
     /**
@@ -103,7 +80,7 @@ public final class Timecode {
      * @param framerate Le framerate du timecode.
      */
     public Timecode(String timecode, @NotNull Framerate framerate) {
-        this(timecode, framerate.getValeur(), framerate.getDropFrame());
+        this(timecode, framerate.getValeur(), framerate.getDropFrame(), framerate);
     }
 
     /**
@@ -127,26 +104,32 @@ public final class Timecode {
      * @param drop_frame Si le timecode est en drop-frame ou non.
      */
     public Timecode(@NotNull String timecode, double framerate, boolean drop_frame) {
-        try {
-            Scanner sc = new Scanner(timecode);
-            sc.useDelimiter(":");
-
-            this.heure = sc.nextInt();
-            this.minute = sc.nextInt();
-            this.seconde = sc.nextInt();
-            this.image = sc.nextInt();
-
-            this.framerate = framerate;
-            this.drop_frame = drop_frame;
+        this(timecode, framerate, drop_frame, Framerate.fromValue(framerate, drop_frame));
+    }
 
-            this.is_null = "";
+    /**
+     * Construit un timecode sur base d'un {@code String} et d'un framerate
+     * déjà résolu.
+     *
+     * @param timecode Le timecode sous forme de {@code String}
+     * ("<em>HH:mm:ss:ii</em>").
+     * @param framerate Le framerate du timecode.
+     * @param drop_frame Si le timecode est en drop-frame ou non.
+     * @param framerate_connu Le {@link Framerate} qui correspond, sinon
+     * {@code null}.
+     */
+    private Timecode(String timecode, double framerate, boolean drop_frame, Framerate framerate_connu) {
+        AnalyseEvent analyse = TimecodeMetrics.debutAnalyse();
+        long label = TimecodeParser.parse(timecode);
 
-            sc.close();
-        } catch (InputMismatchException exception) {
-            throw new TimecodeRuntimeException("Le timecode n'est pas correctement formaté : " + timecode);
-        } catch (NoSuchElementException exception) {
+        if (TimecodeParser.isErreur(label)) {
+            TimecodeMetrics.analyse(analyse, framerate, drop_frame, false);
             throw new TimecodeRuntimeException("Le timecode n'est pas correctement formaté : " + timecode);
         }
+
+        this.etat = new Etat(false, false, TimecodeParser.heure(label), TimecodeParser.minute(label), TimecodeParser.seconde(label), TimecodeParser.image(label), 0, framerate, drop_frame, framerate_connu, TimecodeOrigine.ZERO);
+
+        TimecodeMetrics.analyse(analyse, framerate, drop_frame, true);
     }
 
     /**
@@ -155,10 +138,7 @@ public final class Timecode {
      * @param nombre_image Durée en nombre d'images.
      */
     public Timecode(int nombre_image) {
-        this.nombre_image = nombre_image;
-
-        this.is_null = "";
-        this.doit_etre_calcule = true;
+        this.etat = new Etat(false, true, 0, 0, 0, 0, nombre_image, 0, false, TimecodeOrigine.ZERO);
     }
 
     /**
@@ -169,7 +149,7 @@ public final class Timecode {
      * @param framerate Framerate du timecode.
      */
     public Timecode(int nombre_image, @NotNull Framerate framerate) {
-        this(nombre_image, framerate.getValeur(), framerate.getDropFrame());
+        this.etat = new Etat(false, true, 0, 0, 0, 0, nombre_image, framerate.getValeur(), framerate.getDropFrame(), framerate, TimecodeOrigine.ZERO);
     }
 
     /**
@@ -192,14 +172,7 @@ public final class Timecode {
      * @param drop_frame {@code true} si c'est un timecode drop frame.
      */
     public Timecode(int nombre_image, double framerate, boolean drop_frame) {
-        this.nombre_image = nombre_image;
-        this.framerate = framerate;
-        this.drop_frame = drop_frame;
-
-        this.nombreImageToInt();
-
-        this.is_null = "";
-        this.doit_etre_calcule = true;
+        this.etat = new Etat(false, true, 0, 0, 0, 0, nombre_image, framerate, drop_frame, TimecodeOrigine.ZERO);
     }
 
     /**
@@ -224,7 +197,7 @@ public final class Timecode {
      * @param framerate Le framerate.
      */
     public Timecode(int heure, int minute, int seconde, int image, @NotNull Framerate framerate) {
-        this(heure, minute, seconde, image, framerate.getValeur(), framerate.getDropFrame());
+        this.etat = new Etat(false, false, heure, minute, seconde, image, 0, framerate.getValeur(), framerate.getDropFrame(), framerate, TimecodeOrigine.ZERO);
     }
 
     /**
@@ -253,13 +226,7 @@ public final class Timecode {
      * @param drop_frame {@code true} si c'est un timecode drop frame.
      */
     public Timecode(int heure, int minute, int seconde, int image, double framerate, boolean drop_frame) {
-        this.heure = heure;
-        this.minute = minute;
-        this.seconde = seconde;
-        this.image = image;
-        this.framerate = framerate;
-        this.drop_frame = drop_frame;
-        this.is_null = "";
+        this.etat = new Etat(false, false, heure, minute, seconde, image, 0, framerate, drop_frame, TimecodeOrigine.ZERO);
     }
 
     /**
@@ -268,8 +235,9 @@ public final class Timecode {
      * @param nombre_image Nombre d'images.
      */
     public void addFrame(int nombre_image) {
-        this.nombre_image = this.toImage() + nombre_image;
-        this.doit_etre_calcule = true;
+        Etat etat = this.etat;
+
+        this.etat = etat.avecImage(etat.nombre_image + nombre_image);
     }
 
     /**
@@ -282,7 +250,7 @@ public final class Timecode {
      * @throws TimecodeException Le timecode de début n'a pas été renseigné.
      */
     public void changeFramerate(Framerate framerate) throws TimecodeException {
-        this.changeFramerate(framerate.getValeur());
+        this.changeFramerate(framerate.getValeur(), framerate);
     }
 
     /**
@@ -295,69 +263,33 @@ public final class Timecode {
      * @throws TimecodeException Le timecode de début n'a pas été renseigné.
      */
     public void changeFramerate(double framerate) throws TimecodeException {
-        if (this.timecode_debut == null || this.timecode_debut.isEmpty()) {
-            throw new TimecodeException("Le timecode de début n'a pas été renseigné.");
-        }
-
-        int image_utile = toImage() - new Timecode(this.timecode_debut, this.framerate).toImage();
-        this.framerate = framerate;
-        this.nombre_image = image_utile + new Timecode(this.timecode_debut, this.framerate).toImage();
-        this.doit_etre_calcule = true;
+        this.changeFramerate(framerate, null);
     }
 
     /**
-     * Représente un nombre en "digit".
+     * Change d'un framerate à l'autre.
      *
-     * @deprecated Utiliser la fonction standard créée.
-     *
-     * @param valeur La valeur à convertir en digit (0-9).
-     * @return String
-     */
-    @Deprecated
-    @NotNull
-    private String digit(int valeur) {
-        return (valeur <= 9) ? "0" + valeur : "" + valeur;
-    }
-
-    /**
-     * Gère à moitié le drop frame du 29,97is.
+     * @param framerate Le nouveau framerate.
+     * @param framerate_connu Le {@link Framerate} (avec son drop-frame), sinon
+     * {@code null} pour garder le drop-frame actuel.
      *
-     * @return Timecode en 29,97 DF.
+     * @throws TimecodeException Le timecode de début n'a pas été renseigné.
      */
-    @NotNull
-    private String dropFrame() {
-        int nombre_image_tmp = (this.heure * 60 * 60 * 30) + (this.minute * 60 * 30) + (this.seconde * 30) + this.image;
-
-        int nombre_minute = (nombre_image_tmp / 1800) * 2;
-
-        nombre_image_tmp += nombre_minute;
-        //System.out.println("nombre_minute (add) : " + nombre_minute);
+    private void changeFramerate(double framerate, Framerate framerate_connu) throws TimecodeException {
+        ConversionEvent conversion = TimecodeMetrics.debutConversion();
+        Etat etat = this.etat;
 
-        int nombre_heure = (nombre_image_tmp / (1 * 60 * 60 * 30)) * 10;
-        //System.out.println("nombre_heure (sous) : " + nombre_heure);
-        nombre_image_tmp -= nombre_heure + (this.heure * 2);
-
-        int framerate_tmp = this.getFramerateCalcule();
-
-        // Heure :
-        int heure_tmp = nombre_image_tmp / (60 * 60 * framerate_tmp);
-
-        // Minute :
-        int minute_image = nombre_image_tmp % (60 * 60 * framerate_tmp);
-        int minute_tmp = minute_image / (60 * framerate_tmp);
-
-        // Seconde :
-        int seconde_image = minute_image % (60 * framerate_tmp);
-        int seconde_tmp = seconde_image / framerate_tmp;
+        if (etat.origine == null) {
+            TimecodeMetrics.conversion(conversion, etat.framerate, etat.framerate_connu, framerate, (framerate_connu != null) ? framerate_connu : Framerate.fromValue(framerate, etat.drop_frame), false);
+            throw new TimecodeException("Le timecode de début n'a pas été renseigné.");
+        }
 
-        // Image :
-        int image_tmp = seconde_image % framerate_tmp;
+        int image_utile = etat.toImage() - etat.getImageOrigine();
+        Etat cible = (framerate_connu != null) ? etat.avecFramerate(framerate_connu) : etat.avecFramerate(framerate, etat.drop_frame);
 
-        if (seconde_tmp == 0 && image_tmp == 0 && (nombre_image_tmp != 0) && (heure_tmp + minute_tmp + seconde_tmp + image_tmp != heure_tmp)) {
-            image_tmp = 2;
-        }
+        this.etat = cible.avecImage(image_utile + cible.getImageOrigine());
 
-        return digit(heure_tmp) + ":" + digit(minute_tmp) + ":" + digit(seconde_tmp) + ";" + digit(image_tmp);
+        TimecodeMetrics.conversion(conversion, etat.framerate, etat.framerate_connu, framerate, cible.framerate_connu, true);
     }
 
     /**
@@ -390,26 +322,88 @@ public final class Timecode {
      * @return {@code true} si le timecode est dans l'interval.
      */
     public static boolean entre(Timecode tc, Timecode tc_in, Timecode tc_out) {
-        return (tc_in.toImage() <= tc.toImage() && tc.toImage() <= tc_out.toImage());
+        int image = tc.toImage();
+
+        return (tc_in.toImage() <= image && image <= tc_out.toImage());
     }
 
     /**
-     * Gère à moitié le drop frame du 29,97is.
+     * Ajoute le timecode, sous la représentation SMPTE, à un
+     * {@code StringBuilder}.
      *
-     * @return Timecode en 29,97 DF.
+     * @param destination Le {@code StringBuilder}.
+     * @return Le {@code StringBuilder}.
      */
-    private int compenserDropFrame() {
-        int nombre_image_tmp = (this.heure * 60 * 60 * 30) + (this.minute * 60 * 30) + (this.seconde * 30) + this.image;
+    @NotNull
+    public StringBuilder formatTo(@NotNull StringBuilder destination) {
+        Etat etat = this.etat;
+
+        if (etat.nul) {
+            return destination.append("-1");
+        }
 
-        int compensation = (nombre_image_tmp / 1800) * 2;
+        FormatageEvent formatage = TimecodeMetrics.debutFormatage();
 
-        int nombre_heure = (nombre_image_tmp / (1 * 60 * 60 * 30)) * 10;
+        etat.verifierLabel();
+        TimecodeFormatter.format(etat.heure, etat.minute, etat.seconde, etat.image, etat.drop_frame, destination);
+
+        TimecodeMetrics.formatage(formatage, etat.framerate, etat.drop_frame);
+
+        return destination;
+    }
+
+    /**
+     * Écrit le timecode, sous la représentation SMPTE, dans un tableau de
+     * {@code char} ({@link TimecodeFormatter#LONGUEUR} caractères, ou
+     * {@link TimecodeFormatter#LONGUEUR_MAX} quand l'image a trois chiffres
+     * au-dessus de 100is).
+     *
+     * @param destination Le tableau.
+     * @param offset Index où écrire le premier caractère.
+     * @return L'index qui suit le dernier caractère écrit.
+     */
+    public int formatTo(@NotNull char[] destination, int offset) {
+        Etat etat = this.etat;
 
-        if (nombre_heure > 0) {
-            compensation -= nombre_heure + (this.heure * 2);
+        if (etat.nul) {
+            throw new TimecodeRuntimeException("Le timecode n'est pas défini.");
         }
 
-        return compensation;
+        FormatageEvent formatage = TimecodeMetrics.debutFormatage();
+
+        etat.verifierLabel();
+        int fin = TimecodeFormatter.format(etat.heure, etat.minute, etat.seconde, etat.image, etat.drop_frame, destination, offset);
+
+        TimecodeMetrics.formatage(formatage, etat.framerate, etat.drop_frame);
+
+        return fin;
+    }
+
+    /**
+     * Écrit le timecode, sous la représentation SMPTE en ASCII, dans un
+     * {@code ByteBuffer} ({@link TimecodeFormatter#LONGUEUR} octets, ou
+     * {@link TimecodeFormatter#LONGUEUR_MAX} quand l'image a trois chiffres, à
+     * partir de sa position courante).
+     *
+     * @param destination Le tampon.
+     * @return Le tampon.
+     */
+    @NotNull
+    public ByteBuffer formatTo(@NotNull ByteBuffer destination) {
+        Etat etat = this.etat;
+
+        if (etat.nul) {
+            throw new TimecodeRuntimeException("Le timecode n'est pas défini.");
+        }
+
+        FormatageEvent formatage = TimecodeMetrics.debutFormatage();
+
+        etat.verifierLabel();
+        TimecodeFormatter.format(etat.heure, etat.minute, etat.seconde, etat.image, etat.drop_frame, destination);
+
+        TimecodeMetrics.formatage(formatage, etat.framerate, etat.drop_frame);
+
+        return destination;
     }
 
     /**
@@ -418,31 +412,18 @@ public final class Timecode {
      * @return Le framerate actuel.
      */
     public double getFramerate() {
-        return this.framerate;
-    }
-
-    /**
-     * Retourne le framerate pour faire des calculs en interne.
-     *
-     * @return Retourne la valeur du framerate pour calculer le timecode.
-     */
-    private int getFramerateCalcule() {
-        // Si c'est du 23,976 i/s :
-        if (this.framerate == Framerate.F23976.getValeur()) {
-            return 24;
-        } // Si c'est du 24 i/s :
-        else if (this.framerate == Framerate.F24.getValeur()) {
-            return 24;
-        } // Si c'est du 25 i/s :
-        else if (this.framerate == Framerate.F25.getValeur()) {
-            return 25;
-        } // Si c'est du 29,97 i/s NDF, 29,76 DF ou du 30 i/s :
-        else if (this.framerate == Framerate.F2997.getValeur() || this.framerate == Framerate.F2997ND.getValeur() || this.framerate == Framerate.F30.getValeur()) {
-            return 30;
-        } // Sinon, on tente une conversion en int :
-        else {
-            return (int) this.framerate;
-        }
+        return this.etat.framerate;
+    }
+
+    /**
+     * Retourne le {@link Framerate} du timecode.
+     *
+     * @return Le {@code Framerate} qui correspond au framerate et au
+     * drop-frame, sinon {@code null}.
+     */
+    @Null
+    public Framerate getFramerateConnu() {
+        return this.etat.framerate_connu;
     }
 
     /**
@@ -451,7 +432,19 @@ public final class Timecode {
      * @return Timecode de début.
      */
     public String getStartTimecode() {
-        return this.timecode_debut;
+        TimecodeOrigine origine = this.etat.origine;
+
+        return (origine != null) ? origine.toString() : null;
+    }
+
+    /**
+     * Retourne le timecode de début.
+     *
+     * @return Timecode de début, {@code null} s'il n'est pas défini.
+     */
+    @Null
+    public TimecodeOrigine getOrigine() {
+        return this.etat.origine;
     }
 
     /**
@@ -460,7 +453,7 @@ public final class Timecode {
      * @return {@code true} si c'est drop-frame, sinon {@code false}.
      */
     public boolean isDropFrame() {
-        return this.drop_frame;
+        return this.etat.drop_frame;
     }
 
     /**
@@ -473,34 +466,15 @@ public final class Timecode {
         return timecode.contains(";");
     }
 
-    /**
-     * Encode la variable nombre_image en heure, minute, seconde, image.
-     */
-    private void nombreImageToInt() {
-        int framerate_tmp = this.getFramerateCalcule();
-
-        // Heure :
-        this.heure = this.nombre_image / (60 * 60 * framerate_tmp);
-
-        // Minute :
-        int minute_image = this.nombre_image % (60 * 60 * framerate_tmp);
-        this.minute = minute_image / (60 * framerate_tmp);
-
-        // Seconde :
-        int seconde_image = minute_image % (60 * framerate_tmp);
-        this.seconde = seconde_image / framerate_tmp;
-
-        // Image :
-        this.image = seconde_image % framerate_tmp;
-    }
-
     /**
      * Modifie si le timecode est drop-frame ou non.
      *
      * @param drop_frame La valeur du drop-frame.
      */
     public void setDropFrame(boolean drop_frame) {
-        this.drop_frame = drop_frame;
+        Etat etat = this.etat;
+
+        this.etat = etat.avecFramerate(etat.framerate, drop_frame);
     }
 
     /**
@@ -511,16 +485,28 @@ public final class Timecode {
      * @param framerate Le framerate.
      */
     public void setFramerate(double framerate) {
-        this.framerate = framerate;
+        Etat etat = this.etat;
+
+        this.etat = etat.avecFramerate(framerate, etat.drop_frame);
     }
 
     /**
      * Définit le timecode de début.
      *
-     * @param timecode_debut Nombre d'images.
+     * @param timecode_debut Le timecode de début ("<em>HH:mm:ss:ii</em>").
      */
     public void setStartTimecode(String timecode_debut) {
-        this.timecode_debut = timecode_debut;
+        this.setOrigine((timecode_debut == null || timecode_debut.isEmpty()) ? null : new TimecodeOrigine(timecode_debut));
+    }
+
+    /**
+     * Définit le timecode de début, déjà analysé (peut être partagé entre
+     * plusieurs timecodes).
+     *
+     * @param origine Le timecode de début.
+     */
+    public void setOrigine(@Null TimecodeOrigine origine) {
+        this.etat = this.etat.avecOrigine(origine);
     }
 
     /**
@@ -530,7 +516,7 @@ public final class Timecode {
      * @return Le nombre d'images que représente un timecode.
      */
     public int toImage() {
-        return this.toImage(false);
+        return this.etat.toImage();
     }
 
     /**
@@ -542,17 +528,17 @@ public final class Timecode {
      * @return Le nombre d'images que représente le timecode.
      */
     public int toImage(boolean image_utile) {
-        if (this.doit_etre_calcule) {
-            this.nombreImageToInt();
-            this.doit_etre_calcule = false;
+        Etat etat = this.etat;
+
+        if (etat.nul || !image_utile) {
+            return etat.toImage();
         }
 
-        if (this.is_null.isEmpty()) {
-            return (this.heure * 60 * 60 * this.getFramerateCalcule()) + (this.minute * 60 * this.getFramerateCalcule()) + (this.seconde * this.getFramerateCalcule()) + (this.image)
-                    - ((image_utile) ? new Timecode(this.timecode_debut, this.framerate).toImage() : 0) - (this.drop_frame ? compenserDropFrame() : 0);
-        } else {
-            return -1;
+        if (etat.origine == null) {
+            throw new TimecodeRuntimeException("Le timecode de début n'a pas été renseigné.");
         }
+
+        return etat.nombre_image - etat.getImageOrigine();
     }
 
     /**
@@ -563,20 +549,76 @@ public final class Timecode {
     @Override
     @NotNull
     public String toString() {
-        if (doit_etre_calcule) {
-            nombreImageToInt();
-            doit_etre_calcule = false;
-        }
+        return this.formatTo(new StringBuilder(TimecodeFormatter.LONGUEUR)).toString();
+    }
 
-        if (is_null.isEmpty()) {
-            if (this.drop_frame) {
-                return dropFrame();
-            } else {
-                return digit(this.heure) + ":" + digit(this.minute) + ":" + digit(this.seconde) + ":" + digit(this.image);
-            }
+    /**
+     * Compare d'abord le framerate, puis le nombre d'images. Un timecode
+     * "{@code null}" est avant les autres timecodes de même framerate.<br>
+     * Les framerates connus sont dans l'ordre de {@link Framerate#ordinal()},
+     * comme {@link PackedTimecode#compareTo(PackedTimecode)} ; les autres
+     * viennent après, par valeur puis drop-frame.
+     *
+     * @param autre L'autre timecode.
+     * @return La comparaison.
+     */
+    @Override
+    public int compareTo(@NotNull Timecode autre) {
+        Etat a = this.etat;
+        Etat b = autre.etat;
+
+        int comparaison;
+        if (a.framerate_connu != null && b.framerate_connu != null) {
+            comparaison = Integer.compare(a.framerate_connu.ordinal(), b.framerate_connu.ordinal());
+        } else if (a.framerate_connu != null || b.framerate_connu != null) {
+            comparaison = (a.framerate_connu != null) ? -1 : 1;
         } else {
-            return "-1";
+            comparaison = Double.compare(a.framerate, b.framerate);
+            if (comparaison == 0) {
+                comparaison = Boolean.compare(a.drop_frame, b.drop_frame);
+            }
+        }
+        if (comparaison != 0) {
+            return comparaison;
+        }
+
+        comparaison = Boolean.compare(b.nul, a.nul);
+        if (comparaison != 0) {
+            return comparaison;
+        }
+
+        return Integer.compare(a.nombre_image, b.nombre_image);
+    }
+
+    /**
+     * Retourne si deux timecodes ont le même framerate, le même drop-frame et
+     * le même nombre d'images.
+     *
+     * @param objet L'autre objet.
+     * @return {@code true} si les timecodes sont égaux.
+     */
+    @Override
+    public boolean equals(Object objet) {
+        if (!(objet instanceof Timecode autre)) {
+            return false;
         }
+
+        Etat a = this.etat;
+        Etat b = autre.etat;
+
+        return a.nul == b.nul && a.nombre_image == b.nombre_image && a.drop_frame == b.drop_frame && Double.compare(a.framerate, b.framerate) == 0;
+    }
+
+    /**
+     * Retourne le hash du timecode.
+     *
+     * @return Le hash.
+     */
+    @Override
+    public int hashCode() {
+        Etat etat = this.etat;
+
+        return (Double.hashCode(etat.framerate) * 31 + Boolean.hashCode(etat.drop_frame)) * 31 + etat.nombre_image;
     }
 
     /**
@@ -590,66 +632,259 @@ public final class Timecode {
     }
 
     /**
-     * Retourne {@code true} si le timecode est valide et selon son framerate.
+     * Retourne {@code true} si le timecode est valide et selon son framerate.<br>
+     * Au-dessus de 100is, l'image peut avoir trois chiffres, comme l'écrit
+     * {@link #toString()} ("<em>00:00:00:110</em>" en 120is).<br>
+     * Pour connaître la raison d'un timecode non valide, utiliser
+     * {@link TimecodeParser#valider(CharSequence, Framerate)}.
      *
      * @param tc Le timecode.
      * @param framerate Le framerate.
      * @return {@code true} si le timecode est valide.
      */
     public static boolean validation(String tc, Framerate framerate) {
-        try {
-            boolean ok = true;
+        ValidationEvent validation = TimecodeMetrics.debutValidation();
+        TimecodeErreur erreur = TimecodeParser.valider(tc, framerate);
+
+        TimecodeMetrics.validation(validation, framerate, erreur);
+
+        return erreur == null;
+    }
+
+    /**
+     * Valeurs d'un timecode, toutes calculées à la construction.
+     */
+    private static final class Etat {
+
+        /**
+         * Si les informations de base ne sont pas définies.
+         */
+        private final boolean nul;
+
+        /**
+         * Si le timecode a été défini par un nombre d'images : un changement
+         * de framerate garde alors le nombre d'images (et recalcule le label).
+         */
+        private final boolean depuis_nombre_image;
+
+        /**
+         * Si le label a pu être calculé (il faut un framerate pour passer d'un
+         * nombre d'images au label).
+         */
+        private final boolean label_calcule;
+
+        /**
+         * Heure du timecode.
+         */
+        private final int heure;
+
+        /**
+         * Minute du timecode.
+         */
+        private final int minute;
+
+        /**
+         * Seconde du timecode.
+         */
+        private final int seconde;
+
+        /**
+         * Image du timecode.
+         */
+        private final int image;
+
+        /**
+         * Nombre d'images (totale) du programme.
+         */
+        private final int nombre_image;
+
+        /**
+         * Framerate du timecode.
+         */
+        private final double framerate;
+
+        /**
+         * Si le framerate (29,97is) est en drop-frame ou non.
+         */
+        private final boolean drop_frame;
+
+        /**
+         * Le {@link Framerate} qui correspond au framerate et au drop-frame,
+         * {@code null} si aucun ne correspond.
+         */
+        private final Framerate framerate_connu;
+
+        /**
+         * Nombre d'images par seconde utilisé pour les calculs (24 pour du
+         * 23,976is, 30 pour du 29,97is).
+         */
+        private final int image_par_seconde;
+
+        /**
+         * Nombre d'images sautées par minute (0 si pas en drop-frame).
+         */
+        private final int image_sautee;
+
+        /**
+         * Où commence le programme ({@code null} s'il n'est pas défini).<br>
+         * Sert pour les conversions de timecode.
+         */
+        private final TimecodeOrigine origine;
+
+        /**
+         * Construit un état.
+         *
+         * @param nul Si le timecode n'est pas défini.
+         * @param depuis_nombre_image Si le timecode est défini par son nombre
+         * d'images (sinon par son label).
+         * @param heure Heure du timecode.
+         * @param minute Minute du timecode.
+         * @param seconde Seconde du timecode.
+         * @param image Image du timecode.
+         * @param nombre_image Nombre d'images du timecode.
+         * @param framerate Framerate du timecode.
+         * @param drop_frame Si le timecode est en drop-frame ou non.
+         * @param origine Le timecode de début.
+         */
+        private Etat(boolean nul, boolean depuis_nombre_image, int heure, int minute, int seconde, int image, int nombre_image, double framerate, boolean drop_frame, TimecodeOrigine origine) {
+            this(nul, depuis_nombre_image, heure, minute, seconde, image, nombre_image, framerate, drop_frame, Framerate.fromValue(framerate, drop_frame), origine);
+        }
 
-            tc = tc.replace(";", ":");
+        /**
+         * Construit un état dont le {@link Framerate} est déjà résolu.
+         *
+         * @param nul Si le timecode n'est pas défini.
+         * @param depuis_nombre_image Si le timecode est défini par son nombre
+         * d'images (sinon par son label).
+         * @param heure Heure du timecode.
+         * @param minute Minute du timecode.
+         * @param seconde Seconde du timecode.
+         * @param image Image du timecode.
+         * @param nombre_image Nombre d'images du timecode.
+         * @param framerate Framerate du timecode.
+         * @param drop_frame Si le timecode est en drop-frame ou non.
+         * @param framerate_connu Le {@link Framerate} qui correspond au
+         * framerate et au drop-frame, sinon {@code null}.
+         * @param origine Le timecode de début.
+         */
+        private Etat(boolean nul, boolean depuis_nombre_image, int heure, int minute, int seconde, int image, int nombre_image, double framerate, boolean drop_frame, Framerate framerate_connu, TimecodeOrigine origine) {
+            this.nul = nul;
+            this.depuis_nombre_image = depuis_nombre_image;
+            this.framerate = framerate;
+            this.drop_frame = drop_frame;
+            this.origine = origine;
+            this.framerate_connu = framerate_connu;
 
-            String[] split_tc = tc.split(":");
+            if (framerate_connu != null) {
+                this.image_par_seconde = framerate_connu.getImageParSeconde();
+            } else {
+                Framerate base = Framerate.fromValue(framerate);
 
-            if (split_tc.length != 4) {
-                ok = false;
+                // Sinon, on tente une conversion en int.
+                this.image_par_seconde = (base != null) ? base.getImageParSeconde() : (int) framerate;
             }
+            this.image_sautee = drop_frame ? DropFrame.imageSauteeParMinute(this.image_par_seconde) : 0;
+
+            if (depuis_nombre_image && !nul) {
+                this.nombre_image = nombre_image;
+
+                // Sans framerate, le label sera calculé quand il sera défini.
+                if (this.image_par_seconde > 0) {
+                    long label = DropFrame.toLabel(nombre_image, this.image_par_seconde, this.image_sautee);
+
+                    this.heure = TimecodeParser.heure(label);
+                    this.minute = TimecodeParser.minute(label);
+                    this.seconde = TimecodeParser.seconde(label);
+                    this.image = TimecodeParser.image(label);
+                    this.label_calcule = true;
+                } else {
+                    this.heure = 0;
+                    this.minute = 0;
+                    this.seconde = 0;
+                    this.image = 0;
+                    this.label_calcule = false;
+                }
+            } else {
+                this.heure = heure;
+                this.minute = minute;
+                this.seconde = seconde;
+                this.image = image;
+                this.nombre_image = nul ? -1 : (int) DropFrame.toImage(heure, minute, seconde, image, this.image_par_seconde, this.image_sautee);
+                this.label_calcule = !nul;
+            }
+        }
 
-            int split_tc_nb;
+        /**
+         * Retourne le même état avec un autre framerate.
+         *
+         * @param framerate Le framerate.
+         * @param drop_frame Si le timecode est en drop-frame ou non.
+         * @return Le nouvel état.
+         */
+        private Etat avecFramerate(double framerate, boolean drop_frame) {
+            return new Etat(this.nul, this.depuis_nombre_image, this.heure, this.minute, this.seconde, this.image, this.nombre_image, framerate, drop_frame, this.origine);
+        }
 
-            for (int i = 0; i < split_tc.length; i++) {
-                if (split_tc[i].length() != 2) {
-                    ok = false;
-                }
+        /**
+         * Retourne le même état avec un autre {@link Framerate}.
+         *
+         * @param framerate Le framerate (avec son drop-frame).
+         * @return Le nouvel état.
+         */
+        private Etat avecFramerate(Framerate framerate) {
+            return new Etat(this.nul, this.depuis_nombre_image, this.heure, this.minute, this.seconde, this.image, this.nombre_image, framerate.getValeur(), framerate.getDropFrame(), framerate, this.origine);
+        }
 
-                split_tc_nb = Integer.parseInt(split_tc[i]);
+        /**
+         * Retourne le même état avec un autre nombre d'images.
+         *
+         * @param nombre_image Le nombre d'images.
+         * @return Le nouvel état.
+         */
+        private Etat avecImage(int nombre_image) {
+            return new Etat(false, true, 0, 0, 0, 0, nombre_image, this.framerate, this.drop_frame, this.framerate_connu, this.origine);
+        }
 
-                if (split_tc_nb < 0) {
-                    ok = false;
-                }
+        /**
+         * Retourne le même état avec un autre timecode de début.
+         *
+         * @param origine Le timecode de début.
+         * @return Le nouvel état.
+         */
+        private Etat avecOrigine(TimecodeOrigine origine) {
+            return new Etat(this.nul, this.depuis_nombre_image, this.heure, this.minute, this.seconde, this.image, this.nombre_image, this.framerate, this.drop_frame, this.framerate_connu, origine);
+        }
 
-                switch (i) {
-                    case 0 -> {
-                        if (split_tc_nb > 24) {
-                            ok = false;
-                        }
-                    }
-                    case 1 -> {
-                        if (split_tc_nb >= 60) {
-                            ok = false;
-                        }
-                    }
-                    case 2 -> {
-                        if (split_tc_nb >= 60) {
-                            ok = false;
-                        }
-                    }
-                    case 3 -> {
-                        // On ne gère pas au dessus du 30 image seconde.
-                        if (split_tc_nb >= framerate.getValeur()) {
-                            ok = false;
-                        }
-                    }
-                }
+        /**
+         * Vérifie que le label peut être affiché.
+         */
+        private void verifierLabel() {
+            if (!this.label_calcule) {
+                throw new TimecodeRuntimeException("Le framerate n'est pas défini : le timecode de " + this.nombre_image + " images ne peut pas être affiché.");
             }
+        }
 
-            return ok;
-        } // Si une conversion de nombre n'a pas fonctionné c'est que le TC n'est pas conforme. 
-        catch (NumberFormatException exception) {
-            return false;
+        /**
+         * Retourne le nombre d'images du timecode.
+         *
+         * @return Le nombre d'images, -1 si le timecode n'est pas défini.
+         */
+        private int toImage() {
+            return this.nombre_image;
+        }
+
+        /**
+         * Retourne le nombre d'images du timecode de début, dans le framerate
+         * du timecode.
+         *
+         * @return Le nombre d'images du timecode de début.
+         */
+        private int getImageOrigine() {
+            if (this.framerate_connu != null) {
+                return this.origine.getImage(this.framerate_connu);
+            }
+
+            return this.origine.getImage(this.image_par_seconde, this.image_sautee);
         }
     }
 }
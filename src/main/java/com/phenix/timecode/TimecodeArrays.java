@@ -0,0 +1,601 @@
+package com.phenix.timecode;
+
+import com.phenix.timecode.exceptions.TimecodeRuntimeException;
+import jakarta.validation.constraints.NotNull;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Conversions en masse entre des timecodes SMPTE en ASCII et des nombres
+ * d'images, sans créer d'objet {@link Timecode}.<br>
+ * Les timecodes SMPTE sont des enregistrements de taille fixe : chaque
+ * timecode fait {@link TimecodeFormatter#LONGUEUR} octets
+ * ("<em>HH:mm:ss:ii</em>", deux chiffres par champ) et commence {@code pas}
+ * octets après le précédent ({@code pas} vaut 11 pour des timecodes collés,
+ * 12 pour des timecodes séparés par un retour à la ligne, etc.).<br>
+ * Les séparateurs "<em>:</em>" et "<em>;</em>" sont acceptés en lecture ; le
+ * drop-frame est donné par le {@link Framerate}. Les minutes, les secondes
+ * et les images sont vérifiées comme avec
+ * {@link TimecodeParser#analyser(CharSequence, Framerate)} : un champ hors
+ * limites ou une image sautée en drop-frame lève une exception au lieu de
+ * donner un autre nombre d'images. Au dessus de 100is (120is,
+ * 119,88is), les images à partir de 100 ne tiennent pas sur deux chiffres :
+ * l'écriture de ces timecodes lève une exception.<br>
+ * <br>
+ * Les méthodes "<em>Parallel</em>" découpent les grands tableaux et les
+ * traitent dans un {@code ForkJoinPool}.
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public final class TimecodeArrays {
+
+    /**
+     * En dessous de ce nombre de timecodes, une tâche n'est plus découpée.
+     */
+    private static final int SEUIL_PARALLELE = 1 << 14;
+
+    /**
+     * Classe utilitaire.
+     */
+    private TimecodeArrays() {
+    }
+
+    /**
+     * Convertit des timecodes SMPTE en nombres d'images.
+     *
+     * @param smpte Les timecodes en ASCII.
+     * @param offset Index du premier timecode.
+     * @param pas Nombre d'octets entre le début de deux timecodes (au moins
+     * {@link TimecodeFormatter#LONGUEUR}).
+     * @param framerate Le framerate des timecodes.
+     * @param images Tableau qui reçoit les nombres d'images.
+     * @param debut Index du premier nombre d'images à écrire.
+     * @param nombre Nombre de timecodes à convertir.
+     */
+    public static void toImages(@NotNull byte[] smpte, int offset, int pas, @NotNull Framerate framerate, @NotNull int[] images, int debut, int nombre) {
+        verifierPas(pas);
+
+        int base = framerate.getImageParSeconde();
+        int drop = DropFrame.imageSauteeParMinute(framerate);
+
+        for (int i = 0; i < nombre; i++) {
+            long image = lireImage(smpte, offset + i * pas, base, drop);
+
+            if (image < 0) {
+                throw erreurFormat(debut + i);
+            }
+
+            images[debut + i] = (int) image;
+        }
+    }
+
+    /**
+     * Convertit des timecodes SMPTE en nombres d'images.
+     *
+     * @param smpte Les timecodes en ASCII.
+     * @param offset Index du premier timecode.
+     * @param pas Nombre d'octets entre le début de deux timecodes (au moins
+     * {@link TimecodeFormatter#LONGUEUR}).
+     * @param framerate Le framerate des timecodes.
+     * @param images Tableau qui reçoit les nombres d'images.
+     * @param debut Index du premier nombre d'images à écrire.
+     * @param nombre Nombre de timecodes à convertir.
+     */
+    public static void toImages(@NotNull byte[] smpte, int offset, int pas, @NotNull Framerate framerate, @NotNull long[] images, int debut, int nombre) {
+        verifierPas(pas);
+
+        int base = framerate.getImageParSeconde();
+        int drop = DropFrame.imageSauteeParMinute(framerate);
+
+        for (int i = 0; i < nombre; i++) {
+            long image = lireImage(smpte, offset + i * pas, base, drop);
+
+            if (image < 0) {
+                throw erreurFormat(debut + i);
+            }
+
+            images[debut + i] = image;
+        }
+    }
+
+    /**
+     * Convertit des timecodes SMPTE en nombres d'images.<br>
+     * La position du tampon n'est pas modifiée.
+     *
+     * @param smpte Les timecodes en ASCII.
+     * @param index Index (absolu) du premier timecode.
+     * @param pas Nombre d'octets entre le début de deux timecodes (au moins
+     * {@link TimecodeFormatter#LONGUEUR}).
+     * @param framerate Le framerate des timecodes.
+     * @param images Tableau qui reçoit les nombres d'images.
+     * @param debut Index du premier nombre d'images à écrire.
+     * @param nombre Nombre de timecodes à convertir.
+     */
+    public static void toImages(@NotNull ByteBuffer smpte, int index, int pas, @NotNull Framerate framerate, @NotNull int[] images, int debut, int nombre) {
+        if (smpte.hasArray()) {
+            toImages(smpte.array(), smpte.arrayOffset() + index, pas, framerate, images, debut, nombre);
+            return;
+        }
+
+        verifierPas(pas);
+
+        int base = framerate.getImageParSeconde();
+        int drop = DropFrame.imageSauteeParMinute(framerate);
+        byte[] tampon = new byte[TimecodeFormatter.LONGUEUR];
+
+        for (int i = 0; i < nombre; i++) {
+            smpte.get(index + i * pas, tampon);
+            long image = lireImage(tampon, 0, base, drop);
+
+            if (image < 0) {
+                throw erreurFormat(debut + i);
+            }
+
+            images[debut + i] = (int) image;
+        }
+    }
+
+    /**
+     * Convertit des timecodes SMPTE en nombres d'images.<br>
+     * La position du tampon n'est pas modifiée.
+     *
+     * @param smpte Les timecodes en ASCII.
+     * @param index Index (absolu) du premier timecode.
+     * @param pas Nombre d'octets entre le début de deux timecodes (au moins
+     * {@link TimecodeFormatter#LONGUEUR}).
+     * @param framerate Le framerate des timecodes.
+     * @param images Tableau qui reçoit les nombres d'images.
+     * @param debut Index du premier nombre d'images à écrire.
+     * @param nombre Nombre de timecodes à convertir.
+     */
+    public static void toImages(@NotNull ByteBuffer smpte, int index, int pas, @NotNull Framerate framerate, @NotNull long[] images, int debut, int nombre) {
+        if (smpte.hasArray()) {
+            toImages(smpte.array(), smpte.arrayOffset() + index, pas, framerate, images, debut, nombre);
+            return;
+        }
+
+        verifierPas(pas);
+
+        int base = framerate.getImageParSeconde();
+        int drop = DropFrame.imageSauteeParMinute(framerate);
+        byte[] tampon = new byte[TimecodeFormatter.LONGUEUR];
+
+        for (int i = 0; i < nombre; i++) {
+            smpte.get(index + i * pas, tampon);
+            long image = lireImage(tampon, 0, base, drop);
+
+            if (image < 0) {
+                throw erreurFormat(debut + i);
+            }
+
+            images[debut + i] = image;
+        }
+    }
+
+    /**
+     * Convertit des nombres d'images en timecodes SMPTE.<br>
+     * Les octets entre deux timecodes (quand {@code pas} est supérieur à
+     * {@link TimecodeFormatter#LONGUEUR}) ne sont pas modifiés.
+     *
+     * @param images Les nombres d'images.
+     * @param debut Index du premier nombre d'images.
+     * @param nombre Nombre de timecodes à convertir.
+     * @param framerate Le framerate des timecodes.
+     * @param smpte Tableau qui reçoit les timecodes en ASCII.
+     * @param offset Index du premier timecode à écrire.
+     * @param pas Nombre d'octets entre le début de deux timecodes (au moins
+     * {@link TimecodeFormatter#LONGUEUR}).
+     */
+    public static void toSmpte(@NotNull int[] images, int debut, int nombre, @NotNull Framerate framerate, @NotNull byte[] smpte, int offset, int pas) {
+        verifierPas(pas);
+
+        int base = framerate.getImageParSeconde();
+        int drop = DropFrame.imageSauteeParMinute(framerate);
+
+        for (int i = 0; i < nombre; i++) {
+            ecrireImage(images[debut + i], base, drop, smpte, offset + i * pas);
+        }
+    }
+
+    /**
+     * Convertit des nombres d'images en timecodes SMPTE.<br>
+     * Les octets entre deux timecodes (quand {@code pas} est supérieur à
+     * {@link TimecodeFormatter#LONGUEUR}) ne sont pas modifiés.
+     *
+     * @param images Les nombres d'images.
+     * @param debut Index du premier nombre d'images.
+     * @param nombre Nombre de timecodes à convertir.
+     * @param framerate Le framerate des timecodes.
+     * @param smpte Tableau qui reçoit les timecodes en ASCII.
+     * @param offset Index du premier timecode à écrire.
+     * @param pas Nombre d'octets entre le début de deux timecodes (au moins
+     * {@link TimecodeFormatter#LONGUEUR}).
+     */
+    public static void toSmpte(@NotNull long[] images, int debut, int nombre, @NotNull Framerate framerate, @NotNull byte[] smpte, int offset, int pas) {
+        verifierPas(pas);
+
+        int base = framerate.getImageParSeconde();
+        int drop = DropFrame.imageSauteeParMinute(framerate);
+
+        for (int i = 0; i < nombre; i++) {
+            ecrireImage(images[debut + i], base, drop, smpte, offset + i * pas);
+        }
+    }
+
+    /**
+     * Convertit des nombres d'images en timecodes SMPTE.<br>
+     * La position du tampon n'est pas modifiée.
+     *
+     * @param images Les nombres d'images.
+     * @param debut Index du premier nombre d'images.
+     * @param nombre Nombre de timecodes à convertir.
+     * @param framerate Le framerate des timecodes.
+     * @param smpte Tampon qui reçoit les timecodes en ASCII.
+     * @param index Index (absolu) du premier timecode à écrire.
+     * @param pas Nombre d'octets entre le début de deux timecodes (au moins
+     * {@link TimecodeFormatter#LONGUEUR}).
+     */
+    public static void toSmpte(@NotNull int[] images, int debut, int nombre, @NotNull Framerate framerate, @NotNull ByteBuffer smpte, int index, int pas) {
+        if (smpte.hasArray()) {
+            toSmpte(images, debut, nombre, framerate, smpte.array(), smpte.arrayOffset() + index, pas);
+            return;
+        }
+
+        verifierPas(pas);
+
+        int base = framerate.getImageParSeconde();
+        int drop = DropFrame.imageSauteeParMinute(framerate);
+        byte[] tampon = new byte[TimecodeFormatter.LONGUEUR];
+
+        for (int i = 0; i < nombre; i++) {
+            ecrireImage(images[debut + i], base, drop, tampon, 0);
+            smpte.put(index + i * pas, tampon);
+        }
+    }
+
+    /**
+     * Convertit des nombres d'images en timecodes SMPTE.<br>
+     * La position du tampon n'est pas modifiée.
+     *
+     * @param images Les nombres d'images.
+     * @param debut Index du premier nombre d'images.
+     * @param nombre Nombre de timecodes à convertir.
+     * @param framerate Le framerate des timecodes.
+     * @param smpte Tampon qui reçoit les timecodes en ASCII.
+     * @param index Index (absolu) du premier timecode à écrire.
+     * @param pas Nombre d'octets entre le début de deux timecodes (au moins
+     * {@link TimecodeFormatter#LONGUEUR}).
+     */
+    public static void toSmpte(@NotNull long[] images, int debut, int nombre, @NotNull Framerate framerate, @NotNull ByteBuffer smpte, int index, int pas) {
+        if (smpte.hasArray()) {
+            toSmpte(images, debut, nombre, framerate, smpte.array(), smpte.arrayOffset() + index, pas);
+            return;
+        }
+
+        verifierPas(pas);
+
+        int base = framerate.getImageParSeconde();
+        int drop = DropFrame.imageSauteeParMinute(framerate);
+        byte[] tampon = new byte[TimecodeFormatter.LONGUEUR];
+
+        for (int i = 0; i < nombre; i++) {
+            ecrireImage(images[debut + i], base, drop, tampon, 0);
+            smpte.put(index + i * pas, tampon);
+        }
+    }
+
+    /**
+     * Comme
+     * {@link #toImages(byte[], int, int, Framerate, int[], int, int)}, en
+     * parallèle.
+     *
+     * @param smpte Les timecodes en ASCII.
+     * @param offset Index du premier timecode.
+     * @param pas Nombre d'octets entre le début de deux timecodes.
+     * @param framerate Le framerate des timecodes.
+     * @param images Tableau qui reçoit les nombres d'images.
+     * @param debut Index du premier nombre d'images à écrire.
+     * @param nombre Nombre de timecodes à convertir.
+     * @param pool Le pool qui exécute les tâches.
+     */
+    public static void toImagesParallel(@NotNull byte[] smpte, int offset, int pas, @NotNull Framerate framerate, @NotNull int[] images, int debut, int nombre, @NotNull ForkJoinPool pool) {
+        parallel(pool, nombre, (i, n) -> toImages(smpte, offset + i * pas, pas, framerate, images, debut + i, n));
+    }
+
+    /**
+     * Comme
+     * {@link #toImages(byte[], int, int, Framerate, long[], int, int)}, en
+     * parallèle.
+     *
+     * @param smpte Les timecodes en ASCII.
+     * @param offset Index du premier timecode.
+     * @param pas Nombre d'octets entre le début de deux timecodes.
+     * @param framerate Le framerate des timecodes.
+     * @param images Tableau qui reçoit les nombres d'images.
+     * @param debut Index du premier nombre d'images à écrire.
+     * @param nombre Nombre de timecodes à convertir.
+     * @param pool Le pool qui exécute les tâches.
+     */
+    public static void toImagesParallel(@NotNull byte[] smpte, int offset, int pas, @NotNull Framerate framerate, @NotNull long[] images, int debut, int nombre, @NotNull ForkJoinPool pool) {
+        parallel(pool, nombre, (i, n) -> toImages(smpte, offset + i * pas, pas, framerate, images, debut + i, n));
+    }
+
+    /**
+     * Comme
+     * {@link #toImages(ByteBuffer, int, int, Framerate, int[], int, int)}, en
+     * parallèle.
+     *
+     * @param smpte Les timecodes en ASCII.
+     * @param index Index (absolu) du premier timecode.
+     * @param pas Nombre d'octets entre le début de deux timecodes.
+     * @param framerate Le framerate des timecodes.
+     * @param images Tableau qui reçoit les nombres d'images.
+     * @param debut Index du premier nombre d'images à écrire.
+     * @param nombre Nombre de timecodes à convertir.
+     * @param pool Le pool qui exécute les tâches.
+     */
+    public static void toImagesParallel(@NotNull ByteBuffer smpte, int index, int pas, @NotNull Framerate framerate, @NotNull int[] images, int debut, int nombre, @NotNull ForkJoinPool pool) {
+        parallel(pool, nombre, (i, n) -> toImages(smpte, index + i * pas, pas, framerate, images, debut + i, n));
+    }
+
+    /**
+     * Comme
+     * {@link #toImages(ByteBuffer, int, int, Framerate, long[], int, int)},
+     * en parallèle.
+     *
+     * @param smpte Les timecodes en ASCII.
+     * @param index Index (absolu) du premier timecode.
+     * @param pas Nombre d'octets entre le début de deux timecodes.
+     * @param framerate Le framerate des timecodes.
+     * @param images Tableau qui reçoit les nombres d'images.
+     * @param debut Index du premier nombre d'images à écrire.
+     * @param nombre Nombre de timecodes à convertir.
+     * @param pool Le pool qui exécute les tâches.
+     */
+    public static void toImagesParallel(@NotNull ByteBuffer smpte, int index, int pas, @NotNull Framerate framerate, @NotNull long[] images, int debut, int nombre, @NotNull ForkJoinPool pool) {
+        parallel(pool, nombre, (i, n) -> toImages(smpte, index + i * pas, pas, framerate, images, debut + i, n));
+    }
+
+    /**
+     * Comme
+     * {@link #toSmpte(int[], int, int, Framerate, byte[], int, int)}, en
+     * parallèle.
+     *
+     * @param images Les nombres d'images.
+     * @param debut Index du premier nombre d'images.
+     * @param nombre Nombre de timecodes à convertir.
+     * @param framerate Le framerate des timecodes.
+     * @param smpte Tableau qui reçoit les timecodes en ASCII.
+     * @param offset Index du premier timecode à écrire.
+     * @param pas Nombre d'octets entre le début de deux timecodes.
+     * @param pool Le pool qui exécute les tâches.
+     */
+    public static void toSmpteParallel(@NotNull int[] images, int debut, int nombre, @NotNull Framerate framerate, @NotNull byte[] smpte, int offset, int pas, @NotNull ForkJoinPool pool) {
+        parallel(pool, nombre, (i, n) -> toSmpte(images, debut + i, n, framerate, smpte, offset + i * pas, pas));
+    }
+
+    /**
+     * Comme
+     * {@link #toSmpte(long[], int, int, Framerate, byte[], int, int)}, en
+     * parallèle.
+     *
+     * @param images Les nombres d'images.
+     * @param debut Index du premier nombre d'images.
+     * @param nombre Nombre de timecodes à convertir.
+     * @param framerate Le framerate des timecodes.
+     * @param smpte Tableau qui reçoit les timecodes en ASCII.
+     * @param offset Index du premier timecode à écrire.
+     * @param pas Nombre d'octets entre le début de deux timecodes.
+     * @param pool Le pool qui exécute les tâches.
+     */
+    public static void toSmpteParallel(@NotNull long[] images, int debut, int nombre, @NotNull Framerate framerate, @NotNull byte[] smpte, int offset, int pas, @NotNull ForkJoinPool pool) {
+        parallel(pool, nombre, (i, n) -> toSmpte(images, debut + i, n, framerate, smpte, offset + i * pas, pas));
+    }
+
+    /**
+     * Comme
+     * {@link #toSmpte(int[], int, int, Framerate, ByteBuffer, int, int)}, en
+     * parallèle.
+     *
+     * @param images Les nombres d'images.
+     * @param debut Index du premier nombre d'images.
+     * @param nombre Nombre de timecodes à convertir.
+     * @param framerate Le framerate des timecodes.
+     * @param smpte Tampon qui reçoit les timecodes en ASCII.
+     * @param index Index (absolu) du premier timecode à écrire.
+     * @param pas Nombre d'octets entre le début de deux timecodes.
+     * @param pool Le pool qui exécute les tâches.
+     */
+    public static void toSmpteParallel(@NotNull int[] images, int debut, int nombre, @NotNull Framerate framerate, @NotNull ByteBuffer smpte, int index, int pas, @NotNull ForkJoinPool pool) {
+        parallel(pool, nombre, (i, n) -> toSmpte(images, debut + i, n, framerate, smpte, index + i * pas, pas));
+    }
+
+    /**
+     * Comme
+     * {@link #toSmpte(long[], int, int, Framerate, ByteBuffer, int, int)}, en
+     * parallèle.
+     *
+     * @param images Les nombres d'images.
+     * @param debut Index du premier nombre d'images.
+     * @param nombre Nombre de timecodes à convertir.
+     * @param framerate Le framerate des timecodes.
+     * @param smpte Tampon qui reçoit les timecodes en ASCII.
+     * @param index Index (absolu) du premier timecode à écrire.
+     * @param pas Nombre d'octets entre le début de deux timecodes.
+     * @param pool Le pool qui exécute les tâches.
+     */
+    public static void toSmpteParallel(@NotNull long[] images, int debut, int nombre, @NotNull Framerate framerate, @NotNull ByteBuffer smpte, int index, int pas, @NotNull ForkJoinPool pool) {
+        parallel(pool, nombre, (i, n) -> toSmpte(images, debut + i, n, framerate, smpte, index + i * pas, pas));
+    }
+
+    /**
+     * Lit un timecode SMPTE de taille fixe et retourne son nombre d'images.
+     *
+     * @param smpte Les octets.
+     * @param o Index du timecode.
+     * @param base Nombre d'images par seconde du timecode.
+     * @param drop Nombre d'images sautées par minute (0 si non drop-frame).
+     * @return Le nombre d'images, ou une valeur négative si le timecode n'est
+     * pas correctement formaté, si un champ dépasse sa limite ou si l'image
+     * est sautée en drop-frame.
+     */
+    private static long lireImage(byte[] smpte, int o, int base, int drop) {
+        int h1 = smpte[o] - '0';
+        int h2 = smpte[o + 1] - '0';
+        int m1 = smpte[o + 3] - '0';
+        int m2 = smpte[o + 4] - '0';
+        int s1 = smpte[o + 6] - '0';
+        int s2 = smpte[o + 7] - '0';
+        int i1 = smpte[o + 9] - '0';
+        int i2 = smpte[o + 10] - '0';
+
+        // Négatif si un des caractères n'est pas un chiffre.
+        int chiffres = h1 | h2 | m1 | m2 | s1 | s2 | i1 | i2
+                | (9 - h1) | (9 - h2) | (9 - m1) | (9 - m2) | (9 - s1) | (9 - s2) | (9 - i1) | (9 - i2);
+
+        // ':' et ';' ne diffèrent que par le dernier bit.
+        int separateurs = (smpte[o + 2] | 1) ^ ';' | (smpte[o + 5] | 1) ^ ';' | (smpte[o + 8] | 1) ^ ';';
+
+        if (chiffres < 0 || separateurs != 0) {
+            return -1;
+        }
+
+        int minute = m1 * 10 + m2;
+        int seconde = s1 * 10 + s2;
+        int image = i1 * 10 + i2;
+
+        // Négatif si un champ dépasse sa limite (mêmes règles que
+        // TimecodeParser.valider, sauf l'heure : les heures au-delà de 24
+        // écrites par toSmpte sont relues sans perte).
+        int limites = (59 - minute) | (59 - seconde) | (base - 1 - image);
+
+        // Les premières images de chaque minute (sauf toutes les 10 minutes)
+        // n'existent pas en drop-frame.
+        if (limites < 0 || (seconde == 0 && image < drop && minute % 10 != 0)) {
+            return -1;
+        }
+
+        return DropFrame.toImage(h1 * 10 + h2, minute, seconde, image, base, drop);
+    }
+
+    /**
+     * Écrit le timecode SMPTE d'un nombre d'images.
+     *
+     * @param image Le nombre d'images.
+     * @param base Nombre d'images par seconde du timecode.
+     * @param drop Nombre d'images sautées par minute (0 si non drop-frame).
+     * @param smpte Les octets.
+     * @param o Index du timecode.
+     */
+    private static void ecrireImage(long image, int base, int drop, byte[] smpte, int o) {
+        long label = DropFrame.toLabel(image, base, drop);
+
+        // Une image sur trois chiffres déborderait sur le timecode suivant.
+        if (TimecodeParser.image(label) > 99) {
+            throw new TimecodeRuntimeException("Le timecode de l'image " + image + " ne tient pas sur " + TimecodeFormatter.LONGUEUR + " octets.");
+        }
+
+        TimecodeFormatter.format(label, smpte, o);
+    }
+
+    /**
+     * Vérifie le pas entre deux timecodes.
+     *
+     * @param pas Le pas.
+     */
+    private static void verifierPas(int pas) {
+        if (pas < TimecodeFormatter.LONGUEUR) {
+            throw new TimecodeRuntimeException("Le pas doit être d'au moins " + TimecodeFormatter.LONGUEUR + " octets : " + pas);
+        }
+    }
+
+    /**
+     * Crée l'erreur d'un timecode mal formaté ou hors limites.
+     *
+     * @param index Index du nombre d'images correspondant.
+     * @return L'exception.
+     */
+    private static TimecodeRuntimeException erreurFormat(int index) {
+        return new TimecodeRuntimeException("Le timecode n°" + index + " n'est pas correctement formaté ou n'est pas valide.");
+    }
+
+    /**
+     * Découpe un lot en tâches et les exécute dans le pool.
+     *
+     * @param pool Le pool.
+     * @param nombre Nombre de timecodes du lot.
+     * @param plage Le traitement d'une partie du lot.
+     */
+    private static void parallel(ForkJoinPool pool, int nombre, Plage plage) {
+        if (nombre <= SEUIL_PARALLELE) {
+            plage.traiter(0, nombre);
+        } else {
+            pool.invoke(new Tache(plage, 0, nombre));
+        }
+    }
+
+    /**
+     * Traitement d'une partie d'un lot.
+     */
+    @FunctionalInterface
+    private interface Plage {
+
+        /**
+         * Traite une partie du lot.
+         *
+         * @param debut Index (dans le lot) du premier timecode.
+         * @param nombre Nombre de timecodes.
+         */
+        void traiter(int debut, int nombre);
+    }
+
+    /**
+     * Tâche qui se découpe en deux tant qu'elle est trop grande.
+     */
+    private static final class Tache extends RecursiveAction {
+
+        /**
+         * Version de sérialisation.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Le traitement.
+         */
+        private final Plage plage;
+
+        /**
+         * Index du premier timecode.
+         */
+        private final int debut;
+
+        /**
+         * Nombre de timecodes.
+         */
+        private final int nombre;
+
+        /**
+         * Construit une tâche.
+         *
+         * @param plage Le traitement.
+         * @param debut Index du premier timecode.
+         * @param nombre Nombre de timecodes.
+         */
+        Tache(Plage plage, int debut, int nombre) {
+            this.plage = plage;
+            this.debut = debut;
+            this.nombre = nombre;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.nombre <= SEUIL_PARALLELE) {
+                this.plage.traiter(this.debut, this.nombre);
+            } else {
+                int moitie = this.nombre >>> 1;
+                invokeAll(new Tache(this.plage, this.debut, moitie), new Tache(this.plage, this.debut + moitie, this.nombre - moitie));
+            }
+        }
+    }
+}
@@ -0,0 +1,359 @@
+package com.phenix.timecode;
+
+import com.phenix.timecode.exceptions.TimecodeRuntimeException;
+import com.phenix.timecode.metrics.TimecodeMetrics;
+import jakarta.validation.constraints.NotNull;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache borné des timecodes déjà analysés, pour les fichiers qui répètent
+ * souvent les mêmes timecodes (chapitres, marqueurs...).<br>
+ * La clé est le texte du timecode et le {@link Framerate} ; la valeur est un
+ * {@link PackedTimecode} (immuable, donc partageable). Quand le timecode est
+ * déjà dans le cache, la recherche ne crée aucun objet : le texte est comparé
+ * caractère par caractère.<br>
+ * <br>
+ * Le cache est associatif par ensemble : une clé ne peut aller que dans les
+ * {@link #VOIES} cases de son ensemble, choisi par son hash. Quand l'ensemble
+ * est plein, la {@link Politique} choisit la case à remplacer.<br>
+ * Le cache peut être utilisé par plusieurs threads sans verrou : chaque case
+ * contient une entrée immuable, remplacée d'un bloc. Deux threads qui
+ * ajoutent en même temps peuvent se remplacer l'un l'autre, ce qui ne coûte
+ * qu'une nouvelle analyse.
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public final class TimecodeCache {
+
+    /**
+     * Nombre de cases par ensemble.
+     */
+    public static final int VOIES = 8;
+
+    /**
+     * Choix de l'entrée à remplacer quand un ensemble est plein.
+     */
+    public enum Politique {
+
+        /**
+         * Remplace l'entrée la plus ancienne de l'ensemble.
+         */
+        FIFO,
+        /**
+         * Algorithme de l'horloge (seconde chance) : une entrée lue depuis
+         * le dernier passage de l'aiguille est gardée un tour de plus.
+         */
+        CLOCK
+    }
+
+    /**
+     * La politique de remplacement.
+     */
+    private final Politique politique;
+
+    /**
+     * Les entrées, {@link #VOIES} cases par ensemble.
+     */
+    private final AtomicReferenceArray<Entree> entrees;
+
+    /**
+     * Si l'entrée a été lue depuis le dernier passage de l'aiguille
+     * ({@link Politique#CLOCK}).
+     */
+    private final AtomicIntegerArray references;
+
+    /**
+     * Prochaine case à remplacer dans chaque ensemble.
+     */
+    private final AtomicIntegerArray aiguilles;
+
+    /**
+     * Masque de l'index d'un ensemble.
+     */
+    private final int masque;
+
+    /**
+     * Nombre de timecodes trouvés dans le cache.
+     */
+    private final LongAdder trouves = new LongAdder();
+
+    /**
+     * Nombre de timecodes absents du cache.
+     */
+    private final LongAdder absents = new LongAdder();
+
+    /**
+     * Nombre d'entrées remplacées.
+     */
+    private final LongAdder remplacees = new LongAdder();
+
+    /**
+     * Construit un cache avec la politique {@link Politique#CLOCK}.
+     *
+     * @param capacite Nombre d'entrées (arrondi à une puissance de 2, au
+     * moins {@link #VOIES}).
+     */
+    public TimecodeCache(int capacite) {
+        this(capacite, Politique.CLOCK);
+    }
+
+    /**
+     * Construit un cache.
+     *
+     * @param capacite Nombre d'entrées (arrondi à une puissance de 2, au
+     * moins {@link #VOIES}).
+     * @param politique La politique de remplacement.
+     */
+    public TimecodeCache(int capacite, @NotNull Politique politique) {
+        if (capacite <= 0 || capacite > (1 << 30)) {
+            throw new TimecodeRuntimeException("La capacité du cache n'est pas valide : " + capacite);
+        }
+
+        int taille = Math.max(VOIES, Integer.highestOneBit(capacite - 1) << 1);
+        int ensembles = taille / VOIES;
+
+        this.politique = politique;
+        this.entrees = new AtomicReferenceArray<>(taille);
+        this.references = new AtomicIntegerArray(taille);
+        this.aiguilles = new AtomicIntegerArray(ensembles);
+        this.masque = ensembles - 1;
+    }
+
+    /**
+     * Retourne le timecode d'un texte, analysé une seule fois tant qu'il reste
+     * dans le cache.
+     *
+     * @param timecode Le timecode ("<em>HH:mm:ss:ii</em>").
+     * @param framerate Le framerate du timecode.
+     * @return Le timecode.
+     */
+    @NotNull
+    public PackedTimecode get(@NotNull CharSequence timecode, @NotNull Framerate framerate) {
+        int hash = hash(timecode, framerate);
+        int debut = (hash & this.masque) * VOIES;
+
+        for (int i = debut; i < debut + VOIES; i++) {
+            Entree entree = this.entrees.get(i);
+
+            if (entree != null && entree.hash == hash && entree.framerate == framerate && egal(entree.texte, timecode)) {
+                if (this.politique == Politique.CLOCK && this.references.get(i) == 0) {
+                    this.references.lazySet(i, 1);
+                }
+                this.trouves.increment();
+                TimecodeMetrics.cache(true);
+                return entree.valeur;
+            }
+        }
+
+        this.absents.increment();
+        TimecodeMetrics.cache(false);
+
+        PackedTimecode valeur = analyser(timecode, framerate);
+        this.ajouter(debut, new Entree(hash, timecode.toString(), framerate, valeur));
+
+        return valeur;
+    }
+
+    /**
+     * Retourne un nouveau {@link Timecode} d'un texte, analysé une seule fois
+     * tant qu'il reste dans le cache.
+     *
+     * @param timecode Le timecode ("<em>HH:mm:ss:ii</em>").
+     * @param framerate Le framerate du timecode.
+     * @return Le timecode.
+     */
+    @NotNull
+    public Timecode getTimecode(@NotNull CharSequence timecode, @NotNull Framerate framerate) {
+        return this.get(timecode, framerate).toTimecode();
+    }
+
+    /**
+     * Vide le cache (les compteurs sont gardés).
+     */
+    public void clear() {
+        for (int i = 0; i < this.entrees.length(); i++) {
+            this.entrees.set(i, null);
+            this.references.set(i, 0);
+        }
+    }
+
+    /**
+     * Retourne le nombre d'entrées que peut contenir le cache.
+     *
+     * @return La capacité.
+     */
+    public int getCapacite() {
+        return this.entrees.length();
+    }
+
+    /**
+     * Retourne la politique de remplacement.
+     *
+     * @return La politique.
+     */
+    @NotNull
+    public Politique getPolitique() {
+        return this.politique;
+    }
+
+    /**
+     * Retourne le nombre de timecodes trouvés dans le cache.
+     *
+     * @return Le nombre de succès.
+     */
+    public long getTrouves() {
+        return this.trouves.sum();
+    }
+
+    /**
+     * Retourne le nombre de timecodes qui ont dû être analysés.
+     *
+     * @return Le nombre d'échecs.
+     */
+    public long getAbsents() {
+        return this.absents.sum();
+    }
+
+    /**
+     * Retourne le nombre d'entrées remplacées pour faire de la place.
+     *
+     * @return Le nombre de remplacements.
+     */
+    public long getRemplacees() {
+        return this.remplacees.sum();
+    }
+
+    /**
+     * Ajoute une entrée dans son ensemble.
+     *
+     * @param debut Index de la première case de l'ensemble.
+     * @param entree L'entrée.
+     */
+    private void ajouter(int debut, Entree entree) {
+        // Une case libre.
+        for (int i = debut; i < debut + VOIES; i++) {
+            if (this.entrees.get(i) == null && this.entrees.compareAndSet(i, null, entree)) {
+                return;
+            }
+        }
+
+        int ensemble = debut / VOIES;
+        int case_remplacee;
+
+        if (this.politique == Politique.FIFO) {
+            case_remplacee = debut + (this.aiguilles.getAndIncrement(ensemble) & (VOIES - 1));
+        } else {
+            // Seconde chance : on efface les références jusqu'à trouver une
+            // entrée non lue (au plus un tour complet).
+            int tour = 0;
+            do {
+                case_remplacee = debut + (this.aiguilles.getAndIncrement(ensemble) & (VOIES - 1));
+            } while (this.references.getAndSet(case_remplacee, 0) == 1 && ++tour < VOIES);
+        }
+
+        this.entrees.set(case_remplacee, entree);
+        this.remplacees.increment();
+    }
+
+    /**
+     * Analyse un timecode avec les règles de
+     * {@link TimecodeParser#analyser(CharSequence, Framerate)} : un timecode
+     * hors limites ou une image sautée en drop-frame est refusé plutôt que
+     * ramené à un autre timecode.
+     *
+     * @param timecode Le timecode.
+     * @param framerate Le framerate.
+     * @return Le timecode.
+     */
+    private static PackedTimecode analyser(CharSequence timecode, Framerate framerate) {
+        long nombre_image = TimecodeParser.analyser(timecode, framerate);
+
+        if (nombre_image < 0) {
+            throw new TimecodeRuntimeException("Le timecode n'est pas valide (" + TimecodeParser.erreur(nombre_image) + ") : " + timecode);
+        }
+
+        return PackedTimecode.of(nombre_image, framerate);
+    }
+
+    /**
+     * Calcule le hash d'une clé.
+     *
+     * @param timecode Le texte.
+     * @param framerate Le framerate.
+     * @return Le hash.
+     */
+    private static int hash(CharSequence timecode, Framerate framerate) {
+        int hash = framerate.ordinal();
+
+        for (int i = 0; i < timecode.length(); i++) {
+            hash = 31 * hash + timecode.charAt(i);
+        }
+
+        // Mélange les bits hauts dans les bits bas qui choisissent l'ensemble.
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Compare un texte du cache avec un texte recherché.
+     *
+     * @param texte Le texte du cache.
+     * @param timecode Le texte recherché.
+     * @return {@code true} si les deux textes sont égaux.
+     */
+    private static boolean egal(String texte, CharSequence timecode) {
+        if (texte.length() != timecode.length()) {
+            return false;
+        }
+
+        for (int i = 0; i < texte.length(); i++) {
+            if (texte.charAt(i) != timecode.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Une entrée du cache (immuable).
+     */
+    private static final class Entree {
+
+        /**
+         * Hash de la clé.
+         */
+        private final int hash;
+
+        /**
+         * Texte du timecode.
+         */
+        private final String texte;
+
+        /**
+         * Framerate du timecode.
+         */
+        private final Framerate framerate;
+
+        /**
+         * Le timecode analysé.
+         */
+        private final PackedTimecode valeur;
+
+        /**
+         * Construit une entrée.
+         *
+         * @param hash Hash de la clé.
+         * @param texte Texte du timecode.
+         * @param framerate Framerate du timecode.
+         * @param valeur Le timecode analysé.
+         */
+        private Entree(int hash, String texte, Framerate framerate, PackedTimecode valeur) {
+            this.hash = hash;
+            this.texte = texte;
+            this.framerate = framerate;
+            this.valeur = valeur;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.phenix.timecode;
+
+import jakarta.validation.constraints.NotNull;
+import java.util.function.LongSupplier;
+
+/**
+ * Horloge qui donne l'image courante à partir d'une source de temps
+ * monotone (par défaut {@link System#nanoTime()}).<br>
+ * Le calcul est exact : la durée écoulée est multipliée par la fraction du
+ * {@link Framerate} (<em>30000/1001</em> en 29,97is), sans
+ * {@code double}, et ne dérive donc pas sur une longue durée. Lire l'image
+ * courante ou son label ne crée aucun objet.<br>
+ * L'horloge n'est pas synchronisée : elle est faite pour être lue par la
+ * boucle de diffusion.
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public final class TimecodeClock {
+
+    /**
+     * Nombre de nanosecondes dans une seconde.
+     */
+    private static final long NANOSECONDES = 1_000_000_000L;
+
+    /**
+     * Le framerate.
+     */
+    private final Framerate framerate;
+
+    /**
+     * La source de temps, en nanosecondes.
+     */
+    private final LongSupplier source;
+
+    /**
+     * Nombre de nanosecondes pour {@link Framerate#getNumerateur()} images.
+     */
+    private final long diviseur;
+
+    /**
+     * Instant (en nanosecondes) de l'image de départ.
+     */
+    private long instant_depart;
+
+    /**
+     * L'image de départ.
+     */
+    private long image_depart;
+
+    /**
+     * Construit une horloge sur {@link System#nanoTime()}, démarrée à
+     * l'image 0.
+     *
+     * @param framerate Le framerate.
+     */
+    public TimecodeClock(@NotNull Framerate framerate) {
+        this(framerate, System::nanoTime);
+    }
+
+    /**
+     * Construit une horloge, démarrée à l'image 0.
+     *
+     * @param framerate Le framerate.
+     * @param source La source de temps, en nanosecondes (monotone).
+     */
+    public TimecodeClock(@NotNull Framerate framerate, @NotNull LongSupplier source) {
+        this.framerate = framerate;
+        this.source = source;
+        this.diviseur = framerate.getDenominateur() * NANOSECONDES;
+        this.demarrer(0);
+    }
+
+    /**
+     * (Re)démarre l'horloge : l'image donnée commence maintenant.
+     *
+     * @param image L'image de départ.
+     */
+    public void demarrer(long image) {
+        this.instant_depart = this.source.getAsLong();
+        this.image_depart = image;
+    }
+
+    /**
+     * (Re)démarre l'horloge sur un timecode.
+     *
+     * @param timecode Le timecode de départ.
+     */
+    public void demarrer(@NotNull Timecode timecode) {
+        this.demarrer(timecode.toImage());
+    }
+
+    /**
+     * Retourne l'image courante.
+     *
+     * @return L'image courante.
+     */
+    public long getImage() {
+        return this.getImage(this.source.getAsLong());
+    }
+
+    /**
+     * Retourne l'image à un instant.
+     *
+     * @param instant L'instant, en nanosecondes de la source.
+     * @return L'image (qui a commencé à cet instant ou avant).
+     */
+    public long getImage(long instant) {
+        long ecoule = instant - this.instant_depart;
+
+        // ecoule * numerateur / diviseur découpé pour ne pas déborder.
+        long q = Math.floorDiv(ecoule, this.diviseur);
+        long r = Math.floorMod(ecoule, this.diviseur);
+
+        return this.image_depart + q * this.framerate.getNumerateur() + (r * this.framerate.getNumerateur()) / this.diviseur;
+    }
+
+    /**
+     * Retourne l'instant où commence une image.
+     *
+     * @param image L'image.
+     * @return L'instant, en nanosecondes de la source (arrondi à la
+     * nanoseconde supérieure).
+     */
+    public long getInstant(long image) {
+        long images = image - this.image_depart;
+        long numerateur = this.framerate.getNumerateur();
+
+        // images * diviseur / numerateur, arrondi au-dessus.
+        long q = Math.floorDiv(images, numerateur);
+        long r = Math.floorMod(images, numerateur);
+
+        return this.instant_depart + q * this.diviseur + (r * this.diviseur + numerateur - 1) / numerateur;
+    }
+
+    /**
+     * Retourne le label de l'image courante (voir {@link TimecodeParser}),
+     * en drop-frame si le framerate l'est.
+     *
+     * @return Le label.
+     */
+    public long getLabel() {
+        return DropFrame.toLabel(this.getImage(), this.framerate);
+    }
+
+    /**
+     * Écrit le timecode courant dans un tableau de {@code char}.
+     *
+     * @param destination Le tableau.
+     * @param offset Index où écrire le premier caractère.
+     * @return L'index qui suit le dernier caractère écrit.
+     */
+    public int formatTo(@NotNull char[] destination, int offset) {
+        return TimecodeFormatter.format(this.getLabel(), destination, offset);
+    }
+
+    /**
+     * Retourne le framerate.
+     *
+     * @return Le framerate.
+     */
+    @NotNull
+    public Framerate getFramerate() {
+        return this.framerate;
+    }
+}
@@ -0,0 +1,61 @@
+package com.phenix.timecode;
+
+/**
+ * Raison pour laquelle un timecode n'est pas valide (voir
+ * {@link Timecode#validation(String, Framerate)} et
+ * {@link TimecodeParser#analyser(CharSequence, Framerate)}).
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public enum TimecodeErreur {
+
+    /**
+     * Le timecode ne fait pas 11 caractères ("<em>HH:mm:ss:ii</em>").
+     */
+    LONGUEUR,
+    /**
+     * Un séparateur n'est ni "<em>:</em>" ni "<em>;</em>".
+     */
+    SEPARATEUR,
+    /**
+     * Un champ contient autre chose qu'un chiffre.
+     */
+    CHIFFRE,
+    /**
+     * L'heure dépasse 24.
+     */
+    HEURE,
+    /**
+     * La minute dépasse 59.
+     */
+    MINUTE,
+    /**
+     * La seconde dépasse 59.
+     */
+    SECONDE,
+    /**
+     * L'image n'est pas inférieure au framerate.
+     */
+    IMAGE,
+    /**
+     * L'image est sautée en drop-frame ("<em>00:01:00;00</em>" par exemple).
+     * Seulement vérifié par {@link TimecodeParser#analyser(CharSequence, Framerate)}
+     * et {@link TimecodeParseResult}.
+     */
+    IMAGE_SAUTEE;
+
+    /**
+     * Les erreurs, indexées par {@link #ordinal()}.
+     */
+    private static final TimecodeErreur[] ERREURS = values();
+
+    /**
+     * Retourne l'erreur à partir de son {@link #ordinal()}.
+     *
+     * @param ordinal L'ordinal.
+     * @return L'erreur.
+     */
+    public static TimecodeErreur fromOrdinal(int ordinal) {
+        return ERREURS[ordinal];
+    }
+}
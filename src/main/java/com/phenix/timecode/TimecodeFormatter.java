@@ -0,0 +1,250 @@
+package com.phenix.timecode;
+
+import com.phenix.timecode.exceptions.TimecodeRuntimeException;
+import jakarta.validation.constraints.NotNull;
+import java.nio.ByteBuffer;
+
+/**
+ * Écrit un timecode SMPTE ("<em>HH:mm:ss:ii</em>", ou
+ * "<em>HH:mm:ss;ii</em>" en drop-frame) directement dans un tampon fourni par
+ * l'appelant, sans créer de {@code String}.<br>
+ * Chaque champ est écrit sur deux caractères grâce à une table de
+ * correspondance, le timecode fait donc {@link #LONGUEUR} caractères. Seule
+ * exception : au-dessus de 100is (119,88is, 120is), une image à partir de
+ * 100 est écrite sur trois chiffres et le timecode fait alors
+ * {@link #LONGUEUR_MAX} caractères.
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public final class TimecodeFormatter {
+
+    /**
+     * Nombre de caractères d'un timecode SMPTE.
+     */
+    public static final int LONGUEUR = 11;
+
+    /**
+     * Nombre de caractères d'un timecode SMPTE dont l'image est sur trois
+     * chiffres (au-dessus de 100is).
+     */
+    public static final int LONGUEUR_MAX = 12;
+
+    /**
+     * Les nombres de "00" à "99", deux caractères par nombre.
+     */
+    private static final byte[] DEUX_CHIFFRES = new byte[200];
+
+    static {
+        for (int i = 0; i < 100; i++) {
+            DEUX_CHIFFRES[2 * i] = (byte) ('0' + i / 10);
+            DEUX_CHIFFRES[2 * i + 1] = (byte) ('0' + i % 10);
+        }
+    }
+
+    /**
+     * Classe utilitaire.
+     */
+    private TimecodeFormatter() {
+    }
+
+    /**
+     * Écrit un timecode dans un tableau de {@code char}.
+     *
+     * @param heure Heure du timecode (0-99).
+     * @param minute Minute du timecode (0-99).
+     * @param seconde Seconde du timecode (0-99).
+     * @param image Image du timecode (0-999).
+     * @param drop_frame {@code true} pour écrire le séparateur "<em>;</em>".
+     * @param destination Le tableau.
+     * @param offset Index où écrire le premier caractère.
+     * @return L'index qui suit le dernier caractère écrit.
+     */
+    public static int format(int heure, int minute, int seconde, int image, boolean drop_frame, @NotNull char[] destination, int offset) {
+        verifier(heure, minute, seconde, image);
+
+        destination[offset] = (char) DEUX_CHIFFRES[2 * heure];
+        destination[offset + 1] = (char) DEUX_CHIFFRES[2 * heure + 1];
+        destination[offset + 2] = ':';
+        destination[offset + 3] = (char) DEUX_CHIFFRES[2 * minute];
+        destination[offset + 4] = (char) DEUX_CHIFFRES[2 * minute + 1];
+        destination[offset + 5] = ':';
+        destination[offset + 6] = (char) DEUX_CHIFFRES[2 * seconde];
+        destination[offset + 7] = (char) DEUX_CHIFFRES[2 * seconde + 1];
+        destination[offset + 8] = drop_frame ? ';' : ':';
+
+        if (image > 99) {
+            destination[offset + 9] = (char) ('0' + image / 100);
+            offset++;
+            image %= 100;
+        }
+        destination[offset + 9] = (char) DEUX_CHIFFRES[2 * image];
+        destination[offset + 10] = (char) DEUX_CHIFFRES[2 * image + 1];
+
+        return offset + LONGUEUR;
+    }
+
+    /**
+     * Écrit un timecode en ASCII dans un tableau d'octets.
+     *
+     * @param heure Heure du timecode (0-99).
+     * @param minute Minute du timecode (0-99).
+     * @param seconde Seconde du timecode (0-99).
+     * @param image Image du timecode (0-999).
+     * @param drop_frame {@code true} pour écrire le séparateur "<em>;</em>".
+     * @param destination Le tableau.
+     * @param offset Index où écrire le premier octet.
+     * @return L'index qui suit le dernier octet écrit.
+     */
+    public static int format(int heure, int minute, int seconde, int image, boolean drop_frame, @NotNull byte[] destination, int offset) {
+        verifier(heure, minute, seconde, image);
+
+        destination[offset] = DEUX_CHIFFRES[2 * heure];
+        destination[offset + 1] = DEUX_CHIFFRES[2 * heure + 1];
+        destination[offset + 2] = ':';
+        destination[offset + 3] = DEUX_CHIFFRES[2 * minute];
+        destination[offset + 4] = DEUX_CHIFFRES[2 * minute + 1];
+        destination[offset + 5] = ':';
+        destination[offset + 6] = DEUX_CHIFFRES[2 * seconde];
+        destination[offset + 7] = DEUX_CHIFFRES[2 * seconde + 1];
+        destination[offset + 8] = (byte) (drop_frame ? ';' : ':');
+
+        if (image > 99) {
+            destination[offset + 9] = (byte) ('0' + image / 100);
+            offset++;
+            image %= 100;
+        }
+        destination[offset + 9] = DEUX_CHIFFRES[2 * image];
+        destination[offset + 10] = DEUX_CHIFFRES[2 * image + 1];
+
+        return offset + LONGUEUR;
+    }
+
+    /**
+     * Écrit un timecode en ASCII dans un {@code ByteBuffer}, à sa position
+     * courante (qui avance de {@link #LONGUEUR} octets, ou de
+     * {@link #LONGUEUR_MAX} pour une image sur trois chiffres).
+     *
+     * @param heure Heure du timecode (0-99).
+     * @param minute Minute du timecode (0-99).
+     * @param seconde Seconde du timecode (0-99).
+     * @param image Image du timecode (0-999).
+     * @param drop_frame {@code true} pour écrire le séparateur "<em>;</em>".
+     * @param destination Le tampon.
+     * @return Le tampon.
+     */
+    @NotNull
+    public static ByteBuffer format(int heure, int minute, int seconde, int image, boolean drop_frame, @NotNull ByteBuffer destination) {
+        verifier(heure, minute, seconde, image);
+
+        destination
+                .put(DEUX_CHIFFRES, 2 * heure, 2)
+                .put((byte) ':')
+                .put(DEUX_CHIFFRES, 2 * minute, 2)
+                .put((byte) ':')
+                .put(DEUX_CHIFFRES, 2 * seconde, 2)
+                .put((byte) (drop_frame ? ';' : ':'));
+
+        if (image > 99) {
+            destination.put((byte) ('0' + image / 100));
+            image %= 100;
+        }
+
+        return destination.put(DEUX_CHIFFRES, 2 * image, 2);
+    }
+
+    /**
+     * Ajoute un timecode à un {@code StringBuilder}.<br>
+     * Un champ qui ne tient pas sur deux chiffres (une heure supérieure à 99
+     * par exemple) est écrit en entier, comme le faisait
+     * {@link Timecode#toString()}.
+     *
+     * @param heure Heure du timecode.
+     * @param minute Minute du timecode.
+     * @param seconde Seconde du timecode.
+     * @param image Image du timecode.
+     * @param drop_frame {@code true} pour écrire le séparateur "<em>;</em>".
+     * @param destination Le {@code StringBuilder}.
+     * @return Le {@code StringBuilder}.
+     */
+    @NotNull
+    public static StringBuilder format(int heure, int minute, int seconde, int image, boolean drop_frame, @NotNull StringBuilder destination) {
+        deuxChiffres(destination, heure);
+        destination.append(':');
+        deuxChiffres(destination, minute);
+        destination.append(':');
+        deuxChiffres(destination, seconde);
+        destination.append(drop_frame ? ';' : ':');
+        deuxChiffres(destination, image);
+
+        return destination;
+    }
+
+    /**
+     * Écrit un label (voir {@link TimecodeParser}) dans un tableau de
+     * {@code char}.
+     *
+     * @param label Le label.
+     * @param destination Le tableau.
+     * @param offset Index où écrire le premier caractère.
+     * @return L'index qui suit le dernier caractère écrit.
+     */
+    public static int format(long label, @NotNull char[] destination, int offset) {
+        return format(TimecodeParser.heure(label), TimecodeParser.minute(label), TimecodeParser.seconde(label), TimecodeParser.image(label), TimecodeParser.isDropFrame(label), destination, offset);
+    }
+
+    /**
+     * Écrit un label (voir {@link TimecodeParser}) en ASCII dans un tableau
+     * d'octets.
+     *
+     * @param label Le label.
+     * @param destination Le tableau.
+     * @param offset Index où écrire le premier octet.
+     * @return L'index qui suit le dernier octet écrit.
+     */
+    public static int format(long label, @NotNull byte[] destination, int offset) {
+        return format(TimecodeParser.heure(label), TimecodeParser.minute(label), TimecodeParser.seconde(label), TimecodeParser.image(label), TimecodeParser.isDropFrame(label), destination, offset);
+    }
+
+    /**
+     * Ajoute un label (voir {@link TimecodeParser}) à un
+     * {@code StringBuilder}.
+     *
+     * @param label Le label.
+     * @param destination Le {@code StringBuilder}.
+     * @return Le {@code StringBuilder}.
+     */
+    @NotNull
+    public static StringBuilder format(long label, @NotNull StringBuilder destination) {
+        return format(TimecodeParser.heure(label), TimecodeParser.minute(label), TimecodeParser.seconde(label), TimecodeParser.image(label), TimecodeParser.isDropFrame(label), destination);
+    }
+
+    /**
+     * Ajoute un champ sur deux chiffres à un {@code StringBuilder}.
+     *
+     * @param destination Le {@code StringBuilder}.
+     * @param valeur La valeur.
+     */
+    private static void deuxChiffres(StringBuilder destination, int valeur) {
+        if (valeur >= 0 && valeur <= 99) {
+            destination.append((char) DEUX_CHIFFRES[2 * valeur]).append((char) DEUX_CHIFFRES[2 * valeur + 1]);
+        } else if (valeur <= 9) {
+            destination.append('0').append(valeur);
+        } else {
+            destination.append(valeur);
+        }
+    }
+
+    /**
+     * Vérifie que chaque champ tient sur deux chiffres (trois pour l'image).
+     *
+     * @param heure Heure du timecode.
+     * @param minute Minute du timecode.
+     * @param seconde Seconde du timecode.
+     * @param image Image du timecode.
+     */
+    private static void verifier(int heure, int minute, int seconde, int image) {
+        if ((heure | minute | seconde | image) < 0 || heure > 99 || minute > 99 || seconde > 99 || image > 999) {
+            throw new TimecodeRuntimeException("Le timecode ne tient pas sur " + LONGUEUR_MAX + " caractères : " + heure + ":" + minute + ":" + seconde + ":" + image);
+        }
+    }
+}
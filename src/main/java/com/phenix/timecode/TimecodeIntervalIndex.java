@@ -0,0 +1,258 @@
+package com.phenix.timecode;
+
+import jakarta.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Index d'intervals de timecode pour retrouver rapidement ceux qui contiennent
+ * un timecode ou qui chevauchent une plage.<br>
+ * Les bornes (incluses, comme {@link IntervalTimecode#dedans(Timecode)}) sont
+ * calculées une seule fois en nombre d'images, puis rangées dans des tableaux
+ * triés par début. Ces tableaux forment un arbre d'intervals implicite : le
+ * noeud d'une plage d'index est son milieu et il garde la plus grande fin de
+ * sa plage, ce qui permet d'écarter une branche entière sans la parcourir.
+ * Une recherche coûte {@code O(log n + k)} pour {@code k} résultats.<br>
+ * Les résultats sont donnés par leur index dans la collection d'origine.<br>
+ * <br>
+ * Les nombres d'images dépendent du framerate : les intervals et les timecodes
+ * recherchés doivent avoir le même framerate. L'index ne suit pas les
+ * modifications faites ensuite sur les intervals.
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public final class TimecodeIntervalIndex {
+
+    /**
+     * Les intervals, dans l'ordre de la collection d'origine.
+     */
+    private final IntervalTimecode[] intervals;
+
+    /**
+     * Début de chaque interval (en nombre d'images), trié.
+     */
+    private final int[] debut;
+
+    /**
+     * Fin de chaque interval (en nombre d'images), dans l'ordre de
+     * {@link #debut}.
+     */
+    private final int[] fin;
+
+    /**
+     * Index d'origine de chaque interval, dans l'ordre de {@link #debut}.
+     */
+    private final int[] index;
+
+    /**
+     * Pour chaque noeud, la plus grande fin de son sous-arbre.
+     */
+    private final int[] fin_max;
+
+    /**
+     * Construit l'index.
+     *
+     * @param intervals Les intervals.
+     */
+    public TimecodeIntervalIndex(@NotNull Collection<IntervalTimecode> intervals) {
+        this.intervals = intervals.toArray(new IntervalTimecode[0]);
+
+        int nombre = this.intervals.length;
+
+        // Début et index d'origine dans un long pour trier les deux d'un coup.
+        long[] tri = new long[nombre];
+        int[] fin_origine = new int[nombre];
+
+        for (int i = 0; i < nombre; i++) {
+            tri[i] = ((long) this.intervals[i].getTimecodeIn().toImage() << 32) | i;
+            fin_origine[i] = this.intervals[i].getTimecodeOut().toImage();
+        }
+
+        Arrays.sort(tri);
+
+        this.debut = new int[nombre];
+        this.fin = new int[nombre];
+        this.index = new int[nombre];
+        this.fin_max = new int[nombre];
+
+        for (int i = 0; i < nombre; i++) {
+            this.debut[i] = (int) (tri[i] >> 32);
+            this.index[i] = (int) tri[i];
+            this.fin[i] = fin_origine[this.index[i]];
+        }
+
+        this.construire(0, nombre);
+    }
+
+    /**
+     * Calcule la plus grande fin de chaque noeud.
+     *
+     * @param bas Premier index de la plage (inclus).
+     * @param haut Dernier index de la plage (exclu).
+     * @return La plus grande fin de la plage.
+     */
+    private int construire(int bas, int haut) {
+        if (bas >= haut) {
+            return Integer.MIN_VALUE;
+        }
+
+        int milieu = (bas + haut) >>> 1;
+
+        this.fin_max[milieu] = Math.max(this.fin[milieu], Math.max(this.construire(bas, milieu), this.construire(milieu + 1, haut)));
+
+        return this.fin_max[milieu];
+    }
+
+    /**
+     * Retourne le nombre d'intervals.
+     *
+     * @return Le nombre d'intervals.
+     */
+    public int size() {
+        return this.intervals.length;
+    }
+
+    /**
+     * Retourne un interval.
+     *
+     * @param index Index de l'interval dans la collection d'origine.
+     * @return L'interval.
+     */
+    @NotNull
+    public IntervalTimecode get(int index) {
+        return this.intervals[index];
+    }
+
+    /**
+     * Donne l'index de chaque interval qui contient l'image.
+     *
+     * @param image L'image (en nombre d'images).
+     * @param action Reçoit l'index (dans la collection d'origine) de chaque
+     * interval trouvé.
+     */
+    public void contenant(int image, @NotNull IntConsumer action) {
+        this.chevauchant(0, this.intervals.length, image, image, action);
+    }
+
+    /**
+     * Retourne les intervals qui contiennent le timecode.
+     *
+     * @param tc Le timecode.
+     * @return Les intervals, dans l'ordre de leur début.
+     */
+    @NotNull
+    public List<IntervalTimecode> contenant(@NotNull Timecode tc) {
+        List<IntervalTimecode> resultat = new ArrayList<>();
+
+        this.contenant(tc.toImage(), i -> resultat.add(this.intervals[i]));
+
+        return resultat;
+    }
+
+    /**
+     * Retourne le nombre d'intervals qui contiennent l'image.
+     *
+     * @param image L'image (en nombre d'images).
+     * @return Le nombre d'intervals.
+     */
+    public int compter(int image) {
+        int[] compteur = new int[1];
+
+        this.contenant(image, i -> compteur[0]++);
+
+        return compteur[0];
+    }
+
+    /**
+     * Donne l'index de chaque interval qui chevauche une plage.
+     *
+     * @param debut Début de la plage (inclus, en nombre d'images).
+     * @param fin Fin de la plage (incluse, en nombre d'images).
+     * @param action Reçoit l'index (dans la collection d'origine) de chaque
+     * interval trouvé.
+     */
+    public void chevauchant(int debut, int fin, @NotNull IntConsumer action) {
+        this.chevauchant(0, this.intervals.length, debut, fin, action);
+    }
+
+    /**
+     * Retourne les intervals qui chevauchent un autre interval.
+     *
+     * @param interval L'interval.
+     * @return Les intervals, dans l'ordre de leur début.
+     */
+    @NotNull
+    public List<IntervalTimecode> chevauchant(@NotNull IntervalTimecode interval) {
+        List<IntervalTimecode> resultat = new ArrayList<>();
+
+        this.chevauchant(interval.getTimecodeIn().toImage(), interval.getTimecodeOut().toImage(), i -> resultat.add(this.intervals[i]));
+
+        return resultat;
+    }
+
+    /**
+     * Recherche en lot : pour chaque image, donne les intervals qui la
+     * contiennent.
+     *
+     * @param images Les images (en nombre d'images).
+     * @param action Reçoit l'index de l'image et l'index de l'interval, pour
+     * chaque correspondance.
+     */
+    public void contenant(@NotNull int[] images, @NotNull Correspondance action) {
+        for (int i = 0; i < images.length; i++) {
+            int requete = i;
+            this.contenant(images[i], interval -> action.accepter(requete, interval));
+        }
+    }
+
+    /**
+     * Parcourt l'arbre implicite.
+     *
+     * @param bas Premier index de la plage (inclus).
+     * @param haut Dernier index de la plage (exclu).
+     * @param debut Début de la plage recherchée (inclus).
+     * @param fin Fin de la plage recherchée (incluse).
+     * @param action Reçoit l'index d'origine de chaque interval trouvé.
+     */
+    private void chevauchant(int bas, int haut, int debut, int fin, IntConsumer action) {
+        while (bas < haut) {
+            int milieu = (bas + haut) >>> 1;
+
+            // Aucun interval de ce sous-arbre ne finit après le début.
+            if (this.fin_max[milieu] < debut) {
+                return;
+            }
+
+            this.chevauchant(bas, milieu, debut, fin, action);
+
+            // Les intervals suivants commencent tous après la fin.
+            if (this.debut[milieu] > fin) {
+                return;
+            }
+
+            if (this.fin[milieu] >= debut) {
+                action.accept(this.index[milieu]);
+            }
+
+            bas = milieu + 1;
+        }
+    }
+
+    /**
+     * Reçoit les résultats d'une recherche en lot.
+     */
+    @FunctionalInterface
+    public interface Correspondance {
+
+        /**
+         * Une image de la requête est dans un interval.
+         *
+         * @param requete Index de l'image dans la requête.
+         * @param interval Index de l'interval dans la collection d'origine.
+         */
+        void accepter(int requete, int interval);
+    }
+}
@@ -0,0 +1,422 @@
+package com.phenix.timecode;
+
+import com.phenix.timecode.exceptions.TimecodeRuntimeException;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Null;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Correspondance entre le timecode d'enregistrement (la timeline) et le
+ * timecode source, par segments (les plans d'une EDL par exemple).<br>
+ * Chaque segment est une paire d'{@link IntervalTimecode} : l'interval
+ * d'enregistrement et l'interval source (timecodes out inclus). Une image du
+ * segment correspond à une image de la source : l'image {@code n} de
+ * l'enregistrement donne l'image {@code n} de la source. La source peut avoir
+ * un autre framerate que l'enregistrement, et chaque segment le sien.<br>
+ * <br>
+ * Les bornes sont calculées une seule fois en nombre d'images et rangées dans
+ * des tableaux triés. Dans l'enregistrement, une recherche est une recherche
+ * dichotomique ({@code O(log n)}) et la méthode en lot parcourt des images
+ * triées et les segments en même temps, en une seule passe.<br>
+ * Les segments ne doivent pas se chevaucher dans l'enregistrement. Dans la
+ * source ils peuvent se chevaucher (une même source utilisée deux fois) :
+ * c'est alors l'image d'enregistrement la plus petite qui est retournée. Les
+ * segments triés par début dans la source forment un arbre d'intervals
+ * implicite (comme {@link TimecodeIntervalIndex}) : une recherche dans la
+ * source coûte {@code O(log n + k)} pour {@code k} segments qui contiennent
+ * l'image.<br>
+ * La correspondance est immuable.
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public final class TimecodeMapping {
+
+    /**
+     * Valeur retournée quand une image n'est dans aucun segment.
+     */
+    public static final int AUCUNE = -1;
+
+    /**
+     * Début de chaque segment dans l'enregistrement, trié.
+     */
+    private final int[] record_debut;
+
+    /**
+     * Fin (exclue) de chaque segment dans l'enregistrement, dans l'ordre de
+     * {@link #record_debut}.
+     */
+    private final int[] record_fin;
+
+    /**
+     * Début de chaque segment dans la source, dans l'ordre de
+     * {@link #record_debut}.
+     */
+    private final int[] source_debut;
+
+    /**
+     * Framerate de la source de chaque segment, dans l'ordre de
+     * {@link #record_debut}.
+     */
+    private final double[] source_framerate;
+
+    /**
+     * Drop-frame de la source de chaque segment, dans l'ordre de
+     * {@link #record_debut}.
+     */
+    private final boolean[] source_drop_frame;
+
+    /**
+     * Index (dans l'ordre de {@link #record_debut}) des segments triés par
+     * début dans la source.
+     */
+    private final int[] par_source;
+
+    /**
+     * Pour chaque noeud de l'arbre implicite formé par {@link #par_source}, la
+     * plus grande fin de source de son sous-arbre.
+     */
+    private final int[] source_fin_max;
+
+    /**
+     * Framerate de l'enregistrement.
+     */
+    private final double record_framerate;
+
+    /**
+     * Drop-frame de l'enregistrement.
+     */
+    private final boolean record_drop_frame;
+
+    /**
+     * Construit la correspondance.
+     *
+     * @param records Les intervals d'enregistrement (tous au même
+     * framerate).
+     * @param sources Les intervals source, dans le même ordre (chacun de la
+     * même durée que son interval d'enregistrement).
+     */
+    public TimecodeMapping(@NotNull List<IntervalTimecode> records, @NotNull List<IntervalTimecode> sources) {
+        int nombre = records.size();
+
+        if (sources.size() != nombre) {
+            throw new TimecodeRuntimeException("Il faut autant d'intervals source (" + sources.size() + ") que d'enregistrement (" + nombre + ").");
+        }
+
+        // Début et index d'origine dans un long pour trier les deux d'un coup.
+        long[] tri = new long[nombre];
+        for (int i = 0; i < nombre; i++) {
+            tri[i] = ((long) records.get(i).getTimecodeIn().toImage() << 32) | i;
+        }
+        Arrays.sort(tri);
+
+        this.record_debut = new int[nombre];
+        this.record_fin = new int[nombre];
+        this.source_debut = new int[nombre];
+        this.source_framerate = new double[nombre];
+        this.source_drop_frame = new boolean[nombre];
+
+        if (nombre > 0) {
+            Timecode record_in = records.get(0).getTimecodeIn();
+            this.record_framerate = record_in.getFramerate();
+            this.record_drop_frame = record_in.isDropFrame();
+        } else {
+            this.record_framerate = 0;
+            this.record_drop_frame = false;
+        }
+
+        for (int i = 0; i < nombre; i++) {
+            int origine = (int) tri[i];
+            IntervalTimecode record = records.get(origine);
+            IntervalTimecode source = sources.get(origine);
+            Timecode source_in = source.getTimecodeIn();
+
+            if (record.getTimecodeIn().getFramerate() != this.record_framerate || record.getTimecodeIn().isDropFrame() != this.record_drop_frame) {
+                throw new TimecodeRuntimeException("Le segment " + origine + " n'a pas le framerate des autres segments d'enregistrement : " + record.getTimecodeIn().getFramerate() + (record.getTimecodeIn().isDropFrame() ? " DF" : "") + ".");
+            }
+
+            this.record_debut[i] = (int) (tri[i] >> 32);
+            this.record_fin[i] = record.getTimecodeOut().toImage() + 1;
+            this.source_debut[i] = source_in.toImage();
+            this.source_framerate[i] = source_in.getFramerate();
+            this.source_drop_frame[i] = source_in.isDropFrame();
+
+            int duree_source = source.getTimecodeOut().toImage() + 1 - this.source_debut[i];
+            if (duree_source != this.record_fin[i] - this.record_debut[i]) {
+                throw new TimecodeRuntimeException("Le segment " + origine + " n'a pas la même durée dans la source (" + duree_source + ") et dans l'enregistrement (" + (this.record_fin[i] - this.record_debut[i]) + ").");
+            }
+
+            if (i > 0 && this.record_debut[i] < this.record_fin[i - 1]) {
+                throw new TimecodeRuntimeException("Les segments se chevauchent dans l'enregistrement à l'image " + this.record_debut[i] + ".");
+            }
+        }
+
+        // Ordre par début dans la source.
+        for (int i = 0; i < nombre; i++) {
+            tri[i] = ((long) this.source_debut[i] << 32) | i;
+        }
+        Arrays.sort(tri);
+
+        this.par_source = new int[nombre];
+        this.source_fin_max = new int[nombre];
+
+        for (int i = 0; i < nombre; i++) {
+            this.par_source[i] = (int) tri[i];
+        }
+        this.construire(0, nombre);
+    }
+
+    /**
+     * Retourne le nombre de segments.
+     *
+     * @return Le nombre de segments.
+     */
+    public int size() {
+        return this.record_debut.length;
+    }
+
+    /**
+     * Retourne l'image source d'une image d'enregistrement.
+     *
+     * @param record L'image d'enregistrement.
+     * @return L'image source, {@link #AUCUNE} si elle n'est dans aucun
+     * segment.
+     */
+    public int toSource(int record) {
+        int segment = this.segment(record);
+
+        return (segment < 0) ? AUCUNE : this.source_debut[segment] + record - this.record_debut[segment];
+    }
+
+    /**
+     * Retourne le timecode source d'un timecode d'enregistrement.
+     *
+     * @param record Le timecode d'enregistrement.
+     * @return Le timecode source (dans le framerate de sa source),
+     * {@code null} s'il n'est dans aucun segment.
+     */
+    @Null
+    public Timecode toSource(@NotNull Timecode record) {
+        int image = record.toImage();
+        int segment = this.segment(image);
+
+        if (segment < 0) {
+            return null;
+        }
+
+        return new Timecode(this.source_debut[segment] + image - this.record_debut[segment], this.source_framerate[segment], this.source_drop_frame[segment]);
+    }
+
+    /**
+     * Retourne l'image d'enregistrement d'une image source.
+     *
+     * @param source L'image source.
+     * @return L'image d'enregistrement, {@link #AUCUNE} si elle n'est dans
+     * aucun segment.
+     */
+    public int toRecord(int source) {
+        return this.toRecord(0, this.par_source.length, source, null);
+    }
+
+    /**
+     * Retourne le timecode d'enregistrement d'un timecode source.<br>
+     * Seuls les segments dont la source a le même framerate (et le même
+     * drop-frame) que le timecode sont pris en compte.
+     *
+     * @param source Le timecode source.
+     * @return Le timecode d'enregistrement, {@code null} s'il n'est dans aucun
+     * segment.
+     */
+    @Null
+    public Timecode toRecord(@NotNull Timecode source) {
+        int record = this.toRecord(0, this.par_source.length, source.toImage(), source);
+
+        return (record == AUCUNE) ? null : new Timecode(record, this.record_framerate, this.record_drop_frame);
+    }
+
+    /**
+     * Retourne l'index du segment qui contient une image d'enregistrement.
+     *
+     * @param record L'image d'enregistrement.
+     * @return L'index du segment (segments triés par début dans
+     * l'enregistrement), -1 s'il n'y en a pas.
+     */
+    public int segment(int record) {
+        // Dernier segment qui commence avant ou sur l'image.
+        int bas = 0;
+        int haut = this.record_debut.length;
+
+        while (bas < haut) {
+            int milieu = (bas + haut) >>> 1;
+
+            if (this.record_debut[milieu] <= record) {
+                bas = milieu + 1;
+            } else {
+                haut = milieu;
+            }
+        }
+
+        int segment = bas - 1;
+
+        return (segment >= 0 && record < this.record_fin[segment]) ? segment : -1;
+    }
+
+    /**
+     * Convertit des images d'enregistrement triées en images source, en une
+     * seule passe.<br>
+     * Le résultat peut remplacer les images d'origine (même tableau et même
+     * offset), mais pas une plage décalée du même tableau.
+     *
+     * @param records Les images d'enregistrement (triées).
+     * @param offset Index de la première image.
+     * @param destination Les images source ({@link #AUCUNE} hors des
+     * segments).
+     * @param offset_destination Index du premier résultat.
+     * @param nombre Nombre d'images.
+     */
+    public void toSource(@NotNull int[] records, int offset, @NotNull int[] destination, int offset_destination, int nombre) {
+        verifier(records.length, offset, destination.length, offset_destination, nombre);
+
+        int segment = 0;
+        int precedente = Integer.MIN_VALUE;
+
+        for (int i = 0; i < nombre; i++) {
+            int record = records[offset + i];
+
+            if (record < precedente) {
+                throw new TimecodeRuntimeException("Les images doivent être triées (index " + (offset + i) + ").");
+            }
+            precedente = record;
+
+            while (segment < this.record_debut.length && this.record_fin[segment] <= record) {
+                segment++;
+            }
+
+            destination[offset_destination + i] = (segment < this.record_debut.length && this.record_debut[segment] <= record)
+                    ? this.source_debut[segment] + record - this.record_debut[segment]
+                    : AUCUNE;
+        }
+    }
+
+    /**
+     * Convertit des images source en images d'enregistrement (comme
+     * {@link #toRecord(int)}, une recherche par image).<br>
+     * Le résultat peut remplacer les images d'origine (même tableau et même
+     * offset), mais pas une plage décalée du même tableau.
+     *
+     * @param sources Les images source.
+     * @param offset Index de la première image.
+     * @param destination Les images d'enregistrement ({@link #AUCUNE} hors des
+     * segments).
+     * @param offset_destination Index du premier résultat.
+     * @param nombre Nombre d'images.
+     */
+    public void toRecord(@NotNull int[] sources, int offset, @NotNull int[] destination, int offset_destination, int nombre) {
+        verifier(sources.length, offset, destination.length, offset_destination, nombre);
+
+        for (int i = 0; i < nombre; i++) {
+            destination[offset_destination + i] = this.toRecord(0, this.par_source.length, sources[offset + i], null);
+        }
+    }
+
+    /**
+     * Calcule la plus grande fin de source de chaque noeud.
+     *
+     * @param bas Premier index de la plage (inclus).
+     * @param haut Dernier index de la plage (exclu).
+     * @return La plus grande fin de la plage.
+     */
+    private int construire(int bas, int haut) {
+        if (bas >= haut) {
+            return Integer.MIN_VALUE;
+        }
+
+        int milieu = (bas + haut) >>> 1;
+
+        this.source_fin_max[milieu] = Math.max(this.sourceFin(this.par_source[milieu]), Math.max(this.construire(bas, milieu), this.construire(milieu + 1, haut)));
+
+        return this.source_fin_max[milieu];
+    }
+
+    /**
+     * Parcourt l'arbre implicite et retourne la plus petite image
+     * d'enregistrement d'une image source.
+     *
+     * @param bas Premier index de la plage (inclus).
+     * @param haut Dernier index de la plage (exclu).
+     * @param source L'image source.
+     * @param filtre Timecode dont la source doit avoir le framerate,
+     * {@code null} pour accepter tous les segments.
+     * @return L'image d'enregistrement, {@link #AUCUNE} s'il n'y en a pas.
+     */
+    private int toRecord(int bas, int haut, int source, Timecode filtre) {
+        int resultat = AUCUNE;
+
+        while (bas < haut) {
+            int milieu = (bas + haut) >>> 1;
+
+            // Aucun segment de ce sous-arbre ne finit après l'image.
+            if (this.source_fin_max[milieu] <= source) {
+                return resultat;
+            }
+
+            resultat = plusPetit(resultat, this.toRecord(bas, milieu, source, filtre));
+
+            int segment = this.par_source[milieu];
+
+            // Les segments suivants commencent tous après l'image.
+            if (this.source_debut[segment] > source) {
+                return resultat;
+            }
+
+            if (source < this.sourceFin(segment) && (filtre == null || (Double.compare(this.source_framerate[segment], filtre.getFramerate()) == 0 && this.source_drop_frame[segment] == filtre.isDropFrame()))) {
+                resultat = plusPetit(resultat, this.record_debut[segment] + source - this.source_debut[segment]);
+            }
+
+            bas = milieu + 1;
+        }
+
+        return resultat;
+    }
+
+    /**
+     * Retourne la plus petite de deux images d'enregistrement.
+     *
+     * @param a Une image, ou {@link #AUCUNE}.
+     * @param b Une autre image, ou {@link #AUCUNE}.
+     * @return La plus petite image, {@link #AUCUNE} s'il n'y en a aucune.
+     */
+    private static int plusPetit(int a, int b) {
+        if (a == AUCUNE) {
+            return b;
+        }
+
+        return (b == AUCUNE) ? a : Math.min(a, b);
+    }
+
+    /**
+     * Retourne la fin (exclue) d'un segment dans la source : la source a la
+     * même durée que l'enregistrement.
+     *
+     * @param segment Index du segment.
+     * @return La fin dans la source.
+     */
+    private int sourceFin(int segment) {
+        return this.source_debut[segment] + this.record_fin[segment] - this.record_debut[segment];
+    }
+
+    /**
+     * Vérifie les bornes des tableaux.
+     *
+     * @param longueur Longueur du tableau source.
+     * @param offset Index de la première image.
+     * @param longueur_destination Longueur du tableau destination.
+     * @param offset_destination Index du premier résultat.
+     * @param nombre Nombre d'images.
+     */
+    private static void verifier(int longueur, int offset, int longueur_destination, int offset_destination, int nombre) {
+        if (offset < 0 || nombre < 0 || offset + nombre > longueur || offset_destination < 0 || offset_destination + nombre > longueur_destination) {
+            throw new TimecodeRuntimeException("Les tableaux sont trop petits pour " + nombre + " images.");
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.phenix.timecode;
+
+import com.phenix.timecode.exceptions.TimecodeRuntimeException;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Timecode de début d'un programme (par exemple "<em>10:00:00:00</em>"),
+ * analysé une seule fois.<br>
+ * Son nombre d'images est calculé à la construction pour chaque
+ * {@link Framerate} : retrouver les images utiles d'un timecode ou changer de
+ * framerate ne demande plus d'analyser le timecode de début. Une origine est
+ * immuable et peut être partagée entre des timecodes et des threads.<br>
+ * Les méthodes en lot travaillent directement sur des tableaux de nombres
+ * d'images.
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public final class TimecodeOrigine {
+
+    /**
+     * Origine "<em>00:00:00:00</em>".
+     */
+    public static final TimecodeOrigine ZERO = new TimecodeOrigine("00:00:00:00");
+
+    /**
+     * Le timecode de début tel qu'il a été donné.
+     */
+    private final String timecode;
+
+    /**
+     * Le label du timecode de début (voir {@link TimecodeParser}).
+     */
+    private final long label;
+
+    /**
+     * Nombre d'images du timecode de début, indexé par
+     * {@link Framerate#ordinal()}.
+     */
+    private final int[] images;
+
+    /**
+     * Construit une origine.
+     *
+     * @param timecode Le timecode de début ("<em>HH:mm:ss:ii</em>").
+     */
+    public TimecodeOrigine(@NotNull String timecode) {
+        this.label = TimecodeParser.parse(timecode);
+
+        if (TimecodeParser.isErreur(this.label)) {
+            throw new TimecodeRuntimeException("Le timecode de début n'est pas correctement formaté : " + timecode);
+        }
+
+        this.timecode = timecode;
+
+        Framerate[] framerates = Framerate.values();
+        this.images = new int[framerates.length];
+
+        for (Framerate framerate : framerates) {
+            this.images[framerate.ordinal()] = (int) DropFrame.toImage(this.label, framerate);
+        }
+    }
+
+    /**
+     * Retourne le nombre d'images du timecode de début.
+     *
+     * @param framerate Le framerate.
+     * @return Le nombre d'images depuis "<em>00:00:00:00</em>".
+     */
+    public int getImage(@NotNull Framerate framerate) {
+        return this.images[framerate.ordinal()];
+    }
+
+    /**
+     * Retourne le nombre d'images du timecode de début pour un framerate qui
+     * n'est pas un {@link Framerate}.
+     *
+     * @param image_par_seconde Nombre d'images par seconde du timecode.
+     * @param image_sautee Nombre d'images sautées par minute (0 en non
+     * drop-frame).
+     * @return Le nombre d'images depuis "<em>00:00:00:00</em>".
+     */
+    public int getImage(int image_par_seconde, int image_sautee) {
+        return (int) DropFrame.toImage(TimecodeParser.heure(this.label), TimecodeParser.minute(this.label), TimecodeParser.seconde(this.label), TimecodeParser.image(this.label), image_par_seconde, image_sautee);
+    }
+
+    /**
+     * Convertit des nombres d'images (depuis "<em>00:00:00:00</em>") en
+     * images utiles (depuis le début du programme).<br>
+     * La source et la destination peuvent se recouvrir dans un même tableau.
+     *
+     * @param images Les nombres d'images.
+     * @param offset Index du premier nombre d'images.
+     * @param framerate Le framerate.
+     * @param destination Les images utiles.
+     * @param offset_destination Index de la première image utile.
+     * @param nombre Nombre de valeurs à convertir.
+     */
+    public void toImagesUtiles(@NotNull int[] images, int offset, @NotNull Framerate framerate, @NotNull int[] destination, int offset_destination, int nombre) {
+        decaler(images, offset, -this.getImage(framerate), destination, offset_destination, nombre);
+    }
+
+    /**
+     * Convertit des images utiles (depuis le début du programme) en nombres
+     * d'images (depuis "<em>00:00:00:00</em>").<br>
+     * La source et la destination peuvent se recouvrir dans un même tableau.
+     *
+     * @param images_utiles Les images utiles.
+     * @param offset Index de la première image utile.
+     * @param framerate Le framerate.
+     * @param destination Les nombres d'images.
+     * @param offset_destination Index du premier nombre d'images.
+     * @param nombre Nombre de valeurs à convertir.
+     */
+    public void toImages(@NotNull int[] images_utiles, int offset, @NotNull Framerate framerate, @NotNull int[] destination, int offset_destination, int nombre) {
+        decaler(images_utiles, offset, this.getImage(framerate), destination, offset_destination, nombre);
+    }
+
+    /**
+     * Change le framerate de nombres d'images en gardant le même nombre
+     * d'images utiles (comme {@link Timecode#changeFramerate(Framerate)}).<br>
+     * La source et la destination peuvent se recouvrir dans un même tableau.
+     *
+     * @param images Les nombres d'images dans le framerate d'origine.
+     * @param offset Index du premier nombre d'images.
+     * @param source Le framerate d'origine.
+     * @param cible Le nouveau framerate.
+     * @param destination Les nombres d'images dans le nouveau framerate.
+     * @param offset_destination Index du premier nombre d'images.
+     * @param nombre Nombre de valeurs à convertir.
+     */
+    public void changeFramerate(@NotNull int[] images, int offset, @NotNull Framerate source, @NotNull Framerate cible, @NotNull int[] destination, int offset_destination, int nombre) {
+        decaler(images, offset, this.getImage(cible) - this.getImage(source), destination, offset_destination, nombre);
+    }
+
+    /**
+     * Ajoute une même valeur à des nombres d'images.
+     *
+     * @param source Les valeurs.
+     * @param offset Index de la première valeur.
+     * @param decalage La valeur à ajouter.
+     * @param destination Le résultat.
+     * @param offset_destination Index du premier résultat.
+     * @param nombre Nombre de valeurs.
+     */
+    private static void decaler(int[] source, int offset, int decalage, int[] destination, int offset_destination, int nombre) {
+        if (offset < 0 || nombre < 0 || offset + nombre > source.length || offset_destination < 0 || offset_destination + nombre > destination.length) {
+            throw new TimecodeRuntimeException("Les tableaux sont trop petits pour " + nombre + " valeurs.");
+        }
+
+        if (source == destination && offset_destination > offset) {
+            // La destination commence après la source : on part de la fin pour
+            // ne pas relire une valeur déjà décalée.
+            for (int i = nombre - 1; i >= 0; i--) {
+                destination[offset_destination + i] = source[offset + i] + decalage;
+            }
+        } else {
+            for (int i = 0; i < nombre; i++) {
+                destination[offset_destination + i] = source[offset + i] + decalage;
+            }
+        }
+    }
+
+    /**
+     * Retourne le timecode de début tel qu'il a été donné.
+     *
+     * @return Le timecode de début.
+     */
+    @Override
+    @NotNull
+    public String toString() {
+        return this.timecode;
+    }
+}
@@ -0,0 +1,216 @@
+package com.phenix.timecode;
+
+import com.phenix.timecode.exceptions.TimecodeRuntimeException;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Null;
+import java.nio.ByteBuffer;
+
+/**
+ * Résultat réutilisable d'une analyse de timecode, pour les boucles qui lisent
+ * beaucoup de timecodes (dont beaucoup d'invalides) : aucune exception n'est
+ * levée et aucun objet n'est créé par analyse.<br>
+ * Chaque appel à une méthode {@code analyser(...)} remplace le résultat
+ * précédent, qui contient soit le nombre d'images, soit la raison du refus
+ * ({@link TimecodeErreur}). Les règles sont celles de
+ * {@link TimecodeParser#analyser(CharSequence, Framerate)}.<br>
+ * <br>
+ * Un résultat ne doit pas être partagé entre plusieurs threads.
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public final class TimecodeParseResult {
+
+    /**
+     * Nombre d'images, ou code négatif de l'erreur.
+     */
+    private long resultat = TimecodeParser.code(TimecodeErreur.LONGUEUR);
+
+    /**
+     * Framerate de la dernière analyse.
+     */
+    private Framerate framerate;
+
+    /**
+     * Construit un résultat vide (invalide tant qu'aucune analyse n'a été
+     * faite).
+     */
+    public TimecodeParseResult() {
+    }
+
+    /**
+     * Analyse un timecode.
+     *
+     * @param timecode Le timecode ("<em>HH:mm:ss:ii</em>").
+     * @param framerate Le framerate.
+     * @return {@code true} si le timecode est valide.
+     */
+    public boolean analyser(@NotNull CharSequence timecode, @NotNull Framerate framerate) {
+        return this.garder(TimecodeParser.analyser(timecode, framerate), framerate);
+    }
+
+    /**
+     * Analyse un timecode contenu dans une partie d'un {@code CharSequence}.
+     *
+     * @param timecode Le texte contenant le timecode.
+     * @param debut Index du premier caractère (inclus).
+     * @param fin Index du dernier caractère (exclu).
+     * @param framerate Le framerate.
+     * @return {@code true} si le timecode est valide.
+     */
+    public boolean analyser(@NotNull CharSequence timecode, int debut, int fin, @NotNull Framerate framerate) {
+        return this.garder(TimecodeParser.analyser(timecode, debut, fin, framerate), framerate);
+    }
+
+    /**
+     * Analyse un timecode encodé en ASCII dans un tableau d'octets.
+     *
+     * @param timecode Les octets contenant le timecode.
+     * @param offset Index du premier octet.
+     * @param longueur Nombre d'octets du timecode.
+     * @param framerate Le framerate.
+     * @return {@code true} si le timecode est valide.
+     */
+    public boolean analyser(@NotNull byte[] timecode, int offset, int longueur, @NotNull Framerate framerate) {
+        return this.garder(TimecodeParser.analyser(timecode, offset, longueur, framerate), framerate);
+    }
+
+    /**
+     * Analyse un timecode encodé en ASCII dans un {@code ByteBuffer} (la
+     * position du tampon n'est pas modifiée).
+     *
+     * @param timecode Le tampon contenant le timecode.
+     * @param index Index (absolu) du premier octet.
+     * @param longueur Nombre d'octets du timecode.
+     * @param framerate Le framerate.
+     * @return {@code true} si le timecode est valide.
+     */
+    public boolean analyser(@NotNull ByteBuffer timecode, int index, int longueur, @NotNull Framerate framerate) {
+        return this.garder(TimecodeParser.analyser(timecode, index, longueur, framerate), framerate);
+    }
+
+    /**
+     * Garde le résultat d'une analyse.
+     *
+     * @param resultat Nombre d'images, ou code négatif de l'erreur.
+     * @param framerate Le framerate.
+     * @return {@code true} si le timecode est valide.
+     */
+    private boolean garder(long resultat, Framerate framerate) {
+        this.resultat = resultat;
+        this.framerate = framerate;
+
+        return resultat >= 0;
+    }
+
+    /**
+     * Retourne si le dernier timecode analysé est valide.
+     *
+     * @return {@code true} si le timecode est valide.
+     */
+    public boolean isValide() {
+        return this.resultat >= 0;
+    }
+
+    /**
+     * Retourne la raison du refus du dernier timecode analysé.
+     *
+     * @return {@code null} si le timecode est valide, sinon la raison.
+     */
+    @Null
+    public TimecodeErreur getErreur() {
+        return TimecodeParser.erreur(this.resultat);
+    }
+
+    /**
+     * Retourne le résultat brut : le nombre d'images si le timecode est valide,
+     * sinon le code négatif de l'erreur (voir
+     * {@link TimecodeParser#erreur(long)}).
+     *
+     * @return Le résultat.
+     */
+    public long getResultat() {
+        return this.resultat;
+    }
+
+    /**
+     * Retourne le nombre d'images du dernier timecode analysé.
+     *
+     * @return Le nombre d'images depuis "<em>00:00:00:00</em>".
+     */
+    public long getNombreImage() {
+        this.verifier();
+
+        return this.resultat;
+    }
+
+    /**
+     * Retourne le framerate de la dernière analyse.
+     *
+     * @return Le framerate, {@code null} si aucune analyse n'a été faite.
+     */
+    @Null
+    public Framerate getFramerate() {
+        return this.framerate;
+    }
+
+    /**
+     * Retourne le label du dernier timecode analysé (voir
+     * {@link TimecodeParser}).
+     *
+     * @return Le label, avec l'indicateur drop-frame du framerate.
+     */
+    public long getLabel() {
+        this.verifier();
+
+        return DropFrame.toLabel(this.resultat, this.framerate);
+    }
+
+    /**
+     * Retourne le dernier timecode analysé.
+     *
+     * @return Le timecode.
+     */
+    @NotNull
+    public PackedTimecode toPackedTimecode() {
+        this.verifier();
+
+        return PackedTimecode.of(this.resultat, this.framerate);
+    }
+
+    /**
+     * Retourne le dernier timecode analysé.
+     *
+     * @return Le timecode.
+     */
+    @NotNull
+    public Timecode toTimecode() {
+        this.verifier();
+
+        return new Timecode(Math.toIntExact(this.resultat), this.framerate);
+    }
+
+    /**
+     * Vérifie que le dernier timecode analysé est valide.
+     */
+    private void verifier() {
+        if (this.resultat < 0) {
+            throw new TimecodeRuntimeException("Le timecode n'est pas valide : " + this.getErreur());
+        }
+    }
+
+    /**
+     * Retourne le résultat en {@code String} : le timecode sous la
+     * représentation SMPTE, sinon la raison du refus.
+     *
+     * @return Le résultat en {@code String}.
+     */
+    @Override
+    @NotNull
+    public String toString() {
+        if (this.resultat < 0) {
+            return this.getErreur().name();
+        }
+
+        return TimecodeFormatter.format(this.getLabel(), new StringBuilder(TimecodeFormatter.LONGUEUR)).toString();
+    }
+}
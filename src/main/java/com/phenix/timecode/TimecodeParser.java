@@ -0,0 +1,666 @@
+package com.phenix.timecode;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Null;
+import java.nio.ByteBuffer;
+
+/**
+ * Analyse un timecode SMPTE ("<em>HH:mm:ss:ii</em>" ou
+ * "<em>HH:mm:ss;ii</em>") sans passer par un {@code Scanner} ni par des
+ * exceptions.<br>
+ * Le résultat est un "label" : les quatre champs du timecode et l'indicateur
+ * drop-frame sont regroupés dans un {@code long}, ce qui évite toute
+ * allocation quand l'analyse réussit.<br>
+ * <br>
+ * Format accepté :<br>
+ * * heure : 1 à 4 chiffres<br>
+ * * minute et seconde : 1 ou 2 chiffres<br>
+ * * image : 1 à 4 chiffres<br>
+ * * séparateurs : "<em>:</em>" ou "<em>;</em>" (un "<em>;</em>" indique un
+ * timecode drop-frame, comme {@link Timecode#isDropFrame(String)}).<br>
+ * Les valeurs ne sont pas comparées au framerate : c'est le rôle de
+ * {@link Timecode#validation(String, Framerate)}.<br>
+ * <br>
+ * {@link #analyser(CharSequence, Framerate)} fait les deux d'un coup et
+ * retourne directement le nombre d'images, ou un code négatif qui donne la
+ * raison du refus (voir aussi {@link TimecodeParseResult}).
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public final class TimecodeParser {
+
+    /**
+     * Valeur retournée quand le timecode n'est pas correctement formaté.
+     */
+    public static final long ERREUR = -1L;
+
+    /**
+     * Position de la seconde dans un label.
+     */
+    private static final int DECALAGE_SECONDE = 16;
+
+    /**
+     * Position de la minute dans un label.
+     */
+    private static final int DECALAGE_MINUTE = 24;
+
+    /**
+     * Position de l'heure dans un label.
+     */
+    private static final int DECALAGE_HEURE = 32;
+
+    /**
+     * Bit indiquant un label drop-frame.
+     */
+    private static final long DROP_FRAME = 1L << 48;
+
+    /**
+     * Nombre maximum de chiffres pour chaque champ (heure, minute, seconde,
+     * image).
+     */
+    private static final int[] CHIFFRES_MAX = {4, 2, 2, 4};
+
+    /**
+     * Classe utilitaire.
+     */
+    private TimecodeParser() {
+    }
+
+    /**
+     * Analyse un timecode.
+     *
+     * @param timecode Le timecode ("<em>HH:mm:ss:ii</em>").
+     * @return Le label du timecode, sinon {@link #ERREUR}.
+     */
+    public static long parse(@NotNull CharSequence timecode) {
+        return parse(timecode, 0, timecode.length());
+    }
+
+    /**
+     * Analyse un timecode contenu dans une partie d'un {@code CharSequence}.
+     *
+     * @param timecode Le texte contenant le timecode.
+     * @param debut Index du premier caractère (inclus).
+     * @param fin Index du dernier caractère (exclu).
+     * @return Le label du timecode, sinon {@link #ERREUR}.
+     */
+    public static long parse(@NotNull CharSequence timecode, int debut, int fin) {
+        long label = 0;
+        int champ = 0;
+        int valeur = 0;
+        int chiffres = 0;
+
+        for (int i = debut; i < fin; i++) {
+            char c = timecode.charAt(i);
+
+            if (c >= '0' && c <= '9') {
+                if (++chiffres > CHIFFRES_MAX[champ]) {
+                    return ERREUR;
+                }
+                valeur = valeur * 10 + (c - '0');
+            } else if ((c == ':' || c == ';') && chiffres > 0 && champ < 3) {
+                label = ajouterChamp(label, champ, valeur);
+                if (c == ';') {
+                    label |= DROP_FRAME;
+                }
+                champ++;
+                valeur = 0;
+                chiffres = 0;
+            } else {
+                return ERREUR;
+            }
+        }
+
+        if (champ != 3 || chiffres == 0) {
+            return ERREUR;
+        }
+
+        return ajouterChamp(label, champ, valeur);
+    }
+
+    /**
+     * Analyse un timecode encodé en ASCII dans un tableau d'octets.
+     *
+     * @param timecode Les octets contenant le timecode.
+     * @param offset Index du premier octet.
+     * @param longueur Nombre d'octets du timecode.
+     * @return Le label du timecode, sinon {@link #ERREUR}.
+     */
+    public static long parse(@NotNull byte[] timecode, int offset, int longueur) {
+        long label = 0;
+        int champ = 0;
+        int valeur = 0;
+        int chiffres = 0;
+        int fin = offset + longueur;
+
+        for (int i = offset; i < fin; i++) {
+            int c = timecode[i];
+
+            if (c >= '0' && c <= '9') {
+                if (++chiffres > CHIFFRES_MAX[champ]) {
+                    return ERREUR;
+                }
+                valeur = valeur * 10 + (c - '0');
+            } else if ((c == ':' || c == ';') && chiffres > 0 && champ < 3) {
+                label = ajouterChamp(label, champ, valeur);
+                if (c == ';') {
+                    label |= DROP_FRAME;
+                }
+                champ++;
+                valeur = 0;
+                chiffres = 0;
+            } else {
+                return ERREUR;
+            }
+        }
+
+        if (champ != 3 || chiffres == 0) {
+            return ERREUR;
+        }
+
+        return ajouterChamp(label, champ, valeur);
+    }
+
+    /**
+     * Analyse un timecode encodé en ASCII dans un {@code ByteBuffer} (un
+     * fichier projeté en mémoire par exemple).<br>
+     * La position du tampon n'est pas modifiée.
+     *
+     * @param timecode Le tampon contenant le timecode.
+     * @param index Index (absolu) du premier octet.
+     * @param longueur Nombre d'octets du timecode.
+     * @return Le label du timecode, sinon {@link #ERREUR}.
+     */
+    public static long parse(@NotNull ByteBuffer timecode, int index, int longueur) {
+        long label = 0;
+        int champ = 0;
+        int valeur = 0;
+        int chiffres = 0;
+        int fin = index + longueur;
+
+        for (int i = index; i < fin; i++) {
+            int c = timecode.get(i);
+
+            if (c >= '0' && c <= '9') {
+                if (++chiffres > CHIFFRES_MAX[champ]) {
+                    return ERREUR;
+                }
+                valeur = valeur * 10 + (c - '0');
+            } else if ((c == ':' || c == ';') && chiffres > 0 && champ < 3) {
+                label = ajouterChamp(label, champ, valeur);
+                if (c == ';') {
+                    label |= DROP_FRAME;
+                }
+                champ++;
+                valeur = 0;
+                chiffres = 0;
+            } else {
+                return ERREUR;
+            }
+        }
+
+        if (champ != 3 || chiffres == 0) {
+            return ERREUR;
+        }
+
+        return ajouterChamp(label, champ, valeur);
+    }
+
+    /**
+     * Vérifie un timecode avec les règles de
+     * {@link Timecode#validation(String, Framerate)}, sans allocation ni
+     * exception.
+     *
+     * @param timecode Le timecode.
+     * @param framerate Le framerate.
+     * @return {@code null} si le timecode est valide, sinon la raison.
+     */
+    @Null
+    public static TimecodeErreur valider(@NotNull CharSequence timecode, @NotNull Framerate framerate) {
+        return valider(timecode, 0, timecode.length(), framerate);
+    }
+
+    /**
+     * Vérifie un timecode contenu dans une partie d'un {@code CharSequence}
+     * avec les règles de {@link Timecode#validation(String, Framerate)}.
+     *
+     * @param timecode Le texte contenant le timecode.
+     * @param debut Index du premier caractère (inclus).
+     * @param fin Index du dernier caractère (exclu).
+     * @param framerate Le framerate.
+     * @return {@code null} si le timecode est valide, sinon la raison.
+     */
+    @Null
+    public static TimecodeErreur valider(@NotNull CharSequence timecode, int debut, int fin, @NotNull Framerate framerate) {
+        if (!verifierLongueur(fin - debut, framerate)) {
+            return TimecodeErreur.LONGUEUR;
+        }
+
+        for (int i = debut; i < fin; i++) {
+            TimecodeErreur erreur = verifierCaractere(i - debut, timecode.charAt(i));
+
+            if (erreur != null) {
+                return erreur;
+            }
+        }
+
+        return verifierChamps(
+                (timecode.charAt(debut) - '0') * 10 + timecode.charAt(debut + 1) - '0',
+                (timecode.charAt(debut + 3) - '0') * 10 + timecode.charAt(debut + 4) - '0',
+                (timecode.charAt(debut + 6) - '0') * 10 + timecode.charAt(debut + 7) - '0',
+                champImage(timecode, debut, fin),
+                framerate);
+    }
+
+    /**
+     * Vérifie un timecode encodé en ASCII dans un tableau d'octets avec les
+     * règles de {@link Timecode#validation(String, Framerate)}.
+     *
+     * @param timecode Les octets contenant le timecode.
+     * @param offset Index du premier octet.
+     * @param longueur Nombre d'octets du timecode.
+     * @param framerate Le framerate.
+     * @return {@code null} si le timecode est valide, sinon la raison.
+     */
+    @Null
+    public static TimecodeErreur valider(@NotNull byte[] timecode, int offset, int longueur, @NotNull Framerate framerate) {
+        if (!verifierLongueur(longueur, framerate)) {
+            return TimecodeErreur.LONGUEUR;
+        }
+
+        for (int i = 0; i < longueur; i++) {
+            TimecodeErreur erreur = verifierCaractere(i, timecode[offset + i]);
+
+            if (erreur != null) {
+                return erreur;
+            }
+        }
+
+        return verifierChamps(
+                (timecode[offset] - '0') * 10 + timecode[offset + 1] - '0',
+                (timecode[offset + 3] - '0') * 10 + timecode[offset + 4] - '0',
+                (timecode[offset + 6] - '0') * 10 + timecode[offset + 7] - '0',
+                champImage(timecode, offset, longueur),
+                framerate);
+    }
+
+    /**
+     * Vérifie un timecode encodé en ASCII dans un {@code ByteBuffer} avec les
+     * règles de {@link Timecode#validation(String, Framerate)}.<br>
+     * La position du tampon n'est pas modifiée.
+     *
+     * @param timecode Le tampon contenant le timecode.
+     * @param index Index (absolu) du premier octet.
+     * @param longueur Nombre d'octets du timecode.
+     * @param framerate Le framerate.
+     * @return {@code null} si le timecode est valide, sinon la raison.
+     */
+    @Null
+    public static TimecodeErreur valider(@NotNull ByteBuffer timecode, int index, int longueur, @NotNull Framerate framerate) {
+        if (!verifierLongueur(longueur, framerate)) {
+            return TimecodeErreur.LONGUEUR;
+        }
+
+        for (int i = 0; i < longueur; i++) {
+            TimecodeErreur erreur = verifierCaractere(i, timecode.get(index + i));
+
+            if (erreur != null) {
+                return erreur;
+            }
+        }
+
+        return verifierChamps(
+                (timecode.get(index) - '0') * 10 + timecode.get(index + 1) - '0',
+                (timecode.get(index + 3) - '0') * 10 + timecode.get(index + 4) - '0',
+                (timecode.get(index + 6) - '0') * 10 + timecode.get(index + 7) - '0',
+                champImage(timecode, index, longueur),
+                framerate);
+    }
+
+    /**
+     * Analyse et vérifie un timecode, puis retourne son nombre d'images, sans
+     * allocation ni exception : un timecode invalide coûte autant qu'un
+     * timecode valide.<br>
+     * Les règles sont celles de {@link #valider(CharSequence, Framerate)},
+     * avec en plus les images sautées en drop-frame
+     * ({@link TimecodeErreur#IMAGE_SAUTEE}).
+     *
+     * @param timecode Le timecode ("<em>HH:mm:ss:ii</em>").
+     * @param framerate Le framerate.
+     * @return Le nombre d'images depuis "<em>00:00:00:00</em>" si le timecode
+     * est valide, sinon un code négatif (voir {@link #erreur(long)}).
+     */
+    public static long analyser(@NotNull CharSequence timecode, @NotNull Framerate framerate) {
+        return analyser(timecode, 0, timecode.length(), framerate);
+    }
+
+    /**
+     * Analyse et vérifie un timecode contenu dans une partie d'un
+     * {@code CharSequence}, puis retourne son nombre d'images (voir
+     * {@link #analyser(CharSequence, Framerate)}).
+     *
+     * @param timecode Le texte contenant le timecode.
+     * @param debut Index du premier caractère (inclus).
+     * @param fin Index du dernier caractère (exclu).
+     * @param framerate Le framerate.
+     * @return Le nombre d'images si le timecode est valide, sinon un code
+     * négatif (voir {@link #erreur(long)}).
+     */
+    public static long analyser(@NotNull CharSequence timecode, int debut, int fin, @NotNull Framerate framerate) {
+        TimecodeErreur erreur = valider(timecode, debut, fin, framerate);
+
+        if (erreur != null) {
+            return code(erreur);
+        }
+
+        return nombreImage(
+                (timecode.charAt(debut) - '0') * 10 + timecode.charAt(debut + 1) - '0',
+                (timecode.charAt(debut + 3) - '0') * 10 + timecode.charAt(debut + 4) - '0',
+                (timecode.charAt(debut + 6) - '0') * 10 + timecode.charAt(debut + 7) - '0',
+                champImage(timecode, debut, fin),
+                framerate);
+    }
+
+    /**
+     * Analyse et vérifie un timecode encodé en ASCII dans un tableau
+     * d'octets, puis retourne son nombre d'images (voir
+     * {@link #analyser(CharSequence, Framerate)}).
+     *
+     * @param timecode Les octets contenant le timecode.
+     * @param offset Index du premier octet.
+     * @param longueur Nombre d'octets du timecode.
+     * @param framerate Le framerate.
+     * @return Le nombre d'images si le timecode est valide, sinon un code
+     * négatif (voir {@link #erreur(long)}).
+     */
+    public static long analyser(@NotNull byte[] timecode, int offset, int longueur, @NotNull Framerate framerate) {
+        TimecodeErreur erreur = valider(timecode, offset, longueur, framerate);
+
+        if (erreur != null) {
+            return code(erreur);
+        }
+
+        return nombreImage(
+                (timecode[offset] - '0') * 10 + timecode[offset + 1] - '0',
+                (timecode[offset + 3] - '0') * 10 + timecode[offset + 4] - '0',
+                (timecode[offset + 6] - '0') * 10 + timecode[offset + 7] - '0',
+                champImage(timecode, offset, longueur),
+                framerate);
+    }
+
+    /**
+     * Analyse et vérifie un timecode encodé en ASCII dans un
+     * {@code ByteBuffer}, puis retourne son nombre d'images (voir
+     * {@link #analyser(CharSequence, Framerate)}).<br>
+     * La position du tampon n'est pas modifiée.
+     *
+     * @param timecode Le tampon contenant le timecode.
+     * @param index Index (absolu) du premier octet.
+     * @param longueur Nombre d'octets du timecode.
+     * @param framerate Le framerate.
+     * @return Le nombre d'images si le timecode est valide, sinon un code
+     * négatif (voir {@link #erreur(long)}).
+     */
+    public static long analyser(@NotNull ByteBuffer timecode, int index, int longueur, @NotNull Framerate framerate) {
+        TimecodeErreur erreur = valider(timecode, index, longueur, framerate);
+
+        if (erreur != null) {
+            return code(erreur);
+        }
+
+        return nombreImage(
+                (timecode.get(index) - '0') * 10 + timecode.get(index + 1) - '0',
+                (timecode.get(index + 3) - '0') * 10 + timecode.get(index + 4) - '0',
+                (timecode.get(index + 6) - '0') * 10 + timecode.get(index + 7) - '0',
+                champImage(timecode, index, longueur),
+                framerate);
+    }
+
+    /**
+     * Retourne l'erreur d'un résultat de {@link #analyser(CharSequence, Framerate)}.
+     *
+     * @param resultat Le résultat.
+     * @return {@code null} si le résultat est un nombre d'images, sinon la
+     * raison.
+     */
+    @Null
+    public static TimecodeErreur erreur(long resultat) {
+        return (resultat >= 0) ? null : TimecodeErreur.fromOrdinal((int) (-1 - resultat));
+    }
+
+    /**
+     * Retourne le code négatif d'une erreur, tel que retourné par
+     * {@link #analyser(CharSequence, Framerate)}.
+     *
+     * @param erreur L'erreur.
+     * @return Le code ({@code -1} pour la première erreur, {@code -2} pour la
+     * suivante...).
+     */
+    public static long code(@NotNull TimecodeErreur erreur) {
+        return -1L - erreur.ordinal();
+    }
+
+    /**
+     * Retourne le nombre d'images de champs déjà vérifiés.
+     *
+     * @param heure Heure du timecode.
+     * @param minute Minute du timecode.
+     * @param seconde Seconde du timecode.
+     * @param image Image du timecode.
+     * @param framerate Le framerate.
+     * @return Le nombre d'images, sinon le code de
+     * {@link TimecodeErreur#IMAGE_SAUTEE}.
+     */
+    private static long nombreImage(int heure, int minute, int seconde, int image, Framerate framerate) {
+        int image_sautee = DropFrame.imageSauteeParMinute(framerate);
+
+        // En drop-frame, les premières images de chaque minute (sauf toutes les 10 minutes) n'existent pas.
+        if (seconde == 0 && image < image_sautee && minute % 10 != 0) {
+            return code(TimecodeErreur.IMAGE_SAUTEE);
+        }
+
+        return DropFrame.toImage(heure, minute, seconde, image, framerate.getImageParSeconde(), image_sautee);
+    }
+
+    /**
+     * Vérifie la longueur d'un timecode : {@link TimecodeFormatter#LONGUEUR}
+     * caractères, ou {@link TimecodeFormatter#LONGUEUR_MAX} au-dessus de
+     * 100is (image sur trois chiffres).
+     *
+     * @param longueur Nombre de caractères du timecode.
+     * @param framerate Le framerate.
+     * @return {@code true} si la longueur est acceptée.
+     */
+    private static boolean verifierLongueur(int longueur, Framerate framerate) {
+        return longueur == TimecodeFormatter.LONGUEUR
+                || (longueur == TimecodeFormatter.LONGUEUR_MAX && framerate.getImageParSeconde() > 100);
+    }
+
+    /**
+     * Retourne l'image d'un timecode dont les caractères sont vérifiés.
+     *
+     * @param timecode Le texte contenant le timecode.
+     * @param debut Index du premier caractère (inclus).
+     * @param fin Index du dernier caractère (exclu).
+     * @return L'image (deux ou trois chiffres).
+     */
+    private static int champImage(CharSequence timecode, int debut, int fin) {
+        int image = (timecode.charAt(debut + 9) - '0') * 10 + timecode.charAt(debut + 10) - '0';
+
+        return (fin - debut == TimecodeFormatter.LONGUEUR) ? image : image * 10 + timecode.charAt(debut + 11) - '0';
+    }
+
+    /**
+     * Retourne l'image d'un timecode dont les octets sont vérifiés.
+     *
+     * @param timecode Les octets contenant le timecode.
+     * @param offset Index du premier octet.
+     * @param longueur Nombre d'octets du timecode.
+     * @return L'image (deux ou trois chiffres).
+     */
+    private static int champImage(byte[] timecode, int offset, int longueur) {
+        int image = (timecode[offset + 9] - '0') * 10 + timecode[offset + 10] - '0';
+
+        return (longueur == TimecodeFormatter.LONGUEUR) ? image : image * 10 + timecode[offset + 11] - '0';
+    }
+
+    /**
+     * Retourne l'image d'un timecode dont les octets sont vérifiés.
+     *
+     * @param timecode Le tampon contenant le timecode.
+     * @param index Index (absolu) du premier octet.
+     * @param longueur Nombre d'octets du timecode.
+     * @return L'image (deux ou trois chiffres).
+     */
+    private static int champImage(ByteBuffer timecode, int index, int longueur) {
+        int image = (timecode.get(index + 9) - '0') * 10 + timecode.get(index + 10) - '0';
+
+        return (longueur == TimecodeFormatter.LONGUEUR) ? image : image * 10 + timecode.get(index + 11) - '0';
+    }
+
+    /**
+     * Vérifie un caractère d'un timecode de {@link TimecodeFormatter#LONGUEUR}
+     * (ou {@link TimecodeFormatter#LONGUEUR_MAX}) caractères.
+     *
+     * @param position Position du caractère (0 à 11).
+     * @param c Le caractère.
+     * @return {@code null} si le caractère est valide, sinon la raison.
+     */
+    @Null
+    private static TimecodeErreur verifierCaractere(int position, int c) {
+        if (position % 3 == 2 && position < 9) {
+            return (c == ':' || c == ';') ? null : TimecodeErreur.SEPARATEUR;
+        }
+
+        return (c >= '0' && c <= '9') ? null : TimecodeErreur.CHIFFRE;
+    }
+
+    /**
+     * Vérifie les valeurs des champs d'un timecode.
+     *
+     * @param heure Heure du timecode.
+     * @param minute Minute du timecode.
+     * @param seconde Seconde du timecode.
+     * @param image Image du timecode.
+     * @param framerate Le framerate.
+     * @return {@code null} si les valeurs sont valides, sinon la raison.
+     */
+    @Null
+    private static TimecodeErreur verifierChamps(int heure, int minute, int seconde, int image, Framerate framerate) {
+        if (heure > 24) {
+            return TimecodeErreur.HEURE;
+        }
+        if (minute >= 60) {
+            return TimecodeErreur.MINUTE;
+        }
+        if (seconde >= 60) {
+            return TimecodeErreur.SECONDE;
+        }
+        // On ne gère pas au dessus du framerate.
+        if (image >= framerate.getImageParSeconde()) {
+            return TimecodeErreur.IMAGE;
+        }
+
+        return null;
+    }
+
+    /**
+     * Place la valeur d'un champ dans le label.
+     *
+     * @param label Le label en cours de construction.
+     * @param champ Le champ (0 : heure, 1 : minute, 2 : seconde, 3 : image).
+     * @param valeur La valeur du champ.
+     * @return Le label complété.
+     */
+    private static long ajouterChamp(long label, int champ, int valeur) {
+        return switch (champ) {
+            case 0 ->
+                label | ((long) valeur << DECALAGE_HEURE);
+            case 1 ->
+                label | ((long) valeur << DECALAGE_MINUTE);
+            case 2 ->
+                label | ((long) valeur << DECALAGE_SECONDE);
+            default ->
+                label | valeur;
+        };
+    }
+
+    /**
+     * Construit un label à partir de ses différentes valeurs.
+     *
+     * @param heure Heure du timecode (0-65535).
+     * @param minute Minute du timecode (0-255).
+     * @param seconde Seconde du timecode (0-255).
+     * @param image Image du timecode (0-65535).
+     * @param drop_frame {@code true} si c'est un timecode drop frame.
+     * @return Le label.
+     */
+    public static long pack(int heure, int minute, int seconde, int image, boolean drop_frame) {
+        return ((long) heure << DECALAGE_HEURE)
+                | ((long) minute << DECALAGE_MINUTE)
+                | ((long) seconde << DECALAGE_SECONDE)
+                | image
+                | (drop_frame ? DROP_FRAME : 0L);
+    }
+
+    /**
+     * Retourne si le label est une erreur d'analyse.
+     *
+     * @param label Le label.
+     * @return {@code true} si le timecode n'était pas correctement formaté.
+     */
+    public static boolean isErreur(long label) {
+        return label < 0;
+    }
+
+    /**
+     * Retourne l'heure d'un label.
+     *
+     * @param label Le label.
+     * @return L'heure.
+     */
+    public static int heure(long label) {
+        return (int) (label >>> DECALAGE_HEURE) & 0xFFFF;
+    }
+
+    /**
+     * Retourne la minute d'un label.
+     *
+     * @param label Le label.
+     * @return La minute.
+     */
+    public static int minute(long label) {
+        return (int) (label >>> DECALAGE_MINUTE) & 0xFF;
+    }
+
+    /**
+     * Retourne la seconde d'un label.
+     *
+     * @param label Le label.
+     * @return La seconde.
+     */
+    public static int seconde(long label) {
+        return (int) (label >>> DECALAGE_SECONDE) & 0xFF;
+    }
+
+    /**
+     * Retourne l'image d'un label.
+     *
+     * @param label Le label.
+     * @return L'image.
+     */
+    public static int image(long label) {
+        return (int) label & 0xFFFF;
+    }
+
+    /**
+     * Retourne si le label a été écrit en drop-frame (avec un
+     * "<em>;</em>").
+     *
+     * @param label Le label.
+     * @return {@code true} si c'est un label drop-frame.
+     */
+    public static boolean isDropFrame(long label) {
+        return (label & DROP_FRAME) != 0;
+    }
+}
@@ -0,0 +1,484 @@
+package com.phenix.timecode;
+
+import com.phenix.timecode.exceptions.TimecodeRuntimeException;
+import jakarta.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Ensemble d'images, stocké sous forme de plages triées ("<em>runs</em>"),
+ * pour calculer une couverture (les images d'un programme couvertes par des
+ * plans, des sous-titres, des coupures pub...).<br>
+ * Les plages sont rangées dans un seul tableau {@code int[]}
+ * (<em>début, fin, début, fin...</em>), début inclus et fin exclue, sans
+ * chevauchement ni plages collées : deux plages qui se touchent sont
+ * fusionnées. Les opérations entre ensembles parcourent les deux tableaux une
+ * seule fois : leur coût dépend du nombre de plages et pas du nombre
+ * d'images.<br>
+ * <br>
+ * Depuis un {@link IntervalTimecode}, le timecode out est inclus (comme
+ * {@link IntervalTimecode#dedans(Timecode)}) : la plage va jusqu'à
+ * l'image qui le suit.
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public final class TimecodeRangeSet {
+
+    /**
+     * Opération : union.
+     */
+    private static final int UNION = 0;
+
+    /**
+     * Opération : intersection.
+     */
+    private static final int INTERSECTION = 1;
+
+    /**
+     * Opération : différence.
+     */
+    private static final int DIFFERENCE = 2;
+
+    /**
+     * Les plages : début (inclus) puis fin (exclue), triées.
+     */
+    private int[] plages;
+
+    /**
+     * Nombre de valeurs utilisées dans {@link #plages} (deux par plage).
+     */
+    private int taille;
+
+    /**
+     * Construit un ensemble vide.
+     */
+    public TimecodeRangeSet() {
+        this(new int[8], 0);
+    }
+
+    /**
+     * Construit un ensemble depuis des plages déjà triées et fusionnées.
+     *
+     * @param plages Les plages.
+     * @param taille Nombre de valeurs utilisées.
+     */
+    private TimecodeRangeSet(int[] plages, int taille) {
+        this.plages = plages;
+        this.taille = taille;
+    }
+
+    /**
+     * Construit un ensemble depuis des plages dans n'importe quel ordre, qui
+     * peuvent se chevaucher ({@code O(n log n)}).
+     *
+     * @param debuts Début de chaque plage (inclus).
+     * @param fins Fin de chaque plage (exclue).
+     * @param nombre Nombre de plages.
+     * @return L'ensemble.
+     */
+    @NotNull
+    public static TimecodeRangeSet of(@NotNull int[] debuts, @NotNull int[] fins, int nombre) {
+        if (nombre < 0 || nombre > debuts.length || nombre > fins.length) {
+            throw new TimecodeRuntimeException("Les tableaux sont trop petits pour " + nombre + " plages.");
+        }
+
+        // Début et fin dans un long pour trier les deux d'un coup (les
+        // débuts signés restent dans l'ordre grâce au décalage).
+        long[] tri = new long[nombre];
+        int valides = 0;
+
+        for (int i = 0; i < nombre; i++) {
+            if (debuts[i] < fins[i]) {
+                tri[valides++] = ((long) debuts[i] << 32) | (fins[i] & 0xFFFFFFFFL);
+            }
+        }
+
+        Arrays.sort(tri, 0, valides);
+
+        int[] plages = new int[Math.max(8, 2 * valides)];
+        int taille = 0;
+
+        for (int i = 0; i < valides; i++) {
+            int debut = (int) (tri[i] >> 32);
+            int fin = (int) tri[i];
+
+            if (taille > 0 && debut <= plages[taille - 1]) {
+                plages[taille - 1] = Math.max(plages[taille - 1], fin);
+            } else {
+                plages[taille++] = debut;
+                plages[taille++] = fin;
+            }
+        }
+
+        return new TimecodeRangeSet(plages, taille);
+    }
+
+    /**
+     * Construit un ensemble depuis des intervals de timecode.
+     *
+     * @param intervals Les intervals (timecode out inclus).
+     * @return L'ensemble.
+     */
+    @NotNull
+    public static TimecodeRangeSet of(@NotNull Collection<IntervalTimecode> intervals) {
+        int[] debuts = new int[intervals.size()];
+        int[] fins = new int[intervals.size()];
+        int i = 0;
+
+        for (IntervalTimecode interval : intervals) {
+            debuts[i] = interval.getTimecodeIn().toImage();
+            fins[i] = interval.getTimecodeOut().toImage() + 1;
+            i++;
+        }
+
+        return of(debuts, fins, i);
+    }
+
+    /**
+     * Ajoute une plage.
+     *
+     * @param debut Début de la plage (inclus).
+     * @param fin Fin de la plage (exclue).
+     */
+    public void add(int debut, int fin) {
+        if (debut < fin) {
+            this.remplacer(combiner(this.plages, this.taille, new int[]{debut, fin}, 2, UNION));
+        }
+    }
+
+    /**
+     * Ajoute un interval de timecode.
+     *
+     * @param interval L'interval (timecode out inclus).
+     */
+    public void add(@NotNull IntervalTimecode interval) {
+        this.add(interval.getTimecodeIn().toImage(), interval.getTimecodeOut().toImage() + 1);
+    }
+
+    /**
+     * Retire une plage.
+     *
+     * @param debut Début de la plage (inclus).
+     * @param fin Fin de la plage (exclue).
+     */
+    public void remove(int debut, int fin) {
+        if (debut < fin) {
+            this.remplacer(combiner(this.plages, this.taille, new int[]{debut, fin}, 2, DIFFERENCE));
+        }
+    }
+
+    /**
+     * Retourne l'union avec un autre ensemble.
+     *
+     * @param autre L'autre ensemble.
+     * @return Un nouvel ensemble.
+     */
+    @NotNull
+    public TimecodeRangeSet union(@NotNull TimecodeRangeSet autre) {
+        return combiner(this.plages, this.taille, autre.plages, autre.taille, UNION);
+    }
+
+    /**
+     * Retourne l'intersection avec un autre ensemble.
+     *
+     * @param autre L'autre ensemble.
+     * @return Un nouvel ensemble.
+     */
+    @NotNull
+    public TimecodeRangeSet intersect(@NotNull TimecodeRangeSet autre) {
+        return combiner(this.plages, this.taille, autre.plages, autre.taille, INTERSECTION);
+    }
+
+    /**
+     * Retourne les images de cet ensemble qui ne sont pas dans un autre.
+     *
+     * @param autre L'autre ensemble.
+     * @return Un nouvel ensemble.
+     */
+    @NotNull
+    public TimecodeRangeSet difference(@NotNull TimecodeRangeSet autre) {
+        return combiner(this.plages, this.taille, autre.plages, autre.taille, DIFFERENCE);
+    }
+
+    /**
+     * Retourne les images d'une plage qui ne sont pas dans l'ensemble.
+     *
+     * @param debut Début de la plage (inclus).
+     * @param fin Fin de la plage (exclue).
+     * @return Un nouvel ensemble.
+     */
+    @NotNull
+    public TimecodeRangeSet complement(int debut, int fin) {
+        if (debut >= fin) {
+            return new TimecodeRangeSet();
+        }
+
+        return combiner(new int[]{debut, fin}, 2, this.plages, this.taille, DIFFERENCE);
+    }
+
+    /**
+     * Donne chaque trou de l'ensemble dans une plage, sans créer d'ensemble.
+     *
+     * @param debut Début de la plage (inclus).
+     * @param fin Fin de la plage (exclue).
+     * @param action Reçoit le début (inclus) et la fin (exclue) de chaque
+     * trou.
+     */
+    public void trous(int debut, int fin, @NotNull Plage action) {
+        int courant = debut;
+
+        for (int i = this.premiereFinApres(debut); i < this.taille && courant < fin; i += 2) {
+            if (this.plages[i] > courant) {
+                action.accepter(courant, Math.min(this.plages[i], fin));
+            }
+            courant = Math.max(courant, this.plages[i + 1]);
+        }
+
+        if (courant < fin) {
+            action.accepter(courant, fin);
+        }
+    }
+
+    /**
+     * Donne chaque plage de l'ensemble.
+     *
+     * @param action Reçoit le début (inclus) et la fin (exclue) de chaque
+     * plage.
+     */
+    public void plages(@NotNull Plage action) {
+        for (int i = 0; i < this.taille; i += 2) {
+            action.accepter(this.plages[i], this.plages[i + 1]);
+        }
+    }
+
+    /**
+     * Retourne les plages sous forme d'intervals de timecode.
+     *
+     * @param framerate Le framerate des timecodes.
+     * @return Les intervals (timecode out inclus).
+     */
+    @NotNull
+    public List<IntervalTimecode> toIntervals(@NotNull Framerate framerate) {
+        List<IntervalTimecode> intervals = new ArrayList<>(this.size());
+
+        this.plages((debut, fin) -> intervals.add(new IntervalTimecode(new Timecode(debut, framerate), new Timecode(fin - 1, framerate))));
+
+        return intervals;
+    }
+
+    /**
+     * Retourne si l'ensemble contient une image ({@code O(log n)}).
+     *
+     * @param image L'image.
+     * @return {@code true} si l'image est dans l'ensemble.
+     */
+    public boolean contains(int image) {
+        int i = this.premiereFinApres(image);
+
+        return i < this.taille && this.plages[i] <= image;
+    }
+
+    /**
+     * Retourne le nombre total d'images de l'ensemble.
+     *
+     * @return La durée en images.
+     */
+    public long duree() {
+        long duree = 0;
+
+        for (int i = 0; i < this.taille; i += 2) {
+            duree += (long) this.plages[i + 1] - this.plages[i];
+        }
+
+        return duree;
+    }
+
+    /**
+     * Retourne le nombre de plages.
+     *
+     * @return Le nombre de plages.
+     */
+    public int size() {
+        return this.taille / 2;
+    }
+
+    /**
+     * Retourne si l'ensemble est vide.
+     *
+     * @return {@code true} si l'ensemble ne contient aucune image.
+     */
+    public boolean isEmpty() {
+        return this.taille == 0;
+    }
+
+    /**
+     * Retourne le début d'une plage.
+     *
+     * @param index Index de la plage.
+     * @return Le début (inclus).
+     */
+    public int getDebut(int index) {
+        return this.plages[2 * index];
+    }
+
+    /**
+     * Retourne la fin d'une plage.
+     *
+     * @param index Index de la plage.
+     * @return La fin (exclue).
+     */
+    public int getFin(int index) {
+        return this.plages[2 * index + 1];
+    }
+
+    /**
+     * Retourne si deux ensembles contiennent les mêmes images.
+     *
+     * @param objet L'autre objet.
+     * @return {@code true} si les ensembles sont égaux.
+     */
+    @Override
+    public boolean equals(Object objet) {
+        return objet instanceof TimecodeRangeSet autre
+                && Arrays.equals(this.plages, 0, this.taille, autre.plages, 0, autre.taille);
+    }
+
+    /**
+     * Retourne le hash de l'ensemble.
+     *
+     * @return Le hash.
+     */
+    @Override
+    public int hashCode() {
+        int hash = 1;
+
+        for (int i = 0; i < this.taille; i++) {
+            hash = 31 * hash + this.plages[i];
+        }
+
+        return hash;
+    }
+
+    /**
+     * Retourne les plages ("<em>[0, 25) [50, 75)</em>").
+     *
+     * @return Les plages.
+     */
+    @Override
+    @NotNull
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+
+        for (int i = 0; i < this.taille; i += 2) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append('[').append(this.plages[i]).append(", ").append(this.plages[i + 1]).append(')');
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Retourne l'index (dans {@link #plages}) du début de la première plage
+     * qui finit après une image.
+     *
+     * @param image L'image.
+     * @return L'index, {@link #taille} s'il n'y en a pas.
+     */
+    private int premiereFinApres(int image) {
+        int bas = 0;
+        int haut = this.taille / 2;
+
+        while (bas < haut) {
+            int milieu = (bas + haut) >>> 1;
+
+            if (this.plages[2 * milieu + 1] <= image) {
+                bas = milieu + 1;
+            } else {
+                haut = milieu;
+            }
+        }
+
+        return 2 * bas;
+    }
+
+    /**
+     * Remplace le contenu de l'ensemble.
+     *
+     * @param ensemble Le nouveau contenu.
+     */
+    private void remplacer(TimecodeRangeSet ensemble) {
+        this.plages = ensemble.plages;
+        this.taille = ensemble.taille;
+    }
+
+    /**
+     * Combine deux listes de plages en les parcourant une seule fois.
+     *
+     * @param a Les plages du premier ensemble.
+     * @param taille_a Nombre de valeurs de {@code a}.
+     * @param b Les plages du second ensemble.
+     * @param taille_b Nombre de valeurs de {@code b}.
+     * @param operation {@link #UNION}, {@link #INTERSECTION} ou
+     * {@link #DIFFERENCE}.
+     * @return Le résultat.
+     */
+    private static TimecodeRangeSet combiner(int[] a, int taille_a, int[] b, int taille_b, int operation) {
+        int[] resultat = new int[Math.max(8, taille_a + taille_b)];
+        int taille = 0;
+        int i = 0;
+        int j = 0;
+        boolean dans_resultat = false;
+
+        // Chaque valeur est une borne : index pair = entrée, impair = sortie.
+        while (i < taille_a || j < taille_b) {
+            int position = Math.min(
+                    (i < taille_a) ? a[i] : Integer.MAX_VALUE,
+                    (j < taille_b) ? b[j] : Integer.MAX_VALUE);
+
+            while (i < taille_a && a[i] == position) {
+                i++;
+            }
+            while (j < taille_b && b[j] == position) {
+                j++;
+            }
+
+            // Un index impair veut dire qu'on est dans une plage.
+            boolean dans_a = (i & 1) == 1;
+            boolean dans_b = (j & 1) == 1;
+            boolean dedans = switch (operation) {
+                case UNION ->
+                    dans_a || dans_b;
+                case INTERSECTION ->
+                    dans_a && dans_b;
+                default ->
+                    dans_a && !dans_b;
+            };
+
+            if (dedans != dans_resultat) {
+                resultat[taille++] = position;
+                dans_resultat = dedans;
+            }
+        }
+
+        return new TimecodeRangeSet(resultat, taille);
+    }
+
+    /**
+     * Reçoit une plage d'images.
+     */
+    @FunctionalInterface
+    public interface Plage {
+
+        /**
+         * Une plage d'images.
+         *
+         * @param debut Début de la plage (inclus).
+         * @param fin Fin de la plage (exclue).
+         */
+        void accepter(int debut, int fin);
+    }
+}
@@ -0,0 +1,403 @@
+package com.phenix.timecode;
+
+import jakarta.validation.constraints.NotNull;
+import java.util.function.LongConsumer;
+
+/**
+ * Planifie des actions à des images précises (les "<em>cues</em>" d'une
+ * diffusion), avec une roue temporelle hiérarchique.<br>
+ * Il y a {@link #NIVEAUX} roues de {@link #CASES} cases : la roue 0 a une
+ * case par image, la roue 1 une case par bloc de 256 images, etc. Une action
+ * est rangée dans la roue du bloc qui la sépare de l'image courante ; quand
+ * l'image courante entre dans ce bloc, les actions de la case redescendent
+ * d'une roue. Ajouter, annuler ou avancer d'une image coûte {@code O(1)},
+ * quel que soit le nombre d'actions planifiées. Un saut de plusieurs images
+ * passe directement d'une case occupée à la suivante : son coût dépend du
+ * nombre de cases et d'actions, pas du nombre d'images. Les actions au-delà de
+ * 2<sup>32</sup> images attendent dans une liste à part.<br>
+ * <br>
+ * Le planificateur n'est pas synchronisé : il est fait pour être utilisé par
+ * la boucle de diffusion, par exemple avec {@link #avancer(TimecodeClock)} à
+ * chaque tour.
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public final class TimecodeScheduler {
+
+    /**
+     * Nombre de bits d'index d'une roue.
+     */
+    private static final int BITS = 8;
+
+    /**
+     * Nombre de cases d'une roue.
+     */
+    public static final int CASES = 1 << BITS;
+
+    /**
+     * Nombre de roues.
+     */
+    public static final int NIVEAUX = 4;
+
+    /**
+     * Masque de l'index d'une case.
+     */
+    private static final int MASQUE = CASES - 1;
+
+    /**
+     * Les cases des roues (une liste par case, avec une sentinelle).
+     */
+    private final Cue[][] roues = new Cue[NIVEAUX][CASES];
+
+    /**
+     * Actions au-delà de la dernière roue.
+     */
+    private final Cue lointaines = new Cue();
+
+    /**
+     * Actions planifiées pour une image déjà passée : lancées au prochain
+     * {@link #avancer(long)}.
+     */
+    private final Cue en_retard = new Cue();
+
+    /**
+     * Dernière image traitée.
+     */
+    private long courante;
+
+    /**
+     * Nombre d'actions planifiées.
+     */
+    private int nombre;
+
+    /**
+     * Construit un planificateur.
+     *
+     * @param image_depart Première image qui sera traitée.
+     */
+    public TimecodeScheduler(long image_depart) {
+        for (Cue[] roue : this.roues) {
+            for (int i = 0; i < CASES; i++) {
+                roue[i] = new Cue();
+            }
+        }
+
+        this.courante = image_depart - 1;
+    }
+
+    /**
+     * Planifie une action.
+     *
+     * @param image L'image où lancer l'action.
+     * @param action L'action, qui reçoit l'image.
+     * @return La cue, pour l'annuler.
+     */
+    @NotNull
+    public Cue planifier(long image, @NotNull LongConsumer action) {
+        Cue cue = new Cue(image, action);
+
+        // L'image courante est déjà traitée.
+        if (image == this.courante) {
+            cue.inserer(this.en_retard);
+        } else {
+            this.ranger(cue);
+        }
+        this.nombre++;
+
+        return cue;
+    }
+
+    /**
+     * Planifie une action sur un timecode.
+     *
+     * @param timecode Le timecode où lancer l'action.
+     * @param action L'action, qui reçoit l'image.
+     * @return La cue, pour l'annuler.
+     */
+    @NotNull
+    public Cue planifier(@NotNull Timecode timecode, @NotNull LongConsumer action) {
+        return this.planifier(timecode.toImage(), action);
+    }
+
+    /**
+     * Avance jusqu'à une image et lance les actions de chaque image passée,
+     * dans l'ordre des images.
+     *
+     * @param image L'image atteinte.
+     */
+    public void avancer(long image) {
+        this.lancer(this.en_retard);
+
+        while (this.courante < image) {
+            long tic = Math.min(this.prochain(), image);
+            this.courante = tic;
+
+            // Redescend les actions des roues dont on entre dans un bloc, de
+            // la plus haute à la plus basse.
+            if ((tic & 0xFFFFFFFFL) == 0) {
+                this.redescendre(this.lointaines);
+            }
+            for (int niveau = NIVEAUX - 1; niveau > 0; niveau--) {
+                if ((tic & ((1L << (BITS * niveau)) - 1)) == 0) {
+                    this.redescendre(this.roues[niveau][(int) (tic >>> (BITS * niveau)) & MASQUE]);
+                }
+            }
+
+            this.lancer(this.roues[0][(int) tic & MASQUE]);
+        }
+    }
+
+    /**
+     * Retourne la prochaine image où une case occupée redescend ou est lancée.
+     *
+     * @return L'image, {@link Long#MAX_VALUE} s'il n'y a plus d'action.
+     */
+    private long prochain() {
+        long courante = this.courante;
+
+        // Une roue ne contient que des actions après l'image courante, dans le
+        // même bloc de la roue du dessus : la première case occupée d'une
+        // roue basse vient donc avant celle d'une roue plus haute.
+        for (int niveau = 0; niveau < NIVEAUX; niveau++) {
+            int decalage = BITS * niveau;
+            Cue[] roue = this.roues[niveau];
+
+            for (int i = ((int) (courante >>> decalage) & MASQUE) + 1; i < CASES; i++) {
+                if (roue[i].suivante != roue[i]) {
+                    return ((courante >>> (decalage + BITS)) << (decalage + BITS)) | ((long) i << decalage);
+                }
+            }
+        }
+
+        if (this.lointaines.suivante != this.lointaines) {
+            return ((courante >>> (BITS * NIVEAUX)) + 1) << (BITS * NIVEAUX);
+        }
+
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Avance jusqu'à l'image courante d'une horloge.
+     *
+     * @param horloge L'horloge.
+     */
+    public void avancer(@NotNull TimecodeClock horloge) {
+        this.avancer(horloge.getImage());
+    }
+
+    /**
+     * Retourne la dernière image traitée.
+     *
+     * @return L'image.
+     */
+    public long getImage() {
+        return this.courante;
+    }
+
+    /**
+     * Retourne le nombre d'actions planifiées.
+     *
+     * @return Le nombre d'actions.
+     */
+    public int size() {
+        return this.nombre;
+    }
+
+    /**
+     * Range une action dans la bonne case (celle de l'image courante est
+     * lancée juste après la descente des roues).
+     *
+     * @param cue L'action.
+     */
+    private void ranger(Cue cue) {
+        long image = cue.image;
+        long courante = this.courante;
+
+        if (image < courante) {
+            cue.inserer(this.en_retard);
+            return;
+        }
+
+        for (int niveau = 0; niveau < NIVEAUX; niveau++) {
+            int decalage = BITS * (niveau + 1);
+
+            // Même bloc que l'image courante au niveau du dessus.
+            if ((image >>> decalage) == (courante >>> decalage)) {
+                cue.inserer(this.roues[niveau][(int) (image >>> (BITS * niveau)) & MASQUE]);
+                return;
+            }
+        }
+
+        cue.inserer(this.lointaines);
+    }
+
+    /**
+     * Range à nouveau les actions d'une case.
+     *
+     * @param sentinelle La case.
+     */
+    private void redescendre(Cue sentinelle) {
+        Cue cue = sentinelle.suivante;
+        sentinelle.vider();
+
+        while (cue != sentinelle) {
+            Cue suivante = cue.suivante;
+            this.ranger(cue);
+            cue = suivante;
+        }
+    }
+
+    /**
+     * Lance les actions d'une case.<br>
+     * Les actions passent d'abord dans une liste à part : une action peut
+     * ainsi annuler une autre action de la même image, ou en planifier de
+     * nouvelles dans la case, sans perturber le parcours. Si une action lève
+     * une exception, celle-ci est propagée et les actions qui n'ont pas été
+     * lancées restent planifiées : elles seront lancées au prochain
+     * {@link #avancer(long)}.
+     *
+     * @param sentinelle La case.
+     */
+    private void lancer(Cue sentinelle) {
+        if (sentinelle.suivante == sentinelle) {
+            return;
+        }
+
+        Cue liste = new Cue();
+        liste.suivante = sentinelle.suivante;
+        liste.precedente = sentinelle.precedente;
+        liste.suivante.precedente = liste;
+        liste.precedente.suivante = liste;
+        sentinelle.vider();
+
+        try {
+            while (liste.suivante != liste) {
+                Cue cue = liste.suivante;
+                cue.retirer();
+                this.nombre--;
+                cue.action.accept(cue.image);
+            }
+        } finally {
+            // Si une action a levé une exception, les actions suivantes de la
+            // case passent en tête des actions en retard.
+            if (liste.suivante != liste) {
+                liste.precedente.suivante = this.en_retard.suivante;
+                this.en_retard.suivante.precedente = liste.precedente;
+                liste.suivante.precedente = this.en_retard;
+                this.en_retard.suivante = liste.suivante;
+                liste.vider();
+            }
+        }
+    }
+
+    /**
+     * Une action planifiée.
+     */
+    public final class Cue {
+
+        /**
+         * L'image où lancer l'action.
+         */
+        private final long image;
+
+        /**
+         * L'action.
+         */
+        private final LongConsumer action;
+
+        /**
+         * Action précédente dans la case ({@code null} si l'action n'est plus
+         * planifiée).
+         */
+        private Cue precedente;
+
+        /**
+         * Action suivante dans la case.
+         */
+        private Cue suivante;
+
+        /**
+         * Construit une sentinelle.
+         */
+        private Cue() {
+            this.image = 0;
+            this.action = null;
+            this.vider();
+        }
+
+        /**
+         * Construit une action.
+         *
+         * @param image L'image où lancer l'action.
+         * @param action L'action.
+         */
+        private Cue(long image, LongConsumer action) {
+            this.image = image;
+            this.action = action;
+        }
+
+        /**
+         * Retourne l'image où lancer l'action.
+         *
+         * @return L'image.
+         */
+        public long getImage() {
+            return this.image;
+        }
+
+        /**
+         * Retourne si l'action est encore planifiée.
+         *
+         * @return {@code true} si l'action n'a été ni lancée ni annulée.
+         */
+        public boolean isPlanifiee() {
+            return this.precedente != null;
+        }
+
+        /**
+         * Annule l'action.
+         *
+         * @return {@code true} si l'action était encore planifiée.
+         */
+        public boolean annuler() {
+            if (this.precedente == null) {
+                return false;
+            }
+
+            this.retirer();
+            TimecodeScheduler.this.nombre--;
+
+            return true;
+        }
+
+        /**
+         * Retire l'action de sa case.
+         */
+        private void retirer() {
+            this.precedente.suivante = this.suivante;
+            this.suivante.precedente = this.precedente;
+            this.precedente = null;
+            this.suivante = null;
+        }
+
+        /**
+         * Ajoute l'action à la fin d'une case.
+         *
+         * @param sentinelle La case.
+         */
+        private void inserer(Cue sentinelle) {
+            this.precedente = sentinelle.precedente;
+            this.suivante = sentinelle;
+            sentinelle.precedente.suivante = this;
+            sentinelle.precedente = this;
+        }
+
+        /**
+         * Vide une sentinelle.
+         */
+        private void vider() {
+            this.precedente = this;
+            this.suivante = this;
+        }
+    }
+}
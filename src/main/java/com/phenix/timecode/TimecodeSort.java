@@ -0,0 +1,275 @@
+package com.phenix.timecode;
+
+import jakarta.validation.constraints.NotNull;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Tri de grands volumes de timecodes (logs d'as-run, marqueurs...) par tri
+ * par base (radix LSD) sur des clés primitives.<br>
+ * Le tri ne déplace pas les données : il retourne une permutation
+ * ({@code permutation[k]} est l'index d'origine du {@code k}-ième plus petit
+ * élément), que l'appelant applique à ses propres lignes, par exemple avec
+ * {@link #reordonner(Object[], int[])}. Le tri est stable.<br>
+ * Les clés sont triées octet par octet, du poids faible au poids fort ; un
+ * octet identique pour toutes les clés (les octets de poids fort d'un nombre
+ * d'images, en général) est sauté. En parallèle, chaque passe compte puis
+ * range les clés par blocs dans le {@link ForkJoinPool#commonPool()}.
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public final class TimecodeSort {
+
+    /**
+     * Nombre de valeurs d'un octet.
+     */
+    private static final int VALEURS = 256;
+
+    /**
+     * Taille minimale d'un bloc en parallèle.
+     */
+    private static final int TAILLE_BLOC = 1 << 16;
+
+    /**
+     * Classe utilitaire.
+     */
+    private TimecodeSort() {
+    }
+
+    /**
+     * Trie des nombres d'images.
+     *
+     * @param images Les nombres d'images.
+     * @param parallele {@code true} pour trier en parallèle.
+     * @return La permutation.
+     */
+    @NotNull
+    public static int[] trier(@NotNull int[] images, boolean parallele) {
+        long[] cles = new long[images.length];
+
+        for (int i = 0; i < images.length; i++) {
+            cles[i] = images[i];
+        }
+
+        return radix(cles, parallele);
+    }
+
+    /**
+     * Trie des clés {@code long} (par exemple des valeurs de
+     * {@link PackedTimecode#toLong()}).
+     *
+     * @param cles Les clés.
+     * @param parallele {@code true} pour trier en parallèle.
+     * @return La permutation.
+     */
+    @NotNull
+    public static int[] trier(@NotNull long[] cles, boolean parallele) {
+        return radix(cles.clone(), parallele);
+    }
+
+    /**
+     * Trie des timecodes dans l'ordre de {@link Timecode#compareTo(Timecode)}.
+     *
+     * @param timecodes Les timecodes.
+     * @param parallele {@code true} pour trier en parallèle.
+     * @return La permutation.
+     */
+    @NotNull
+    public static int[] trier(@NotNull Timecode[] timecodes, boolean parallele) {
+        int nombre = timecodes.length;
+
+        // Le rang de chaque couple framerate / drop-frame, il y en a peu.
+        Timecode[] couples = new Timecode[0];
+        for (Timecode timecode : timecodes) {
+            if (rang(couples, timecode) < 0) {
+                couples = Arrays.copyOf(couples, couples.length + 1);
+                couples[couples.length - 1] = new Timecode(0, timecode.getFramerate(), timecode.isDropFrame());
+            }
+        }
+        Arrays.sort(couples);
+
+        long[] cles = new long[nombre];
+        int dernier = 0;
+
+        for (int i = 0; i < nombre; i++) {
+            Timecode timecode = timecodes[i];
+
+            if (!memeCouple(couples[dernier], timecode)) {
+                dernier = rang(couples, timecode);
+            }
+
+            // Le timecode "null" (-1 images) est avant les autres.
+            cles[i] = ((long) dernier << 32) + (timecode.toImage() + 0x8000_0000L);
+        }
+
+        return radix(cles, parallele);
+    }
+
+    /**
+     * Retourne une copie des données dans l'ordre d'une permutation.
+     *
+     * @param <T> Le type des données.
+     * @param donnees Les données.
+     * @param permutation La permutation.
+     * @return Les données réordonnées.
+     */
+    @NotNull
+    public static <T> T[] reordonner(@NotNull T[] donnees, @NotNull int[] permutation) {
+        T[] resultat = Arrays.copyOf(donnees, permutation.length);
+
+        for (int i = 0; i < permutation.length; i++) {
+            resultat[i] = donnees[permutation[i]];
+        }
+
+        return resultat;
+    }
+
+    /**
+     * Retourne une copie des données dans l'ordre d'une permutation.
+     *
+     * @param donnees Les données.
+     * @param permutation La permutation.
+     * @return Les données réordonnées.
+     */
+    @NotNull
+    public static int[] reordonner(@NotNull int[] donnees, @NotNull int[] permutation) {
+        int[] resultat = new int[permutation.length];
+
+        for (int i = 0; i < permutation.length; i++) {
+            resultat[i] = donnees[permutation[i]];
+        }
+
+        return resultat;
+    }
+
+    /**
+     * Retourne une copie des données dans l'ordre d'une permutation.
+     *
+     * @param donnees Les données.
+     * @param permutation La permutation.
+     * @return Les données réordonnées.
+     */
+    @NotNull
+    public static long[] reordonner(@NotNull long[] donnees, @NotNull int[] permutation) {
+        long[] resultat = new long[permutation.length];
+
+        for (int i = 0; i < permutation.length; i++) {
+            resultat[i] = donnees[permutation[i]];
+        }
+
+        return resultat;
+    }
+
+    /**
+     * Retourne le rang d'un couple framerate / drop-frame.
+     *
+     * @param couples Les couples connus.
+     * @param timecode Le timecode.
+     * @return Le rang, ou -1 si le couple n'est pas connu.
+     */
+    private static int rang(Timecode[] couples, Timecode timecode) {
+        for (int i = 0; i < couples.length; i++) {
+            if (memeCouple(couples[i], timecode)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Retourne si deux timecodes ont le même framerate et drop-frame.
+     *
+     * @param a Un timecode.
+     * @param b Un autre timecode.
+     * @return {@code true} si le couple est le même.
+     */
+    private static boolean memeCouple(Timecode a, Timecode b) {
+        return Double.compare(a.getFramerate(), b.getFramerate()) == 0 && a.isDropFrame() == b.isDropFrame();
+    }
+
+    /**
+     * Trie des clés signées (le tableau est modifié).
+     *
+     * @param cles Les clés.
+     * @param parallele {@code true} pour trier en parallèle.
+     * @return La permutation.
+     */
+    private static int[] radix(long[] cles, boolean parallele) {
+        int nombre = cles.length;
+        int blocs = parallele ? Math.max(1, Math.min(nombre / TAILLE_BLOC, ForkJoinPool.getCommonPoolParallelism() * 4)) : 1;
+        int taille_bloc = (nombre + blocs - 1) / Math.max(1, blocs);
+
+        int[] permutation = new int[nombre];
+        int[] tampon_permutation = new int[nombre];
+        long[] tampon_cles = new long[nombre];
+        int[][] compteurs = new int[blocs][VALEURS];
+
+        for (int i = 0; i < nombre; i++) {
+            // Le bit de signe inversé : l'ordre non signé des octets devient
+            // l'ordre signé des clés.
+            cles[i] ^= Long.MIN_VALUE;
+            permutation[i] = i;
+        }
+
+        for (int decalage = 0; decalage < Long.SIZE; decalage += 8) {
+            long[] source = cles;
+            int[] source_permutation = permutation;
+            int passe = decalage;
+
+            IntStream comptage = IntStream.range(0, blocs);
+            (blocs > 1 ? comptage.parallel() : comptage).forEach(bloc -> {
+                int[] compteur = compteurs[bloc];
+                Arrays.fill(compteur, 0);
+
+                for (int i = bloc * taille_bloc, fin = Math.min(nombre, i + taille_bloc); i < fin; i++) {
+                    compteur[(int) (source[i] >>> passe) & 0xFF]++;
+                }
+            });
+
+            // Position de départ de chaque octet dans chaque bloc.
+            int position = 0;
+            boolean utile = true;
+            for (int octet = 0; octet < VALEURS; octet++) {
+                int debut = position;
+
+                for (int bloc = 0; bloc < blocs; bloc++) {
+                    int compte = compteurs[bloc][octet];
+                    compteurs[bloc][octet] = position;
+                    position += compte;
+                }
+
+                if (position - debut == nombre) {
+                    utile = false;
+                    break;
+                }
+            }
+
+            if (!utile) {
+                continue;
+            }
+
+            long[] destination = tampon_cles;
+            int[] destination_permutation = tampon_permutation;
+
+            IntStream rangement = IntStream.range(0, blocs);
+            (blocs > 1 ? rangement.parallel() : rangement).forEach(bloc -> {
+                int[] compteur = compteurs[bloc];
+
+                for (int i = bloc * taille_bloc, fin = Math.min(nombre, i + taille_bloc); i < fin; i++) {
+                    int cible = compteur[(int) (source[i] >>> passe) & 0xFF]++;
+                    destination[cible] = source[i];
+                    destination_permutation[cible] = source_permutation[i];
+                }
+            });
+
+            tampon_cles = cles;
+            tampon_permutation = permutation;
+            cles = destination;
+            permutation = destination_permutation;
+        }
+
+        return permutation;
+    }
+}
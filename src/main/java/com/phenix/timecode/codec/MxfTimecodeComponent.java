@@ -0,0 +1,192 @@
+package com.phenix.timecode.codec;
+
+import com.phenix.timecode.Framerate;
+import com.phenix.timecode.Timecode;
+import com.phenix.timecode.exceptions.TimecodeRuntimeException;
+import jakarta.validation.constraints.NotNull;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Champs timecode d'un "<em>Timecode Component</em>" MXF (SMPTE 377M), lus
+ * et écrits comme éléments locaux (tag sur 2 octets, longueur sur 2 octets,
+ * valeur, en big-endian) :<br>
+ * * {@link #TAG_DEBUT} : premier timecode, en nombre d'images (Int64)<br>
+ * * {@link #TAG_BASE} : nombre d'images par seconde arrondi (UInt16)<br>
+ * * {@link #TAG_DROP_FRAME} : drop-frame (Boolean)<br>
+ * La base ne distingue pas 29,97is et 30is : le framerate de la piste est
+ * donc demandé pour construire le {@link Timecode}.
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public final class MxfTimecodeComponent {
+
+    /**
+     * Tag local du premier timecode.
+     */
+    public static final int TAG_DEBUT = 0x1501;
+
+    /**
+     * Tag local de la base.
+     */
+    public static final int TAG_BASE = 0x1502;
+
+    /**
+     * Tag local du drop-frame.
+     */
+    public static final int TAG_DROP_FRAME = 0x1503;
+
+    /**
+     * Taille des trois éléments écrits par {@link #ecrire(ByteBuffer)}.
+     */
+    public static final int TAILLE = 4 + 8 + 4 + 2 + 4 + 1;
+
+    /**
+     * Premier timecode, en nombre d'images.
+     */
+    private final long debut;
+
+    /**
+     * Nombre d'images par seconde arrondi.
+     */
+    private final int base;
+
+    /**
+     * Drop-frame.
+     */
+    private final boolean drop_frame;
+
+    /**
+     * Construit les champs.
+     *
+     * @param debut Premier timecode, en nombre d'images.
+     * @param base Nombre d'images par seconde arrondi.
+     * @param drop_frame Drop-frame.
+     */
+    public MxfTimecodeComponent(long debut, int base, boolean drop_frame) {
+        this.debut = debut;
+        this.base = base;
+        this.drop_frame = drop_frame;
+    }
+
+    /**
+     * Construit les champs d'un timecode.
+     *
+     * @param timecode Le premier timecode.
+     * @param framerate Le framerate.
+     * @return Les champs.
+     */
+    @NotNull
+    public static MxfTimecodeComponent of(@NotNull Timecode timecode, @NotNull Framerate framerate) {
+        return new MxfTimecodeComponent(timecode.toImage(), framerate.getImageParSeconde(), framerate.getDropFrame());
+    }
+
+    /**
+     * Lit les champs parmi les éléments locaux d'un set. Les autres tags sont
+     * ignorés.
+     *
+     * @param source Le buffer.
+     * @param index Index (absolu) du premier élément local.
+     * @param longueur Nombre d'octets des éléments locaux.
+     * @return Les champs.
+     */
+    @NotNull
+    public static MxfTimecodeComponent lire(@NotNull ByteBuffer source, int index, int longueur) {
+        ByteBuffer set = source.duplicate().order(ByteOrder.BIG_ENDIAN);
+        int fin = index + longueur;
+        long debut = -1;
+        int base = -1;
+        boolean drop_frame = false;
+
+        while (index + 4 <= fin) {
+            int tag = set.getShort(index) & 0xFFFF;
+            int taille = set.getShort(index + 2) & 0xFFFF;
+            int valeur = index + 4;
+
+            if (valeur + taille > fin) {
+                throw new TimecodeRuntimeException("L'élément local " + Integer.toHexString(tag) + " dépasse le set.");
+            }
+
+            switch (tag) {
+                case TAG_DEBUT:
+                    debut = set.getLong(valeur);
+                    break;
+                case TAG_BASE:
+                    base = set.getShort(valeur) & 0xFFFF;
+                    break;
+                case TAG_DROP_FRAME:
+                    drop_frame = set.get(valeur) != 0;
+                    break;
+                default:
+                    break;
+            }
+
+            index = valeur + taille;
+        }
+
+        if (debut < 0 || base < 0) {
+            throw new TimecodeRuntimeException("Le set ne contient pas de timecode.");
+        }
+
+        return new MxfTimecodeComponent(debut, base, drop_frame);
+    }
+
+    /**
+     * Écrit les trois éléments locaux. Le buffer est avancé de
+     * {@link #TAILLE} octets.
+     *
+     * @param destination Le buffer.
+     */
+    public void ecrire(@NotNull ByteBuffer destination) {
+        ByteBuffer set = destination.duplicate().order(ByteOrder.BIG_ENDIAN);
+        int index = destination.position();
+
+        set.putShort(index, (short) TAG_DEBUT).putShort(index + 2, (short) 8).putLong(index + 4, this.debut);
+        set.putShort(index + 12, (short) TAG_BASE).putShort(index + 14, (short) 2).putShort(index + 16, (short) this.base);
+        set.putShort(index + 18, (short) TAG_DROP_FRAME).putShort(index + 20, (short) 1).put(index + 22, (byte) (this.drop_frame ? 1 : 0));
+
+        destination.position(index + TAILLE);
+    }
+
+    /**
+     * Retourne le premier timecode.
+     *
+     * @param framerate Le framerate de la piste.
+     * @return Le timecode.
+     */
+    @NotNull
+    public Timecode toTimecode(@NotNull Framerate framerate) {
+        if (framerate.getImageParSeconde() != this.base || framerate.getDropFrame() != this.drop_frame) {
+            throw new TimecodeRuntimeException("Le framerate ne correspond pas au timecode : " + framerate);
+        }
+
+        return new Timecode(Math.toIntExact(this.debut), framerate);
+    }
+
+    /**
+     * Retourne le premier timecode, en nombre d'images.
+     *
+     * @return Le nombre d'images.
+     */
+    public long getDebut() {
+        return this.debut;
+    }
+
+    /**
+     * Retourne le nombre d'images par seconde arrondi.
+     *
+     * @return La base.
+     */
+    public int getBase() {
+        return this.base;
+    }
+
+    /**
+     * Retourne le drop-frame.
+     *
+     * @return {@code true} si le timecode est en drop-frame.
+     */
+    public boolean getDropFrame() {
+        return this.drop_frame;
+    }
+}
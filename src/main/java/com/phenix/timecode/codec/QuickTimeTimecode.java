@@ -0,0 +1,286 @@
+package com.phenix.timecode.codec;
+
+import com.phenix.timecode.Framerate;
+import com.phenix.timecode.Timecode;
+import com.phenix.timecode.exceptions.TimecodeRuntimeException;
+import jakarta.validation.constraints.NotNull;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Description d'une piste timecode QuickTime / MP4 (entrée "<em>tmcd</em>"
+ * de la "<em>stsd</em>") et lecture de ses échantillons.<br>
+ * Un échantillon est un entier de 32 bits big-endian : le nombre d'images
+ * depuis "<em>00:00:00:00</em>", le drop-frame ne jouant que sur
+ * l'affichage. C'est directement le nombre d'images d'un {@link Timecode}.
+ * En mode compteur ({@link #COMPTEUR}), les échantillons sont rendus tels
+ * quels.<br>
+ * <br>
+ * Organisation de l'entrée (big-endian, {@link #TAILLE} octets) :<br>
+ * * taille (4), type "<em>tmcd</em>" (4), réservé (6), index de référence
+ * (2)<br>
+ * * réservé (4), drapeaux (4), échelle de temps (4), durée d'une image (4),
+ * images par seconde (1), réservé (1)
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public final class QuickTimeTimecode {
+
+    /**
+     * Taille de l'entrée, sans le nom de la source.
+     */
+    public static final int TAILLE = 34;
+
+    /**
+     * Type de l'entrée.
+     */
+    private static final int TYPE = ('t' << 24) | ('m' << 16) | ('c' << 8) | 'd';
+
+    /**
+     * Drapeau : drop-frame.
+     */
+    public static final int DROP_FRAME = 0x0001;
+
+    /**
+     * Drapeau : le timecode revient à 0 après 24 heures.
+     */
+    public static final int HEURES_24 = 0x0002;
+
+    /**
+     * Drapeau : le timecode peut être négatif.
+     */
+    public static final int NEGATIF = 0x0004;
+
+    /**
+     * Drapeau : les échantillons sont un compteur et non un timecode.
+     */
+    public static final int COMPTEUR = 0x0008;
+
+    /**
+     * Les drapeaux.
+     */
+    private final int drapeaux;
+
+    /**
+     * Échelle de temps (unités par seconde).
+     */
+    private final int echelle;
+
+    /**
+     * Durée d'une image, dans l'échelle de temps.
+     */
+    private final int duree_image;
+
+    /**
+     * Nombre d'images par seconde du timecode.
+     */
+    private final int images;
+
+    /**
+     * Construit une description.
+     *
+     * @param drapeaux Les drapeaux.
+     * @param echelle Échelle de temps (unités par seconde).
+     * @param duree_image Durée d'une image, dans l'échelle de temps.
+     * @param images Nombre d'images par seconde du timecode.
+     */
+    public QuickTimeTimecode(int drapeaux, int echelle, int duree_image, int images) {
+        this.drapeaux = drapeaux;
+        this.echelle = echelle;
+        this.duree_image = duree_image;
+        this.images = images;
+    }
+
+    /**
+     * Construit la description d'un framerate.
+     *
+     * @param framerate Le framerate.
+     * @return La description.
+     */
+    @NotNull
+    public static QuickTimeTimecode of(@NotNull Framerate framerate) {
+        return new QuickTimeTimecode(
+                HEURES_24 | (framerate.getDropFrame() ? DROP_FRAME : 0),
+                framerate.getNumerateur(),
+                framerate.getDenominateur(),
+                framerate.getImageParSeconde());
+    }
+
+    /**
+     * Lit une entrée "<em>tmcd</em>".
+     *
+     * @param source Le buffer.
+     * @param index Index (absolu) du premier octet de l'entrée (sa taille).
+     * @return La description.
+     */
+    @NotNull
+    public static QuickTimeTimecode lire(@NotNull ByteBuffer source, int index) {
+        ByteBuffer entree = source.duplicate().order(ByteOrder.BIG_ENDIAN);
+
+        if (entree.getInt(index) < TAILLE || entree.getInt(index + 4) != TYPE) {
+            throw new TimecodeRuntimeException("Ce n'est pas une entrée tmcd.");
+        }
+
+        return new QuickTimeTimecode(
+                entree.getInt(index + 20),
+                entree.getInt(index + 24),
+                entree.getInt(index + 28),
+                entree.get(index + 32) & 0xFF);
+    }
+
+    /**
+     * Écrit l'entrée "<em>tmcd</em>" (sans nom de source).
+     *
+     * @param destination Le buffer.
+     * @param index Index (absolu) du premier octet.
+     */
+    public void ecrire(@NotNull ByteBuffer destination, int index) {
+        ByteBuffer entree = destination.duplicate().order(ByteOrder.BIG_ENDIAN);
+
+        entree.putInt(index, TAILLE);
+        entree.putInt(index + 4, TYPE);
+        entree.putInt(index + 8, 0);
+        entree.putShort(index + 12, (short) 0);
+        entree.putShort(index + 14, (short) 1);
+        entree.putInt(index + 16, 0);
+        entree.putInt(index + 20, this.drapeaux);
+        entree.putInt(index + 24, this.echelle);
+        entree.putInt(index + 28, this.duree_image);
+        entree.put(index + 32, (byte) this.images);
+        entree.put(index + 33, (byte) 0);
+    }
+
+    /**
+     * Retourne le framerate de la piste.
+     *
+     * @return Le framerate.
+     */
+    @NotNull
+    public Framerate getFramerate() {
+        Framerate framerate = Framerate.fromFraction(this.echelle, this.duree_image, this.isDropFrame());
+
+        if (framerate == null) {
+            throw new TimecodeRuntimeException("Le framerate de la piste n'est pas supporté : " + this.echelle + "/" + this.duree_image);
+        }
+
+        return framerate;
+    }
+
+    /**
+     * Retourne le timecode d'un échantillon.
+     *
+     * @param echantillon L'échantillon (nombre d'images).
+     * @return Le timecode.
+     */
+    @NotNull
+    public Timecode toTimecode(int echantillon) {
+        return new Timecode(echantillon, this.getFramerate());
+    }
+
+    /**
+     * Lit un échantillon.
+     *
+     * @param source Le buffer.
+     * @param index Index (absolu) du premier octet.
+     * @return Le nombre d'images.
+     */
+    public static int lireImage(@NotNull ByteBuffer source, int index) {
+        int echantillon = source.getInt(index);
+
+        return source.order() == ByteOrder.BIG_ENDIAN ? echantillon : Integer.reverseBytes(echantillon);
+    }
+
+    /**
+     * Écrit un échantillon.
+     *
+     * @param nombre_image Le nombre d'images.
+     * @param destination Le buffer.
+     * @param index Index (absolu) du premier octet.
+     */
+    public static void ecrireImage(int nombre_image, @NotNull ByteBuffer destination, int index) {
+        destination.putInt(index, destination.order() == ByteOrder.BIG_ENDIAN ? nombre_image : Integer.reverseBytes(nombre_image));
+    }
+
+    /**
+     * Lit des échantillons. Le buffer est avancé après le dernier échantillon
+     * lu.
+     *
+     * @param source Les échantillons.
+     * @param images Reçoit les nombres d'images.
+     * @param offset Index du premier nombre d'images.
+     * @param nombre Nombre d'échantillons.
+     */
+    public static void toImages(@NotNull ByteBuffer source, @NotNull int[] images, int offset, int nombre) {
+        int index = source.position();
+
+        for (int i = 0; i < nombre; i++, index += 4) {
+            images[offset + i] = lireImage(source, index);
+        }
+
+        source.position(index);
+    }
+
+    /**
+     * Écrit des échantillons. Le buffer est avancé après le dernier
+     * échantillon écrit.
+     *
+     * @param images Les nombres d'images.
+     * @param offset Index du premier nombre d'images.
+     * @param nombre Nombre d'échantillons.
+     * @param destination Reçoit les échantillons.
+     */
+    public static void fromImages(@NotNull int[] images, int offset, int nombre, @NotNull ByteBuffer destination) {
+        int index = destination.position();
+
+        for (int i = 0; i < nombre; i++, index += 4) {
+            ecrireImage(images[offset + i], destination, index);
+        }
+
+        destination.position(index);
+    }
+
+    /**
+     * Retourne les drapeaux.
+     *
+     * @return Les drapeaux.
+     */
+    public int getDrapeaux() {
+        return this.drapeaux;
+    }
+
+    /**
+     * Retourne si la piste est en drop-frame.
+     *
+     * @return {@code true} si le drapeau {@link #DROP_FRAME} est positionné.
+     */
+    public boolean isDropFrame() {
+        return (this.drapeaux & DROP_FRAME) != 0;
+    }
+
+    /**
+     * Retourne l'échelle de temps.
+     *
+     * @return Le nombre d'unités par seconde.
+     */
+    public int getEchelle() {
+        return this.echelle;
+    }
+
+    /**
+     * Retourne la durée d'une image.
+     *
+     * @return La durée, dans l'échelle de temps.
+     */
+    public int getDureeImage() {
+        return this.duree_image;
+    }
+
+    /**
+     * Retourne le nombre d'images par seconde du timecode.
+     *
+     * @return Le nombre d'images.
+     */
+    public int getImages() {
+        return this.images;
+    }
+}
@@ -0,0 +1,483 @@
+package com.phenix.timecode.codec;
+
+import com.phenix.timecode.DropFrame;
+import com.phenix.timecode.Framerate;
+import com.phenix.timecode.TimecodeParser;
+import com.phenix.timecode.exceptions.TimecodeRuntimeException;
+import jakarta.validation.constraints.NotNull;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Lecture et écriture des timecodes SMPTE 12M en BCD, sans passer par une
+ * {@code String}.<br>
+ * <br>
+ * <b>Mot de 32 bits</b> (celui de FFmpeg, des fichiers DPX ou de l'ATC sans
+ * user bits) :<br>
+ * * bits 0-3 / 4-5 : unités / dizaines d'heure<br>
+ * * bits 8-11 / 12-14 : unités / dizaines de minute<br>
+ * * bits 16-19 / 20-22 : unités / dizaines de seconde<br>
+ * * bits 24-27 / 28-29 : unités / dizaines d'image<br>
+ * * bit 30 : drop-frame, bit 31 : image couleur<br>
+ * Au-dessus de 30is, le mot porte le numéro de la paire d'images et le bit
+ * de trame (bit 7 en 50is, bit 23 sinon) dit laquelle des deux.<br>
+ * <br>
+ * <b>Mot de 64 bits</b> (les données du LTC, du VITC et de l'ATC) : le bit
+ * {@code i} du {@code long} est le bit {@code i} transmis.<br>
+ * * bits 0-3 / 8-9 : unités / dizaines d'image<br>
+ * * bit 10 : drop-frame, bit 11 : image couleur<br>
+ * * bits 16-19 / 24-26 : unités / dizaines de seconde<br>
+ * * bits 32-35 / 40-42 : unités / dizaines de minute<br>
+ * * bits 48-51 / 56-57 : unités / dizaines d'heure<br>
+ * * bits 4, 12, 20... 60 : les 8 groupes de 4 user bits<br>
+ * <br>
+ * <b>Mot de 80 bits</b> : le mot de 64 bits suivi du mot de synchronisation
+ * ({@link #SYNCHRONISATION}), sur 10 octets, le bit 0 en poids faible du
+ * premier octet.<br>
+ * <br>
+ * Un mot mal formé (chiffre BCD supérieur à 9, champ hors limite) est lu
+ * comme {@link TimecodeParser#ERREUR}. Les lectures en nombre d'images
+ * ({@code toImage32}, {@code toImage64} et leurs versions en lot) donnent
+ * {@code -1} pour un mot mal formé, pour une image sautée du drop-frame et
+ * pour un mot dont le bit drop-frame n'est pas celui du framerate.
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public final class Smpte12mCodec {
+
+    /**
+     * Mot de synchronisation d'un mot de 80 bits (bits 64 à 79, le bit 64 en
+     * poids faible).
+     */
+    public static final int SYNCHRONISATION = 0xBFFC;
+
+    /**
+     * Bit drop-frame du mot de 32 bits.
+     */
+    public static final int DROP_FRAME_32 = 1 << 30;
+
+    /**
+     * Bit image couleur du mot de 32 bits.
+     */
+    public static final int COULEUR_32 = 1 << 31;
+
+    /**
+     * Bit de trame du mot de 32 bits en 50is.
+     */
+    private static final int TRAME_50 = 1 << 7;
+
+    /**
+     * Bit de trame du mot de 32 bits au-dessus de 30is (hors 50is).
+     */
+    private static final int TRAME_60 = 1 << 23;
+
+    /**
+     * Bit drop-frame du mot de 64 bits.
+     */
+    public static final long DROP_FRAME_64 = 1L << 10;
+
+    /**
+     * Bit image couleur du mot de 64 bits.
+     */
+    public static final long COULEUR_64 = 1L << 11;
+
+    /**
+     * Classe utilitaire.
+     */
+    private Smpte12mCodec() {
+    }
+
+    /**
+     * Écrit un label dans un mot de 32 bits.
+     *
+     * @param label Le label (voir {@link TimecodeParser}).
+     * @param framerate Le framerate (pour le bit de trame au-dessus de
+     * 30is).
+     * @return Le mot.
+     */
+    public static int encoder32(long label, @NotNull Framerate framerate) {
+        int image_par_seconde = verifier32(framerate);
+        int image = TimecodeParser.image(label);
+        int trame = 0;
+
+        verifier(label, image, image_par_seconde);
+
+        if (image_par_seconde > 30) {
+            if ((image & 1) != 0) {
+                trame = image_par_seconde == 50 ? TRAME_50 : TRAME_60;
+            }
+            image >>= 1;
+        }
+
+        return bcd(TimecodeParser.heure(label))
+                | bcd(TimecodeParser.minute(label)) << 8
+                | bcd(TimecodeParser.seconde(label)) << 16
+                | bcd(image) << 24
+                | trame
+                | (TimecodeParser.isDropFrame(label) ? DROP_FRAME_32 : 0);
+    }
+
+    /**
+     * Lit le label d'un mot de 32 bits.
+     *
+     * @param mot Le mot.
+     * @param framerate Le framerate (pour le bit de trame au-dessus de
+     * 30is).
+     * @return Le label, ou {@link TimecodeParser#ERREUR} si le mot est mal
+     * formé.
+     */
+    public static long decoder32(int mot, @NotNull Framerate framerate) {
+        int image_par_seconde = verifier32(framerate);
+        int heure = chiffres(mot & 0xF, mot >>> 4 & 0x3);
+        int minute = chiffres(mot >>> 8 & 0xF, mot >>> 12 & 0x7);
+        int seconde = chiffres(mot >>> 16 & 0xF, mot >>> 20 & 0x7);
+        int image = chiffres(mot >>> 24 & 0xF, mot >>> 28 & 0x3);
+
+        if (image_par_seconde > 30) {
+            image = image * 2 + ((mot & (image_par_seconde == 50 ? TRAME_50 : TRAME_60)) != 0 ? 1 : 0);
+        }
+
+        return label(heure, minute, seconde, image, (mot & DROP_FRAME_32) != 0, image_par_seconde);
+    }
+
+    /**
+     * Écrit un nombre d'images dans un mot de 32 bits.
+     *
+     * @param nombre_image Le nombre d'images (depuis
+     * "<em>00:00:00:00</em>").
+     * @param framerate Le framerate.
+     * @return Le mot.
+     */
+    public static int fromImage32(long nombre_image, @NotNull Framerate framerate) {
+        return encoder32(DropFrame.toLabel(nombre_image, framerate), framerate);
+    }
+
+    /**
+     * Lit le nombre d'images d'un mot de 32 bits.
+     *
+     * @param mot Le mot.
+     * @param framerate Le framerate.
+     * @return Le nombre d'images, ou {@code -1} si le mot est mal formé, si
+     * son drop-frame n'est pas celui du framerate ou si c'est une image
+     * sautée.
+     */
+    public static long toImage32(int mot, @NotNull Framerate framerate) {
+        return toImage(decoder32(mot, framerate), framerate);
+    }
+
+    /**
+     * Lit des mots de 32 bits (dans l'ordre des octets du buffer) en nombres
+     * d'images. Le buffer est avancé après le dernier mot lu.
+     *
+     * @param source Les mots.
+     * @param images Reçoit les nombres d'images ({@code -1} pour un mot mal
+     * formé).
+     * @param offset Index du premier nombre d'images.
+     * @param nombre Nombre de mots.
+     * @param framerate Le framerate.
+     */
+    public static void toImages32(@NotNull ByteBuffer source, @NotNull int[] images, int offset, int nombre, @NotNull Framerate framerate) {
+        int index = source.position();
+
+        for (int i = 0; i < nombre; i++, index += 4) {
+            images[offset + i] = (int) toImage32(source.getInt(index), framerate);
+        }
+
+        source.position(index);
+    }
+
+    /**
+     * Écrit des nombres d'images en mots de 32 bits (dans l'ordre des octets
+     * du buffer). Le buffer est avancé après le dernier mot écrit.
+     *
+     * @param images Les nombres d'images.
+     * @param offset Index du premier nombre d'images.
+     * @param nombre Nombre de mots.
+     * @param framerate Le framerate.
+     * @param destination Reçoit les mots.
+     */
+    public static void fromImages32(@NotNull int[] images, int offset, int nombre, @NotNull Framerate framerate, @NotNull ByteBuffer destination) {
+        int index = destination.position();
+
+        for (int i = 0; i < nombre; i++, index += 4) {
+            destination.putInt(index, fromImage32(images[offset + i], framerate));
+        }
+
+        destination.position(index);
+    }
+
+    /**
+     * Écrit un label dans un mot de 64 bits.
+     *
+     * @param label Le label (voir {@link TimecodeParser}).
+     * @param user_bits Les user bits (le premier groupe en poids faible).
+     * @param couleur {@code true} pour marquer l'image couleur.
+     * @return Le mot.
+     */
+    public static long encoder64(long label, int user_bits, boolean couleur) {
+        int image = TimecodeParser.image(label);
+
+        verifier(label, image, 40);
+
+        // Les chiffres BCD, un par octet, puis les user bits entre eux.
+        long mot = (long) bcd(image)
+                | (long) bcd(TimecodeParser.seconde(label)) << 16
+                | (long) bcd(TimecodeParser.minute(label)) << 32
+                | (long) bcd(TimecodeParser.heure(label)) << 48;
+        mot = (mot & 0x000F_000F_000F_000FL) | (mot & 0x00F0_00F0_00F0_00F0L) << 4;
+
+        for (int groupe = 0; groupe < 8; groupe++) {
+            mot |= (long) (user_bits >>> (groupe * 4) & 0xF) << (groupe * 8 + 4);
+        }
+
+        if (TimecodeParser.isDropFrame(label)) {
+            mot |= DROP_FRAME_64;
+        }
+        if (couleur) {
+            mot |= COULEUR_64;
+        }
+
+        return mot;
+    }
+
+    /**
+     * Lit le label d'un mot de 64 bits.
+     *
+     * @param mot Le mot.
+     * @return Le label, ou {@link TimecodeParser#ERREUR} si le mot est mal
+     * formé.
+     */
+    public static long decoder64(long mot) {
+        int image = chiffres((int) (mot & 0xF), (int) (mot >>> 8 & 0x3));
+        int seconde = chiffres((int) (mot >>> 16 & 0xF), (int) (mot >>> 24 & 0x7));
+        int minute = chiffres((int) (mot >>> 32 & 0xF), (int) (mot >>> 40 & 0x7));
+        int heure = chiffres((int) (mot >>> 48 & 0xF), (int) (mot >>> 56 & 0x3));
+
+        return label(heure, minute, seconde, image, (mot & DROP_FRAME_64) != 0, 40);
+    }
+
+    /**
+     * Retourne les user bits d'un mot de 64 bits.
+     *
+     * @param mot Le mot.
+     * @return Les user bits (le premier groupe en poids faible).
+     */
+    public static int userBits64(long mot) {
+        int user_bits = 0;
+
+        for (int groupe = 0; groupe < 8; groupe++) {
+            user_bits |= (int) (mot >>> (groupe * 8 + 4) & 0xF) << (groupe * 4);
+        }
+
+        return user_bits;
+    }
+
+    /**
+     * Retourne si le mot de 64 bits est marqué image couleur.
+     *
+     * @param mot Le mot.
+     * @return {@code true} si le bit image couleur est positionné.
+     */
+    public static boolean isCouleur64(long mot) {
+        return (mot & COULEUR_64) != 0;
+    }
+
+    /**
+     * Écrit un nombre d'images dans un mot de 64 bits.
+     *
+     * @param nombre_image Le nombre d'images (depuis
+     * "<em>00:00:00:00</em>").
+     * @param framerate Le framerate.
+     * @param user_bits Les user bits.
+     * @return Le mot.
+     */
+    public static long fromImage64(long nombre_image, @NotNull Framerate framerate, int user_bits) {
+        return encoder64(DropFrame.toLabel(nombre_image, framerate), user_bits, false);
+    }
+
+    /**
+     * Lit le nombre d'images d'un mot de 64 bits.
+     *
+     * @param mot Le mot.
+     * @param framerate Le framerate.
+     * @return Le nombre d'images, ou {@code -1} si le mot est mal formé, si
+     * son drop-frame n'est pas celui du framerate ou si c'est une image
+     * sautée.
+     */
+    public static long toImage64(long mot, @NotNull Framerate framerate) {
+        return toImage(decoder64(mot), framerate);
+    }
+
+    /**
+     * Lit des mots de 64 bits (dans l'ordre des octets du buffer) en nombres
+     * d'images. Le buffer est avancé après le dernier mot lu.
+     *
+     * @param source Les mots.
+     * @param images Reçoit les nombres d'images ({@code -1} pour un mot mal
+     * formé).
+     * @param offset Index du premier nombre d'images.
+     * @param nombre Nombre de mots.
+     * @param framerate Le framerate.
+     */
+    public static void toImages64(@NotNull ByteBuffer source, @NotNull int[] images, int offset, int nombre, @NotNull Framerate framerate) {
+        int index = source.position();
+
+        for (int i = 0; i < nombre; i++, index += 8) {
+            images[offset + i] = (int) toImage64(source.getLong(index), framerate);
+        }
+
+        source.position(index);
+    }
+
+    /**
+     * Écrit des nombres d'images en mots de 64 bits (dans l'ordre des octets
+     * du buffer), sans user bits. Le buffer est avancé après le dernier mot
+     * écrit.
+     *
+     * @param images Les nombres d'images.
+     * @param offset Index du premier nombre d'images.
+     * @param nombre Nombre de mots.
+     * @param framerate Le framerate.
+     * @param destination Reçoit les mots.
+     */
+    public static void fromImages64(@NotNull int[] images, int offset, int nombre, @NotNull Framerate framerate, @NotNull ByteBuffer destination) {
+        int index = destination.position();
+
+        for (int i = 0; i < nombre; i++, index += 8) {
+            destination.putLong(index, fromImage64(images[offset + i], framerate, 0));
+        }
+
+        destination.position(index);
+    }
+
+    /**
+     * Lit un mot de 80 bits.
+     *
+     * @param source Le buffer.
+     * @param index Index (absolu) du premier octet.
+     * @return Le mot de 64 bits.
+     */
+    public static long lire80(@NotNull ByteBuffer source, int index) {
+        boolean little_endian = source.order() == ByteOrder.LITTLE_ENDIAN;
+        long mot = source.getLong(index);
+        int synchronisation = source.getShort(index + 8) & 0xFFFF;
+
+        if (!little_endian) {
+            mot = Long.reverseBytes(mot);
+            synchronisation = Integer.reverseBytes(synchronisation) >>> 16;
+        }
+
+        if (synchronisation != SYNCHRONISATION) {
+            throw new TimecodeRuntimeException("Le mot de synchronisation n'est pas bon : " + Integer.toHexString(synchronisation));
+        }
+
+        return mot;
+    }
+
+    /**
+     * Écrit un mot de 80 bits.
+     *
+     * @param mot Le mot de 64 bits.
+     * @param destination Le buffer.
+     * @param index Index (absolu) du premier octet.
+     */
+    public static void ecrire80(long mot, @NotNull ByteBuffer destination, int index) {
+        boolean little_endian = destination.order() == ByteOrder.LITTLE_ENDIAN;
+
+        destination.putLong(index, little_endian ? mot : Long.reverseBytes(mot));
+        destination.putShort(index + 8, little_endian ? (short) SYNCHRONISATION : Short.reverseBytes((short) SYNCHRONISATION));
+    }
+
+    /**
+     * Retourne le nombre d'images d'un label lu dans un mot.
+     *
+     * @param label Le label.
+     * @param framerate Le framerate.
+     * @return Le nombre d'images, ou {@code -1} si le label est une erreur,
+     * n'existe pas dans le framerate (image trop grande, image sautée) ou si
+     * son drop-frame n'est pas celui du framerate.
+     */
+    private static long toImage(long label, Framerate framerate) {
+        if (TimecodeParser.isErreur(label) || TimecodeParser.isDropFrame(label) != framerate.getDropFrame()) {
+            return -1;
+        }
+
+        int image = TimecodeParser.image(label);
+
+        if (image >= framerate.getImageParSeconde()
+                || (TimecodeParser.seconde(label) == 0 && TimecodeParser.minute(label) % 10 != 0 && image < framerate.getImageSautee())) {
+            return -1;
+        }
+
+        return DropFrame.toImage(label, framerate);
+    }
+
+    /**
+     * Vérifie qu'un framerate tient dans un mot de 32 bits.
+     *
+     * @param framerate Le framerate.
+     * @return Le nombre d'images par seconde.
+     */
+    private static int verifier32(Framerate framerate) {
+        int image_par_seconde = framerate.getImageParSeconde();
+
+        if (image_par_seconde > 60) {
+            throw new TimecodeRuntimeException("Le framerate ne tient pas dans un mot de 32 bits : " + framerate);
+        }
+
+        return image_par_seconde;
+    }
+
+    /**
+     * Vérifie qu'un label s'écrit en BCD.
+     *
+     * @param label Le label.
+     * @param image L'image du label.
+     * @param image_max Limite (exclue) de l'image.
+     */
+    private static void verifier(long label, int image, int image_max) {
+        if (TimecodeParser.heure(label) > 23 || TimecodeParser.minute(label) > 59 || TimecodeParser.seconde(label) > 59 || image >= image_max) {
+            throw new TimecodeRuntimeException("Le timecode ne s'écrit pas en SMPTE 12M : " + label);
+        }
+    }
+
+    /**
+     * Retourne un nombre sur deux chiffres BCD.
+     *
+     * @param valeur Le nombre (0-99).
+     * @return Les dizaines sur les bits 4-7, les unités sur les bits 0-3.
+     */
+    private static int bcd(int valeur) {
+        return (valeur / 10) << 4 | (valeur % 10);
+    }
+
+    /**
+     * Assemble deux chiffres BCD.
+     *
+     * @param unite Les unités.
+     * @param dizaine Les dizaines.
+     * @return Le nombre, ou {@code -1} si les unités dépassent 9.
+     */
+    private static int chiffres(int unite, int dizaine) {
+        return unite > 9 ? -1 : dizaine * 10 + unite;
+    }
+
+    /**
+     * Construit un label en vérifiant les champs.
+     *
+     * @param heure L'heure.
+     * @param minute La minute.
+     * @param seconde La seconde.
+     * @param image L'image.
+     * @param drop_frame Le drop-frame.
+     * @param image_max Limite (exclue) de l'image.
+     * @return Le label, ou {@link TimecodeParser#ERREUR}.
+     */
+    private static long label(int heure, int minute, int seconde, int image, boolean drop_frame, int image_max) {
+        if (heure < 0 || heure > 23 || minute < 0 || minute > 59 || seconde < 0 || seconde > 59 || image < 0 || image >= image_max) {
+            return TimecodeParser.ERREUR;
+        }
+
+        return TimecodeParser.pack(heure, minute, seconde, image, drop_frame);
+    }
+}
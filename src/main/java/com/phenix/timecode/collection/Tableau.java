@@ -0,0 +1,221 @@
+package com.phenix.timecode.collection;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Tableau d'{@code int} qui s'agrandit, stocké dans un {@code int[]} ou hors
+ * du tas dans un {@link ByteBuffer} direct.
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+final class Tableau {
+
+    /**
+     * Capacité par défaut.
+     */
+    static final int CAPACITE = 16;
+
+    /**
+     * Les valeurs, sur le tas ({@code null} si hors du tas).
+     */
+    private int[] tas;
+
+    /**
+     * Les valeurs, hors du tas ({@code null} si sur le tas).
+     */
+    private IntBuffer direct;
+
+    /**
+     * Construit un tableau.
+     *
+     * @param capacite Capacité de départ.
+     * @param hors_tas {@code true} pour stocker les valeurs hors du tas.
+     */
+    Tableau(int capacite, boolean hors_tas) {
+        capacite = Math.max(capacite, 1);
+
+        if (hors_tas) {
+            this.direct = allouer(capacite);
+        } else {
+            this.tas = new int[capacite];
+        }
+    }
+
+    /**
+     * Alloue un buffer direct.
+     *
+     * @param capacite Nombre de valeurs.
+     * @return Le buffer.
+     */
+    private static IntBuffer allouer(int capacite) {
+        return ByteBuffer.allocateDirect(Math.multiplyExact(capacite, Integer.BYTES)).order(ByteOrder.nativeOrder()).asIntBuffer();
+    }
+
+    /**
+     * Retourne une valeur.
+     *
+     * @param index L'index.
+     * @return La valeur.
+     */
+    int get(int index) {
+        return this.tas != null ? this.tas[index] : this.direct.get(index);
+    }
+
+    /**
+     * Modifie une valeur.
+     *
+     * @param index L'index.
+     * @param valeur La valeur.
+     */
+    void set(int index, int valeur) {
+        if (this.tas != null) {
+            this.tas[index] = valeur;
+        } else {
+            this.direct.put(index, valeur);
+        }
+    }
+
+    /**
+     * Retourne la capacité.
+     *
+     * @return Le nombre de valeurs qui tiennent sans agrandir.
+     */
+    int capacite() {
+        return this.tas != null ? this.tas.length : this.direct.capacity();
+    }
+
+    /**
+     * Retourne si les valeurs sont hors du tas.
+     *
+     * @return {@code true} si les valeurs sont dans un buffer direct.
+     */
+    boolean isHorsTas() {
+        return this.direct != null;
+    }
+
+    /**
+     * Agrandit le tableau (d'au moins la moitié) si besoin.
+     *
+     * @param capacite Capacité minimale.
+     */
+    void reserver(int capacite) {
+        int actuelle = this.capacite();
+
+        if (capacite <= actuelle) {
+            return;
+        }
+
+        int nouvelle = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(capacite, actuelle + (actuelle >> 1) + 1L));
+
+        if (this.tas != null) {
+            this.tas = Arrays.copyOf(this.tas, nouvelle);
+        } else {
+            IntBuffer agrandi = allouer(nouvelle);
+            agrandi.put(0, this.direct, 0, actuelle);
+            this.direct = agrandi;
+        }
+    }
+
+    /**
+     * Déplace des valeurs (les zones peuvent se chevaucher).
+     *
+     * @param depuis Index de la première valeur à déplacer.
+     * @param vers Index où la déplacer.
+     * @param nombre Nombre de valeurs.
+     */
+    void deplacer(int depuis, int vers, int nombre) {
+        if (nombre <= 0) {
+            return;
+        }
+
+        if (this.tas != null) {
+            System.arraycopy(this.tas, depuis, this.tas, vers, nombre);
+        } else {
+            this.direct.put(vers, this.direct, depuis, nombre);
+        }
+    }
+
+    /**
+     * Copie des valeurs dans un tableau.
+     *
+     * @param nombre Nombre de valeurs (depuis le début).
+     * @return Les valeurs.
+     */
+    int[] toArray(int nombre) {
+        if (this.tas != null) {
+            return Arrays.copyOf(this.tas, nombre);
+        }
+
+        int[] valeurs = new int[nombre];
+        this.direct.get(0, valeurs);
+
+        return valeurs;
+    }
+
+    /**
+     * Cherche une valeur dans des valeurs triées.
+     *
+     * @param nombre Nombre de valeurs triées (depuis le début).
+     * @param valeur La valeur.
+     * @return L'index de la valeur, sinon {@code -(point d'insertion) - 1}.
+     */
+    int chercher(int nombre, int valeur) {
+        if (this.tas != null) {
+            return Arrays.binarySearch(this.tas, 0, nombre, valeur);
+        }
+
+        int bas = 0;
+        int haut = nombre - 1;
+
+        while (bas <= haut) {
+            int milieu = (bas + haut) >>> 1;
+            int courante = this.direct.get(milieu);
+
+            if (courante < valeur) {
+                bas = milieu + 1;
+            } else if (courante > valeur) {
+                haut = milieu - 1;
+            } else {
+                return milieu;
+            }
+        }
+
+        return -(bas + 1);
+    }
+
+    /**
+     * Retourne un itérateur sur des valeurs, sans les convertir en objets.
+     *
+     * @param debut Index de la première valeur (inclus).
+     * @param fin Index de la dernière valeur (exclu).
+     * @return L'itérateur.
+     */
+    PrimitiveIterator.OfInt iterator(int debut, int fin) {
+        return new PrimitiveIterator.OfInt() {
+
+            /**
+             * Index de la prochaine valeur.
+             */
+            private int index = debut;
+
+            @Override
+            public boolean hasNext() {
+                return this.index < fin;
+            }
+
+            @Override
+            public int nextInt() {
+                if (this.index >= fin) {
+                    throw new NoSuchElementException();
+                }
+
+                return Tableau.this.get(this.index++);
+            }
+        };
+    }
+}
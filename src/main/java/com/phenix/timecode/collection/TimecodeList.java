@@ -0,0 +1,259 @@
+package com.phenix.timecode.collection;
+
+import com.phenix.timecode.Framerate;
+import com.phenix.timecode.Timecode;
+import com.phenix.timecode.exceptions.TimecodeRuntimeException;
+import jakarta.validation.constraints.NotNull;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Liste de timecodes qui s'agrandit, stockés en nombres d'images
+ * ({@code int}) avec un seul {@link Framerate} pour toute la liste.<br>
+ * Une journée d'images en 25is tient ainsi dans 8,6 Mo, sans aucun objet par
+ * timecode ; avec {@code hors_tas}, les valeurs sont dans un
+ * {@link java.nio.ByteBuffer} direct, hors de la portée du ramasse-miettes.
+ * Les {@link Timecode} ne sont créés qu'à la demande
+ * ({@link #getTimecode(int)}), et le parcours ({@link #iterator()},
+ * {@link #stream()}, {@link #forEach(IntConsumer)}) se fait sur des
+ * {@code int}.<br>
+ * La liste n'est pas synchronisée.
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public final class TimecodeList {
+
+    /**
+     * Le framerate de tous les timecodes.
+     */
+    private final Framerate framerate;
+
+    /**
+     * Les nombres d'images.
+     */
+    private final Tableau images;
+
+    /**
+     * Nombre de timecodes.
+     */
+    private int taille;
+
+    /**
+     * Construit une liste vide, sur le tas.
+     *
+     * @param framerate Le framerate des timecodes.
+     */
+    public TimecodeList(@NotNull Framerate framerate) {
+        this(framerate, Tableau.CAPACITE, false);
+    }
+
+    /**
+     * Construit une liste vide.
+     *
+     * @param framerate Le framerate des timecodes.
+     * @param capacite Capacité de départ.
+     * @param hors_tas {@code true} pour stocker les valeurs hors du tas.
+     */
+    public TimecodeList(@NotNull Framerate framerate, int capacite, boolean hors_tas) {
+        this.framerate = framerate;
+        this.images = new Tableau(capacite, hors_tas);
+    }
+
+    /**
+     * Retourne le nombre d'images d'un timecode, en vérifiant son framerate.
+     *
+     * @param timecode Le timecode.
+     * @param framerate Le framerate attendu.
+     * @return Le nombre d'images.
+     */
+    static int image(Timecode timecode, Framerate framerate) {
+        if (timecode.getFramerateConnu() != framerate) {
+            throw new TimecodeRuntimeException("Le timecode n'a pas le framerate de la collection : " + timecode.getFramerate() + " au lieu de " + framerate);
+        }
+
+        return timecode.toImage();
+    }
+
+    /**
+     * Ajoute un timecode à la fin.
+     *
+     * @param image Le nombre d'images.
+     */
+    public void add(int image) {
+        this.images.reserver(this.taille + 1);
+        this.images.set(this.taille++, image);
+    }
+
+    /**
+     * Ajoute un timecode à la fin.
+     *
+     * @param timecode Le timecode (du framerate de la liste).
+     */
+    public void add(@NotNull Timecode timecode) {
+        this.add(image(timecode, this.framerate));
+    }
+
+    /**
+     * Ajoute des timecodes à la fin.
+     *
+     * @param images Les nombres d'images.
+     * @param offset Index du premier nombre d'images.
+     * @param nombre Nombre de timecodes.
+     */
+    public void addAll(@NotNull int[] images, int offset, int nombre) {
+        this.images.reserver(this.taille + nombre);
+
+        for (int i = 0; i < nombre; i++) {
+            this.images.set(this.taille++, images[offset + i]);
+        }
+    }
+
+    /**
+     * Retourne le nombre d'images d'un timecode.
+     *
+     * @param index L'index.
+     * @return Le nombre d'images.
+     */
+    public int get(int index) {
+        this.verifier(index);
+
+        return this.images.get(index);
+    }
+
+    /**
+     * Retourne un timecode (créé à chaque appel).
+     *
+     * @param index L'index.
+     * @return Le timecode.
+     */
+    @NotNull
+    public Timecode getTimecode(int index) {
+        return new Timecode(this.get(index), this.framerate);
+    }
+
+    /**
+     * Remplace un timecode.
+     *
+     * @param index L'index.
+     * @param image Le nombre d'images.
+     */
+    public void set(int index, int image) {
+        this.verifier(index);
+        this.images.set(index, image);
+    }
+
+    /**
+     * Retire un timecode.
+     *
+     * @param index L'index.
+     * @return Le nombre d'images retiré.
+     */
+    public int removeAt(int index) {
+        int image = this.get(index);
+
+        this.images.deplacer(index + 1, index, this.taille - index - 1);
+        this.taille--;
+
+        return image;
+    }
+
+    /**
+     * Retourne le nombre de timecodes.
+     *
+     * @return Le nombre de timecodes.
+     */
+    public int size() {
+        return this.taille;
+    }
+
+    /**
+     * Retourne si la liste est vide.
+     *
+     * @return {@code true} si la liste est vide.
+     */
+    public boolean isEmpty() {
+        return this.taille == 0;
+    }
+
+    /**
+     * Vide la liste (la capacité est gardée).
+     */
+    public void clear() {
+        this.taille = 0;
+    }
+
+    /**
+     * Retourne le framerate des timecodes.
+     *
+     * @return Le framerate.
+     */
+    @NotNull
+    public Framerate getFramerate() {
+        return this.framerate;
+    }
+
+    /**
+     * Retourne si les valeurs sont hors du tas.
+     *
+     * @return {@code true} si les valeurs sont dans un buffer direct.
+     */
+    public boolean isHorsTas() {
+        return this.images.isHorsTas();
+    }
+
+    /**
+     * Retourne un itérateur sur les nombres d'images.
+     *
+     * @return L'itérateur.
+     */
+    @NotNull
+    public PrimitiveIterator.OfInt iterator() {
+        return this.images.iterator(0, this.taille);
+    }
+
+    /**
+     * Donne chaque nombre d'images, dans l'ordre.
+     *
+     * @param action Reçoit les nombres d'images.
+     */
+    public void forEach(@NotNull IntConsumer action) {
+        for (int i = 0; i < this.taille; i++) {
+            action.accept(this.images.get(i));
+        }
+    }
+
+    /**
+     * Retourne les nombres d'images en {@link IntStream}.
+     *
+     * @return Le stream.
+     */
+    @NotNull
+    public IntStream stream() {
+        return StreamSupport.intStream(Spliterators.spliterator(this.iterator(), this.taille, Spliterator.ORDERED | Spliterator.SIZED), false);
+    }
+
+    /**
+     * Retourne une copie des nombres d'images.
+     *
+     * @return Les nombres d'images.
+     */
+    @NotNull
+    public int[] toArray() {
+        return this.images.toArray(this.taille);
+    }
+
+    /**
+     * Vérifie un index.
+     *
+     * @param index L'index.
+     */
+    private void verifier(int index) {
+        if (index < 0 || index >= this.taille) {
+            throw new IndexOutOfBoundsException("Index " + index + " hors de la liste de " + this.taille + " timecodes.");
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.phenix.timecode.collection;
+
+import com.phenix.timecode.Framerate;
+import com.phenix.timecode.Timecode;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Null;
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+
+/**
+ * Association d'un timecode (en nombre d'images) à une valeur, avec un seul
+ * {@link Framerate} pour toute la table.<br>
+ * Les clés sont des {@code int} triés (sur le tas ou hors du tas, voir
+ * {@link TimecodeList}) et les valeurs un tableau parallèle : il n'y a pas
+ * d'objet par entrée, et les clés se parcourent dans l'ordre sans les
+ * convertir en objets. La recherche est dichotomique ; un ajout après la
+ * dernière clé ne déplace rien.<br>
+ * La table n'est pas synchronisée.
+ *
+ * @param <V> Le type des valeurs.
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public final class TimecodeMap<V> {
+
+    /**
+     * Le framerate de tous les timecodes.
+     */
+    private final Framerate framerate;
+
+    /**
+     * Les clés (nombres d'images), triées.
+     */
+    private final Tableau cles;
+
+    /**
+     * Les valeurs, dans l'ordre des clés.
+     */
+    private Object[] valeurs;
+
+    /**
+     * Nombre d'entrées.
+     */
+    private int taille;
+
+    /**
+     * Construit une table vide, sur le tas.
+     *
+     * @param framerate Le framerate des timecodes.
+     */
+    public TimecodeMap(@NotNull Framerate framerate) {
+        this(framerate, Tableau.CAPACITE, false);
+    }
+
+    /**
+     * Construit une table vide.
+     *
+     * @param framerate Le framerate des timecodes.
+     * @param capacite Capacité de départ.
+     * @param hors_tas {@code true} pour stocker les clés hors du tas.
+     */
+    public TimecodeMap(@NotNull Framerate framerate, int capacite, boolean hors_tas) {
+        this.framerate = framerate;
+        this.cles = new Tableau(capacite, hors_tas);
+        this.valeurs = new Object[this.cles.capacite()];
+    }
+
+    /**
+     * Associe une valeur à un timecode.
+     *
+     * @param image Le nombre d'images.
+     * @param valeur La valeur.
+     * @return L'ancienne valeur, ou {@code null}.
+     */
+    @Null
+    public V put(int image, V valeur) {
+        int index;
+
+        if (this.taille == 0 || this.cles.get(this.taille - 1) < image) {
+            index = this.taille;
+        } else {
+            index = this.cles.chercher(this.taille, image);
+
+            if (index >= 0) {
+                V ancienne = this.valeur(index);
+                this.valeurs[index] = valeur;
+                return ancienne;
+            }
+            index = -index - 1;
+        }
+
+        this.cles.reserver(this.taille + 1);
+        if (this.valeurs.length < this.cles.capacite()) {
+            this.valeurs = Arrays.copyOf(this.valeurs, this.cles.capacite());
+        }
+
+        this.cles.deplacer(index, index + 1, this.taille - index);
+        System.arraycopy(this.valeurs, index, this.valeurs, index + 1, this.taille - index);
+        this.cles.set(index, image);
+        this.valeurs[index] = valeur;
+        this.taille++;
+
+        return null;
+    }
+
+    /**
+     * Associe une valeur à un timecode.
+     *
+     * @param timecode Le timecode (du framerate de la table).
+     * @param valeur La valeur.
+     * @return L'ancienne valeur, ou {@code null}.
+     */
+    @Null
+    public V put(@NotNull Timecode timecode, V valeur) {
+        return this.put(TimecodeList.image(timecode, this.framerate), valeur);
+    }
+
+    /**
+     * Retourne la valeur d'un timecode.
+     *
+     * @param image Le nombre d'images.
+     * @return La valeur, ou {@code null}.
+     */
+    @Null
+    public V get(int image) {
+        int index = this.cles.chercher(this.taille, image);
+
+        return index >= 0 ? this.valeur(index) : null;
+    }
+
+    /**
+     * Retourne la valeur d'un timecode.
+     *
+     * @param timecode Le timecode (du framerate de la table).
+     * @return La valeur, ou {@code null}.
+     */
+    @Null
+    public V get(@NotNull Timecode timecode) {
+        return this.get(TimecodeList.image(timecode, this.framerate));
+    }
+
+    /**
+     * Retourne si la table contient un timecode.
+     *
+     * @param image Le nombre d'images.
+     * @return {@code true} si le timecode y est.
+     */
+    public boolean containsKey(int image) {
+        return this.cles.chercher(this.taille, image) >= 0;
+    }
+
+    /**
+     * Retire un timecode.
+     *
+     * @param image Le nombre d'images.
+     * @return La valeur retirée, ou {@code null}.
+     */
+    @Null
+    public V remove(int image) {
+        int index = this.cles.chercher(this.taille, image);
+
+        if (index < 0) {
+            return null;
+        }
+
+        V ancienne = this.valeur(index);
+
+        this.cles.deplacer(index + 1, index, this.taille - index - 1);
+        System.arraycopy(this.valeurs, index + 1, this.valeurs, index, this.taille - index - 1);
+        this.valeurs[--this.taille] = null;
+
+        return ancienne;
+    }
+
+    /**
+     * Retourne le nombre d'entrées.
+     *
+     * @return Le nombre d'entrées.
+     */
+    public int size() {
+        return this.taille;
+    }
+
+    /**
+     * Retourne si la table est vide.
+     *
+     * @return {@code true} si la table est vide.
+     */
+    public boolean isEmpty() {
+        return this.taille == 0;
+    }
+
+    /**
+     * Vide la table (la capacité est gardée).
+     */
+    public void clear() {
+        Arrays.fill(this.valeurs, 0, this.taille, null);
+        this.taille = 0;
+    }
+
+    /**
+     * Retourne le framerate des timecodes.
+     *
+     * @return Le framerate.
+     */
+    @NotNull
+    public Framerate getFramerate() {
+        return this.framerate;
+    }
+
+    /**
+     * Retourne si les clés sont hors du tas.
+     *
+     * @return {@code true} si les clés sont dans un buffer direct.
+     */
+    public boolean isHorsTas() {
+        return this.cles.isHorsTas();
+    }
+
+    /**
+     * Retourne un itérateur sur les clés (nombres d'images), dans l'ordre.
+     *
+     * @return L'itérateur.
+     */
+    @NotNull
+    public PrimitiveIterator.OfInt keys() {
+        return this.cles.iterator(0, this.taille);
+    }
+
+    /**
+     * Donne chaque entrée, dans l'ordre des clés.
+     *
+     * @param action Reçoit les entrées.
+     */
+    public void forEach(@NotNull Entree<? super V> action) {
+        for (int i = 0; i < this.taille; i++) {
+            action.accepter(this.cles.get(i), this.valeur(i));
+        }
+    }
+
+    /**
+     * Retourne une valeur.
+     *
+     * @param index Index de l'entrée.
+     * @return La valeur.
+     */
+    @SuppressWarnings("unchecked")
+    private V valeur(int index) {
+        return (V) this.valeurs[index];
+    }
+
+    /**
+     * Reçoit les entrées de la table.
+     *
+     * @param <V> Le type des valeurs.
+     */
+    @FunctionalInterface
+    public interface Entree<V> {
+
+        /**
+         * Une entrée de la table.
+         *
+         * @param image Le nombre d'images.
+         * @param valeur La valeur.
+         */
+        void accepter(int image, V valeur);
+    }
+}
@@ -0,0 +1,303 @@
+package com.phenix.timecode.collection;
+
+import com.phenix.timecode.Framerate;
+import com.phenix.timecode.Timecode;
+import jakarta.validation.constraints.NotNull;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
+/**
+ * Ensemble trié de timecodes, stockés en nombres d'images ({@code int})
+ * triés avec un seul {@link Framerate} pour tout l'ensemble (voir
+ * {@link TimecodeList} pour le stockage).<br>
+ * La recherche est dichotomique ; un ajout après le dernier timecode (le cas
+ * d'une capture) ne déplace rien, un ajout au milieu décale la fin du
+ * tableau.<br>
+ * L'ensemble n'est pas synchronisé.
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public final class TimecodeSortedSet {
+
+    /**
+     * Valeur retournée quand il n'y a pas de timecode.
+     */
+    public static final int AUCUN = Integer.MIN_VALUE;
+
+    /**
+     * Le framerate de tous les timecodes.
+     */
+    private final Framerate framerate;
+
+    /**
+     * Les nombres d'images, triés.
+     */
+    private final Tableau images;
+
+    /**
+     * Nombre de timecodes.
+     */
+    private int taille;
+
+    /**
+     * Construit un ensemble vide, sur le tas.
+     *
+     * @param framerate Le framerate des timecodes.
+     */
+    public TimecodeSortedSet(@NotNull Framerate framerate) {
+        this(framerate, Tableau.CAPACITE, false);
+    }
+
+    /**
+     * Construit un ensemble vide.
+     *
+     * @param framerate Le framerate des timecodes.
+     * @param capacite Capacité de départ.
+     * @param hors_tas {@code true} pour stocker les valeurs hors du tas.
+     */
+    public TimecodeSortedSet(@NotNull Framerate framerate, int capacite, boolean hors_tas) {
+        this.framerate = framerate;
+        this.images = new Tableau(capacite, hors_tas);
+    }
+
+    /**
+     * Ajoute un timecode.
+     *
+     * @param image Le nombre d'images.
+     * @return {@code true} si le timecode n'y était pas.
+     */
+    public boolean add(int image) {
+        int index;
+
+        if (this.taille == 0 || this.images.get(this.taille - 1) < image) {
+            index = this.taille;
+        } else {
+            index = this.images.chercher(this.taille, image);
+
+            if (index >= 0) {
+                return false;
+            }
+            index = -index - 1;
+        }
+
+        this.images.reserver(this.taille + 1);
+        this.images.deplacer(index, index + 1, this.taille - index);
+        this.images.set(index, image);
+        this.taille++;
+
+        return true;
+    }
+
+    /**
+     * Ajoute un timecode.
+     *
+     * @param timecode Le timecode (du framerate de l'ensemble).
+     * @return {@code true} si le timecode n'y était pas.
+     */
+    public boolean add(@NotNull Timecode timecode) {
+        return this.add(TimecodeList.image(timecode, this.framerate));
+    }
+
+    /**
+     * Retire un timecode.
+     *
+     * @param image Le nombre d'images.
+     * @return {@code true} si le timecode y était.
+     */
+    public boolean remove(int image) {
+        int index = this.images.chercher(this.taille, image);
+
+        if (index < 0) {
+            return false;
+        }
+
+        this.images.deplacer(index + 1, index, this.taille - index - 1);
+        this.taille--;
+
+        return true;
+    }
+
+    /**
+     * Retourne si l'ensemble contient un timecode.
+     *
+     * @param image Le nombre d'images.
+     * @return {@code true} si le timecode y est.
+     */
+    public boolean contains(int image) {
+        return this.images.chercher(this.taille, image) >= 0;
+    }
+
+    /**
+     * Retourne si l'ensemble contient un timecode.
+     *
+     * @param timecode Le timecode (du framerate de l'ensemble).
+     * @return {@code true} si le timecode y est.
+     */
+    public boolean contains(@NotNull Timecode timecode) {
+        return this.contains(TimecodeList.image(timecode, this.framerate));
+    }
+
+    /**
+     * Retourne le plus petit timecode.
+     *
+     * @return Le nombre d'images, ou {@link #AUCUN} si l'ensemble est vide.
+     */
+    public int first() {
+        return this.taille == 0 ? AUCUN : this.images.get(0);
+    }
+
+    /**
+     * Retourne le plus grand timecode.
+     *
+     * @return Le nombre d'images, ou {@link #AUCUN} si l'ensemble est vide.
+     */
+    public int last() {
+        return this.taille == 0 ? AUCUN : this.images.get(this.taille - 1);
+    }
+
+    /**
+     * Retourne le plus petit timecode supérieur ou égal à une image.
+     *
+     * @param image Le nombre d'images.
+     * @return Le nombre d'images, ou {@link #AUCUN}.
+     */
+    public int ceiling(int image) {
+        int index = this.debut(image);
+
+        return index < this.taille ? this.images.get(index) : AUCUN;
+    }
+
+    /**
+     * Retourne le plus grand timecode inférieur ou égal à une image.
+     *
+     * @param image Le nombre d'images.
+     * @return Le nombre d'images, ou {@link #AUCUN}.
+     */
+    public int floor(int image) {
+        int index = this.images.chercher(this.taille, image);
+
+        if (index >= 0) {
+            return image;
+        }
+
+        index = -index - 2;
+
+        return index >= 0 ? this.images.get(index) : AUCUN;
+    }
+
+    /**
+     * Retourne un timecode par son rang.
+     *
+     * @param index Le rang (0 pour le plus petit).
+     * @return Le nombre d'images.
+     */
+    public int get(int index) {
+        if (index < 0 || index >= this.taille) {
+            throw new IndexOutOfBoundsException("Index " + index + " hors de l'ensemble de " + this.taille + " timecodes.");
+        }
+
+        return this.images.get(index);
+    }
+
+    /**
+     * Retourne le nombre de timecodes.
+     *
+     * @return Le nombre de timecodes.
+     */
+    public int size() {
+        return this.taille;
+    }
+
+    /**
+     * Retourne si l'ensemble est vide.
+     *
+     * @return {@code true} si l'ensemble est vide.
+     */
+    public boolean isEmpty() {
+        return this.taille == 0;
+    }
+
+    /**
+     * Vide l'ensemble (la capacité est gardée).
+     */
+    public void clear() {
+        this.taille = 0;
+    }
+
+    /**
+     * Retourne le framerate des timecodes.
+     *
+     * @return Le framerate.
+     */
+    @NotNull
+    public Framerate getFramerate() {
+        return this.framerate;
+    }
+
+    /**
+     * Retourne si les valeurs sont hors du tas.
+     *
+     * @return {@code true} si les valeurs sont dans un buffer direct.
+     */
+    public boolean isHorsTas() {
+        return this.images.isHorsTas();
+    }
+
+    /**
+     * Retourne un itérateur sur les nombres d'images, dans l'ordre.
+     *
+     * @return L'itérateur.
+     */
+    @NotNull
+    public PrimitiveIterator.OfInt iterator() {
+        return this.images.iterator(0, this.taille);
+    }
+
+    /**
+     * Retourne un itérateur sur les nombres d'images d'une plage, dans
+     * l'ordre.
+     *
+     * @param debut Première image (incluse).
+     * @param fin Dernière image (exclue).
+     * @return L'itérateur.
+     */
+    @NotNull
+    public PrimitiveIterator.OfInt iterator(int debut, int fin) {
+        int premier = this.debut(debut);
+
+        return this.images.iterator(premier, Math.max(premier, this.debut(fin)));
+    }
+
+    /**
+     * Donne chaque nombre d'images, dans l'ordre.
+     *
+     * @param action Reçoit les nombres d'images.
+     */
+    public void forEach(@NotNull IntConsumer action) {
+        for (int i = 0; i < this.taille; i++) {
+            action.accept(this.images.get(i));
+        }
+    }
+
+    /**
+     * Retourne une copie des nombres d'images, triés.
+     *
+     * @return Les nombres d'images.
+     */
+    @NotNull
+    public int[] toArray() {
+        return this.images.toArray(this.taille);
+    }
+
+    /**
+     * Retourne l'index du premier timecode supérieur ou égal à une image.
+     *
+     * @param image Le nombre d'images.
+     * @return L'index (la taille si aucun).
+     */
+    private int debut(int image) {
+        int index = this.images.chercher(this.taille, image);
+
+        return index >= 0 ? index : -index - 1;
+    }
+}
@@ -0,0 +1,200 @@
+package com.phenix.timecode.edl;
+
+import com.phenix.timecode.Framerate;
+import com.phenix.timecode.IntervalTimecode;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Un évènement d'une EDL CMX3600 :<br>
+ * "<em>001  BOBINE  V  C  01:00:00:00 01:00:05:00 10:00:00:00 10:00:05:00</em>".
+ * <br>
+ * Comme dans l'EDL, le timecode out de la source et de l'enregistrement est
+ * la première image qui suit le plan.
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public final class EdlEvent {
+
+    /**
+     * Numéro de l'évènement.
+     */
+    private final int numero;
+
+    /**
+     * Nom de la bobine (ou de la source : "<em>AX</em>", "<em>BL</em>"...).
+     */
+    private final String bobine;
+
+    /**
+     * Pistes ("<em>V</em>", "<em>A</em>", "<em>A2</em>", "<em>AA/V</em>"...).
+     */
+    private final String piste;
+
+    /**
+     * Transition ("<em>C</em>", "<em>D</em>", "<em>W001</em>", "<em>K</em>"...).
+     */
+    private final String transition;
+
+    /**
+     * Durée de la transition en images (0 pour une coupe).
+     */
+    private final int duree_transition;
+
+    /**
+     * Timecodes in et out de la source.
+     */
+    private final IntervalTimecode source;
+
+    /**
+     * Timecodes in et out de l'enregistrement.
+     */
+    private final IntervalTimecode enregistrement;
+
+    /**
+     * Framerate des timecodes (drop-frame selon le "<em>FCM</em>").
+     */
+    private final Framerate framerate;
+
+    /**
+     * Construit un évènement.
+     *
+     * @param numero Numéro de l'évènement.
+     * @param bobine Nom de la bobine.
+     * @param piste Pistes.
+     * @param transition Transition.
+     * @param duree_transition Durée de la transition en images.
+     * @param source Timecodes in et out de la source.
+     * @param enregistrement Timecodes in et out de l'enregistrement.
+     * @param framerate Framerate des timecodes.
+     */
+    EdlEvent(int numero, String bobine, String piste, String transition, int duree_transition, IntervalTimecode source, IntervalTimecode enregistrement, Framerate framerate) {
+        this.numero = numero;
+        this.bobine = bobine;
+        this.piste = piste;
+        this.transition = transition;
+        this.duree_transition = duree_transition;
+        this.source = source;
+        this.enregistrement = enregistrement;
+        this.framerate = framerate;
+    }
+
+    /**
+     * Retourne le numéro de l'évènement.
+     *
+     * @return Le numéro.
+     */
+    public int getNumero() {
+        return this.numero;
+    }
+
+    /**
+     * Retourne le nom de la bobine.
+     *
+     * @return La bobine.
+     */
+    @NotNull
+    public String getBobine() {
+        return this.bobine;
+    }
+
+    /**
+     * Retourne les pistes.
+     *
+     * @return Les pistes ("<em>V</em>", "<em>A</em>", "<em>AA/V</em>"...).
+     */
+    @NotNull
+    public String getPiste() {
+        return this.piste;
+    }
+
+    /**
+     * Retourne si l'évènement contient la piste vidéo.
+     *
+     * @return {@code true} si la piste vidéo est utilisée.
+     */
+    public boolean isVideo() {
+        return this.piste.indexOf('V') >= 0;
+    }
+
+    /**
+     * Retourne la transition.
+     *
+     * @return La transition ("<em>C</em>" pour une coupe).
+     */
+    @NotNull
+    public String getTransition() {
+        return this.transition;
+    }
+
+    /**
+     * Retourne la durée de la transition.
+     *
+     * @return La durée en images, 0 pour une coupe.
+     */
+    public int getDureeTransition() {
+        return this.duree_transition;
+    }
+
+    /**
+     * Retourne les timecodes de la source.
+     *
+     * @return Les timecodes in et out de la source.
+     */
+    @NotNull
+    public IntervalTimecode getSource() {
+        return this.source;
+    }
+
+    /**
+     * Retourne les timecodes de l'enregistrement.
+     *
+     * @return Les timecodes in et out de l'enregistrement.
+     */
+    @NotNull
+    public IntervalTimecode getEnregistrement() {
+        return this.enregistrement;
+    }
+
+    /**
+     * Retourne le framerate des timecodes.
+     *
+     * @return Le framerate.
+     */
+    @NotNull
+    public Framerate getFramerate() {
+        return this.framerate;
+    }
+
+    /**
+     * Retourne si les timecodes sont en drop-frame.
+     *
+     * @return {@code true} si les timecodes sont en drop-frame.
+     */
+    public boolean isDropFrame() {
+        return this.framerate.getDropFrame();
+    }
+
+    /**
+     * Retourne la durée de l'évènement dans l'enregistrement.
+     *
+     * @return La durée en images.
+     */
+    public int getDuree() {
+        return this.enregistrement.getTimecodeOut().toImage() - this.enregistrement.getTimecodeIn().toImage();
+    }
+
+    /**
+     * Retourne l'évènement sous la forme d'une ligne d'EDL.
+     *
+     * @return La ligne.
+     */
+    @Override
+    @NotNull
+    public String toString() {
+        return String.format("%03d  %-8s %-5s %-4s %s %s %s %s %s",
+                this.numero, this.bobine, this.piste, this.transition,
+                (this.duree_transition > 0) ? String.format("%03d", this.duree_transition) : "   ",
+                this.source.getTimecodeIn(), this.source.getTimecodeOut(),
+                this.enregistrement.getTimecodeIn(), this.enregistrement.getTimecodeOut());
+    }
+}
@@ -0,0 +1,446 @@
+package com.phenix.timecode.edl;
+
+import com.phenix.timecode.Framerate;
+import com.phenix.timecode.IntervalTimecode;
+import com.phenix.timecode.Timecode;
+import com.phenix.timecode.TimecodeParser;
+import com.phenix.timecode.exceptions.TimecodeRuntimeException;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Null;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lit une EDL CMX3600 évènement par évènement.<br>
+ * Le fichier est projeté en mémoire : il n'est pas chargé en entier et les
+ * lignes ne sont pas converties en {@code String}. Les timecodes sont
+ * analysés directement dans le tampon par {@link TimecodeParser}.<br>
+ * <br>
+ * Lignes prises en compte :<br>
+ * * "<em>TITLE:</em>" : le titre de l'EDL ({@link #getTitre()})<br>
+ * * "<em>FCM: DROP FRAME</em>" et "<em>FCM: NON-DROP FRAME</em>" (ou
+ * "<em>FCM: NON DROP FRAME</em>") : le drop-frame des évènements qui
+ * suivent<br>
+ * * les évènements (numéro, bobine, pistes, transition, durée de la
+ * transition, puis les 4 timecodes)<br>
+ * Les autres lignes (commentaires, "<em>M2</em>"...) sont ignorées.
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public final class EdlReader implements Iterator<EdlEvent> {
+
+    /**
+     * Nombre maximum de mots lus sur une ligne.
+     */
+    private static final int MOTS_MAX = 16;
+
+    /**
+     * Le contenu de l'EDL.
+     */
+    private final ByteBuffer tampon;
+
+    /**
+     * Framerate en non drop-frame.
+     */
+    private final Framerate framerate_ndf;
+
+    /**
+     * Framerate en drop-frame (le même que {@link #framerate_ndf} si le
+     * drop-frame n'existe pas pour ce framerate).
+     */
+    private final Framerate framerate_df;
+
+    /**
+     * Framerate des évènements en cours.
+     */
+    private Framerate framerate;
+
+    /**
+     * Index du début de la prochaine ligne.
+     */
+    private int position;
+
+    /**
+     * Numéro de la dernière ligne lue.
+     */
+    private int ligne;
+
+    /**
+     * Titre de l'EDL.
+     */
+    private String titre;
+
+    /**
+     * Prochain évènement, {@code null} s'il n'a pas encore été lu.
+     */
+    private EdlEvent suivant;
+
+    /**
+     * Début de chaque mot de la ligne en cours.
+     */
+    private final int[] debut_mot = new int[MOTS_MAX];
+
+    /**
+     * Fin (exclue) de chaque mot de la ligne en cours.
+     */
+    private final int[] fin_mot = new int[MOTS_MAX];
+
+    /**
+     * Construit un lecteur sur un tampon, de sa position à sa limite.
+     *
+     * @param tampon Le contenu de l'EDL (en ASCII).
+     * @param framerate Le framerate des timecodes, le drop-frame est ensuite
+     * donné par les lignes "<em>FCM</em>".
+     */
+    public EdlReader(@NotNull ByteBuffer tampon, @NotNull Framerate framerate) {
+        this.tampon = tampon;
+        this.position = tampon.position();
+        this.framerate = framerate;
+
+        Framerate ndf = Framerate.fromFraction(framerate.getNumerateur(), framerate.getDenominateur(), false);
+        Framerate df = Framerate.fromFraction(framerate.getNumerateur(), framerate.getDenominateur(), true);
+
+        this.framerate_ndf = (ndf != null) ? ndf : framerate;
+        this.framerate_df = (df != null) ? df : framerate;
+    }
+
+    /**
+     * Construit un lecteur sur un fichier, projeté en mémoire.
+     *
+     * @param canal Le fichier.
+     * @param framerate Le framerate des timecodes.
+     *
+     * @throws IOException Erreur de lecture du fichier.
+     */
+    public EdlReader(@NotNull FileChannel canal, @NotNull Framerate framerate) throws IOException {
+        this(canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size()), framerate);
+    }
+
+    /**
+     * Ouvre une EDL.
+     *
+     * @param fichier Le fichier.
+     * @param framerate Le framerate des timecodes.
+     * @return Le lecteur.
+     *
+     * @throws IOException Erreur de lecture du fichier.
+     */
+    @NotNull
+    public static EdlReader open(@NotNull Path fichier, @NotNull Framerate framerate) throws IOException {
+        // La projection reste valide une fois le canal fermé.
+        try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.READ)) {
+            return new EdlReader(canal, framerate);
+        }
+    }
+
+    /**
+     * Retourne le titre de l'EDL.
+     *
+     * @return Le titre, {@code null} s'il n'a pas (encore) été lu.
+     */
+    @Null
+    public String getTitre() {
+        return this.titre;
+    }
+
+    /**
+     * Retourne s'il reste un évènement.
+     *
+     * @return {@code true} s'il reste un évènement.
+     */
+    @Override
+    public boolean hasNext() {
+        if (this.suivant == null) {
+            this.suivant = this.lire();
+        }
+
+        return this.suivant != null;
+    }
+
+    /**
+     * Retourne l'évènement suivant.
+     *
+     * @return L'évènement.
+     */
+    @Override
+    @NotNull
+    public EdlEvent next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        EdlEvent evenement = this.suivant;
+        this.suivant = null;
+
+        return evenement;
+    }
+
+    /**
+     * Retourne les évènements restants sous forme de {@code Stream}, lus au
+     * fur et à mesure.
+     *
+     * @return Les évènements.
+     */
+    @NotNull
+    public Stream<EdlEvent> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Lit les lignes jusqu'au prochain évènement.
+     *
+     * @return L'évènement, {@code null} à la fin de l'EDL.
+     */
+    @Null
+    private EdlEvent lire() {
+        int limite = this.tampon.limit();
+
+        while (this.position < limite) {
+            int debut = this.position;
+            int fin = debut;
+
+            while (fin < limite && this.tampon.get(fin) != '\n') {
+                fin++;
+            }
+
+            this.position = fin + 1;
+            this.ligne++;
+
+            if (fin > debut && this.tampon.get(fin - 1) == '\r') {
+                fin--;
+            }
+
+            EdlEvent evenement = this.analyser(debut, fin);
+
+            if (evenement != null) {
+                return evenement;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Analyse une ligne.
+     *
+     * @param debut Début de la ligne.
+     * @param fin Fin de la ligne (exclue).
+     * @return L'évènement, {@code null} si la ligne n'en est pas un.
+     */
+    @Null
+    private EdlEvent analyser(int debut, int fin) {
+        int nombre_mot = this.decouper(debut, fin);
+
+        if (nombre_mot == 0) {
+            return null;
+        }
+
+        if (this.commencePar(0, "TITLE:")) {
+            int debut_titre = this.debut_mot[0] + 6;
+            while (debut_titre < fin && this.tampon.get(debut_titre) == ' ') {
+                debut_titre++;
+            }
+            this.titre = this.texte(debut_titre, fin);
+            return null;
+        }
+
+        if (this.commencePar(0, "FCM:")) {
+            // "FCM: NON-DROP FRAME", "FCM: NON DROP FRAME" ou "FCM: DROP FRAME".
+            this.framerate = this.contient(debut, fin, "NON") ? this.framerate_ndf : this.framerate_df;
+            return null;
+        }
+
+        int numero = this.nombre(0);
+
+        // Commentaire, M2, etc.
+        if (numero < 0) {
+            return null;
+        }
+
+        // Numéro, bobine, pistes, transition, 4 timecodes.
+        if (nombre_mot < 8) {
+            throw new TimecodeRuntimeException("L'évènement de la ligne " + this.ligne + " n'est pas complet.");
+        }
+
+        // La durée est juste avant les timecodes ("D 030", "W001 030",
+        // "K B 030"...).
+        int duree_transition = (nombre_mot > 8) ? Math.max(this.nombre(nombre_mot - 5), 0) : 0;
+
+        long source_in = this.timecode(nombre_mot - 4);
+        long source_out = this.timecode(nombre_mot - 3);
+        long enregistrement_in = this.timecode(nombre_mot - 2);
+        long enregistrement_out = this.timecode(nombre_mot - 1);
+
+        // Un ";" dans les timecodes indique aussi le drop-frame.
+        Framerate framerate_evenement = TimecodeParser.isDropFrame(enregistrement_in) ? this.framerate_df : this.framerate;
+
+        return new EdlEvent(
+                numero,
+                this.texte(this.debut_mot[1], this.fin_mot[1]),
+                this.texte(this.debut_mot[2], this.fin_mot[2]),
+                this.texte(this.debut_mot[3], this.fin_mot[3]),
+                duree_transition,
+                new IntervalTimecode(timecode(source_in, framerate_evenement), timecode(source_out, framerate_evenement)),
+                new IntervalTimecode(timecode(enregistrement_in, framerate_evenement), timecode(enregistrement_out, framerate_evenement)),
+                framerate_evenement);
+    }
+
+    /**
+     * Découpe la ligne en mots séparés par des espaces ou des tabulations.
+     *
+     * @param debut Début de la ligne.
+     * @param fin Fin de la ligne (exclue).
+     * @return Le nombre de mots (au plus {@link #MOTS_MAX}).
+     */
+    private int decouper(int debut, int fin) {
+        int nombre_mot = 0;
+        int i = debut;
+
+        while (i < fin && nombre_mot < MOTS_MAX) {
+            while (i < fin && isEspace(this.tampon.get(i))) {
+                i++;
+            }
+            if (i == fin) {
+                break;
+            }
+
+            this.debut_mot[nombre_mot] = i;
+            while (i < fin && !isEspace(this.tampon.get(i))) {
+                i++;
+            }
+            this.fin_mot[nombre_mot++] = i;
+        }
+
+        return nombre_mot;
+    }
+
+    /**
+     * Retourne si un octet sépare deux mots.
+     *
+     * @param c L'octet.
+     * @return {@code true} pour un espace ou une tabulation.
+     */
+    private static boolean isEspace(byte c) {
+        return c == ' ' || c == '\t';
+    }
+
+    /**
+     * Retourne si un mot commence par un texte.
+     *
+     * @param mot Index du mot.
+     * @param texte Le texte (en ASCII).
+     * @return {@code true} si le mot commence par le texte.
+     */
+    private boolean commencePar(int mot, String texte) {
+        if (this.fin_mot[mot] - this.debut_mot[mot] < texte.length()) {
+            return false;
+        }
+
+        for (int i = 0; i < texte.length(); i++) {
+            if (this.tampon.get(this.debut_mot[mot] + i) != texte.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Retourne si une partie du tampon contient un texte.
+     *
+     * @param debut Début de la partie.
+     * @param fin Fin de la partie (exclue).
+     * @param texte Le texte (en ASCII).
+     * @return {@code true} si le texte est trouvé.
+     */
+    private boolean contient(int debut, int fin, String texte) {
+        for (int i = debut; i <= fin - texte.length(); i++) {
+            int j = 0;
+            while (j < texte.length() && this.tampon.get(i + j) == texte.charAt(j)) {
+                j++;
+            }
+            if (j == texte.length()) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Retourne la valeur d'un mot composé uniquement de chiffres.
+     *
+     * @param mot Index du mot.
+     * @return La valeur, -1 si le mot n'est pas un nombre.
+     */
+    private int nombre(int mot) {
+        int debut = this.debut_mot[mot];
+        int fin = this.fin_mot[mot];
+
+        if (fin - debut > 9) {
+            return -1;
+        }
+
+        int valeur = 0;
+        for (int i = debut; i < fin; i++) {
+            byte c = this.tampon.get(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            valeur = valeur * 10 + (c - '0');
+        }
+
+        return valeur;
+    }
+
+    /**
+     * Analyse un timecode de la ligne.
+     *
+     * @param mot Index du mot.
+     * @return Le label du timecode.
+     */
+    private long timecode(int mot) {
+        long label = TimecodeParser.parse(this.tampon, this.debut_mot[mot], this.fin_mot[mot] - this.debut_mot[mot]);
+
+        if (TimecodeParser.isErreur(label)) {
+            throw new TimecodeRuntimeException("Le timecode de la ligne " + this.ligne + " n'est pas correctement formaté : " + this.texte(this.debut_mot[mot], this.fin_mot[mot]));
+        }
+
+        return label;
+    }
+
+    /**
+     * Construit un timecode depuis un label.
+     *
+     * @param label Le label.
+     * @param framerate Le framerate.
+     * @return Le timecode.
+     */
+    private static Timecode timecode(long label, Framerate framerate) {
+        return new Timecode(TimecodeParser.heure(label), TimecodeParser.minute(label), TimecodeParser.seconde(label), TimecodeParser.image(label), framerate);
+    }
+
+    /**
+     * Retourne une partie du tampon en {@code String}.
+     *
+     * @param debut Début de la partie.
+     * @param fin Fin de la partie (exclue).
+     * @return Le texte.
+     */
+    private String texte(int debut, int fin) {
+        byte[] octets = new byte[fin - debut];
+        this.tampon.get(debut, octets);
+
+        return new String(octets, StandardCharsets.ISO_8859_1);
+    }
+}
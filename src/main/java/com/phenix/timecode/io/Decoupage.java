@@ -0,0 +1,105 @@
+package com.phenix.timecode.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * Découpe un fichier texte en morceaux qui commencent tous au début d'une
+ * ligne, pour pouvoir les traiter en parallèle.
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+final class Decoupage {
+
+    /**
+     * Taille visée pour un morceau.
+     */
+    static final long TAILLE_MORCEAU = 16L << 20;
+
+    /**
+     * Taille des lectures pour chercher une fin de ligne.
+     */
+    private static final int TAILLE_LECTURE = 4096;
+
+    /**
+     * Classe utilitaire.
+     */
+    private Decoupage() {
+    }
+
+    /**
+     * Retourne les bornes des morceaux : le morceau {@code i} va de
+     * {@code bornes[i]} (inclus) à {@code bornes[i + 1]} (exclu). La première
+     * borne vaut 0 et la dernière la taille du fichier.
+     *
+     * @param canal Le fichier.
+     * @param taille_morceau Taille visée pour un morceau.
+     * @return Les bornes.
+     *
+     * @throws IOException Erreur de lecture du fichier.
+     */
+    static long[] bornes(FileChannel canal, long taille_morceau) throws IOException {
+        long taille = canal.size();
+        long[] bornes = new long[(int) (taille / taille_morceau) + 2];
+        int nombre = 0;
+        ByteBuffer lecture = ByteBuffer.allocate(TAILLE_LECTURE);
+
+        bornes[nombre++] = 0;
+
+        long position = 0;
+        while (taille - position > taille_morceau) {
+            long suivante = debutLigneSuivante(canal, position + taille_morceau, taille, lecture);
+
+            if (suivante >= taille) {
+                break;
+            }
+
+            bornes[nombre++] = suivante;
+            position = suivante;
+        }
+
+        bornes[nombre++] = taille;
+
+        return Arrays.copyOf(bornes, nombre);
+    }
+
+    /**
+     * Retourne le début de la première ligne qui commence à partir d'une
+     * position.
+     *
+     * @param canal Le fichier.
+     * @param position La position.
+     * @param taille Taille du fichier.
+     * @param lecture Tampon de lecture.
+     * @return Le début de la ligne, ou la taille du fichier s'il n'y en a
+     * pas.
+     *
+     * @throws IOException Erreur de lecture du fichier.
+     */
+    private static long debutLigneSuivante(FileChannel canal, long position, long taille, ByteBuffer lecture) throws IOException {
+        // On part de l'octet précédent : s'il termine une ligne, la position
+        // est déjà un début de ligne.
+        long courante = position - 1;
+
+        while (courante < taille) {
+            lecture.clear();
+
+            int lus = canal.read(lecture, courante);
+            if (lus <= 0) {
+                break;
+            }
+
+            for (int i = 0; i < lus; i++) {
+                if (lecture.get(i) == '\n') {
+                    return courante + i + 1;
+                }
+            }
+
+            courante += lus;
+        }
+
+        return taille;
+    }
+}
@@ -0,0 +1,315 @@
+package com.phenix.timecode.io;
+
+import com.phenix.timecode.Framerate;
+import com.phenix.timecode.TimecodeParser;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Parcourt les lignes d'un fichier découpé par {@link Decoupage}.<br>
+ * Tant qu'il couvre plusieurs morceaux, il se coupe entre deux morceaux ;
+ * sur un seul morceau (projeté en mémoire), il se coupe au début de la ligne
+ * qui suit le milieu. La partie rendue est toujours celle de devant, pour
+ * garder l'ordre des lignes.
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+final class LigneSpliterator implements Spliterator<LigneTimecode> {
+
+    /**
+     * Taille minimale d'une coupe dans un morceau.
+     */
+    private static final int TAILLE_MINIMALE = 1 << 16;
+
+    /**
+     * Le fichier.
+     */
+    private final FileChannel canal;
+
+    /**
+     * Bornes des morceaux.
+     */
+    private final long[] bornes;
+
+    /**
+     * Le framerate des timecodes.
+     */
+    private final Framerate framerate;
+
+    /**
+     * Le séparateur de colonnes.
+     */
+    private final byte separateur;
+
+    /**
+     * Si la première ligne du fichier est un en-tête.
+     */
+    private final boolean entete;
+
+    /**
+     * Index (à partir de 0) des colonnes de timecode.
+     */
+    private final int[] colonnes;
+
+    /**
+     * Début de chaque champ de la ligne en cours, jusqu'à la dernière colonne
+     * demandée (et la fin du dernier).
+     */
+    private final int[] champs;
+
+    /**
+     * Prochain morceau à projeter.
+     */
+    private int morceau;
+
+    /**
+     * Fin (exclue) des morceaux de ce spliterator.
+     */
+    private int dernier_morceau;
+
+    /**
+     * Le morceau projeté ({@code null} avant le premier).
+     */
+    private MappedByteBuffer tampon;
+
+    /**
+     * Position du morceau projeté dans le fichier.
+     */
+    private long base;
+
+    /**
+     * Prochaine ligne dans le morceau projeté.
+     */
+    private int position;
+
+    /**
+     * Fin (exclue) des lignes dans le morceau projeté.
+     */
+    private int fin;
+
+    /**
+     * Construit un spliterator sur tous les morceaux.
+     *
+     * @param canal Le fichier.
+     * @param bornes Bornes des morceaux.
+     * @param framerate Le framerate des timecodes.
+     * @param separateur Le séparateur de colonnes.
+     * @param entete Si la première ligne du fichier est un en-tête.
+     * @param colonnes Index des colonnes de timecode.
+     */
+    LigneSpliterator(FileChannel canal, long[] bornes, Framerate framerate, byte separateur, boolean entete, int[] colonnes) {
+        this(canal, bornes, framerate, separateur, entete, colonnes, 0, bornes.length - 1);
+    }
+
+    /**
+     * Construit un spliterator sur des morceaux.
+     *
+     * @param canal Le fichier.
+     * @param bornes Bornes des morceaux.
+     * @param framerate Le framerate des timecodes.
+     * @param separateur Le séparateur de colonnes.
+     * @param entete Si la première ligne du fichier est un en-tête.
+     * @param colonnes Index des colonnes de timecode.
+     * @param morceau Premier morceau.
+     * @param dernier_morceau Fin (exclue) des morceaux.
+     */
+    private LigneSpliterator(FileChannel canal, long[] bornes, Framerate framerate, byte separateur, boolean entete, int[] colonnes, int morceau, int dernier_morceau) {
+        this.canal = canal;
+        this.bornes = bornes;
+        this.framerate = framerate;
+        this.separateur = separateur;
+        this.entete = entete;
+        this.colonnes = colonnes;
+        this.morceau = morceau;
+        this.dernier_morceau = dernier_morceau;
+
+        int colonne_max = 0;
+        for (int colonne : colonnes) {
+            colonne_max = Math.max(colonne_max, colonne);
+        }
+        this.champs = new int[colonne_max + 2];
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super LigneTimecode> action) {
+        while (true) {
+            if (this.tampon == null || this.position >= this.fin) {
+                if (this.morceau >= this.dernier_morceau) {
+                    return false;
+                }
+                this.projeter();
+                continue;
+            }
+
+            int debut = this.position;
+            int fin_ligne = debut;
+            while (fin_ligne < this.fin && this.tampon.get(fin_ligne) != '\n') {
+                fin_ligne++;
+            }
+            this.position = fin_ligne + 1;
+
+            if (fin_ligne > debut && this.tampon.get(fin_ligne - 1) == '\r') {
+                fin_ligne--;
+            }
+
+            // L'en-tête et les lignes vides sont sautés.
+            if ((this.entete && this.base + debut == 0) || fin_ligne == debut) {
+                continue;
+            }
+
+            action.accept(this.ligne(debut, fin_ligne));
+            return true;
+        }
+    }
+
+    @Override
+    public Spliterator<LigneTimecode> trySplit() {
+        // Plusieurs morceaux pas encore commencés : coupe entre deux.
+        if (this.tampon == null && this.dernier_morceau - this.morceau >= 2) {
+            int milieu = (this.morceau + this.dernier_morceau) >>> 1;
+            LigneSpliterator debut = new LigneSpliterator(this.canal, this.bornes, this.framerate, this.separateur, this.entete, this.colonnes, this.morceau, milieu);
+
+            this.morceau = milieu;
+
+            return debut;
+        }
+
+        if (this.tampon == null) {
+            if (this.morceau >= this.dernier_morceau) {
+                return null;
+            }
+            this.projeter();
+        }
+
+        // Un morceau commencé suivi d'autres : le commencé part devant.
+        if (this.morceau < this.dernier_morceau) {
+            LigneSpliterator debut = new LigneSpliterator(this.canal, this.bornes, this.framerate, this.separateur, this.entete, this.colonnes, this.morceau, this.morceau);
+            debut.tampon = this.tampon;
+            debut.base = this.base;
+            debut.position = this.position;
+            debut.fin = this.fin;
+
+            this.tampon = null;
+
+            return debut;
+        }
+
+        // Un seul morceau : coupe à la ligne qui suit le milieu.
+        if (this.fin - this.position < 2 * TAILLE_MINIMALE) {
+            return null;
+        }
+
+        int milieu = this.position + (this.fin - this.position) / 2;
+        while (milieu < this.fin && this.tampon.get(milieu - 1) != '\n') {
+            milieu++;
+        }
+        if (milieu >= this.fin) {
+            return null;
+        }
+
+        LigneSpliterator debut = new LigneSpliterator(this.canal, this.bornes, this.framerate, this.separateur, this.entete, this.colonnes, this.morceau, this.dernier_morceau);
+        debut.tampon = this.tampon;
+        debut.base = this.base;
+        debut.position = this.position;
+        debut.fin = milieu;
+
+        this.position = milieu;
+
+        return debut;
+    }
+
+    @Override
+    public long estimateSize() {
+        long taille = this.tampon != null ? this.fin - this.position : 0;
+
+        if (this.morceau < this.dernier_morceau) {
+            taille += this.bornes[this.dernier_morceau] - this.bornes[this.morceau];
+        }
+
+        return taille;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL | IMMUTABLE;
+    }
+
+    /**
+     * Projette le morceau suivant en mémoire.
+     */
+    private void projeter() {
+        long debut = this.bornes[this.morceau];
+        long fin = this.bornes[this.morceau + 1];
+
+        try {
+            this.tampon = this.canal.map(FileChannel.MapMode.READ_ONLY, debut, fin - debut);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+
+        this.base = debut;
+        this.position = 0;
+        this.fin = (int) (fin - debut);
+        this.morceau++;
+    }
+
+    /**
+     * Analyse une ligne.
+     *
+     * @param debut Début de la ligne.
+     * @param fin_ligne Fin de la ligne (exclue, sans la fin de ligne).
+     * @return La ligne.
+     */
+    private LigneTimecode ligne(int debut, int fin_ligne) {
+        int[] champs = this.champs;
+        int nombre = 1;
+
+        champs[0] = debut;
+        for (int i = debut; i < fin_ligne && nombre < champs.length; i++) {
+            if (this.tampon.get(i) == this.separateur) {
+                champs[nombre++] = i + 1;
+            }
+        }
+
+        int[] images = new int[this.colonnes.length];
+        for (int c = 0; c < this.colonnes.length; c++) {
+            int colonne = this.colonnes[c];
+
+            if (colonne >= nombre) {
+                images[c] = LigneTimecode.INVALIDE;
+                continue;
+            }
+
+            int debut_champ = champs[colonne];
+            int fin_champ = colonne + 1 < nombre ? champs[colonne + 1] - 1 : fin_ligne;
+
+            images[c] = this.image(debut_champ, fin_champ);
+        }
+
+        return new LigneTimecode(this.framerate, this.base + debut, images, this.tampon, debut, fin_ligne - debut);
+    }
+
+    /**
+     * Convertit un champ en nombre d'images.
+     *
+     * @param debut Début du champ.
+     * @param fin Fin du champ (exclue).
+     * @return Le nombre d'images, ou {@link LigneTimecode#INVALIDE}.
+     */
+    private int image(int debut, int fin) {
+        // Un champ entre guillemets.
+        if (fin - debut >= 2 && this.tampon.get(debut) == '"' && this.tampon.get(fin - 1) == '"') {
+            debut++;
+            fin--;
+        }
+
+        // Vérification et calcul en une seule lecture du champ.
+        long image = TimecodeParser.analyser(this.tampon, debut, fin - debut, this.framerate);
+
+        return (image < 0) ? LigneTimecode.INVALIDE : (int) image;
+    }
+}
@@ -0,0 +1,176 @@
+package com.phenix.timecode.io;
+
+import com.phenix.timecode.Framerate;
+import com.phenix.timecode.Timecode;
+import com.phenix.timecode.exceptions.TimecodeRuntimeException;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Null;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Une ligne d'un fichier lu par {@link TimecodeCsvReader} : les colonnes de
+ * timecode demandées, déjà converties en nombre d'images.<br>
+ * Le texte de la ligne n'est décodé qu'à la demande ({@link #getTexte()}).
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public final class LigneTimecode {
+
+    /**
+     * Nombre d'images d'une colonne qui ne contient pas un timecode valide.
+     */
+    public static final int INVALIDE = -1;
+
+    /**
+     * Le framerate des timecodes.
+     */
+    private final Framerate framerate;
+
+    /**
+     * Position de la ligne dans le fichier (en octets).
+     */
+    private final long position;
+
+    /**
+     * Le nombre d'images de chaque colonne demandée.
+     */
+    private final int[] images;
+
+    /**
+     * Le morceau du fichier qui contient la ligne.
+     */
+    private final ByteBuffer tampon;
+
+    /**
+     * Début de la ligne dans le morceau.
+     */
+    private final int debut;
+
+    /**
+     * Longueur de la ligne (sans la fin de ligne).
+     */
+    private final int longueur;
+
+    /**
+     * Construit une ligne.
+     *
+     * @param framerate Le framerate des timecodes.
+     * @param position Position de la ligne dans le fichier.
+     * @param images Le nombre d'images de chaque colonne demandée.
+     * @param tampon Le morceau du fichier qui contient la ligne.
+     * @param debut Début de la ligne dans le morceau.
+     * @param longueur Longueur de la ligne.
+     */
+    LigneTimecode(Framerate framerate, long position, int[] images, ByteBuffer tampon, int debut, int longueur) {
+        this.framerate = framerate;
+        this.position = position;
+        this.images = images;
+        this.tampon = tampon;
+        this.debut = debut;
+        this.longueur = longueur;
+    }
+
+    /**
+     * Retourne la position de la ligne dans le fichier.
+     *
+     * @return La position, en octets.
+     */
+    public long getPosition() {
+        return this.position;
+    }
+
+    /**
+     * Retourne le nombre de colonnes de timecode.
+     *
+     * @return Le nombre de colonnes demandées.
+     */
+    public int getNombreColonne() {
+        return this.images.length;
+    }
+
+    /**
+     * Retourne le nombre d'images d'une colonne.
+     *
+     * @param colonne Index de la colonne parmi les colonnes demandées.
+     * @return Le nombre d'images, ou {@link #INVALIDE}.
+     */
+    public int getImage(int colonne) {
+        return this.images[colonne];
+    }
+
+    /**
+     * Retourne si une colonne contient un timecode valide.
+     *
+     * @param colonne Index de la colonne parmi les colonnes demandées.
+     * @return {@code true} si le timecode est valide.
+     */
+    public boolean isValide(int colonne) {
+        return this.images[colonne] != INVALIDE;
+    }
+
+    /**
+     * Retourne le timecode d'une colonne.
+     *
+     * @param colonne Index de la colonne parmi les colonnes demandées.
+     * @return Le timecode, ou {@code null} s'il n'est pas valide.
+     */
+    @Null
+    public Timecode getTimecode(int colonne) {
+        return this.isValide(colonne) ? new Timecode(this.images[colonne], this.framerate) : null;
+    }
+
+    /**
+     * Retourne la durée entre deux colonnes (par exemple entrée et sortie).<br>
+     * La durée peut être négative (une sortie avant l'entrée) : vérifier
+     * d'abord les deux colonnes avec {@link #isValide(int)}.
+     *
+     * @param colonne_debut Index de la colonne de début.
+     * @param colonne_fin Index de la colonne de fin.
+     * @return La durée en nombre d'images.
+     *
+     * @throws TimecodeRuntimeException Une des colonnes n'est pas valide.
+     */
+    public int getDuree(int colonne_debut, int colonne_fin) {
+        if (!this.isValide(colonne_debut) || !this.isValide(colonne_fin)) {
+            throw new TimecodeRuntimeException("La colonne " + (this.isValide(colonne_debut) ? colonne_fin : colonne_debut) + " ne contient pas un timecode valide.");
+        }
+
+        return this.images[colonne_fin] - this.images[colonne_debut];
+    }
+
+    /**
+     * Retourne le framerate des timecodes.
+     *
+     * @return Le framerate.
+     */
+    @NotNull
+    public Framerate getFramerate() {
+        return this.framerate;
+    }
+
+    /**
+     * Retourne le texte de la ligne (en UTF-8).
+     *
+     * @return Le texte.
+     */
+    @NotNull
+    public String getTexte() {
+        byte[] octets = new byte[this.longueur];
+
+        this.tampon.get(this.debut, octets);
+
+        return new String(octets, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Retourne le texte de la ligne.
+     *
+     * @return Le texte.
+     */
+    @Override
+    @NotNull
+    public String toString() {
+        return this.getTexte();
+    }
+}
@@ -0,0 +1,108 @@
+package com.phenix.timecode.io;
+
+import com.phenix.timecode.TimecodeErreur;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Résultat de la validation d'un fichier de timecodes : le nombre de lignes,
+ * les lignes en erreur avec leur raison et le nombre d'erreurs par raison.
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public final class RapportValidation {
+
+    /**
+     * Nombre de lignes du fichier.
+     */
+    private final long nombre_ligne;
+
+    /**
+     * Numéro (à partir de 1) des lignes en erreur, dans l'ordre du fichier.
+     */
+    private final long[] lignes;
+
+    /**
+     * Raison de chaque erreur ({@link TimecodeErreur#ordinal()}).
+     */
+    private final byte[] erreurs;
+
+    /**
+     * Nombre d'erreurs par raison.
+     */
+    private final long[] compteurs;
+
+    /**
+     * Construit un rapport.
+     *
+     * @param nombre_ligne Nombre de lignes du fichier.
+     * @param lignes Numéro des lignes en erreur.
+     * @param erreurs Raison de chaque erreur.
+     * @param compteurs Nombre d'erreurs par raison.
+     */
+    RapportValidation(long nombre_ligne, long[] lignes, byte[] erreurs, long[] compteurs) {
+        this.nombre_ligne = nombre_ligne;
+        this.lignes = lignes;
+        this.erreurs = erreurs;
+        this.compteurs = compteurs;
+    }
+
+    /**
+     * Retourne si toutes les lignes sont valides.
+     *
+     * @return {@code true} si le fichier est valide.
+     */
+    public boolean isValide() {
+        return this.lignes.length == 0;
+    }
+
+    /**
+     * Retourne le nombre de lignes du fichier.
+     *
+     * @return Le nombre de lignes.
+     */
+    public long getNombreLigne() {
+        return this.nombre_ligne;
+    }
+
+    /**
+     * Retourne le nombre de lignes en erreur.
+     *
+     * @return Le nombre d'erreurs.
+     */
+    public int getNombreErreur() {
+        return this.lignes.length;
+    }
+
+    /**
+     * Retourne le nombre de lignes en erreur pour une raison.
+     *
+     * @param erreur La raison.
+     * @return Le nombre d'erreurs.
+     */
+    public long getNombreErreur(@NotNull TimecodeErreur erreur) {
+        return this.compteurs[erreur.ordinal()];
+    }
+
+    /**
+     * Retourne le numéro d'une ligne en erreur.
+     *
+     * @param index Index de l'erreur (de 0 à {@link #getNombreErreur()}
+     * exclu).
+     * @return Le numéro de ligne (à partir de 1).
+     */
+    public long getLigne(int index) {
+        return this.lignes[index];
+    }
+
+    /**
+     * Retourne la raison d'une erreur.
+     *
+     * @param index Index de l'erreur (de 0 à {@link #getNombreErreur()}
+     * exclu).
+     * @return La raison.
+     */
+    @NotNull
+    public TimecodeErreur getErreur(int index) {
+        return TimecodeErreur.fromOrdinal(this.erreurs[index]);
+    }
+}
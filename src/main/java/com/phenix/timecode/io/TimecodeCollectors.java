@@ -0,0 +1,123 @@
+package com.phenix.timecode.io;
+
+import jakarta.validation.constraints.NotNull;
+import java.util.IntSummaryStatistics;
+import java.util.OptionalInt;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+/**
+ * {@link Collector} sur les {@link LigneTimecode} : extremums, durées et
+ * regroupements, calculés sur les nombres d'images. Les lignes dont une
+ * colonne utilisée n'est pas valide sont ignorées. Tous peuvent être utilisés
+ * sur un stream parallèle.
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public final class TimecodeCollectors {
+
+    /**
+     * Classe utilitaire.
+     */
+    private TimecodeCollectors() {
+    }
+
+    /**
+     * Retourne le plus petit timecode d'une colonne.
+     *
+     * @param colonne Index de la colonne parmi les colonnes lues.
+     * @return Le collector (nombre d'images).
+     */
+    @NotNull
+    public static Collector<LigneTimecode, ?, OptionalInt> min(int colonne) {
+        return Collectors.collectingAndThen(statistiques(colonne), statistiques -> statistiques.getCount() == 0 ? OptionalInt.empty() : OptionalInt.of(statistiques.getMin()));
+    }
+
+    /**
+     * Retourne le plus grand timecode d'une colonne.
+     *
+     * @param colonne Index de la colonne parmi les colonnes lues.
+     * @return Le collector (nombre d'images).
+     */
+    @NotNull
+    public static Collector<LigneTimecode, ?, OptionalInt> max(int colonne) {
+        return Collectors.collectingAndThen(statistiques(colonne), statistiques -> statistiques.getCount() == 0 ? OptionalInt.empty() : OptionalInt.of(statistiques.getMax()));
+    }
+
+    /**
+     * Retourne les statistiques des timecodes d'une colonne.
+     *
+     * @param colonne Index de la colonne parmi les colonnes lues.
+     * @return Le collector (nombres d'images).
+     */
+    @NotNull
+    public static Collector<LigneTimecode, ?, IntSummaryStatistics> statistiques(int colonne) {
+        return Collector.of(
+                IntSummaryStatistics::new,
+                (statistiques, ligne) -> {
+                    if (ligne.isValide(colonne)) {
+                        statistiques.accept(ligne.getImage(colonne));
+                    }
+                },
+                (a, b) -> {
+                    a.combine(b);
+                    return a;
+                });
+    }
+
+    /**
+     * Retourne les statistiques des durées entre deux colonnes (minimum,
+     * maximum, somme...).
+     *
+     * @param colonne_debut Index de la colonne de début.
+     * @param colonne_fin Index de la colonne de fin.
+     * @return Le collector (durées en nombre d'images).
+     */
+    @NotNull
+    public static Collector<LigneTimecode, ?, IntSummaryStatistics> duree(int colonne_debut, int colonne_fin) {
+        return Collector.of(
+                IntSummaryStatistics::new,
+                (statistiques, ligne) -> {
+                    if (ligne.isValide(colonne_debut) && ligne.isValide(colonne_fin)) {
+                        statistiques.accept(ligne.getDuree(colonne_debut, colonne_fin));
+                    }
+                },
+                (a, b) -> {
+                    a.combine(b);
+                    return a;
+                });
+    }
+
+    /**
+     * Retourne la somme des durées entre deux colonnes.
+     *
+     * @param colonne_debut Index de la colonne de début.
+     * @param colonne_fin Index de la colonne de fin.
+     * @return Le collector (nombre d'images).
+     */
+    @NotNull
+    public static Collector<LigneTimecode, ?, Long> sommeDuree(int colonne_debut, int colonne_fin) {
+        return Collectors.collectingAndThen(duree(colonne_debut, colonne_fin), IntSummaryStatistics::getSum);
+    }
+
+    /**
+     * Regroupe les lignes par tranche de timecode d'une colonne (par exemple
+     * par heure avec {@link com.phenix.timecode.Framerate#getImageParHeure()}).
+     *
+     * @param <A> Le type intermédiaire du collector des groupes.
+     * @param <D> Le résultat de chaque groupe.
+     * @param colonne Index de la colonne parmi les colonnes lues.
+     * @param tranche Taille d'une tranche, en nombre d'images.
+     * @param groupe Le collector de chaque groupe.
+     * @return Le collector : le numéro de tranche (nombre d'images divisé par
+     * la tranche) vers le résultat du groupe, triés.
+     */
+    @NotNull
+    public static <A, D> Collector<LigneTimecode, ?, SortedMap<Integer, D>> regrouper(int colonne, int tranche, @NotNull Collector<? super LigneTimecode, A, D> groupe) {
+        return Collectors.filtering(
+                ligne -> ligne.isValide(colonne),
+                Collectors.groupingBy(ligne -> ligne.getImage(colonne) / tranche, TreeMap::new, groupe));
+    }
+}
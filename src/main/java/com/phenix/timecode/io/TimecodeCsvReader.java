@@ -0,0 +1,86 @@
+package com.phenix.timecode.io;
+
+import com.phenix.timecode.Framerate;
+import com.phenix.timecode.exceptions.TimecodeRuntimeException;
+import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lit les colonnes de timecode d'un fichier texte délimité (CSV, TSV...) en
+ * {@link Stream} de {@link LigneTimecode}, comme
+ * {@link java.nio.file.Files#lines(Path)}.<br>
+ * Le fichier est découpé en morceaux alignés sur les lignes (comme pour
+ * {@link TimecodeFileValidator}), projetés en mémoire à la demande. Le
+ * {@link java.util.Spliterator} se coupe entre les morceaux, puis à
+ * l'intérieur d'un morceau au début d'une ligne : avec
+ * {@link Stream#parallel()}, toutes les lignes sont analysées en parallèle.
+ * Les timecodes sont convertis en nombre d'images directement depuis les
+ * octets, sans {@code String} ni {@code split}.<br>
+ * <br>
+ * Les lignes sont séparées par "<em>\n</em>" (un "<em>\r</em>" final est
+ * ignoré) et les lignes vides sont sautées. Un champ peut être entre
+ * guillemets, mais le séparateur ne peut pas apparaître dans un champ. Un
+ * timecode invalide (y compris une image sautée en drop-frame) vaut
+ * {@link LigneTimecode#INVALIDE}.<br>
+ * Le stream garde le fichier ouvert : il doit être fermé (par exemple avec un
+ * {@code try}-with-resources).
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public final class TimecodeCsvReader {
+
+    /**
+     * Classe utilitaire.
+     */
+    private TimecodeCsvReader() {
+    }
+
+    /**
+     * Lit les lignes d'un fichier.
+     *
+     * @param fichier Le fichier.
+     * @param framerate Le framerate des timecodes.
+     * @param separateur Le séparateur de colonnes (ASCII, par exemple
+     * "<em>,</em>" ou "<em>\t</em>").
+     * @param entete {@code true} pour sauter la première ligne.
+     * @param colonnes Index (à partir de 0) des colonnes de timecode.
+     * @return Les lignes (séquentiel, à fermer).
+     *
+     * @throws IOException Erreur d'ouverture du fichier.
+     */
+    @NotNull
+    public static Stream<LigneTimecode> lignes(@NotNull Path fichier, @NotNull Framerate framerate, char separateur, boolean entete, @NotNull int... colonnes) throws IOException {
+        if (separateur > 127 || separateur == '\n' || separateur == '\r') {
+            throw new TimecodeRuntimeException("Le séparateur doit être un caractère ASCII autre qu'une fin de ligne : " + separateur);
+        }
+        for (int colonne : colonnes) {
+            if (colonne < 0) {
+                throw new TimecodeRuntimeException("L'index de colonne doit être positif : " + colonne);
+            }
+        }
+
+        FileChannel canal = FileChannel.open(fichier, StandardOpenOption.READ);
+
+        try {
+            long[] bornes = Decoupage.bornes(canal, Decoupage.TAILLE_MORCEAU);
+            LigneSpliterator spliterator = new LigneSpliterator(canal, bornes, framerate, (byte) separateur, entete, colonnes.clone());
+
+            return StreamSupport.stream(spliterator, false).onClose(() -> {
+                try {
+                    canal.close();
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+            });
+        } catch (IOException | RuntimeException exception) {
+            canal.close();
+            throw exception;
+        }
+    }
+}
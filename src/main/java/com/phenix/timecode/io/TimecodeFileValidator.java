@@ -0,0 +1,204 @@
+package com.phenix.timecode.io;
+
+import com.phenix.timecode.Framerate;
+import com.phenix.timecode.Timecode;
+import com.phenix.timecode.TimecodeErreur;
+import com.phenix.timecode.TimecodeParser;
+import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Valide un fichier texte qui contient un timecode par ligne, avec les règles
+ * de {@link Timecode#validation(String, Framerate)}.<br>
+ * Le fichier est projeté en mémoire et découpé en morceaux alignés sur les
+ * lignes, validés en parallèle sans allocation par ligne ni exception.<br>
+ * Les lignes sont séparées par "<em>\n</em>" (un "<em>\r</em>" final est
+ * ignoré) ; une ligne vide n'est pas valide.
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public final class TimecodeFileValidator {
+
+    /**
+     * Classe utilitaire.
+     */
+    private TimecodeFileValidator() {
+    }
+
+    /**
+     * Valide un fichier dans le pool commun.
+     *
+     * @param fichier Le fichier.
+     * @param framerate Le framerate des timecodes.
+     * @return Le rapport de validation.
+     *
+     * @throws IOException Erreur de lecture du fichier.
+     */
+    @NotNull
+    public static RapportValidation valider(@NotNull Path fichier, @NotNull Framerate framerate) throws IOException {
+        return valider(fichier, framerate, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Valide un fichier.
+     *
+     * @param fichier Le fichier.
+     * @param framerate Le framerate des timecodes.
+     * @param pool Le pool qui valide les morceaux.
+     * @return Le rapport de validation.
+     *
+     * @throws IOException Erreur de lecture du fichier.
+     */
+    @NotNull
+    public static RapportValidation valider(@NotNull Path fichier, @NotNull Framerate framerate, @NotNull ForkJoinPool pool) throws IOException {
+        try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.READ)) {
+            long[] bornes = Decoupage.bornes(canal, Decoupage.TAILLE_MORCEAU);
+
+            List<Callable<Morceau>> taches = new ArrayList<>(bornes.length - 1);
+            for (int i = 0; i < bornes.length - 1; i++) {
+                long debut = bornes[i];
+                long fin = bornes[i + 1];
+                taches.add(() -> validerMorceau(canal, debut, fin, framerate));
+            }
+
+            List<Future<Morceau>> resultats = pool.invokeAll(taches);
+
+            // Assemble les morceaux : les numéros de ligne deviennent globaux.
+            long nombre_ligne = 0;
+            int nombre_erreur = 0;
+            Morceau[] morceaux = new Morceau[resultats.size()];
+            for (int i = 0; i < morceaux.length; i++) {
+                morceaux[i] = resultats.get(i).get();
+                nombre_erreur += morceaux[i].nombre_erreur;
+            }
+
+            long[] lignes = new long[nombre_erreur];
+            byte[] erreurs = new byte[nombre_erreur];
+            long[] compteurs = new long[TimecodeErreur.values().length];
+            int index = 0;
+
+            for (Morceau morceau : morceaux) {
+                for (int i = 0; i < morceau.nombre_erreur; i++) {
+                    lignes[index] = nombre_ligne + morceau.lignes[i] + 1;
+                    erreurs[index] = morceau.erreurs[i];
+                    compteurs[morceau.erreurs[i]]++;
+                    index++;
+                }
+                nombre_ligne += morceau.nombre_ligne;
+            }
+
+            return new RapportValidation(nombre_ligne, lignes, erreurs, compteurs);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("La validation a été interrompue.");
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new UncheckedIOException(new IOException(exception.getCause()));
+        }
+    }
+
+    /**
+     * Valide un morceau du fichier.
+     *
+     * @param canal Le fichier.
+     * @param debut Début du morceau (début d'une ligne).
+     * @param fin Fin du morceau (exclue).
+     * @param framerate Le framerate des timecodes.
+     * @return Les erreurs du morceau.
+     *
+     * @throws IOException Erreur de lecture du fichier.
+     */
+    private static Morceau validerMorceau(FileChannel canal, long debut, long fin, Framerate framerate) throws IOException {
+        MappedByteBuffer tampon = canal.map(FileChannel.MapMode.READ_ONLY, debut, fin - debut);
+        int taille = (int) (fin - debut);
+        Morceau morceau = new Morceau();
+        int debut_ligne = 0;
+
+        for (int i = 0; i < taille; i++) {
+            if (tampon.get(i) == '\n') {
+                morceau.ligne(tampon, debut_ligne, i, framerate);
+                debut_ligne = i + 1;
+            }
+        }
+
+        // Dernière ligne sans retour à la ligne.
+        if (debut_ligne < taille) {
+            morceau.ligne(tampon, debut_ligne, taille, framerate);
+        }
+
+        return morceau;
+    }
+
+    /**
+     * Erreurs d'un morceau, avec des numéros de ligne relatifs au morceau.
+     */
+    private static final class Morceau {
+
+        /**
+         * Nombre de lignes du morceau.
+         */
+        private long nombre_ligne;
+
+        /**
+         * Nombre d'erreurs.
+         */
+        private int nombre_erreur;
+
+        /**
+         * Numéro (à partir de 0) des lignes en erreur.
+         */
+        private long[] lignes = new long[16];
+
+        /**
+         * Raison de chaque erreur.
+         */
+        private byte[] erreurs = new byte[16];
+
+        /**
+         * Valide une ligne.
+         *
+         * @param tampon Le morceau.
+         * @param debut Début de la ligne.
+         * @param fin Fin de la ligne (exclue, sans le "<em>\n</em>").
+         * @param framerate Le framerate des timecodes.
+         */
+        private void ligne(MappedByteBuffer tampon, int debut, int fin, Framerate framerate) {
+            if (fin > debut && tampon.get(fin - 1) == '\r') {
+                fin--;
+            }
+
+            TimecodeErreur erreur = TimecodeParser.valider(tampon, debut, fin - debut, framerate);
+
+            if (erreur != null) {
+                if (this.nombre_erreur == this.lignes.length) {
+                    this.lignes = Arrays.copyOf(this.lignes, this.nombre_erreur * 2);
+                    this.erreurs = Arrays.copyOf(this.erreurs, this.nombre_erreur * 2);
+                }
+
+                this.lignes[this.nombre_erreur] = this.nombre_ligne;
+                this.erreurs[this.nombre_erreur] = (byte) erreur.ordinal();
+                this.nombre_erreur++;
+            }
+
+            this.nombre_ligne++;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.phenix.timecode.ltc;
+
+import jakarta.validation.constraints.NotNull;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Format des échantillons PCM. L'ordre des octets est celui du
+ * {@link ByteBuffer}.
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public enum FormatEchantillon {
+
+    /**
+     * Entier signé sur 16 bits.
+     */
+    PCM16(2),
+    /**
+     * Entier signé sur 24 bits.
+     */
+    PCM24(3),
+    /**
+     * Flottant sur 32 bits (entre -1 et 1).
+     */
+    FLOAT32(4);
+
+    /**
+     * Nombre d'octets d'un échantillon.
+     */
+    private final int taille;
+
+    /**
+     * Construit un format.
+     *
+     * @param taille Nombre d'octets d'un échantillon.
+     */
+    FormatEchantillon(int taille) {
+        this.taille = taille;
+    }
+
+    /**
+     * Retourne le nombre d'octets d'un échantillon.
+     *
+     * @return Le nombre d'octets.
+     */
+    public int getTaille() {
+        return this.taille;
+    }
+
+    /**
+     * Lit un échantillon.
+     *
+     * @param buffer Le buffer.
+     * @param index Index (absolu) du premier octet.
+     * @return L'échantillon, entre -1 et 1.
+     */
+    public float lire(@NotNull ByteBuffer buffer, int index) {
+        switch (this) {
+            case PCM16:
+                return buffer.getShort(index) / 32768f;
+            case PCM24:
+                int valeur;
+                if (buffer.order() == ByteOrder.LITTLE_ENDIAN) {
+                    valeur = (buffer.get(index) & 0xFF) | (buffer.get(index + 1) & 0xFF) << 8 | buffer.get(index + 2) << 16;
+                } else {
+                    valeur = buffer.get(index) << 16 | (buffer.get(index + 1) & 0xFF) << 8 | (buffer.get(index + 2) & 0xFF);
+                }
+                return valeur / 8388608f;
+            default:
+                return buffer.getFloat(index);
+        }
+    }
+
+    /**
+     * Écrit un échantillon.
+     *
+     * @param buffer Le buffer.
+     * @param index Index (absolu) du premier octet.
+     * @param echantillon L'échantillon, entre -1 et 1.
+     */
+    public void ecrire(@NotNull ByteBuffer buffer, int index, float echantillon) {
+        switch (this) {
+            case PCM16:
+                buffer.putShort(index, (short) Math.round(echantillon * 32767f));
+                break;
+            case PCM24:
+                int valeur = Math.round(echantillon * 8388607f);
+                if (buffer.order() == ByteOrder.LITTLE_ENDIAN) {
+                    buffer.put(index, (byte) valeur);
+                    buffer.put(index + 1, (byte) (valeur >> 8));
+                    buffer.put(index + 2, (byte) (valeur >> 16));
+                } else {
+                    buffer.put(index, (byte) (valeur >> 16));
+                    buffer.put(index + 1, (byte) (valeur >> 8));
+                    buffer.put(index + 2, (byte) valeur);
+                }
+                break;
+            default:
+                buffer.putFloat(index, echantillon);
+                break;
+        }
+    }
+}
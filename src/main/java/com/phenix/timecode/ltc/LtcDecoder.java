@@ -0,0 +1,246 @@
+package com.phenix.timecode.ltc;
+
+import com.phenix.timecode.Framerate;
+import com.phenix.timecode.codec.Smpte12mCodec;
+import com.phenix.timecode.exceptions.TimecodeRuntimeException;
+import jakarta.validation.constraints.NotNull;
+import java.nio.ByteBuffer;
+
+/**
+ * Décode du LTC (SMPTE 12M) depuis des échantillons PCM, au fil de l'eau.<br>
+ * Le signal est en biphase mark : il change de niveau au début de chaque bit
+ * et, pour un 1, aussi au milieu. Le décodeur mesure la durée entre deux
+ * changements de niveau (avec une hystérésis contre le bruit) et la compare à
+ * la durée d'un bit, qui suit les variations de vitesse de la lecture. Les
+ * bits sont poussés dans un registre de 80 bits : quand les 16 derniers sont
+ * le mot de synchronisation, la trame est donnée à la {@link Reception}.<br>
+ * <br>
+ * Aucun objet n'est créé par échantillon ni par trame. Un décodeur lit un
+ * canal et garde son état entre deux appels à {@link #decoder(ByteBuffer)} :
+ * les buffers peuvent être coupés n'importe où. Il n'est pas synchronisé.
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public final class LtcDecoder {
+
+    /**
+     * Seuil de l'hystérésis.
+     */
+    private static final float SEUIL = 0.05f;
+
+    /**
+     * Format des échantillons.
+     */
+    private final FormatEchantillon format;
+
+    /**
+     * Nombre de canaux entrelacés.
+     */
+    private final int canaux;
+
+    /**
+     * Canal lu.
+     */
+    private final int canal;
+
+    /**
+     * Reçoit les trames.
+     */
+    private final Reception reception;
+
+    /**
+     * Durée d'un bit à vitesse normale, en échantillons.
+     */
+    private final float periode_nominale;
+
+    /**
+     * Durée estimée d'un bit, en échantillons.
+     */
+    private float periode;
+
+    /**
+     * Niveau courant du signal.
+     */
+    private boolean niveau;
+
+    /**
+     * Nombre d'échantillons depuis le dernier changement de niveau.
+     */
+    private int depuis;
+
+    /**
+     * Durée du premier demi-bit d'un 1, ou -1.
+     */
+    private int demi;
+
+    /**
+     * Bits 0 à 63 du registre.
+     */
+    private long donnees;
+
+    /**
+     * Bits 64 à 79 du registre.
+     */
+    private int synchronisation;
+
+    /**
+     * Nombre de bits reçus depuis la dernière trame ou perte du signal.
+     */
+    private int nombre_bits;
+
+    /**
+     * Nombre d'échantillons lus (par canal).
+     */
+    private long position;
+
+    /**
+     * Construit un décodeur pour un signal mono.
+     *
+     * @param framerate Le framerate du LTC.
+     * @param frequence Fréquence d'échantillonnage (en Hz).
+     * @param format Format des échantillons.
+     * @param reception Reçoit les trames.
+     */
+    public LtcDecoder(@NotNull Framerate framerate, int frequence, @NotNull FormatEchantillon format, @NotNull Reception reception) {
+        this(framerate, frequence, format, 1, 0, reception);
+    }
+
+    /**
+     * Construit un décodeur pour un canal d'un signal entrelacé.
+     *
+     * @param framerate Le framerate du LTC.
+     * @param frequence Fréquence d'échantillonnage (en Hz).
+     * @param format Format des échantillons.
+     * @param canaux Nombre de canaux entrelacés.
+     * @param canal Canal qui porte le LTC (à partir de 0).
+     * @param reception Reçoit les trames.
+     */
+    public LtcDecoder(@NotNull Framerate framerate, int frequence, @NotNull FormatEchantillon format, int canaux, int canal, @NotNull Reception reception) {
+        if (canal < 0 || canal >= canaux) {
+            throw new TimecodeRuntimeException("Le canal n'existe pas : " + canal);
+        }
+
+        this.format = format;
+        this.canaux = canaux;
+        this.canal = canal;
+        this.reception = reception;
+        this.periode_nominale = (float) ((double) frequence * framerate.getDenominateur() / (framerate.getNumerateur() * 80.0));
+        this.reinitialiser();
+    }
+
+    /**
+     * Oublie le signal en cours (par exemple après un saut dans le média).
+     */
+    public void reinitialiser() {
+        this.periode = this.periode_nominale;
+        this.depuis = 0;
+        this.demi = -1;
+        this.nombre_bits = 0;
+    }
+
+    /**
+     * Décode les échantillons restant dans le buffer. Le buffer est avancé
+     * jusqu'au dernier groupe d'échantillons complet (tous les canaux).
+     *
+     * @param pcm Les échantillons.
+     */
+    public void decoder(@NotNull ByteBuffer pcm) {
+        int taille = this.format.getTaille();
+        int pas = taille * this.canaux;
+        int debut = pcm.position();
+        int nombre = (pcm.limit() - debut) / pas;
+        int index = debut + this.canal * taille;
+
+        for (int i = 0; i < nombre; i++, index += pas) {
+            float echantillon = this.format.lire(pcm, index);
+
+            if (this.depuis < Integer.MAX_VALUE) {
+                this.depuis++;
+            }
+            this.position++;
+
+            if (this.niveau ? echantillon < -SEUIL : echantillon > SEUIL) {
+                this.niveau = !this.niveau;
+                this.transition(this.depuis);
+                this.depuis = 0;
+            }
+        }
+
+        pcm.position(debut + nombre * pas);
+    }
+
+    /**
+     * Retourne le nombre d'échantillons lus (par canal).
+     *
+     * @return Le nombre d'échantillons.
+     */
+    public long getPosition() {
+        return this.position;
+    }
+
+    /**
+     * Traite un changement de niveau.
+     *
+     * @param duree Durée depuis le changement précédent, en échantillons.
+     */
+    private void transition(int duree) {
+        if (duree > this.periode * 0.75f) {
+            // Trop long pour un bit : perte du signal.
+            if (duree > this.periode * 1.5f) {
+                this.reinitialiser();
+                return;
+            }
+
+            // Un demi-bit isolé avant un 0 : on était décalé d'un demi-bit.
+            this.demi = -1;
+            this.ajuster(duree);
+            this.bit(0);
+        } else if (this.demi < 0) {
+            this.demi = duree;
+        } else {
+            this.ajuster(this.demi + duree);
+            this.demi = -1;
+            this.bit(1);
+        }
+    }
+
+    /**
+     * Suit la vitesse de lecture.
+     *
+     * @param duree Durée mesurée d'un bit, en échantillons.
+     */
+    private void ajuster(int duree) {
+        this.periode += (duree - this.periode) * 0.125f;
+    }
+
+    /**
+     * Pousse un bit dans le registre.
+     *
+     * @param bit Le bit.
+     */
+    private void bit(int bit) {
+        this.donnees = (this.donnees >>> 1) | ((long) (this.synchronisation & 1) << 63);
+        this.synchronisation = (this.synchronisation >>> 1) | (bit << 15);
+
+        if (++this.nombre_bits >= 80 && this.synchronisation == Smpte12mCodec.SYNCHRONISATION) {
+            this.nombre_bits = 0;
+            this.reception.recevoir(this.donnees, this.position);
+        }
+    }
+
+    /**
+     * Reçoit les trames décodées.
+     */
+    @FunctionalInterface
+    public interface Reception {
+
+        /**
+         * Une trame a été décodée.
+         *
+         * @param trame Les 64 bits de données (voir {@link Smpte12mCodec}).
+         * @param position Nombre d'échantillons lus (par canal) à la fin de
+         * la trame.
+         */
+        void recevoir(long trame, long position);
+    }
+}
@@ -0,0 +1,172 @@
+package com.phenix.timecode.ltc;
+
+import com.phenix.timecode.DropFrame;
+import com.phenix.timecode.Framerate;
+import com.phenix.timecode.Timecode;
+import com.phenix.timecode.codec.Smpte12mCodec;
+import com.phenix.timecode.exceptions.TimecodeRuntimeException;
+import jakarta.validation.constraints.NotNull;
+import java.nio.ByteBuffer;
+
+/**
+ * Génère du LTC (SMPTE 12M) en échantillons PCM mono.<br>
+ * Les changements de niveau tombent sur l'échantillon le plus proche de leur
+ * instant exact (calculé avec la fraction du {@link Framerate}) : une trame
+ * fait donc, selon sa place, 1601 ou 1602 échantillons en 29,97is à 48 kHz,
+ * et l'encodeur ne dérive pas. Le niveau est gardé d'une trame à l'autre.
+ * L'encodeur n'est pas synchronisé.
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public final class LtcEncoder {
+
+    /**
+     * Le framerate.
+     */
+    private final Framerate framerate;
+
+    /**
+     * Format des échantillons.
+     */
+    private final FormatEchantillon format;
+
+    /**
+     * Amplitude du signal (entre 0 et 1).
+     */
+    private final float amplitude;
+
+    /**
+     * Nombre d'échantillons pour {@link #demi_bits_cycle} demi-bits.
+     */
+    private final long echantillons_cycle;
+
+    /**
+     * Nombre de demi-bits après lequel les positions se répètent.
+     */
+    private final long demi_bits_cycle;
+
+    /**
+     * Nombre d'octets maximal d'une trame.
+     */
+    private final int taille_maximale;
+
+    /**
+     * Demi-bit courant dans le cycle.
+     */
+    private long demi_bit;
+
+    /**
+     * Niveau courant du signal.
+     */
+    private boolean niveau;
+
+    /**
+     * Construit un encodeur.
+     *
+     * @param framerate Le framerate.
+     * @param frequence Fréquence d'échantillonnage (en Hz).
+     * @param format Format des échantillons.
+     * @param amplitude Amplitude du signal (entre 0 et 1).
+     */
+    public LtcEncoder(@NotNull Framerate framerate, int frequence, @NotNull FormatEchantillon format, float amplitude) {
+        this.framerate = framerate;
+        this.format = format;
+        this.amplitude = amplitude;
+        this.echantillons_cycle = (long) frequence * framerate.getDenominateur();
+        this.demi_bits_cycle = framerate.getNumerateur() * 160L;
+        this.taille_maximale = (int) ((this.echantillons_cycle * 160 + this.demi_bits_cycle - 1) / this.demi_bits_cycle + 1) * format.getTaille();
+    }
+
+    /**
+     * Retourne le nombre d'octets maximal écrit pour une trame.
+     *
+     * @return Le nombre d'octets.
+     */
+    public int getTailleMaximale() {
+        return this.taille_maximale;
+    }
+
+    /**
+     * Écrit un timecode.
+     *
+     * @param timecode Le timecode (au framerate de l'encodeur).
+     * @param user_bits Les user bits.
+     * @param destination Le buffer, avancé après la trame.
+     */
+    public void encoder(@NotNull Timecode timecode, int user_bits, @NotNull ByteBuffer destination) {
+        if (timecode.getFramerateConnu() != this.framerate) {
+            throw new TimecodeRuntimeException("Le timecode n'a pas le framerate de l'encodeur : " + timecode.getFramerate() + " au lieu de " + this.framerate);
+        }
+
+        this.encoder(DropFrame.toLabel(timecode.toImage(), this.framerate), user_bits, destination);
+    }
+
+    /**
+     * Écrit un label.
+     *
+     * @param label Le label (voir {@link com.phenix.timecode.TimecodeParser}).
+     * @param user_bits Les user bits.
+     * @param destination Le buffer, avancé après la trame.
+     */
+    public void encoder(long label, int user_bits, @NotNull ByteBuffer destination) {
+        this.encoderTrame(Smpte12mCodec.encoder64(label, user_bits, false), destination);
+    }
+
+    /**
+     * Écrit une trame (la correction de polarité est faite ici).
+     *
+     * @param trame Les 64 bits de données (voir {@link Smpte12mCodec}).
+     * @param destination Le buffer, avancé après la trame.
+     */
+    public void encoderTrame(long trame, @NotNull ByteBuffer destination) {
+        if (destination.remaining() < this.taille_maximale) {
+            throw new TimecodeRuntimeException("Le buffer est trop petit pour une trame : " + destination.remaining() + " < " + this.taille_maximale);
+        }
+
+        trame = LtcTrame.corrigerPolarite(trame, this.framerate);
+
+        int taille = this.format.getTaille();
+        int index = destination.position();
+
+        for (int i = 0; i < 80; i++) {
+            long bit = i < 64 ? trame >>> i & 1 : Smpte12mCodec.SYNCHRONISATION >>> (i - 64) & 1;
+
+            // Changement au début du bit.
+            this.niveau = !this.niveau;
+            index = this.ecrire(destination, index, taille);
+
+            // Et au milieu pour un 1.
+            if (bit != 0) {
+                this.niveau = !this.niveau;
+            }
+            index = this.ecrire(destination, index, taille);
+        }
+
+        destination.position(index);
+    }
+
+    /**
+     * Écrit un demi-bit.
+     *
+     * @param destination Le buffer.
+     * @param index Index du premier octet.
+     * @param taille Taille d'un échantillon.
+     * @return Index qui suit le dernier octet écrit.
+     */
+    private int ecrire(ByteBuffer destination, int index, int taille) {
+        long debut = (this.demi_bit * this.echantillons_cycle + this.demi_bits_cycle / 2) / this.demi_bits_cycle;
+        long fin = ((this.demi_bit + 1) * this.echantillons_cycle + this.demi_bits_cycle / 2) / this.demi_bits_cycle;
+
+        if (++this.demi_bit == this.demi_bits_cycle) {
+            this.demi_bit = 0;
+        }
+
+        float echantillon = this.niveau ? this.amplitude : -this.amplitude;
+
+        for (long i = debut; i < fin; i++, index += taille) {
+            this.format.ecrire(destination, index, echantillon);
+        }
+
+        return index;
+    }
+}
@@ -0,0 +1,43 @@
+package com.phenix.timecode.ltc;
+
+import com.phenix.timecode.Framerate;
+import com.phenix.timecode.codec.Smpte12mCodec;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Ce qui est propre au LTC dans une trame. Les 64 bits de données sont le
+ * mot de 64 bits de {@link Smpte12mCodec} (label, user bits, drop-frame et
+ * image couleur) ; les 16 bits de synchronisation
+ * ({@link Smpte12mCodec#SYNCHRONISATION}) complètent la trame jusqu'à 80
+ * bits. Le bit 27 (bit 59 en 25is) sert à corriger la polarité.
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public final class LtcTrame {
+
+    /**
+     * Classe utilitaire.
+     */
+    private LtcTrame() {
+    }
+
+    /**
+     * Positionne le bit de correction de polarité pour que la trame (avec la
+     * synchronisation) ait un nombre pair de 1 : chaque trame commence alors
+     * avec la même polarité.
+     *
+     * @param trame La trame.
+     * @param framerate Le framerate.
+     * @return La trame corrigée.
+     */
+    public static long corrigerPolarite(long trame, @NotNull Framerate framerate) {
+        long bit = 1L << (framerate.getImageParSeconde() == 25 ? 59 : 27);
+
+        trame &= ~bit;
+        if (((Long.bitCount(trame) + Integer.bitCount(Smpte12mCodec.SYNCHRONISATION)) & 1) != 0) {
+            trame |= bit;
+        }
+
+        return trame;
+    }
+}
@@ -0,0 +1,35 @@
+package com.phenix.timecode.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Évènement JFR : analyse d'un timecode texte (constructeurs
+ * {@code Timecode(String, ...)}).<br>
+ * N'est émis que si {@link TimecodeMetrics#activer()} a été appelé et que
+ * l'évènement est activé dans l'enregistrement.
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+@Name("com.phenix.timecode.Analyse")
+@Label("Analyse de timecode")
+@Description("Analyse d'un timecode texte.")
+@Category({"Timecode"})
+@StackTrace(false)
+public final class AnalyseEvent extends jdk.jfr.Event {
+
+    /**
+     * Framerate du timecode.
+     */
+    @Label("Framerate")
+    String framerate;
+
+    /**
+     * Si le timecode a pu être analysé.
+     */
+    @Label("Succès")
+    boolean succes;
+}
@@ -0,0 +1,41 @@
+package com.phenix.timecode.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Évènement JFR : changement de framerate d'un timecode
+ * ({@code Timecode.changeFramerate(...)}).<br>
+ * N'est émis que si {@link TimecodeMetrics#activer()} a été appelé et que
+ * l'évènement est activé dans l'enregistrement.
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+@Name("com.phenix.timecode.Conversion")
+@Label("Conversion de timecode")
+@Description("Changement de framerate d'un timecode.")
+@Category({"Timecode"})
+@StackTrace(false)
+public final class ConversionEvent extends jdk.jfr.Event {
+
+    /**
+     * Framerate d'origine.
+     */
+    @Label("Framerate source")
+    String source;
+
+    /**
+     * Nouveau framerate.
+     */
+    @Label("Framerate cible")
+    String cible;
+
+    /**
+     * Si la conversion a réussi.
+     */
+    @Label("Succès")
+    boolean succes;
+}
@@ -0,0 +1,35 @@
+package com.phenix.timecode.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Évènement JFR : écriture d'un timecode sous la représentation SMPTE
+ * ({@code Timecode.toString()} et {@code Timecode.formatTo(...)}).<br>
+ * N'est émis que si {@link TimecodeMetrics#activer()} a été appelé et que
+ * l'évènement est activé dans l'enregistrement.
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+@Name("com.phenix.timecode.Formatage")
+@Label("Formatage de timecode")
+@Description("Écriture d'un timecode sous la représentation SMPTE.")
+@Category({"Timecode"})
+@StackTrace(false)
+public final class FormatageEvent extends jdk.jfr.Event {
+
+    /**
+     * Framerate du timecode.
+     */
+    @Label("Framerate")
+    String framerate;
+
+    /**
+     * Si le timecode est en drop-frame.
+     */
+    @Label("Drop-frame")
+    boolean drop_frame;
+}
@@ -0,0 +1,572 @@
+package com.phenix.timecode.metrics;
+
+import com.phenix.timecode.Framerate;
+import com.phenix.timecode.TimecodeErreur;
+import com.phenix.timecode.exceptions.TimecodeRuntimeException;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Null;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Mesures (compteurs et évènements JFR) de l'analyse, du formatage, de la
+ * validation et du changement de framerate des timecodes.<br>
+ * Les mesures sont désactivées par défaut : chaque point de mesure ne coûte
+ * alors que la lecture d'un {@code boolean}. Une fois activées
+ * ({@link #activer()}), les compteurs sont des {@link LongAdder} (répartis
+ * entre les threads, donc sans contention) et les évènements
+ * ({@link AnalyseEvent}, {@link FormatageEvent}, {@link ValidationEvent},
+ * {@link ConversionEvent}) sont émis quand un enregistrement JFR les
+ * demande.<br>
+ * <br>
+ * Les compteurs sont lisibles par les méthodes de cette classe ou par JMX,
+ * après {@link #enregistrerMBean()}.<br>
+ * <br>
+ * Chaque opération est encadrée par une méthode {@code debutX()}, qui crée
+ * l'évènement et appelle {@link jdk.jfr.Event#begin()}, et par la méthode de
+ * fin correspondante ({@link #analyse(AnalyseEvent, double, boolean, boolean)},
+ * {@link #formatage(FormatageEvent, double, boolean)},
+ * {@link #validation(ValidationEvent, Framerate, TimecodeErreur)},
+ * {@link #conversion(ConversionEvent, double, Framerate, double, Framerate, boolean)}) :
+ * la durée des évènements est donc celle mesurée par JFR. Ces méthodes, et
+ * {@link #cache(boolean)}, sont appelées par la bibliothèque.
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public final class TimecodeMetrics {
+
+    /**
+     * Nom JMX des mesures.
+     */
+    public static final String NOM_MBEAN = "com.phenix.timecode:type=TimecodeMetrics";
+
+    /**
+     * Les framerates, indexés par {@link Framerate#ordinal()}.
+     */
+    private static final Framerate[] FRAMERATES = Framerate.values();
+
+    /**
+     * Si les mesures sont activées.
+     */
+    private static volatile boolean actif;
+
+    /**
+     * Nombre d'analyses.
+     */
+    private static final LongAdder ANALYSES = new LongAdder();
+
+    /**
+     * Nombre d'analyses en échec.
+     */
+    private static final LongAdder ECHECS_ANALYSE = new LongAdder();
+
+    /**
+     * Nombre de formatages.
+     */
+    private static final LongAdder FORMATAGES = new LongAdder();
+
+    /**
+     * Nombre de validations.
+     */
+    private static final LongAdder VALIDATIONS = new LongAdder();
+
+    /**
+     * Nombre de validations en échec.
+     */
+    private static final LongAdder ECHECS_VALIDATION = new LongAdder();
+
+    /**
+     * Nombre de conversions, par framerate cible (indexé par
+     * {@link Framerate#ordinal()}, la dernière case pour les framerates
+     * inconnus).
+     */
+    private static final LongAdder[] CONVERSIONS = new LongAdder[FRAMERATES.length + 1];
+
+    /**
+     * Nombre de conversions en échec.
+     */
+    private static final LongAdder ECHECS_CONVERSION = new LongAdder();
+
+    /**
+     * Nombre de timecodes trouvés dans un {@code TimecodeCache}.
+     */
+    private static final LongAdder CACHE_TROUVES = new LongAdder();
+
+    /**
+     * Nombre de timecodes absents d'un {@code TimecodeCache}.
+     */
+    private static final LongAdder CACHE_ABSENTS = new LongAdder();
+
+    static {
+        for (int i = 0; i < CONVERSIONS.length; i++) {
+            CONVERSIONS[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Classe utilitaire.
+     */
+    private TimecodeMetrics() {
+    }
+
+    /**
+     * Active les mesures.
+     */
+    public static void activer() {
+        actif = true;
+    }
+
+    /**
+     * Désactive les mesures (les compteurs sont gardés).
+     */
+    public static void desactiver() {
+        actif = false;
+    }
+
+    /**
+     * Retourne si les mesures sont activées.
+     *
+     * @return {@code true} si les mesures sont activées.
+     */
+    public static boolean isActif() {
+        return actif;
+    }
+
+    /**
+     * Remet tous les compteurs à zéro.
+     */
+    public static void reinitialiser() {
+        ANALYSES.reset();
+        ECHECS_ANALYSE.reset();
+        FORMATAGES.reset();
+        VALIDATIONS.reset();
+        ECHECS_VALIDATION.reset();
+        ECHECS_CONVERSION.reset();
+        CACHE_TROUVES.reset();
+        CACHE_ABSENTS.reset();
+
+        for (LongAdder conversion : CONVERSIONS) {
+            conversion.reset();
+        }
+    }
+
+    /**
+     * Début de l'analyse d'un timecode texte.
+     *
+     * @return L'évènement commencé, {@code null} si les mesures sont
+     * désactivées.
+     */
+    @Null
+    public static AnalyseEvent debutAnalyse() {
+        if (!actif) {
+            return null;
+        }
+
+        AnalyseEvent evenement = new AnalyseEvent();
+        evenement.begin();
+        return evenement;
+    }
+
+    /**
+     * Fin de l'analyse d'un timecode texte.
+     *
+     * @param evenement Valeur de {@link #debutAnalyse()}.
+     * @param framerate Framerate du timecode.
+     * @param drop_frame Si le timecode est en drop-frame.
+     * @param succes Si le timecode a pu être analysé.
+     */
+    public static void analyse(@Null AnalyseEvent evenement, double framerate, boolean drop_frame, boolean succes) {
+        if (evenement == null) {
+            return;
+        }
+
+        evenement.end();
+
+        ANALYSES.increment();
+        if (!succes) {
+            ECHECS_ANALYSE.increment();
+        }
+
+        if (evenement.shouldCommit()) {
+            evenement.framerate = nom(framerate, drop_frame);
+            evenement.succes = succes;
+            evenement.commit();
+        }
+    }
+
+    /**
+     * Début du formatage d'un timecode.
+     *
+     * @return L'évènement commencé, {@code null} si les mesures sont
+     * désactivées.
+     */
+    @Null
+    public static FormatageEvent debutFormatage() {
+        if (!actif) {
+            return null;
+        }
+
+        FormatageEvent evenement = new FormatageEvent();
+        evenement.begin();
+        return evenement;
+    }
+
+    /**
+     * Fin du formatage d'un timecode.
+     *
+     * @param evenement Valeur de {@link #debutFormatage()}.
+     * @param framerate Framerate du timecode.
+     * @param drop_frame Si le timecode est en drop-frame.
+     */
+    public static void formatage(@Null FormatageEvent evenement, double framerate, boolean drop_frame) {
+        if (evenement == null) {
+            return;
+        }
+
+        evenement.end();
+
+        FORMATAGES.increment();
+
+        if (evenement.shouldCommit()) {
+            evenement.framerate = nom(framerate, drop_frame);
+            evenement.drop_frame = drop_frame;
+            evenement.commit();
+        }
+    }
+
+    /**
+     * Début de la validation d'un timecode texte.
+     *
+     * @return L'évènement commencé, {@code null} si les mesures sont
+     * désactivées.
+     */
+    @Null
+    public static ValidationEvent debutValidation() {
+        if (!actif) {
+            return null;
+        }
+
+        ValidationEvent evenement = new ValidationEvent();
+        evenement.begin();
+        return evenement;
+    }
+
+    /**
+     * Fin de la validation d'un timecode texte.
+     *
+     * @param evenement Valeur de {@link #debutValidation()}.
+     * @param framerate Framerate de la validation.
+     * @param erreur Raison du refus, {@code null} si le timecode est valide.
+     */
+    public static void validation(@Null ValidationEvent evenement, @NotNull Framerate framerate, @Null TimecodeErreur erreur) {
+        if (evenement == null) {
+            return;
+        }
+
+        evenement.end();
+
+        VALIDATIONS.increment();
+        if (erreur != null) {
+            ECHECS_VALIDATION.increment();
+        }
+
+        if (evenement.shouldCommit()) {
+            evenement.framerate = framerate.name();
+            evenement.erreur = (erreur != null) ? erreur.name() : null;
+            evenement.commit();
+        }
+    }
+
+    /**
+     * Début d'un changement de framerate.
+     *
+     * @return L'évènement commencé, {@code null} si les mesures sont
+     * désactivées.
+     */
+    @Null
+    public static ConversionEvent debutConversion() {
+        if (!actif) {
+            return null;
+        }
+
+        ConversionEvent evenement = new ConversionEvent();
+        evenement.begin();
+        return evenement;
+    }
+
+    /**
+     * Fin d'un changement de framerate.
+     *
+     * @param evenement Valeur de {@link #debutConversion()}.
+     * @param source Framerate d'origine.
+     * @param source_connu Le {@link Framerate} d'origine, {@code null} s'il
+     * n'est pas connu.
+     * @param cible Nouveau framerate.
+     * @param cible_connu Le nouveau {@link Framerate}, {@code null} s'il
+     * n'est pas connu.
+     * @param succes Si la conversion a réussi.
+     */
+    public static void conversion(@Null ConversionEvent evenement, double source, @Null Framerate source_connu, double cible, @Null Framerate cible_connu, boolean succes) {
+        if (evenement == null) {
+            return;
+        }
+
+        evenement.end();
+
+        CONVERSIONS[(cible_connu != null) ? cible_connu.ordinal() : FRAMERATES.length].increment();
+        if (!succes) {
+            ECHECS_CONVERSION.increment();
+        }
+
+        if (evenement.shouldCommit()) {
+            evenement.source = (source_connu != null) ? source_connu.name() : Double.toString(source);
+            evenement.cible = (cible_connu != null) ? cible_connu.name() : Double.toString(cible);
+            evenement.succes = succes;
+            evenement.commit();
+        }
+    }
+
+    /**
+     * Recherche dans un {@code TimecodeCache}.
+     *
+     * @param trouve Si le timecode était dans le cache.
+     */
+    public static void cache(boolean trouve) {
+        if (!actif) {
+            return;
+        }
+
+        (trouve ? CACHE_TROUVES : CACHE_ABSENTS).increment();
+    }
+
+    /**
+     * Retourne le nom d'un framerate.
+     *
+     * @param framerate Le framerate.
+     * @param drop_frame Si le framerate est en drop-frame.
+     * @return Le nom du {@link Framerate} s'il est connu, sinon la valeur.
+     */
+    private static String nom(double framerate, boolean drop_frame) {
+        Framerate connu = Framerate.fromValue(framerate, drop_frame);
+
+        return (connu != null) ? connu.name() : Double.toString(framerate);
+    }
+
+    /**
+     * Retourne le nombre d'analyses.
+     *
+     * @return Le nombre d'analyses.
+     */
+    public static long getAnalyses() {
+        return ANALYSES.sum();
+    }
+
+    /**
+     * Retourne le nombre d'analyses en échec.
+     *
+     * @return Le nombre d'analyses en échec.
+     */
+    public static long getEchecsAnalyse() {
+        return ECHECS_ANALYSE.sum();
+    }
+
+    /**
+     * Retourne le nombre de formatages.
+     *
+     * @return Le nombre de formatages.
+     */
+    public static long getFormatages() {
+        return FORMATAGES.sum();
+    }
+
+    /**
+     * Retourne le nombre de validations.
+     *
+     * @return Le nombre de validations.
+     */
+    public static long getValidations() {
+        return VALIDATIONS.sum();
+    }
+
+    /**
+     * Retourne le nombre de validations en échec.
+     *
+     * @return Le nombre de validations en échec.
+     */
+    public static long getEchecsValidation() {
+        return ECHECS_VALIDATION.sum();
+    }
+
+    /**
+     * Retourne le nombre de conversions vers un framerate.
+     *
+     * @param framerate Le framerate cible, {@code null} pour les framerates
+     * qui ne sont pas des {@link Framerate}.
+     * @return Le nombre de conversions.
+     */
+    public static long getConversions(@Null Framerate framerate) {
+        return CONVERSIONS[(framerate != null) ? framerate.ordinal() : FRAMERATES.length].sum();
+    }
+
+    /**
+     * Retourne le nombre de conversions par framerate cible (seulement les
+     * framerates qui en ont eu).
+     *
+     * @return Le nombre de conversions, par nom de framerate ("<em>AUTRE</em>"
+     * pour les framerates inconnus).
+     */
+    @NotNull
+    public static Map<String, Long> getConversions() {
+        Map<String, Long> conversions = new LinkedHashMap<>();
+
+        for (int i = 0; i < CONVERSIONS.length; i++) {
+            long nombre = CONVERSIONS[i].sum();
+
+            if (nombre != 0) {
+                conversions.put((i < FRAMERATES.length) ? FRAMERATES[i].name() : "AUTRE", nombre);
+            }
+        }
+
+        return conversions;
+    }
+
+    /**
+     * Retourne le nombre de conversions en échec.
+     *
+     * @return Le nombre de conversions en échec.
+     */
+    public static long getEchecsConversion() {
+        return ECHECS_CONVERSION.sum();
+    }
+
+    /**
+     * Retourne le nombre de timecodes trouvés dans un {@code TimecodeCache}
+     * (tous les caches confondus).
+     *
+     * @return Le nombre de timecodes trouvés.
+     */
+    public static long getCacheTrouves() {
+        return CACHE_TROUVES.sum();
+    }
+
+    /**
+     * Retourne le nombre de timecodes absents d'un {@code TimecodeCache}
+     * (tous les caches confondus).
+     *
+     * @return Le nombre de timecodes absents.
+     */
+    public static long getCacheAbsents() {
+        return CACHE_ABSENTS.sum();
+    }
+
+    /**
+     * Enregistre les mesures auprès du serveur JMX de la plateforme, sous le
+     * nom {@link #NOM_MBEAN}. Ne fait rien si elles le sont déjà.
+     */
+    public static synchronized void enregistrerMBean() {
+        MBeanServer serveur = ManagementFactory.getPlatformMBeanServer();
+
+        try {
+            ObjectName nom = new ObjectName(NOM_MBEAN);
+
+            if (!serveur.isRegistered(nom)) {
+                serveur.registerMBean(new Metriques(), nom);
+            }
+        } catch (JMException exception) {
+            throw new TimecodeRuntimeException("Impossible d'enregistrer les mesures JMX : " + exception.getMessage());
+        }
+    }
+
+    /**
+     * Retire les mesures du serveur JMX de la plateforme. Ne fait rien si
+     * elles n'y sont pas.
+     */
+    public static synchronized void desenregistrerMBean() {
+        MBeanServer serveur = ManagementFactory.getPlatformMBeanServer();
+
+        try {
+            ObjectName nom = new ObjectName(NOM_MBEAN);
+
+            if (serveur.isRegistered(nom)) {
+                serveur.unregisterMBean(nom);
+            }
+        } catch (JMException exception) {
+            throw new TimecodeRuntimeException("Impossible de retirer les mesures JMX : " + exception.getMessage());
+        }
+    }
+
+    /**
+     * Les mesures vues par JMX.
+     */
+    private static final class Metriques implements TimecodeMetricsMXBean {
+
+        @Override
+        public boolean isActif() {
+            return TimecodeMetrics.isActif();
+        }
+
+        @Override
+        public void setActif(boolean actif) {
+            if (actif) {
+                activer();
+            } else {
+                desactiver();
+            }
+        }
+
+        @Override
+        public long getAnalyses() {
+            return TimecodeMetrics.getAnalyses();
+        }
+
+        @Override
+        public long getEchecsAnalyse() {
+            return TimecodeMetrics.getEchecsAnalyse();
+        }
+
+        @Override
+        public long getFormatages() {
+            return TimecodeMetrics.getFormatages();
+        }
+
+        @Override
+        public long getValidations() {
+            return TimecodeMetrics.getValidations();
+        }
+
+        @Override
+        public long getEchecsValidation() {
+            return TimecodeMetrics.getEchecsValidation();
+        }
+
+        @Override
+        public Map<String, Long> getConversions() {
+            return TimecodeMetrics.getConversions();
+        }
+
+        @Override
+        public long getEchecsConversion() {
+            return TimecodeMetrics.getEchecsConversion();
+        }
+
+        @Override
+        public long getCacheTrouves() {
+            return TimecodeMetrics.getCacheTrouves();
+        }
+
+        @Override
+        public long getCacheAbsents() {
+            return TimecodeMetrics.getCacheAbsents();
+        }
+
+        @Override
+        public void reinitialiser() {
+            TimecodeMetrics.reinitialiser();
+        }
+    }
+}
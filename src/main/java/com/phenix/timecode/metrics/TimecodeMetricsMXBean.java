@@ -0,0 +1,94 @@
+package com.phenix.timecode.metrics;
+
+import java.util.Map;
+
+/**
+ * Les mesures de {@link TimecodeMetrics}, vues par JMX (voir
+ * {@link TimecodeMetrics#enregistrerMBean()}).
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public interface TimecodeMetricsMXBean {
+
+    /**
+     * Retourne si les mesures sont activées.
+     *
+     * @return {@code true} si les mesures sont activées.
+     */
+    boolean isActif();
+
+    /**
+     * Active ou désactive les mesures.
+     *
+     * @param actif {@code true} pour activer les mesures.
+     */
+    void setActif(boolean actif);
+
+    /**
+     * Retourne le nombre d'analyses.
+     *
+     * @return Le nombre d'analyses.
+     */
+    long getAnalyses();
+
+    /**
+     * Retourne le nombre d'analyses en échec.
+     *
+     * @return Le nombre d'analyses en échec.
+     */
+    long getEchecsAnalyse();
+
+    /**
+     * Retourne le nombre de formatages.
+     *
+     * @return Le nombre de formatages.
+     */
+    long getFormatages();
+
+    /**
+     * Retourne le nombre de validations.
+     *
+     * @return Le nombre de validations.
+     */
+    long getValidations();
+
+    /**
+     * Retourne le nombre de validations en échec.
+     *
+     * @return Le nombre de validations en échec.
+     */
+    long getEchecsValidation();
+
+    /**
+     * Retourne le nombre de conversions par framerate cible.
+     *
+     * @return Le nombre de conversions, par nom de framerate.
+     */
+    Map<String, Long> getConversions();
+
+    /**
+     * Retourne le nombre de conversions en échec.
+     *
+     * @return Le nombre de conversions en échec.
+     */
+    long getEchecsConversion();
+
+    /**
+     * Retourne le nombre de timecodes trouvés dans un cache.
+     *
+     * @return Le nombre de timecodes trouvés.
+     */
+    long getCacheTrouves();
+
+    /**
+     * Retourne le nombre de timecodes absents d'un cache.
+     *
+     * @return Le nombre de timecodes absents.
+     */
+    long getCacheAbsents();
+
+    /**
+     * Remet tous les compteurs à zéro.
+     */
+    void reinitialiser();
+}
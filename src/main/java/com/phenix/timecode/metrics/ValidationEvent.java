@@ -0,0 +1,36 @@
+package com.phenix.timecode.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Évènement JFR : validation d'un timecode texte
+ * ({@code Timecode.validation(...)}).<br>
+ * N'est émis que si {@link TimecodeMetrics#activer()} a été appelé et que
+ * l'évènement est activé dans l'enregistrement.
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+@Name("com.phenix.timecode.Validation")
+@Label("Validation de timecode")
+@Description("Validation d'un timecode texte.")
+@Category({"Timecode"})
+@StackTrace(false)
+public final class ValidationEvent extends jdk.jfr.Event {
+
+    /**
+     * Framerate de la validation.
+     */
+    @Label("Framerate")
+    String framerate;
+
+    /**
+     * Raison du refus ({@code TimecodeErreur}), {@code null} si le timecode
+     * est valide.
+     */
+    @Label("Erreur")
+    String erreur;
+}
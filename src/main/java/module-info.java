@@ -3,7 +3,15 @@
  */
 module com.phenix.timecode {
     requires jakarta.validation;
+    requires java.management;
+    requires jdk.jfr;
 
     exports com.phenix.timecode;
+    exports com.phenix.timecode.codec;
+    exports com.phenix.timecode.collection;
+    exports com.phenix.timecode.edl;
     exports com.phenix.timecode.exceptions;
+    exports com.phenix.timecode.io;
+    exports com.phenix.timecode.ltc;
+    exports com.phenix.timecode.metrics;
 }
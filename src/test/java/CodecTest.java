@@ -0,0 +1,153 @@
+import com.phenix.timecode.DropFrame;
+import com.phenix.timecode.Framerate;
+import com.phenix.timecode.Timecode;
+import com.phenix.timecode.TimecodeParser;
+import com.phenix.timecode.codec.MxfTimecodeComponent;
+import com.phenix.timecode.codec.QuickTimeTimecode;
+import com.phenix.timecode.codec.Smpte12mCodec;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public class CodecTest {
+
+    /**
+     * On test le mot de 32 bits avec des valeurs connues (celles de FFmpeg).
+     */
+    @Test
+    public void testMot32() {
+        assertEquals(0x63595923, Smpte12mCodec.encoder32(TimecodeParser.parse("23:59:59;23"), Framerate.F2997), "Le mot n'est pas juste.");
+        assertEquals(TimecodeParser.parse("01:02:03:04"), Smpte12mCodec.decoder32(0x04030201, Framerate.F25), "Le label n'est pas juste.");
+
+        // Au-dessus de 30is : la paire d'images et le bit de trame.
+        assertEquals(0x12000000 | 1 << 23, Smpte12mCodec.encoder32(TimecodeParser.parse("00:00:00:25"), Framerate.F60), "Le mot n'est pas juste.");
+        assertEquals(0x12000000 | 1 << 7, Smpte12mCodec.encoder32(TimecodeParser.parse("00:00:00:25"), Framerate.F50), "Le mot n'est pas juste.");
+        assertEquals(TimecodeParser.parse("00:00:00:25"), Smpte12mCodec.decoder32(0x12000000 | 1 << 7, Framerate.F50), "Le label n'est pas juste.");
+
+        // Mots mal formés.
+        assertTrue(TimecodeParser.isErreur(Smpte12mCodec.decoder32(0x0000000A, Framerate.F25)), "Le mot devrait être mal formé.");
+        assertTrue(TimecodeParser.isErreur(Smpte12mCodec.decoder32(0x25000000, Framerate.F25)), "Le mot devrait être mal formé.");
+    }
+
+    /**
+     * On test le mot de 64 bits et le mot de 80 bits.
+     */
+    @Test
+    public void testMot64() {
+        long label = TimecodeParser.parse("23:59:59;29");
+        long mot = Smpte12mCodec.encoder64(label, 0x12345678, true);
+
+        assertEquals(label, Smpte12mCodec.decoder64(mot), "Le label n'est pas juste.");
+        assertEquals(0x12345678, Smpte12mCodec.userBits64(mot), "Les user bits ne sont pas justes.");
+        assertTrue(Smpte12mCodec.isCouleur64(mot), "Le mot devrait être image couleur.");
+
+        for (ByteOrder ordre : new ByteOrder[]{ByteOrder.LITTLE_ENDIAN, ByteOrder.BIG_ENDIAN}) {
+            ByteBuffer buffer = ByteBuffer.allocate(10).order(ordre);
+            Smpte12mCodec.ecrire80(mot, buffer, 0);
+            assertEquals((byte) 0xFC, buffer.get(8), "La synchronisation n'est pas juste.");
+            assertEquals((byte) 0xBF, buffer.get(9), "La synchronisation n'est pas juste.");
+            assertEquals(mot, Smpte12mCodec.lire80(buffer, 0), "Le mot n'est pas juste.");
+        }
+    }
+
+    /**
+     * On test les conversions en lot avec les nombres d'images.
+     */
+    @Test
+    public void testLot() {
+        for (Framerate framerate : new Framerate[]{Framerate.F2997, Framerate.F25, Framerate.F5994}) {
+            int[] images = new int[2000];
+            for (int i = 0; i < images.length; i++) {
+                images[i] = i * 997;
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate(images.length * 8);
+            Smpte12mCodec.fromImages32(images, 0, images.length, framerate, buffer);
+            buffer.flip();
+            int[] retour = new int[images.length];
+            Smpte12mCodec.toImages32(buffer, retour, 0, images.length, framerate);
+            assertArrayEquals(images, retour, "Les nombres d'images ne sont pas justes.");
+
+            if (framerate.getImageParSeconde() <= 30) {
+                buffer.clear();
+                Smpte12mCodec.fromImages64(images, 0, images.length, framerate, buffer);
+                buffer.flip();
+                Smpte12mCodec.toImages64(buffer, retour, 0, images.length, framerate);
+                assertArrayEquals(images, retour, "Les nombres d'images ne sont pas justes.");
+            }
+
+            assertEquals(DropFrame.toLabel(images[1234], framerate), Smpte12mCodec.decoder32(Smpte12mCodec.fromImage32(images[1234], framerate), framerate), "Le label n'est pas juste.");
+        }
+    }
+
+    /**
+     * On test les mots qui n'existent pas dans le framerate.
+     */
+    @Test
+    public void testImageSautee() {
+        long saute = TimecodeParser.pack(0, 1, 0, 0, true);
+        long existe = TimecodeParser.pack(0, 1, 0, 2, true);
+
+        assertEquals(-1, Smpte12mCodec.toImage32(Smpte12mCodec.encoder32(saute, Framerate.F2997), Framerate.F2997), "L'image sautée ne devrait pas être lue.");
+        assertEquals(-1, Smpte12mCodec.toImage64(Smpte12mCodec.encoder64(saute, 0, false), Framerate.F2997), "L'image sautée ne devrait pas être lue.");
+        assertEquals(1800, Smpte12mCodec.toImage32(Smpte12mCodec.encoder32(existe, Framerate.F2997), Framerate.F2997), "Le nombre d'images n'est pas juste.");
+        assertEquals(-1, Smpte12mCodec.toImage32(Smpte12mCodec.encoder32(TimecodeParser.pack(0, 1, 0, 2, true), Framerate.F5994), Framerate.F5994), "L'image sautée ne devrait pas être lue.");
+
+        // Le bit drop-frame doit être celui du framerate.
+        assertEquals(-1, Smpte12mCodec.toImage32(Smpte12mCodec.encoder32(existe, Framerate.F25), Framerate.F25), "Le drop-frame n'est pas vérifié.");
+        assertEquals(-1, Smpte12mCodec.toImage64(Smpte12mCodec.encoder64(TimecodeParser.pack(0, 1, 0, 2, false), 0, false), Framerate.F2997), "Le drop-frame n'est pas vérifié.");
+
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        buffer.putLong(Smpte12mCodec.encoder64(saute, 0, false)).putLong(Smpte12mCodec.encoder64(existe, 0, false)).flip();
+        int[] images = new int[2];
+        Smpte12mCodec.toImages64(buffer, images, 0, 2, Framerate.F2997);
+        assertArrayEquals(new int[]{-1, 1800}, images, "Les nombres d'images ne sont pas justes.");
+    }
+
+    /**
+     * On test l'entrée tmcd et ses échantillons.
+     */
+    @Test
+    public void testQuickTime() {
+        ByteBuffer buffer = ByteBuffer.allocate(QuickTimeTimecode.TAILLE + 8);
+        QuickTimeTimecode.of(Framerate.F2997).ecrire(buffer, 0);
+
+        QuickTimeTimecode description = QuickTimeTimecode.lire(buffer, 0);
+        assertEquals(Framerate.F2997, description.getFramerate(), "Le framerate n'est pas juste.");
+        assertEquals(30, description.getImages(), "Le nombre d'images n'est pas juste.");
+
+        ByteBuffer echantillons = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+        QuickTimeTimecode.fromImages(new int[]{107892, 1}, 0, 2, echantillons);
+        assertEquals(0x00, echantillons.get(0), "L'échantillon doit être big-endian.");
+        echantillons.flip();
+
+        int[] images = new int[2];
+        QuickTimeTimecode.toImages(echantillons, images, 0, 2);
+        assertEquals("01:00:00;00", description.toTimecode(images[0]).toString(), "Le timecode n'est pas juste.");
+    }
+
+    /**
+     * On test les éléments locaux MXF.
+     */
+    @Test
+    public void testMxf() {
+        Timecode timecode = new Timecode("10:00:00;00", Framerate.F2997);
+        ByteBuffer set = ByteBuffer.allocate(MxfTimecodeComponent.TAILLE + 6);
+
+        // Un autre élément local avant.
+        set.putShort((short) 0x0201).putShort((short) 2).putShort((short) 7);
+        MxfTimecodeComponent.of(timecode, Framerate.F2997).ecrire(set);
+
+        MxfTimecodeComponent composant = MxfTimecodeComponent.lire(set, 0, set.position());
+        assertEquals(30, composant.getBase(), "La base n'est pas juste.");
+        assertTrue(composant.getDropFrame(), "Le timecode devrait être drop-frame.");
+        assertEquals(timecode.toString(), composant.toTimecode(Framerate.F2997).toString(), "Le timecode n'est pas juste.");
+    }
+}
@@ -0,0 +1,77 @@
+import com.phenix.timecode.DropFrame;
+import com.phenix.timecode.Framerate;
+import com.phenix.timecode.Timecode;
+import com.phenix.timecode.TimecodeParser;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public class DropFrameTest {
+
+    /**
+     * On test des labels connus.
+     */
+    @Test
+    public void testLabelsConnus() {
+        assertEquals(TimecodeParser.pack(0, 1, 0, 2, true), DropFrame.toLabel(1800, Framerate.F2997), "Le label n'est pas juste.");
+        assertEquals(TimecodeParser.pack(0, 10, 0, 0, true), DropFrame.toLabel(17982, Framerate.F2997), "Le label n'est pas juste.");
+        assertEquals(TimecodeParser.pack(1, 0, 0, 0, true), DropFrame.toLabel(107892, Framerate.F2997), "Le label n'est pas juste.");
+        assertEquals(TimecodeParser.pack(0, 1, 0, 4, true), DropFrame.toLabel(3600, Framerate.F5994), "Le label n'est pas juste.");
+        assertEquals(TimecodeParser.pack(1, 0, 0, 0, true), DropFrame.toLabel(215784, Framerate.F5994), "Le label n'est pas juste.");
+        assertEquals(TimecodeParser.pack(1, 0, 0, 0, false), DropFrame.toLabel(90000, Framerate.F25), "Le label n'est pas juste.");
+
+        assertEquals(215784, new Timecode("01:00:00;00", Framerate.F5994).toImage(), "Le nombre d'image n'est pas juste.");
+        assertEquals("00:01:00;04", new Timecode(3600, Framerate.F5994).toString(), "Le timecode n'est pas juste.");
+    }
+
+    /**
+     * On test toutes les images de 24h, en 29,97 DF et en 59,94 DF : chaque
+     * label doit être valide, suivre le précédent et redonner le même nombre
+     * d'images.
+     */
+    @Test
+    public void testAllerRetour24h() {
+        for (Framerate framerate : new Framerate[]{Framerate.F2997, Framerate.F5994}) {
+            int base = framerate.getImageParSeconde();
+            int sautee = DropFrame.imageSauteeParMinute(framerate);
+            long nombre = DropFrame.toImage(24, 0, 0, 0, framerate);
+
+            int heure = 0;
+            int minute = 0;
+            int seconde = 0;
+            int image = 0;
+
+            for (long i = 0; i < nombre; i++) {
+                long label = DropFrame.toLabel(i, framerate);
+
+                if (TimecodeParser.heure(label) != heure || TimecodeParser.minute(label) != minute || TimecodeParser.seconde(label) != seconde || TimecodeParser.image(label) != image) {
+                    assertEquals(heure + ":" + minute + ":" + seconde + ";" + image, TimecodeParser.heure(label) + ":" + TimecodeParser.minute(label) + ":" + TimecodeParser.seconde(label) + ";" + TimecodeParser.image(label), "Le label de l'image " + i + " n'est pas juste (" + framerate + ").");
+                }
+                if (DropFrame.toImage(label, framerate) != i) {
+                    assertEquals(i, DropFrame.toImage(label, framerate), "Le nombre d'image n'est pas juste (" + framerate + ").");
+                }
+
+                // Label suivant, en sautant les premières images des minutes qui ne sont pas des dizaines.
+                if (++image == base) {
+                    image = 0;
+                    if (++seconde == 60) {
+                        seconde = 0;
+                        if (++minute == 60) {
+                            minute = 0;
+                            heure++;
+                        }
+                        if (minute % 10 != 0) {
+                            image = sautee;
+                        }
+                    }
+                }
+            }
+
+            assertTrue(heure == 24 && minute == 0 && seconde == 0 && image == 0, "La dernière image doit précéder 24:00:00;00 (" + framerate + ").");
+        }
+    }
+}
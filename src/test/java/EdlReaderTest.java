@@ -0,0 +1,107 @@
+import com.phenix.timecode.Framerate;
+import com.phenix.timecode.edl.EdlEvent;
+import com.phenix.timecode.edl.EdlReader;
+import com.phenix.timecode.exceptions.TimecodeRuntimeException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public class EdlReaderTest {
+
+    /**
+     * Une EDL avec une section non drop-frame puis drop-frame.
+     */
+    private static final String EDL = "TITLE: MONTAGE V3\r\n"
+            + "FCM: NON-DROP FRAME\r\n"
+            + "\r\n"
+            + "001  AX       V     C        01:00:00:00 01:00:05:00 10:00:00:00 10:00:05:00\r\n"
+            + "* FROM CLIP NAME: PLAN_01.MOV\r\n"
+            + "002  BL       AA/V  D    030 02:00:10:00 02:00:12:00 10:00:05:00 10:00:07:00\r\n"
+            + "M2   BL       050.0                      02:00:10:00\r\n"
+            + "FCM: DROP FRAME\r\n"
+            + "003  TAPE3    A2    W001 015 00:59:59;28 01:00:01;00 10:00:07;00 10:00:08;02\r\n";
+
+    /**
+     * Dossier temporaire des fichiers de test.
+     */
+    @TempDir
+    Path dossier;
+
+    /**
+     * On test la lecture des évènements.
+     */
+    @Test
+    public void testLecture() {
+        EdlReader lecteur = new EdlReader(ByteBuffer.wrap(EDL.getBytes(StandardCharsets.US_ASCII)), Framerate.F2997ND);
+        List<EdlEvent> evenements = lecteur.stream().collect(Collectors.toList());
+
+        assertEquals("MONTAGE V3", lecteur.getTitre(), "Le titre n'est pas juste.");
+        assertEquals(3, evenements.size(), "Le nombre d'évènement n'est pas juste.");
+
+        EdlEvent premier = evenements.get(0);
+        assertEquals(1, premier.getNumero(), "Le numéro n'est pas juste.");
+        assertEquals("AX", premier.getBobine(), "La bobine n'est pas juste.");
+        assertEquals("V", premier.getPiste(), "La piste n'est pas juste.");
+        assertEquals("C", premier.getTransition(), "La transition n'est pas juste.");
+        assertEquals("01:00:00:00", premier.getSource().getTimecodeIn().toString(), "Le timecode n'est pas juste.");
+        assertEquals("10:00:05:00", premier.getEnregistrement().getTimecodeOut().toString(), "Le timecode n'est pas juste.");
+        assertEquals(150, premier.getDuree(), "La durée n'est pas juste.");
+        assertFalse(premier.isDropFrame(), "L'évènement ne devrait pas être en drop-frame.");
+
+        EdlEvent deuxieme = evenements.get(1);
+        assertEquals("D", deuxieme.getTransition(), "La transition n'est pas juste.");
+        assertEquals(30, deuxieme.getDureeTransition(), "La durée de la transition n'est pas juste.");
+        assertTrue(deuxieme.isVideo(), "L'évènement devrait contenir la vidéo.");
+
+        EdlEvent troisieme = evenements.get(2);
+        assertSame(Framerate.F2997, troisieme.getFramerate(), "Le framerate n'est pas juste.");
+        assertEquals(15, troisieme.getDureeTransition(), "La durée de la transition n'est pas juste.");
+        assertEquals("00:59:59;28", troisieme.getSource().getTimecodeIn().toString(), "Le timecode n'est pas juste.");
+        assertEquals(32, troisieme.getDuree(), "La durée n'est pas juste.");
+    }
+
+    /**
+     * On test "<em>FCM: NON DROP FRAME</em>", sans tiret.
+     */
+    @Test
+    public void testNonDropSansTiret() {
+        String edl = "FCM: NON DROP FRAME\n"
+                + "001  AX       V     C        00:00:01:00 00:00:02:00 01:00:00:00 01:00:01:00\n";
+        EdlEvent evenement = new EdlReader(ByteBuffer.wrap(edl.getBytes(StandardCharsets.US_ASCII)), Framerate.F2997).next();
+
+        assertSame(Framerate.F2997ND, evenement.getFramerate(), "Le framerate n'est pas juste.");
+        assertFalse(evenement.isDropFrame(), "L'évènement ne devrait pas être en drop-frame.");
+        assertEquals("00:00:01:00", evenement.getSource().getTimecodeIn().toString(), "Le timecode n'est pas juste.");
+    }
+
+    /**
+     * On test la lecture d'un fichier et une ligne en erreur.
+     *
+     * @throws IOException Erreur d'écriture du fichier.
+     */
+    @Test
+    public void testFichier() throws IOException {
+        Path fichier = this.dossier.resolve("montage.edl");
+        Files.writeString(fichier, EDL, StandardCharsets.US_ASCII);
+        assertEquals(3, EdlReader.open(fichier, Framerate.F2997).stream().count(), "Le nombre d'évènement n'est pas juste.");
+
+        Files.writeString(fichier, "001  AX  V  C  01:00:00:00 01:00:05:0A 10:00:00:00 10:00:05:00\n", StandardCharsets.US_ASCII);
+        EdlReader lecteur = EdlReader.open(fichier, Framerate.F25);
+        assertThrows(TimecodeRuntimeException.class, () -> lecteur.next());
+    }
+}
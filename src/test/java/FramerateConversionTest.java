@@ -0,0 +1,96 @@
+import com.phenix.timecode.Framerate;
+import com.phenix.timecode.FramerateConversion;
+import com.phenix.timecode.TimecodeOrigine;
+import java.math.RoundingMode;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public class FramerateConversionTest {
+
+    /**
+     * On test la conversion qui garde le label.
+     */
+    @Test
+    public void testLabel() {
+        FramerateConversion conversion = FramerateConversion.label(Framerate.F25, Framerate.F24);
+
+        int[] images = {0, 49, 90000};
+        conversion.convertir(images, 0, images, 0, 3);
+        assertArrayEquals(new int[]{0, 47, 86400}, images, "Le nombre d'image n'est pas juste.");
+
+        // 01:00:00:00 en 29,97 NDF reste 01:00:00;00 en 29,97 DF.
+        assertEquals(107892, FramerateConversion.label(Framerate.F2997ND, Framerate.F2997).convertir(108000), "Le nombre d'image n'est pas juste.");
+
+        // 00:01:00:00 n'existe pas en drop-frame : 00:01:00;02 (00:01:00;04 en 59,94).
+        assertEquals(1800, FramerateConversion.label(Framerate.F25, Framerate.F2997).convertir(1500), "Le nombre d'image n'est pas juste.");
+        assertEquals(1800, FramerateConversion.label(Framerate.F25, Framerate.F2997).convertir(1501), "Le nombre d'image n'est pas juste.");
+        assertEquals(1801, FramerateConversion.label(Framerate.F25, Framerate.F2997).convertir(1503), "Le nombre d'image n'est pas juste.");
+        assertEquals(3600, FramerateConversion.label(Framerate.F30, Framerate.F5994).convertir(1800), "Le nombre d'image n'est pas juste.");
+
+        // La correspondance reste croissante.
+        FramerateConversion vers_drop_frame = FramerateConversion.label(Framerate.F2997ND, Framerate.F2997);
+        long precedente = -1;
+        for (long image = 0; image < 40_000; image++) {
+            long resultat = vers_drop_frame.convertir(image);
+            assertTrue(resultat >= precedente, "La conversion n'est pas croissante : " + image);
+            precedente = resultat;
+        }
+    }
+
+    /**
+     * On test la conversion qui garde le temps réel.
+     */
+    @Test
+    public void testTempsReel() {
+        long[] images = {0, 12, 24, 36};
+        long[] resultat = new long[4];
+
+        FramerateConversion.tempsReel(Framerate.F24, Framerate.F25, RoundingMode.HALF_UP).convertir(images, 0, resultat, 0, 4);
+        assertArrayEquals(new long[]{0, 13, 25, 38}, resultat, "Le nombre d'image n'est pas juste.");
+
+        FramerateConversion.tempsReel(Framerate.F24, Framerate.F25, RoundingMode.FLOOR).convertir(images, 0, resultat, 0, 4);
+        assertArrayEquals(new long[]{0, 12, 25, 37}, resultat, "Le nombre d'image n'est pas juste.");
+
+        FramerateConversion.tempsReel(Framerate.F24, Framerate.F25, RoundingMode.HALF_EVEN).convertir(images, 0, resultat, 0, 4);
+        assertArrayEquals(new long[]{0, 12, 25, 38}, resultat, "Le nombre d'image n'est pas juste.");
+
+        // 86400 images en 23,976 durent autant que 108000 images en 29,97.
+        assertEquals(108000, FramerateConversion.tempsReel(Framerate.F23976, Framerate.F2997ND, RoundingMode.UNNECESSARY).convertir(86400), "Le nombre d'image n'est pas juste.");
+        assertThrows(ArithmeticException.class, () -> FramerateConversion.tempsReel(Framerate.F24, Framerate.F25, RoundingMode.UNNECESSARY).convertir(1));
+    }
+
+    /**
+     * On test la cadence 2:3 et 3:2.
+     */
+    @Test
+    public void testPulldown() {
+        int[] film = {0, 1, 2, 3, 4, 5, 6, 7};
+        int[] video = new int[8];
+        FramerateConversion.pulldown(Framerate.F23976, Framerate.F2997ND).convertir(film, 0, video, 0, 8);
+        assertArrayEquals(new int[]{0, 1, 2, 3, 5, 6, 7, 8}, video, "Le nombre d'image n'est pas juste.");
+
+        int[] retour = new int[5];
+        FramerateConversion.pulldown(Framerate.F30, Framerate.F24).convertir(new int[]{5, 6, 7, 8, 9}, 0, retour, 0, 5);
+        assertArrayEquals(new int[]{4, 5, 5, 6, 7}, retour, "Le nombre d'image n'est pas juste.");
+
+        assertThrows(RuntimeException.class, () -> FramerateConversion.pulldown(Framerate.F24, Framerate.F25));
+    }
+
+    /**
+     * On test le changement de vitesse avec un timecode de début.
+     */
+    @Test
+    public void testVitesse() {
+        FramerateConversion conversion = FramerateConversion.vitesse(Framerate.F24, Framerate.F25).avecOrigine(new TimecodeOrigine("10:00:00:00"));
+
+        assertEquals(900000, conversion.convertir(864000), "Le nombre d'image n'est pas juste.");
+        assertEquals(900100, conversion.convertir(864100), "Le nombre d'image n'est pas juste.");
+    }
+}
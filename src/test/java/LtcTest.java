@@ -0,0 +1,110 @@
+import com.phenix.timecode.DropFrame;
+import com.phenix.timecode.Framerate;
+import com.phenix.timecode.Timecode;
+import com.phenix.timecode.TimecodeParser;
+import com.phenix.timecode.codec.Smpte12mCodec;
+import com.phenix.timecode.exceptions.TimecodeRuntimeException;
+import com.phenix.timecode.ltc.FormatEchantillon;
+import com.phenix.timecode.ltc.LtcDecoder;
+import com.phenix.timecode.ltc.LtcEncoder;
+import com.phenix.timecode.ltc.LtcTrame;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public class LtcTest {
+
+    /**
+     * On test la correction de polarité.
+     */
+    @Test
+    public void testPolarite() {
+        long label = TimecodeParser.parse("23:59:59;29");
+        long trame = Smpte12mCodec.encoder64(label, 0x12345678, true);
+
+        for (Framerate framerate : new Framerate[]{Framerate.F25, Framerate.F2997}) {
+            long corrigee = LtcTrame.corrigerPolarite(trame, framerate);
+            assertEquals(0, (Long.bitCount(corrigee) + Integer.bitCount(Smpte12mCodec.SYNCHRONISATION)) % 2, "La polarité n'est pas corrigée.");
+            assertEquals(label, Smpte12mCodec.decoder64(corrigee), "Le label n'est pas juste.");
+        }
+    }
+
+    /**
+     * On encode puis décode des timecodes, par morceaux de taille aléatoire.
+     */
+    @Test
+    public void testEncodageDecodage() {
+        verifier(Framerate.F2997, 48000, FormatEchantillon.PCM16, ByteOrder.LITTLE_ENDIAN, new Timecode("00:00:59;20", Framerate.F2997).toImage());
+        verifier(Framerate.F25, 44100, FormatEchantillon.PCM24, ByteOrder.BIG_ENDIAN, 90_000);
+        verifier(Framerate.F24, 96000, FormatEchantillon.FLOAT32, ByteOrder.LITTLE_ENDIAN, 0);
+    }
+
+    /**
+     * On test l'encodage d'un {@link Timecode} et son framerate.
+     */
+    @Test
+    public void testEncodageTimecode() {
+        LtcEncoder encodeur = new LtcEncoder(Framerate.F2997, 48000, FormatEchantillon.PCM16, 0.5f);
+        ByteBuffer pcm = ByteBuffer.allocate(encodeur.getTailleMaximale());
+
+        encodeur.encoder(new Timecode("01:00:00;00", Framerate.F2997), 0, pcm);
+        assertTrue(pcm.position() > 0, "La trame n'est pas écrite.");
+
+        pcm.clear();
+        assertThrows(TimecodeRuntimeException.class, () -> encodeur.encoder(new Timecode("01:00:00:00", Framerate.F25), 0, pcm));
+        assertThrows(TimecodeRuntimeException.class, () -> encodeur.encoder(new Timecode("01:00:00:00", Framerate.F2997ND), 0, pcm));
+        assertEquals(0, pcm.position(), "Rien ne devrait être écrit.");
+    }
+
+    /**
+     * Encode 60 images, ajoute du bruit, décode et compare.
+     *
+     * @param framerate Le framerate.
+     * @param frequence Fréquence d'échantillonnage.
+     * @param format Format des échantillons.
+     * @param ordre Ordre des octets.
+     * @param depart Première image.
+     */
+    private static void verifier(Framerate framerate, int frequence, FormatEchantillon format, ByteOrder ordre, long depart) {
+        LtcEncoder encodeur = new LtcEncoder(framerate, frequence, format, 0.5f);
+        ByteBuffer pcm = ByteBuffer.allocate(encodeur.getTailleMaximale() * 60).order(ordre);
+
+        for (int i = 0; i < 60; i++) {
+            encodeur.encoder(DropFrame.toLabel(depart + i, framerate), i, pcm);
+        }
+        pcm.flip();
+
+        // Bruit.
+        Random aleatoire = new Random(18);
+        int taille = format.getTaille();
+        for (int index = 0; index + taille <= pcm.limit(); index += taille) {
+            format.ecrire(pcm, index, format.lire(pcm, index) + (aleatoire.nextFloat() - 0.5f) * 0.05f);
+        }
+
+        List<Long> trames = new ArrayList<>();
+        LtcDecoder decodeur = new LtcDecoder(framerate, frequence, format, (trame, position) -> trames.add(trame));
+
+        while (pcm.hasRemaining()) {
+            ByteBuffer morceau = pcm.slice(pcm.position(), Math.min(pcm.remaining(), 1 + aleatoire.nextInt(4000))).order(ordre);
+            decodeur.decoder(morceau);
+            pcm.position(pcm.position() + morceau.position());
+        }
+
+        // La fin de la dernière trame n'est connue qu'au début de la suivante.
+        assertEquals(59, trames.size(), "Le nombre de trames n'est pas juste.");
+        for (int i = 0; i < trames.size(); i++) {
+            assertEquals(DropFrame.toLabel(depart + i, framerate), Smpte12mCodec.decoder64(trames.get(i)), "Le label n'est pas juste.");
+            assertEquals(i, Smpte12mCodec.userBits64(trames.get(i)), "Les user bits ne sont pas justes.");
+        }
+    }
+}
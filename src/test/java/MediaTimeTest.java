@@ -0,0 +1,77 @@
+import com.phenix.timecode.Framerate;
+import com.phenix.timecode.MediaTime;
+import com.phenix.timecode.Timecode;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public class MediaTimeTest {
+
+    /**
+     * On test des valeurs connues.
+     */
+    @Test
+    public void testValeurs() {
+        MediaTime nanosecondes = MediaTime.nanosecondes(Framerate.F2997);
+
+        // Une image en 29,97is : 33 366 666,67 ns.
+        assertEquals(33_366_666, nanosecondes.toUnites(1, RoundingMode.FLOOR), "Le temps n'est pas juste.");
+        assertEquals(33_366_667, nanosecondes.toUnites(1, RoundingMode.HALF_EVEN), "Le temps n'est pas juste.");
+        assertEquals(-33_366_667, nanosecondes.toUnites(-1, RoundingMode.FLOOR), "Le temps n'est pas juste.");
+
+        // 01:00:00;00 : 107892 images, 3599,9964 s.
+        assertEquals(3_599_996_400_000L, nanosecondes.toUnites(new Timecode("01:00:00;00", Framerate.F2997), RoundingMode.UNNECESSARY), "Le temps n'est pas juste.");
+        assertEquals("01:00:00;00", nanosecondes.toTimecode(3_599_996_400_000L, RoundingMode.UNNECESSARY).toString(), "Le timecode n'est pas juste.");
+
+        // PTS en 23,976is : 3753,75 unités par image.
+        MediaTime pts = MediaTime.pts(Framerate.F23976);
+        assertEquals(3754, pts.toUnites(1, RoundingMode.HALF_EVEN), "Le PTS n'est pas juste.");
+        assertEquals(7508, pts.toUnites(2, RoundingMode.HALF_EVEN), "Le PTS n'est pas juste.");
+        assertEquals(15015, pts.toUnites(4, RoundingMode.UNNECESSARY), "Le PTS n'est pas juste.");
+        assertThrows(ArithmeticException.class, () -> pts.toUnites(1, RoundingMode.UNNECESSARY));
+
+        // 1601,6 échantillons par image en 29,97is à 48 kHz.
+        assertEquals(8008, MediaTime.echantillons(Framerate.F2997, 48000).toUnites(5, RoundingMode.UNNECESSARY), "Le nombre d'échantillons n'est pas juste.");
+    }
+
+    /**
+     * On compare les arrondis avec {@link BigDecimal}, et le lot avec les
+     * conversions une par une.
+     */
+    @Test
+    public void testArrondis() {
+        MediaTime pts = MediaTime.pts(Framerate.F23976);
+        long[] images = new long[2000];
+        for (int i = 0; i < images.length; i++) {
+            images[i] = (i - 1000) * 7L;
+        }
+
+        for (RoundingMode arrondi : new RoundingMode[]{RoundingMode.FLOOR, RoundingMode.CEILING, RoundingMode.DOWN, RoundingMode.UP, RoundingMode.HALF_UP, RoundingMode.HALF_DOWN, RoundingMode.HALF_EVEN}) {
+            long[] unites = new long[images.length];
+            pts.toUnites(images, 0, unites, 0, images.length, arrondi);
+
+            for (int i = 0; i < images.length; i++) {
+                long attendu = BigDecimal.valueOf(images[i] * 15015L).divide(BigDecimal.valueOf(4), 0, arrondi).longValueExact();
+                assertEquals(attendu, unites[i], "Le PTS n'est pas juste : " + arrondi);
+                assertEquals(attendu, pts.toUnites(images[i], arrondi), "Le PTS n'est pas juste : " + arrondi);
+            }
+
+            // Aller-retour.
+            long[] retour = new long[images.length];
+            pts.toImages(unites, 0, retour, 0, unites.length, RoundingMode.HALF_EVEN);
+            assertArrayEquals(images, retour, "Les nombres d'images ne sont pas justes : " + arrondi);
+        }
+
+        // Le produit ne tient pas dans un long.
+        long valeur = 1_000_000_000_000_000L;
+        long attendu = BigDecimal.valueOf(valeur).multiply(BigDecimal.valueOf(3_000_000_007L)).divide(BigDecimal.valueOf(10_000_000_001L), 0, RoundingMode.HALF_UP).longValueExact();
+        assertEquals(attendu, MediaTime.multiplierDiviser(valeur, 3_000_000_007L, 10_000_000_001L, RoundingMode.HALF_UP), "Le résultat n'est pas juste.");
+    }
+}
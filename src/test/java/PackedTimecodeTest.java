@@ -0,0 +1,62 @@
+import com.phenix.timecode.Framerate;
+import com.phenix.timecode.PackedTimecode;
+import com.phenix.timecode.Timecode;
+import com.phenix.timecode.exceptions.TimecodeRuntimeException;
+import java.util.Arrays;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public class PackedTimecodeTest {
+
+    /**
+     * On test les conversions depuis et vers {@link Timecode}.
+     */
+    @Test
+    public void testConversion() {
+        for (Framerate framerate : Framerate.values()) {
+            PackedTimecode tc = PackedTimecode.of(123456, framerate);
+            assertEquals(123456, tc.getNombreImage(), "Le nombre d'image n'est pas juste.");
+            assertSame(framerate, tc.getFramerate(), "Le framerate n'est pas juste.");
+            assertEquals(tc, PackedTimecode.fromLong(tc.toLong()), "La valeur long n'est pas juste.");
+        }
+
+        Timecode tc_25 = new Timecode("01:00:00:00", Framerate.F25);
+        PackedTimecode packed_25 = PackedTimecode.of(tc_25);
+        assertEquals(90000, packed_25.getNombreImage(), "Le nombre d'image n'est pas juste.");
+        assertSame(Framerate.F25, packed_25.getFramerate(), "Le framerate n'est pas juste.");
+        assertEquals("01:00:00:00", packed_25.toString(), "Le timecode n'est pas juste.");
+        assertEquals(90000, packed_25.toTimecode().toImage(), "Le nombre d'image n'est pas juste.");
+
+        assertThrows(TimecodeRuntimeException.class, () -> PackedTimecode.of(-1, Framerate.F25));
+        assertThrows(TimecodeRuntimeException.class, () -> PackedTimecode.of(new Timecode("00:00:00:00", 12D)));
+    }
+
+    /**
+     * On test la comparaison, l'égalité et le hash.
+     */
+    @Test
+    public void testComparaison() {
+        PackedTimecode a = PackedTimecode.of(100, Framerate.F25);
+        PackedTimecode b = PackedTimecode.of(100, Framerate.F25);
+        PackedTimecode c = PackedTimecode.of(100, Framerate.F24);
+
+        assertEquals(a, b, "Les timecodes doivent être égaux.");
+        assertEquals(a.hashCode(), b.hashCode(), "Le hash doit être identique.");
+        assertNotEquals(a, c, "Le framerate doit compter dans l'égalité.");
+        assertEquals(101, a.plusImages(1).getNombreImage(), "Le nombre d'image n'est pas juste.");
+
+        PackedTimecode[] tab = {a.plusImages(5), a, a.plusImages(-5), a.plusImages(2)};
+        Arrays.sort(tab);
+        assertArrayEquals(new long[]{95, 100, 102, 105}, Arrays.stream(tab).mapToLong(PackedTimecode::getNombreImage).toArray(), "Le tri n'est pas juste.");
+        assertTrue(a.compareTo(a.plusImages(1)) < 0, "La comparaison n'est pas juste.");
+    }
+}
@@ -0,0 +1,100 @@
+import com.phenix.timecode.Framerate;
+import com.phenix.timecode.Timecode;
+import com.phenix.timecode.TimecodeArrays;
+import com.phenix.timecode.exceptions.TimecodeRuntimeException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public class TimecodeArraysTest {
+
+    /**
+     * On test des timecodes connus.
+     */
+    @Test
+    public void testConversion() {
+        byte[] smpte = "01:00:00:00\n00:01:00;02\n00:10:00;00\n".getBytes(StandardCharsets.US_ASCII);
+        int[] images = new int[3];
+
+        TimecodeArrays.toImages(smpte, 0, 12, Framerate.F2997, images, 0, 3);
+        assertArrayEquals(new int[]{107892, 1800, 17982}, images, "Le nombre d'image n'est pas juste.");
+
+        byte[] resultat = new byte[smpte.length];
+        for (int i = 0; i < 3; i++) {
+            resultat[12 * i + 11] = '\n';
+        }
+        TimecodeArrays.toSmpte(images, 0, 3, Framerate.F2997, resultat, 0, 12);
+        assertEquals("01:00:00;00\n00:01:00;02\n00:10:00;00\n", new String(resultat, StandardCharsets.US_ASCII), "Le timecode n'est pas juste.");
+
+        long[] images_25 = new long[1];
+        TimecodeArrays.toImages(ByteBuffer.wrap("xx03:00:42:13".getBytes(StandardCharsets.US_ASCII)), 2, 11, Framerate.F25, images_25, 0, 1);
+        assertEquals(new Timecode("03:00:42:13", Framerate.F25).toImage(), images_25[0], "Le nombre d'image n'est pas juste.");
+    }
+
+    /**
+     * On test l'aller-retour pour tous les framerates, en séquentiel et en
+     * parallèle, avec des tampons directs.
+     */
+    @Test
+    public void testAllerRetour() {
+        int nombre = 100_000;
+        int[] images = new int[nombre];
+        for (int i = 0; i < nombre; i++) {
+            images[i] = i * 37;
+        }
+
+        for (Framerate framerate : Framerate.values()) {
+            // Les images de 100 à 119 ne tiennent pas sur deux chiffres.
+            if (framerate.getImageParSeconde() > 100) {
+                continue;
+            }
+
+            byte[] smpte = new byte[nombre * 11];
+            TimecodeArrays.toSmpteParallel(images, 0, nombre, framerate, smpte, 0, 11, ForkJoinPool.commonPool());
+
+            ByteBuffer direct = ByteBuffer.allocateDirect(smpte.length);
+            TimecodeArrays.toSmpte(images, 0, nombre, framerate, direct, 0, 11);
+            byte[] smpte_direct = new byte[smpte.length];
+            direct.get(0, smpte_direct);
+            assertArrayEquals(smpte, smpte_direct, "Les timecodes doivent être identiques (" + framerate + ").");
+
+            long[] relu = new long[nombre];
+            TimecodeArrays.toImagesParallel(direct, 0, 11, framerate, relu, 0, nombre, ForkJoinPool.commonPool());
+            for (int i = 0; i < nombre; i++) {
+                assertEquals(images[i], relu[i], "Le nombre d'image n'est pas juste (" + framerate + ").");
+            }
+        }
+    }
+
+    /**
+     * On test des timecodes mal formatés.
+     */
+    @Test
+    public void testMauvais() {
+        int[] images = new int[2];
+
+        assertThrows(TimecodeRuntimeException.class, () -> TimecodeArrays.toImages("00:00:00:0000:00:0a:00".getBytes(StandardCharsets.US_ASCII), 0, 11, Framerate.F25, images, 0, 2));
+        assertThrows(TimecodeRuntimeException.class, () -> TimecodeArrays.toImages("00-00:00:00".getBytes(StandardCharsets.US_ASCII), 0, 11, Framerate.F25, images, 0, 1));
+        assertThrows(TimecodeRuntimeException.class, () -> TimecodeArrays.toImages(new byte[22], 0, 10, Framerate.F25, images, 0, 2));
+        assertThrows(TimecodeRuntimeException.class, () -> TimecodeArrays.toSmpte(new int[]{-1}, 0, 1, Framerate.F25, new byte[11], 0, 11));
+
+        // Champs hors limites et images sautées en drop-frame.
+        String[] hors_limites = {"00:60:00:00", "00:00:99:00", "00:00:00:25"};
+        for (String tc : hors_limites) {
+            assertThrows(TimecodeRuntimeException.class, () -> TimecodeArrays.toImages(tc.getBytes(StandardCharsets.US_ASCII), 0, 11, Framerate.F25, images, 0, 1), tc);
+        }
+        assertThrows(TimecodeRuntimeException.class, () -> TimecodeArrays.toImages("00:01:00;01".getBytes(StandardCharsets.US_ASCII), 0, 11, Framerate.F2997, images, 0, 1));
+        assertThrows(TimecodeRuntimeException.class, () -> TimecodeArrays.toImages("00:01:00;03".getBytes(StandardCharsets.US_ASCII), 0, 11, Framerate.F5994, images, 0, 1));
+
+        TimecodeArrays.toImages("00:01:00;02".getBytes(StandardCharsets.US_ASCII), 0, 11, Framerate.F2997, images, 0, 1);
+        assertEquals(1800, images[0], "Le nombre d'image n'est pas juste.");
+    }
+}
@@ -0,0 +1,101 @@
+import com.phenix.timecode.Framerate;
+import com.phenix.timecode.PackedTimecode;
+import com.phenix.timecode.Timecode;
+import com.phenix.timecode.TimecodeCache;
+import com.phenix.timecode.exceptions.TimecodeRuntimeException;
+import java.util.stream.IntStream;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public class TimecodeCacheTest {
+
+    /**
+     * On test les succès et les échecs du cache.
+     */
+    @Test
+    public void testCache() {
+        TimecodeCache cache = new TimecodeCache(100);
+        assertEquals(128, cache.getCapacite(), "La capacité n'est pas juste.");
+
+        PackedTimecode premier = cache.get("01:00:00:00", Framerate.F25);
+        PackedTimecode second = cache.get(new StringBuilder("01:00:00:00"), Framerate.F25);
+
+        assertSame(premier, second, "Le timecode devrait venir du cache.");
+        assertEquals(90000, premier.getNombreImage(), "Le nombre d'image n'est pas juste.");
+        assertEquals(1, cache.getTrouves(), "Le nombre de succès n'est pas juste.");
+        assertEquals(1, cache.getAbsents(), "Le nombre d'échecs n'est pas juste.");
+
+        // Même texte, autre framerate : autre entrée.
+        assertEquals(new Timecode("01:00:00;00", Framerate.F2997).toImage(), cache.get("01:00:00;00", Framerate.F2997).getNombreImage(), "Le nombre d'image n'est pas juste.");
+        assertEquals(2, cache.getAbsents(), "Le nombre d'échecs n'est pas juste.");
+
+        assertThrows(TimecodeRuntimeException.class, () -> cache.get("01:00:00", Framerate.F25));
+    }
+
+    /**
+     * On test que le cache refuse les timecodes que l'analyse refuse, au lieu
+     * de les ramener à un autre timecode.
+     */
+    @Test
+    public void testTimecodeInvalide() {
+        TimecodeCache cache = new TimecodeCache(16);
+
+        // Image, seconde et minute hors limites.
+        assertThrows(TimecodeRuntimeException.class, () -> cache.get("00:00:00:99", Framerate.F25));
+        assertThrows(TimecodeRuntimeException.class, () -> cache.get("00:00:25:25", Framerate.F25));
+        assertThrows(TimecodeRuntimeException.class, () -> cache.get("00:00:60:00", Framerate.F25));
+        assertThrows(TimecodeRuntimeException.class, () -> cache.get("00:75:00:00", Framerate.F25));
+        // Images sautées en drop-frame.
+        assertThrows(TimecodeRuntimeException.class, () -> cache.get("00:01:00;00", Framerate.F2997));
+        assertThrows(TimecodeRuntimeException.class, () -> cache.get("00:01:00;03", Framerate.F5994));
+        // Forme courte.
+        assertThrows(TimecodeRuntimeException.class, () -> cache.get("1:2:3:4", Framerate.F25));
+
+        assertEquals(1800, cache.get("00:01:00;02", Framerate.F2997).getNombreImage(), "Le nombre d'image n'est pas juste.");
+        assertEquals(17982, cache.get("00:10:00;00", Framerate.F2997).getNombreImage(), "Le nombre d'image n'est pas juste.");
+    }
+
+    /**
+     * On test le remplacement des entrées quand le cache est plein.
+     */
+    @Test
+    public void testRemplacement() {
+        for (TimecodeCache.Politique politique : TimecodeCache.Politique.values()) {
+            TimecodeCache cache = new TimecodeCache(16, politique);
+
+            for (int i = 0; i < 1000; i++) {
+                String texte = new Timecode(i, Framerate.F25).toString();
+                assertEquals(i, cache.get(texte, Framerate.F25).getNombreImage(), "Le nombre d'image n'est pas juste (" + politique + ").");
+            }
+
+            assertEquals(1000, cache.getAbsents(), "Le nombre d'échecs n'est pas juste (" + politique + ").");
+            assertEquals(1000 - 16, cache.getRemplacees(), "Le nombre de remplacements n'est pas juste (" + politique + ").");
+        }
+    }
+
+    /**
+     * On test des lectures concurrentes.
+     */
+    @Test
+    public void testConcurrence() {
+        TimecodeCache cache = new TimecodeCache(64);
+        String[] textes = IntStream.range(0, 32).mapToObj(i -> new Timecode(i * 1000, Framerate.F2997).toString()).toArray(String[]::new);
+
+        IntStream.range(0, 200_000).parallel().forEach(n -> {
+            int i = n % textes.length;
+            if (cache.get(textes[i], Framerate.F2997).getNombreImage() != i * 1000) {
+                throw new AssertionError("Le nombre d'image n'est pas juste.");
+            }
+        });
+
+        assertEquals(200_000, cache.getTrouves() + cache.getAbsents(), "Le nombre de recherches n'est pas juste.");
+        assertTrue(cache.getTrouves() > 100_000, "Le cache devrait servir la plupart des recherches.");
+    }
+}
@@ -0,0 +1,96 @@
+import com.phenix.timecode.Framerate;
+import com.phenix.timecode.Timecode;
+import com.phenix.timecode.collection.TimecodeList;
+import com.phenix.timecode.collection.TimecodeMap;
+import com.phenix.timecode.collection.TimecodeSortedSet;
+import com.phenix.timecode.exceptions.TimecodeRuntimeException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public class TimecodeCollectionTest {
+
+    /**
+     * On test la liste, sur le tas et hors du tas.
+     */
+    @Test
+    public void testListe() {
+        for (boolean hors_tas : new boolean[]{false, true}) {
+            TimecodeList liste = new TimecodeList(Framerate.F25, 4, hors_tas);
+            List<Integer> attendu = new ArrayList<>();
+
+            for (int i = 0; i < 10_000; i++) {
+                liste.add(i * 3);
+                attendu.add(i * 3);
+            }
+            liste.add(new Timecode("10:00:00:00", Framerate.F25));
+            attendu.add(900000);
+            assertEquals(attendu.remove(5), liste.removeAt(5), "Le timecode retiré n'est pas juste.");
+
+            assertEquals(hors_tas, liste.isHorsTas(), "Le stockage n'est pas le bon.");
+            assertArrayEquals(attendu.stream().mapToInt(Integer::intValue).toArray(), liste.toArray(), "La liste n'est pas juste.");
+            assertEquals(attendu.stream().mapToLong(Integer::longValue).sum(), liste.stream().asLongStream().sum(), "Le stream n'est pas juste.");
+            assertEquals("10:00:00:00", liste.getTimecode(liste.size() - 1).toString(), "Le timecode n'est pas juste.");
+            assertThrows(TimecodeRuntimeException.class, () -> liste.add(new Timecode("10:00:00:00", Framerate.F24)));
+        }
+    }
+
+    /**
+     * On compare l'ensemble trié et la table avec {@link TreeSet} et
+     * {@link TreeMap}.
+     */
+    @Test
+    public void testEnsembleTable() {
+        for (boolean hors_tas : new boolean[]{false, true}) {
+            Random aleatoire = new Random(22);
+            TimecodeSortedSet ensemble = new TimecodeSortedSet(Framerate.F2997, 1, hors_tas);
+            TimecodeMap<String> table = new TimecodeMap<>(Framerate.F2997, 1, hors_tas);
+            TreeSet<Integer> ensemble_attendu = new TreeSet<>();
+            TreeMap<Integer, String> table_attendue = new TreeMap<>();
+
+            for (int i = 0; i < 20_000; i++) {
+                int image = aleatoire.nextInt(5000);
+
+                if (aleatoire.nextInt(4) == 0) {
+                    assertEquals(ensemble_attendu.remove(image), ensemble.remove(image), "Le retrait n'est pas juste.");
+                    assertEquals(table_attendue.remove(image), table.remove(image), "Le retrait n'est pas juste.");
+                } else {
+                    assertEquals(ensemble_attendu.add(image), ensemble.add(image), "L'ajout n'est pas juste.");
+                    assertEquals(table_attendue.put(image, "v" + i), table.put(image, "v" + i), "L'ajout n'est pas juste.");
+                }
+            }
+
+            assertEquals(ensemble_attendu.size(), ensemble.size(), "La taille n'est pas juste.");
+            assertArrayEquals(ensemble_attendu.stream().mapToInt(Integer::intValue).toArray(), ensemble.toArray(), "L'ensemble n'est pas juste.");
+            assertEquals(ensemble_attendu.ceiling(2500), ensemble.ceiling(2500), "Le plafond n'est pas juste.");
+            assertEquals(ensemble_attendu.floor(-1) == null ? TimecodeSortedSet.AUCUN : 0, ensemble.floor(-1), "Le plancher n'est pas juste.");
+            assertEquals(ensemble_attendu.first(), ensemble.first(), "Le premier n'est pas juste.");
+
+            PrimitiveIterator.OfInt plage = ensemble.iterator(100, 200);
+            for (int image : ensemble_attendu.subSet(100, 200)) {
+                assertEquals(image, plage.nextInt(), "La plage n'est pas juste.");
+            }
+            assertTrue(!plage.hasNext(), "La plage est trop longue.");
+
+            assertEquals(table_attendue.size(), table.size(), "La taille n'est pas juste.");
+            List<String> valeurs = new ArrayList<>();
+            table.forEach((image, valeur) -> {
+                assertEquals(table_attendue.get(image), valeur, "La valeur n'est pas juste.");
+                valeurs.add(valeur);
+            });
+            assertEquals(new ArrayList<>(table_attendue.values()), valeurs, "L'ordre n'est pas juste.");
+        }
+    }
+}
@@ -0,0 +1,146 @@
+import com.phenix.timecode.Framerate;
+import com.phenix.timecode.Timecode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Lectures concurrentes de timecodes partagés.
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public class TimecodeConcurrenceTest {
+
+    /**
+     * Nombre de threads de lecture.
+     */
+    private static final int NOMBRE_THREAD = 8;
+
+    /**
+     * Nombre de lectures par thread.
+     */
+    private static final int NOMBRE_LECTURE = 200_000;
+
+    /**
+     * Des timecodes construits depuis un nombre d'images sont lus en même
+     * temps par plusieurs threads : chaque lecture doit donner le bon
+     * résultat.
+     *
+     * @throws Exception Erreur d'un thread.
+     */
+    @Test
+    public void testLecturesPartagees() throws Exception {
+        Framerate[] framerates = {Framerate.F25, Framerate.F2997, Framerate.F5994, Framerate.F23976};
+        Timecode[] partages = new Timecode[64];
+        String[] attendus = new String[partages.length];
+
+        for (int i = 0; i < partages.length; i++) {
+            int nombre_image = i * 104_729;
+            Framerate framerate = framerates[i % framerates.length];
+
+            attendus[i] = new Timecode(nombre_image, framerate).toString();
+            partages[i] = new Timecode(nombre_image, framerate);
+        }
+
+        List<Callable<Void>> taches = new ArrayList<>();
+        CountDownLatch depart = new CountDownLatch(1);
+
+        for (int t = 0; t < NOMBRE_THREAD; t++) {
+            int decalage = t;
+            taches.add(() -> {
+                depart.await();
+                for (int n = 0; n < NOMBRE_LECTURE; n++) {
+                    int i = (n + decalage) % partages.length;
+                    assertEquals(attendus[i], partages[i].toString(), "Le timecode n'est pas juste.");
+                    assertEquals(i * 104_729, partages[i].toImage(), "Le nombre d'image n'est pas juste.");
+                }
+                return null;
+            });
+        }
+
+        executer(taches, depart);
+    }
+
+    /**
+     * Un thread modifie un timecode pendant que d'autres le lisent : chaque
+     * lecture doit donner un état complet, jamais un mélange de deux états.
+     *
+     * @throws Exception Erreur d'un thread.
+     */
+    @Test
+    public void testLecturesPendantModification() throws Exception {
+        Timecode partage = new Timecode(0, Framerate.F2997);
+        int ecart = 17_982 + 1_800;
+        String[] attendus = {new Timecode(0, Framerate.F2997).toString(), new Timecode(ecart, Framerate.F2997).toString()};
+
+        AtomicBoolean fin = new AtomicBoolean();
+        CountDownLatch depart = new CountDownLatch(1);
+        List<Callable<Void>> taches = new ArrayList<>();
+
+        taches.add(() -> {
+            depart.await();
+            while (!fin.get()) {
+                partage.addFrame(ecart);
+                partage.addFrame(-ecart);
+            }
+            return null;
+        });
+
+        for (int t = 0; t < NOMBRE_THREAD - 1; t++) {
+            taches.add(() -> {
+                depart.await();
+                StringBuilder sb = new StringBuilder();
+                try {
+                    for (int n = 0; n < NOMBRE_LECTURE; n++) {
+                        sb.setLength(0);
+                        String lu = partage.formatTo(sb).toString();
+                        assertTrue(lu.equals(attendus[0]) || lu.equals(attendus[1]), "Le timecode lu est incohérent : " + lu);
+
+                        int image = partage.toImage();
+                        assertTrue(image == 0 || image == ecart, "Le nombre d'image lu est incohérent : " + image);
+                    }
+                } finally {
+                    fin.set(true);
+                }
+                return null;
+            });
+        }
+
+        executer(taches, depart);
+    }
+
+    /**
+     * Lance les tâches en même temps et attend leur fin.
+     *
+     * @param taches Les tâches.
+     * @param depart Libère les tâches.
+     *
+     * @throws Exception Erreur d'une tâche.
+     */
+    private static void executer(List<Callable<Void>> taches, CountDownLatch depart) throws Exception {
+        ExecutorService executeur = Executors.newFixedThreadPool(taches.size());
+
+        try {
+            List<Future<Void>> resultats = new ArrayList<>();
+            for (Callable<Void> tache : taches) {
+                resultats.add(executeur.submit(tache));
+            }
+
+            depart.countDown();
+
+            for (Future<Void> resultat : resultats) {
+                resultat.get();
+            }
+        } finally {
+            executeur.shutdownNow();
+        }
+    }
+}
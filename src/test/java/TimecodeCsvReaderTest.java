@@ -0,0 +1,134 @@
+import com.phenix.timecode.DropFrame;
+import com.phenix.timecode.Framerate;
+import com.phenix.timecode.TimecodeFormatter;
+import com.phenix.timecode.exceptions.TimecodeRuntimeException;
+import com.phenix.timecode.io.LigneTimecode;
+import com.phenix.timecode.io.TimecodeCollectors;
+import com.phenix.timecode.io.TimecodeCsvReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public class TimecodeCsvReaderTest {
+
+    /**
+     * Dossier temporaire des fichiers de test.
+     */
+    @TempDir
+    Path dossier;
+
+    /**
+     * On test un petit fichier : en-tête, guillemets, lignes vides et
+     * timecodes invalides.
+     *
+     * @throws IOException Erreur d'écriture du fichier.
+     */
+    @Test
+    public void testPetitFichier() throws IOException {
+        Path fichier = this.dossier.resolve("rapport.csv");
+        Files.writeString(fichier, "id,entree,sortie\n1,01:00:00;00,01:00:01;00\r\n\n2,\"00:59:59;29\",01:00:00;00\n3,00:61:00;00\n", StandardCharsets.UTF_8);
+
+        try (Stream<LigneTimecode> lignes = TimecodeCsvReader.lignes(fichier, Framerate.F2997, ',', true, 1, 2)) {
+            List<LigneTimecode> liste = lignes.collect(Collectors.toList());
+
+            assertEquals(3, liste.size(), "Le nombre de lignes n'est pas juste.");
+            assertEquals(107892, liste.get(0).getImage(0), "Le nombre d'image n'est pas juste.");
+            assertEquals(30, liste.get(0).getDuree(0, 1), "La durée n'est pas juste.");
+            assertEquals("1,01:00:00;00,01:00:01;00", liste.get(0).getTexte(), "Le texte n'est pas juste.");
+            assertEquals("00:59:59;29", liste.get(1).getTimecode(0).toString(), "Le timecode n'est pas juste.");
+            assertEquals(1, liste.get(1).getDuree(0, 1), "La durée n'est pas juste.");
+            assertThrows(TimecodeRuntimeException.class, () -> liste.get(2).getDuree(0, 1));
+            assertFalse(liste.get(2).isValide(0), "Le timecode ne devrait pas être valide.");
+            assertFalse(liste.get(2).isValide(1), "La colonne manquante ne devrait pas être valide.");
+        }
+
+        // Une sortie une image avant l'entrée, et une image sautée en drop-frame.
+        Files.writeString(fichier, "1,01:00:00;02,01:00:00;01\n2,00:01:00;00,00:01:00;02\n", StandardCharsets.UTF_8);
+
+        try (Stream<LigneTimecode> lignes = TimecodeCsvReader.lignes(fichier, Framerate.F2997, ',', false, 1, 2)) {
+            List<LigneTimecode> liste = lignes.collect(Collectors.toList());
+
+            assertEquals(-1, liste.get(0).getDuree(0, 1), "La durée n'est pas juste.");
+            assertFalse(liste.get(1).isValide(0), "L'image sautée ne devrait pas être valide.");
+            assertEquals(1800, liste.get(1).getImage(1), "Le nombre d'image n'est pas juste.");
+        }
+    }
+
+    /**
+     * On compare la lecture parallèle d'un gros fichier (plusieurs morceaux)
+     * avec les valeurs attendues.
+     *
+     * @throws IOException Erreur d'écriture du fichier.
+     */
+    @Test
+    public void testParallele() throws IOException {
+        Path fichier = this.dossier.resolve("as-run.tsv");
+        int nombre = 400_000;
+        long somme = 0;
+        int[] par_heure = new int[24];
+
+        try (BufferedWriter sortie = Files.newBufferedWriter(fichier, StandardCharsets.US_ASCII)) {
+            sortie.write("evenement\tentree\tsortie\n");
+            for (int i = 0; i < nombre; i++) {
+                long entree = i * 5L;
+                long sortie_image = entree + (i % 100) + 1;
+                somme += sortie_image - entree;
+                par_heure[(int) (entree / Framerate.F25.getImageParHeure())]++;
+
+                sortie.write("evenement numero " + i + "\t");
+                sortie.write(TimecodeFormatter.format(DropFrame.toLabel(entree, Framerate.F25), new StringBuilder()).toString());
+                sortie.write('\t');
+                sortie.write(TimecodeFormatter.format(DropFrame.toLabel(sortie_image, Framerate.F25), new StringBuilder()).toString());
+                sortie.write('\n');
+            }
+        }
+
+        try (Stream<LigneTimecode> lignes = TimecodeCsvReader.lignes(fichier, Framerate.F25, '\t', true, 1, 2)) {
+            IntSummaryStatistics durees = lignes.parallel().collect(TimecodeCollectors.duree(0, 1));
+
+            assertEquals(nombre, durees.getCount(), "Le nombre de lignes n'est pas juste.");
+            assertEquals(somme, durees.getSum(), "La somme des durées n'est pas juste.");
+            assertEquals(1, durees.getMin(), "La durée minimale n'est pas juste.");
+            assertEquals(100, durees.getMax(), "La durée maximale n'est pas juste.");
+        }
+
+        try (Stream<LigneTimecode> lignes = TimecodeCsvReader.lignes(fichier, Framerate.F25, '\t', true, 1, 2)) {
+            SortedMap<Integer, Long> heures = lignes.parallel().collect(TimecodeCollectors.regrouper(0, Framerate.F25.getImageParHeure(), Collectors.counting()));
+
+            for (Map.Entry<Integer, Long> heure : heures.entrySet()) {
+                assertEquals(par_heure[heure.getKey()], heure.getValue().intValue(), "Le nombre de lignes de l'heure n'est pas juste.");
+            }
+        }
+
+        try (Stream<LigneTimecode> lignes = TimecodeCsvReader.lignes(fichier, Framerate.F25, '\t', true, 1, 2)) {
+            List<LigneTimecode> liste = lignes.parallel().collect(Collectors.toList());
+
+            // L'ordre des lignes est gardé.
+            for (int i = 0; i < nombre; i += 997) {
+                assertEquals(i * 5, liste.get(i).getImage(0), "L'ordre des lignes n'est pas juste.");
+            }
+            assertEquals((nombre - 1) * 5, liste.get(nombre - 1).getImage(0), "La dernière ligne n'est pas juste.");
+        }
+
+        try (Stream<LigneTimecode> lignes = TimecodeCsvReader.lignes(fichier, Framerate.F25, '\t', true, 1)) {
+            assertEquals(0, lignes.collect(TimecodeCollectors.min(0)).getAsInt(), "Le minimum n'est pas juste.");
+        }
+    }
+}
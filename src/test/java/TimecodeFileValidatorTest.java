@@ -0,0 +1,75 @@
+import com.phenix.timecode.Framerate;
+import com.phenix.timecode.Timecode;
+import com.phenix.timecode.TimecodeErreur;
+import com.phenix.timecode.TimecodeParser;
+import com.phenix.timecode.io.RapportValidation;
+import com.phenix.timecode.io.TimecodeFileValidator;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public class TimecodeFileValidatorTest {
+
+    /**
+     * Dossier temporaire des fichiers de test.
+     */
+    @TempDir
+    Path dossier;
+
+    /**
+     * On test la raison de chaque erreur.
+     */
+    @Test
+    public void testValider() {
+        assertNull(TimecodeParser.valider("01:02:03:24", Framerate.F25), "Le timecode devrait être valide.");
+        assertEquals(TimecodeErreur.LONGUEUR, TimecodeParser.valider("01:02:03", Framerate.F25), "L'erreur n'est pas juste.");
+        assertEquals(TimecodeErreur.SEPARATEUR, TimecodeParser.valider("01-02:03:04", Framerate.F25), "L'erreur n'est pas juste.");
+        assertEquals(TimecodeErreur.CHIFFRE, TimecodeParser.valider("01:0a:03:04", Framerate.F25), "L'erreur n'est pas juste.");
+        assertEquals(TimecodeErreur.HEURE, TimecodeParser.valider("25:00:00:00", Framerate.F25), "L'erreur n'est pas juste.");
+        assertEquals(TimecodeErreur.MINUTE, TimecodeParser.valider("00:60:00:00", Framerate.F25), "L'erreur n'est pas juste.");
+        assertEquals(TimecodeErreur.SECONDE, TimecodeParser.valider("00:00:60:00", Framerate.F25), "L'erreur n'est pas juste.");
+        assertEquals(TimecodeErreur.IMAGE, TimecodeParser.valider("00:00:00:25", Framerate.F25), "L'erreur n'est pas juste.");
+
+        assertFalse(Timecode.validation("+1", Framerate.F25), "Le timecode ne devrait pas être valide.");
+        assertTrue(Timecode.validation("00:00:00:24", Framerate.F25), "Le timecode devrait être valide.");
+    }
+
+    /**
+     * On test un fichier avec des lignes en erreur.
+     *
+     * @throws IOException Erreur d'écriture du fichier.
+     */
+    @Test
+    public void testFichier() throws IOException {
+        Path fichier = this.dossier.resolve("timecodes.txt");
+        Files.writeString(fichier, "00:00:00:00\n01:02:03:04\r\n00:00:00:25\n\n00:61:00:00\n23:59:59:24\n", StandardCharsets.US_ASCII);
+
+        RapportValidation rapport = TimecodeFileValidator.valider(fichier, Framerate.F25);
+
+        assertEquals(6, rapport.getNombreLigne(), "Le nombre de ligne n'est pas juste.");
+        assertEquals(3, rapport.getNombreErreur(), "Le nombre d'erreur n'est pas juste.");
+        assertEquals(3, rapport.getLigne(0), "La ligne n'est pas juste.");
+        assertEquals(TimecodeErreur.IMAGE, rapport.getErreur(0), "L'erreur n'est pas juste.");
+        assertEquals(4, rapport.getLigne(1), "La ligne n'est pas juste.");
+        assertEquals(TimecodeErreur.LONGUEUR, rapport.getErreur(1), "L'erreur n'est pas juste.");
+        assertEquals(5, rapport.getLigne(2), "La ligne n'est pas juste.");
+        assertEquals(1, rapport.getNombreErreur(TimecodeErreur.MINUTE), "Le nombre d'erreur n'est pas juste.");
+
+        Files.writeString(fichier, "00:00:00:00\n00:00:01:00", StandardCharsets.US_ASCII);
+        rapport = TimecodeFileValidator.valider(fichier, Framerate.F25);
+
+        assertTrue(rapport.isValide(), "Le fichier devrait être valide.");
+        assertEquals(2, rapport.getNombreLigne(), "Le nombre de ligne n'est pas juste.");
+    }
+}
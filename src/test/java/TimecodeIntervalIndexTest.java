@@ -0,0 +1,58 @@
+import com.phenix.timecode.Framerate;
+import com.phenix.timecode.IntervalTimecode;
+import com.phenix.timecode.Timecode;
+import com.phenix.timecode.TimecodeIntervalIndex;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public class TimecodeIntervalIndexTest {
+
+    /**
+     * On compare l'index à un parcours de tous les intervals.
+     */
+    @Test
+    public void testRecherche() {
+        Random random = new Random(42);
+        List<IntervalTimecode> intervals = new ArrayList<>();
+
+        for (int i = 0; i < 2000; i++) {
+            int debut = random.nextInt(100_000);
+            intervals.add(new IntervalTimecode(new Timecode(debut, Framerate.F25), new Timecode(debut + random.nextInt(2000), Framerate.F25)));
+        }
+
+        TimecodeIntervalIndex index = new TimecodeIntervalIndex(intervals);
+        assertEquals(intervals.size(), index.size(), "Le nombre d'intervals n'est pas juste.");
+
+        for (int image = 0; image < 102_000; image += 97) {
+            Timecode tc = new Timecode(image, Framerate.F25);
+            long attendu = intervals.stream().filter(interval -> interval.dedans(tc)).count();
+
+            assertEquals(attendu, index.compter(image), "Le nombre d'intervals n'est pas juste pour l'image " + image + ".");
+            assertEquals(attendu, index.contenant(tc).size(), "Le nombre d'intervals n'est pas juste pour l'image " + image + ".");
+        }
+
+        IntervalTimecode plage = new IntervalTimecode("00:10:00:00", "00:11:00:00", Framerate.F25);
+        int in = plage.getTimecodeIn().toImage();
+        int out = plage.getTimecodeOut().toImage();
+        long attendu = intervals.stream().filter(interval -> interval.getTimecodeIn().toImage() <= out && interval.getTimecodeOut().toImage() >= in).count();
+        assertEquals(attendu, index.chevauchant(plage).size(), "Le nombre d'intervals qui chevauchent n'est pas juste.");
+
+        int[] requetes = {0, 50_000, 99_999};
+        int[] compteurs = new int[requetes.length];
+        index.contenant(requetes, (requete, interval) -> {
+            assertTrue(intervals.get(interval).dedans(new Timecode(requetes[requete], Framerate.F25)), "L'interval ne contient pas l'image.");
+            compteurs[requete]++;
+        });
+        for (int i = 0; i < requetes.length; i++) {
+            assertEquals(index.compter(requetes[i]), compteurs[i], "Le nombre d'intervals n'est pas juste.");
+        }
+    }
+}
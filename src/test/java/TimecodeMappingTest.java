@@ -0,0 +1,160 @@
+import com.phenix.timecode.Framerate;
+import com.phenix.timecode.IntervalTimecode;
+import com.phenix.timecode.Timecode;
+import com.phenix.timecode.TimecodeMapping;
+import com.phenix.timecode.exceptions.TimecodeRuntimeException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public class TimecodeMappingTest {
+
+    /**
+     * Trois plans : le troisième réutilise la source du premier.
+     *
+     * @return La correspondance.
+     */
+    private static TimecodeMapping montage() {
+        return new TimecodeMapping(
+                List.of(
+                        new IntervalTimecode("10:00:00:00", "10:00:03:24", Framerate.F25),
+                        new IntervalTimecode("10:00:10:00", "10:00:10:24", Framerate.F25),
+                        new IntervalTimecode("10:00:04:00", "10:00:05:24", Framerate.F25)),
+                List.of(
+                        new IntervalTimecode("01:00:00:00", "01:00:03:24", Framerate.F25),
+                        new IntervalTimecode("00:00:00;00", "00:00:00;24", Framerate.F2997),
+                        new IntervalTimecode("01:00:02:00", "01:00:03:24", Framerate.F25)));
+    }
+
+    /**
+     * On test les recherches une par une.
+     */
+    @Test
+    public void testRecherche() {
+        TimecodeMapping mapping = montage();
+
+        assertEquals("01:00:01:00", mapping.toSource(new Timecode("10:00:01:00", Framerate.F25)).toString(), "Le timecode n'est pas juste.");
+        assertEquals("01:00:02:10", mapping.toSource(new Timecode("10:00:04:10", Framerate.F25)).toString(), "Le timecode n'est pas juste.");
+        assertEquals("00:00:00;10", mapping.toSource(new Timecode("10:00:10:10", Framerate.F25)).toString(), "Le timecode n'est pas juste.");
+        assertNull(mapping.toSource(new Timecode("10:00:06:00", Framerate.F25)), "Le timecode devrait être hors des segments.");
+
+        // La source 01:00:02:10 est utilisée deux fois : le premier passage gagne.
+        assertEquals("10:00:02:10", mapping.toRecord(new Timecode("01:00:02:10", Framerate.F25)).toString(), "Le timecode n'est pas juste.");
+        assertEquals(TimecodeMapping.AUCUNE, mapping.toRecord(new Timecode("02:00:00:00", Framerate.F25).toImage()), "L'image devrait être hors des segments.");
+    }
+
+    /**
+     * On test les segments incohérents.
+     */
+    @Test
+    public void testSegmentsIncoherents() {
+        // Framerate d'enregistrement différent d'un segment à l'autre.
+        assertThrows(TimecodeRuntimeException.class, () -> new TimecodeMapping(
+                List.of(
+                        new IntervalTimecode("10:00:00:00", "10:00:00:24", Framerate.F25),
+                        new IntervalTimecode("10:00:01:00", "10:00:01:23", Framerate.F24)),
+                List.of(
+                        new IntervalTimecode("01:00:00:00", "01:00:00:24", Framerate.F25),
+                        new IntervalTimecode("01:00:00:00", "01:00:00:23", Framerate.F24))));
+
+        // Source plus longue que l'enregistrement.
+        assertThrows(TimecodeRuntimeException.class, () -> new TimecodeMapping(
+                List.of(new IntervalTimecode("10:00:00:00", "10:00:00:24", Framerate.F25)),
+                List.of(new IntervalTimecode("01:00:00:00", "01:00:01:24", Framerate.F25))));
+    }
+
+    /**
+     * On test les conversions en lot avec les recherches une par une.
+     */
+    @Test
+    public void testLot() {
+        TimecodeMapping mapping = montage();
+        int debut = new Timecode("10:00:00:00", Framerate.F25).toImage();
+
+        int[] records = new int[300];
+        for (int i = 0; i < records.length; i++) {
+            records[i] = debut + i;
+        }
+
+        int[] sources = new int[records.length];
+        mapping.toSource(records, 0, sources, 0, records.length);
+        for (int i = 0; i < records.length; i++) {
+            assertEquals(mapping.toSource(records[i]), sources[i], "L'image source n'est pas juste.");
+        }
+
+        int[] tri = sources.clone();
+        Arrays.sort(tri);
+        int[] retour = new int[tri.length];
+        mapping.toRecord(tri, 0, retour, 0, tri.length);
+        for (int i = 0; i < tri.length; i++) {
+            assertEquals(mapping.toRecord(tri[i]), retour[i], "L'image d'enregistrement n'est pas juste.");
+        }
+
+        assertEquals(TimecodeMapping.AUCUNE, mapping.toSource(0), "L'image devrait être hors des segments.");
+        assertThrows(TimecodeRuntimeException.class, () -> mapping.toSource(new int[]{5, 4}, 0, new int[2], 0, 2));
+    }
+
+    /**
+     * On test le filtre sur le framerate de la source.
+     */
+    @Test
+    public void testFramerateSource() {
+        TimecodeMapping mapping = montage();
+        int record = new Timecode("10:00:10:10", Framerate.F25).toImage();
+
+        // L'image 10 n'existe que dans la source en 29,97.
+        assertEquals(record, mapping.toRecord(10), "L'image d'enregistrement n'est pas juste.");
+        assertEquals("10:00:10:10", mapping.toRecord(new Timecode(10, Framerate.F2997)).toString(), "Le timecode n'est pas juste.");
+        assertNull(mapping.toRecord(new Timecode(10, Framerate.F25)), "Le timecode devrait être hors des segments de même framerate.");
+    }
+
+    /**
+     * On test la recherche dans la source contre un parcours complet, avec un
+     * premier segment dont la source couvre toutes les autres.
+     */
+    @Test
+    public void testRechercheSource() {
+        Random aleatoire = new Random(16);
+        List<IntervalTimecode> records = new ArrayList<>();
+        List<IntervalTimecode> sources = new ArrayList<>();
+        int[][] segments = new int[500][];
+
+        int record = 0;
+        for (int i = 0; i < segments.length; i++) {
+            int duree = (i == 0) ? 100_000 : 1 + aleatoire.nextInt(200);
+            int source = (i == 0) ? 0 : aleatoire.nextInt(100_000);
+
+            records.add(new IntervalTimecode(new Timecode(record, Framerate.F25), new Timecode(record + duree - 1, Framerate.F25)));
+            sources.add(new IntervalTimecode(new Timecode(source, Framerate.F25), new Timecode(source + duree - 1, Framerate.F25)));
+            segments[i] = new int[]{record, source, duree};
+            record += duree;
+        }
+
+        TimecodeMapping mapping = new TimecodeMapping(records, sources);
+
+        for (int n = 0; n < 2000; n++) {
+            int source = aleatoire.nextInt(110_000);
+            int attendu = TimecodeMapping.AUCUNE;
+
+            for (int[] segment : segments) {
+                if (source >= segment[1] && source < segment[1] + segment[2]) {
+                    int candidat = segment[0] + source - segment[1];
+                    if (attendu == TimecodeMapping.AUCUNE || candidat < attendu) {
+                        attendu = candidat;
+                    }
+                }
+            }
+
+            assertEquals(attendu, mapping.toRecord(source), "L'image d'enregistrement n'est pas juste : " + source);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+import com.phenix.timecode.Framerate;
+import com.phenix.timecode.Timecode;
+import com.phenix.timecode.TimecodeCache;
+import com.phenix.timecode.exceptions.TimecodeException;
+import com.phenix.timecode.exceptions.TimecodeRuntimeException;
+import com.phenix.timecode.metrics.TimecodeMetrics;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public class TimecodeMetricsTest {
+
+    /**
+     * Part de compteurs à zéro.
+     */
+    @BeforeEach
+    public void initialiser() {
+        TimecodeMetrics.reinitialiser();
+    }
+
+    /**
+     * Laisse les mesures désactivées pour les autres tests.
+     */
+    @AfterEach
+    public void terminer() {
+        TimecodeMetrics.desactiver();
+        TimecodeMetrics.desenregistrerMBean();
+    }
+
+    /**
+     * On test que rien n'est compté quand les mesures sont désactivées.
+     */
+    @Test
+    public void testDesactive() {
+        assertFalse(TimecodeMetrics.isActif(), "Les mesures devraient être désactivées par défaut.");
+
+        new Timecode("01:00:00:00", Framerate.F25).toString();
+        Timecode.validation("01:00:00:99", Framerate.F25);
+
+        assertEquals(0, TimecodeMetrics.getAnalyses(), "Le nombre d'analyses n'est pas juste.");
+        assertEquals(0, TimecodeMetrics.getFormatages(), "Le nombre de formatages n'est pas juste.");
+        assertEquals(0, TimecodeMetrics.getValidations(), "Le nombre de validations n'est pas juste.");
+    }
+
+    /**
+     * On test les compteurs.
+     */
+    @Test
+    public void testCompteurs() throws TimecodeException {
+        TimecodeMetrics.activer();
+
+        Timecode tc = new Timecode("01:00:00:00", Framerate.F25);
+        assertThrows(TimecodeRuntimeException.class, () -> new Timecode("01:00:00", Framerate.F25));
+        assertEquals(2, TimecodeMetrics.getAnalyses(), "Le nombre d'analyses n'est pas juste.");
+        assertEquals(1, TimecodeMetrics.getEchecsAnalyse(), "Le nombre d'échecs d'analyse n'est pas juste.");
+
+        tc.toString();
+        tc.formatTo(new char[11], 0);
+        assertEquals(2, TimecodeMetrics.getFormatages(), "Le nombre de formatages n'est pas juste.");
+
+        assertTrue(Timecode.validation("01:00:00:24", Framerate.F25));
+        assertFalse(Timecode.validation("01:00:00:25", Framerate.F25));
+        assertEquals(2, TimecodeMetrics.getValidations(), "Le nombre de validations n'est pas juste.");
+        assertEquals(1, TimecodeMetrics.getEchecsValidation(), "Le nombre d'échecs de validation n'est pas juste.");
+
+        tc.setStartTimecode("00:00:00:00");
+        tc.changeFramerate(Framerate.F24);
+        tc.changeFramerate(Framerate.F24);
+        tc.changeFramerate(31D);
+        assertEquals(2, TimecodeMetrics.getConversions(Framerate.F24), "Le nombre de conversions n'est pas juste.");
+        assertEquals(1, TimecodeMetrics.getConversions(null), "Le nombre de conversions n'est pas juste.");
+        assertEquals(0, TimecodeMetrics.getConversions(Framerate.F25), "Le nombre de conversions n'est pas juste.");
+        assertEquals(2, TimecodeMetrics.getConversions().get("F24"), "Le nombre de conversions n'est pas juste.");
+
+        TimecodeCache cache = new TimecodeCache(16);
+        cache.get("01:00:00:00", Framerate.F25);
+        cache.get("01:00:00:00", Framerate.F25);
+        cache.get("01:00:00:00", Framerate.F25);
+        assertEquals(2, TimecodeMetrics.getCacheTrouves(), "Le nombre de succès du cache n'est pas juste.");
+        assertEquals(1, TimecodeMetrics.getCacheAbsents(), "Le nombre d'échecs du cache n'est pas juste.");
+
+        TimecodeMetrics.reinitialiser();
+        assertEquals(0, TimecodeMetrics.getAnalyses(), "Le nombre d'analyses n'est pas juste.");
+        assertTrue(TimecodeMetrics.getConversions().isEmpty(), "Il ne devrait plus y avoir de conversion.");
+    }
+
+    /**
+     * On test la lecture des compteurs par JMX.
+     */
+    @Test
+    public void testMBean() throws Exception {
+        TimecodeMetrics.enregistrerMBean();
+        // Un second enregistrement ne fait rien.
+        TimecodeMetrics.enregistrerMBean();
+
+        MBeanServer serveur = ManagementFactory.getPlatformMBeanServer();
+        ObjectName nom = new ObjectName(TimecodeMetrics.NOM_MBEAN);
+
+        serveur.setAttribute(nom, new javax.management.Attribute("Actif", true));
+        assertTrue(TimecodeMetrics.isActif(), "Les mesures devraient être activées.");
+
+        Timecode.validation("01:00:00:25", Framerate.F25);
+        assertEquals(1L, serveur.getAttribute(nom, "Validations"), "Le nombre de validations n'est pas juste.");
+        assertEquals(1L, serveur.getAttribute(nom, "EchecsValidation"), "Le nombre d'échecs de validation n'est pas juste.");
+
+        serveur.invoke(nom, "reinitialiser", null, null);
+        assertEquals(0L, serveur.getAttribute(nom, "Validations"), "Le nombre de validations n'est pas juste.");
+
+        TimecodeMetrics.desenregistrerMBean();
+        assertFalse(serveur.isRegistered(nom), "Les mesures ne devraient plus être enregistrées.");
+    }
+
+    /**
+     * On test les évènements JFR.
+     */
+    @Test
+    public void testEvenements() throws Exception {
+        TimecodeMetrics.activer();
+
+        Path fichier = Files.createTempFile("timecode", ".jfr");
+
+        try (Recording enregistrement = new Recording()) {
+            enregistrement.enable("com.phenix.timecode.Analyse");
+            enregistrement.enable("com.phenix.timecode.Validation");
+            enregistrement.enable("com.phenix.timecode.Conversion");
+            enregistrement.start();
+
+            Timecode tc = new Timecode("01:00:00;00", Framerate.F2997);
+            tc.setStartTimecode("00:00:00;00");
+            tc.changeFramerate(Framerate.F25);
+            Timecode.validation("01:00:00:25", Framerate.F25);
+
+            enregistrement.stop();
+            enregistrement.dump(fichier);
+
+            List<RecordedEvent> evenements = RecordingFile.readAllEvents(fichier);
+
+            RecordedEvent analyse = evenements.stream().filter(e -> e.getEventType().getName().equals("com.phenix.timecode.Analyse")).findFirst().orElseThrow();
+            assertEquals("F2997", analyse.getString("framerate"), "Le framerate n'est pas juste.");
+            assertTrue(analyse.getBoolean("succes"), "L'analyse devrait avoir réussi.");
+            assertFalse(analyse.getDuration().isNegative(), "La durée n'est pas juste.");
+            assertTrue(analyse.getEndTime().compareTo(analyse.getStartTime()) >= 0, "La fin devrait suivre le début.");
+            assertFalse(analyse.hasField("duree"), "La durée devrait être celle de JFR.");
+
+            RecordedEvent validation = evenements.stream().filter(e -> e.getEventType().getName().equals("com.phenix.timecode.Validation")).findFirst().orElseThrow();
+            assertEquals("IMAGE", validation.getString("erreur"), "L'erreur n'est pas juste.");
+
+            // La source garde son drop-frame, même vers un framerate qui n'en a pas.
+            RecordedEvent conversion = evenements.stream().filter(e -> e.getEventType().getName().equals("com.phenix.timecode.Conversion")).findFirst().orElseThrow();
+            assertEquals("F2997", conversion.getString("source"), "Le framerate source n'est pas juste.");
+            assertEquals("F25", conversion.getString("cible"), "Le framerate cible n'est pas juste.");
+        } finally {
+            Files.deleteIfExists(fichier);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+import com.phenix.timecode.Framerate;
+import com.phenix.timecode.PackedTimecode;
+import com.phenix.timecode.Timecode;
+import com.phenix.timecode.TimecodeErreur;
+import com.phenix.timecode.TimecodeParseResult;
+import com.phenix.timecode.TimecodeParser;
+import com.phenix.timecode.exceptions.TimecodeRuntimeException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public class TimecodeParserTest {
+
+    /**
+     * On test des timecodes correctement formatés.
+     */
+    @Test
+    public void testParseBon() {
+        long label = TimecodeParser.parse("01:02:03:04");
+        assertFalse(TimecodeParser.isErreur(label), "Le timecode doit être valide.");
+        assertEquals(1, TimecodeParser.heure(label), "L'heure n'est pas juste.");
+        assertEquals(2, TimecodeParser.minute(label), "La minute n'est pas juste.");
+        assertEquals(3, TimecodeParser.seconde(label), "La seconde n'est pas juste.");
+        assertEquals(4, TimecodeParser.image(label), "L'image n'est pas juste.");
+        assertFalse(TimecodeParser.isDropFrame(label), "Cela ne doit pas être drop-frame.");
+
+        label = TimecodeParser.parse("00:01:00;02");
+        assertTrue(TimecodeParser.isDropFrame(label), "Cela doit être drop-frame.");
+        assertEquals(1, TimecodeParser.minute(label), "La minute n'est pas juste.");
+        assertEquals(2, TimecodeParser.image(label), "L'image n'est pas juste.");
+
+        label = TimecodeParser.parse("100:0:5:119");
+        assertEquals(100, TimecodeParser.heure(label), "L'heure n'est pas juste.");
+        assertEquals(5, TimecodeParser.seconde(label), "La seconde n'est pas juste.");
+        assertEquals(119, TimecodeParser.image(label), "L'image n'est pas juste.");
+
+        assertEquals(TimecodeParser.pack(10, 20, 30, 12, false), TimecodeParser.parse("xx10:20:30:12yy", 2, 13), "Le label n'est pas juste.");
+
+        byte[] ascii = "12:34:56;07\n".getBytes(StandardCharsets.US_ASCII);
+        assertEquals(TimecodeParser.pack(12, 34, 56, 7, true), TimecodeParser.parse(ascii, 0, 11), "Le label n'est pas juste.");
+    }
+
+    /**
+     * On test des timecodes mal formatés.
+     */
+    @Test
+    public void testParseMauvais() {
+        String[] mauvais = {"", "null", "00:00:00", "00:00:00:00:00", "00:00:00:", ":00:00:00", "00::00:00", "00:000:00:00", "00:00:00:00 ", "-1:00:00:00", "00.00.00.00"};
+
+        for (String tc : mauvais) {
+            assertEquals(TimecodeParser.ERREUR, TimecodeParser.parse(tc), "Le timecode ne doit pas être valide : " + tc);
+        }
+    }
+
+    /**
+     * On test l'analyse sans exception.
+     */
+    @Test
+    public void testAnalyser() {
+        assertEquals(90000, TimecodeParser.analyser("01:00:00:00", Framerate.F25), "Le nombre d'image n'est pas juste.");
+        assertEquals(new Timecode("01:00:00;00", Framerate.F2997).toImage(), TimecodeParser.analyser("01:00:00;00", Framerate.F2997), "Le nombre d'image n'est pas juste.");
+        assertEquals(1800, TimecodeParser.analyser("00:01:00;02", Framerate.F2997), "Le nombre d'image n'est pas juste.");
+        assertEquals(1800, TimecodeParser.analyser("x00:01:00;02", 1, 12, Framerate.F2997), "Le nombre d'image n'est pas juste.");
+
+        assertEquals(TimecodeErreur.LONGUEUR, TimecodeParser.erreur(TimecodeParser.analyser("1:00:00:00", Framerate.F25)), "L'erreur n'est pas juste.");
+        assertEquals(TimecodeErreur.SEPARATEUR, TimecodeParser.erreur(TimecodeParser.analyser("01.00:00:00", Framerate.F25)), "L'erreur n'est pas juste.");
+        assertEquals(TimecodeErreur.CHIFFRE, TimecodeParser.erreur(TimecodeParser.analyser("01:0a:00:00", Framerate.F25)), "L'erreur n'est pas juste.");
+        assertEquals(TimecodeErreur.HEURE, TimecodeParser.erreur(TimecodeParser.analyser("25:00:00:00", Framerate.F25)), "L'erreur n'est pas juste.");
+        assertEquals(TimecodeErreur.MINUTE, TimecodeParser.erreur(TimecodeParser.analyser("01:60:00:00", Framerate.F25)), "L'erreur n'est pas juste.");
+        assertEquals(TimecodeErreur.SECONDE, TimecodeParser.erreur(TimecodeParser.analyser("01:00:60:00", Framerate.F25)), "L'erreur n'est pas juste.");
+        assertEquals(TimecodeErreur.IMAGE, TimecodeParser.erreur(TimecodeParser.analyser("01:00:00:25", Framerate.F25)), "L'erreur n'est pas juste.");
+        assertEquals(TimecodeErreur.IMAGE_SAUTEE, TimecodeParser.erreur(TimecodeParser.analyser("00:01:00;01", Framerate.F2997)), "L'erreur n'est pas juste.");
+        assertEquals(TimecodeErreur.IMAGE_SAUTEE, TimecodeParser.erreur(TimecodeParser.analyser("00:01:00;03", Framerate.F5994)), "L'erreur n'est pas juste.");
+        assertNull(TimecodeParser.erreur(TimecodeParser.analyser("00:10:00;00", Framerate.F2997)), "Le timecode doit être valide.");
+        assertNull(TimecodeParser.erreur(TimecodeParser.analyser("00:01:00:00", Framerate.F2997ND)), "Le timecode doit être valide.");
+
+        byte[] ascii = "xx01:00:00:24".getBytes(StandardCharsets.US_ASCII);
+        assertEquals(90024, TimecodeParser.analyser(ascii, 2, 11, Framerate.F25), "Le nombre d'image n'est pas juste.");
+        assertEquals(90024, TimecodeParser.analyser(ByteBuffer.wrap(ascii), 2, 11, Framerate.F25), "Le nombre d'image n'est pas juste.");
+        assertEquals(TimecodeParser.code(TimecodeErreur.LONGUEUR), TimecodeParser.analyser(ascii, 0, 13, Framerate.F25), "Le code n'est pas juste.");
+    }
+
+    /**
+     * On test le résultat réutilisable.
+     */
+    @Test
+    public void testParseResult() {
+        TimecodeParseResult resultat = new TimecodeParseResult();
+        assertFalse(resultat.isValide(), "Le résultat doit être invalide avant la première analyse.");
+
+        assertTrue(resultat.analyser("01:00:00;00", Framerate.F2997), "Le timecode doit être valide.");
+        assertEquals(107892, resultat.getNombreImage(), "Le nombre d'image n'est pas juste.");
+        assertEquals("01:00:00;00", resultat.toString(), "Le timecode n'est pas juste.");
+        assertEquals(new Timecode("01:00:00;00", Framerate.F2997), resultat.toTimecode(), "Le timecode n'est pas juste.");
+        assertEquals(PackedTimecode.of(107892, Framerate.F2997), resultat.toPackedTimecode(), "Le timecode n'est pas juste.");
+        assertNull(resultat.getErreur(), "Il ne doit pas y avoir d'erreur.");
+
+        assertFalse(resultat.analyser("01:00:00:30", Framerate.F2997), "Le timecode ne doit pas être valide.");
+        assertEquals(TimecodeErreur.IMAGE, resultat.getErreur(), "L'erreur n'est pas juste.");
+        assertEquals("IMAGE", resultat.toString(), "Le texte n'est pas juste.");
+        assertThrows(TimecodeRuntimeException.class, resultat::getNombreImage);
+
+        assertTrue(resultat.analyser("00:00:01:00".getBytes(StandardCharsets.US_ASCII), 0, 11, Framerate.F24), "Le timecode doit être valide.");
+        assertEquals(24, resultat.getNombreImage(), "Le nombre d'image n'est pas juste.");
+        assertEquals(Framerate.F24, resultat.getFramerate(), "Le framerate n'est pas juste.");
+    }
+}
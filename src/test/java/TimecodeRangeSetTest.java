@@ -0,0 +1,128 @@
+import com.phenix.timecode.Framerate;
+import com.phenix.timecode.IntervalTimecode;
+import com.phenix.timecode.TimecodeRangeSet;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public class TimecodeRangeSetTest {
+
+    /**
+     * On test les opérations sur des plages connues.
+     */
+    @Test
+    public void testOperations() {
+        TimecodeRangeSet plans = TimecodeRangeSet.of(new int[]{50, 0, 20}, new int[]{75, 25, 30}, 3);
+        assertEquals("[0, 30) [50, 75)", plans.toString(), "Les plages ne sont pas justes.");
+        assertEquals(55, plans.duree(), "La durée n'est pas juste.");
+
+        plans.add(30, 50);
+        assertEquals("[0, 75)", plans.toString(), "Les plages ne sont pas justes.");
+
+        plans.remove(10, 20);
+        assertEquals("[0, 10) [20, 75)", plans.toString(), "Les plages ne sont pas justes.");
+        assertTrue(plans.contains(20), "L'image devrait être dans l'ensemble.");
+        assertFalse(plans.contains(10), "L'image ne devrait pas être dans l'ensemble.");
+
+        TimecodeRangeSet pub = TimecodeRangeSet.of(new int[]{5, 70}, new int[]{25, 100}, 2);
+        assertEquals("[5, 10) [20, 25) [70, 75)", plans.intersect(pub).toString(), "L'intersection n'est pas juste.");
+        assertEquals("[0, 100)", plans.union(pub).toString(), "L'union n'est pas juste.");
+        assertEquals("[0, 5) [25, 70)", plans.difference(pub).toString(), "La différence n'est pas juste.");
+        assertEquals("[10, 20) [75, 90)", plans.complement(0, 90).toString(), "Le complément n'est pas juste.");
+
+        List<String> trous = new ArrayList<>();
+        plans.trous(5, 90, (debut, fin) -> trous.add(debut + "-" + fin));
+        assertEquals(List.of("10-20", "75-90"), trous, "Les trous ne sont pas justes.");
+
+        TimecodeRangeSet tc = TimecodeRangeSet.of(List.of(new IntervalTimecode("00:00:01:00", "00:00:01:24", Framerate.F25)));
+        assertEquals("[25, 50)", tc.toString(), "Les plages ne sont pas justes.");
+        assertEquals("00:00:01:24", tc.toIntervals(Framerate.F25).get(0).getTimecodeOut().toString(), "Le timecode n'est pas juste.");
+    }
+
+    /**
+     * On compare les opérations avec un {@code BitSet} sur des plages au
+     * hasard.
+     */
+    @Test
+    public void testHasard() {
+        Random hasard = new Random(42);
+        int taille = 5_000;
+
+        for (int essai = 0; essai < 50; essai++) {
+            BitSet bits_a = new BitSet();
+            BitSet bits_b = new BitSet();
+            TimecodeRangeSet a = aleatoire(hasard, taille, bits_a);
+            TimecodeRangeSet b = aleatoire(hasard, taille, bits_b);
+
+            BitSet union = (BitSet) bits_a.clone();
+            union.or(bits_b);
+            BitSet intersection = (BitSet) bits_a.clone();
+            intersection.and(bits_b);
+            BitSet difference = (BitSet) bits_a.clone();
+            difference.andNot(bits_b);
+
+            verifier(union, a.union(b), taille);
+            verifier(intersection, a.intersect(b), taille);
+            verifier(difference, a.difference(b), taille);
+
+            BitSet complement = (BitSet) bits_a.clone();
+            complement.flip(0, taille);
+            verifier(complement, a.complement(0, taille), taille);
+        }
+    }
+
+    /**
+     * Construit un ensemble au hasard, avec des ajouts et des retraits.
+     *
+     * @param hasard Le générateur.
+     * @param taille Nombre d'images.
+     * @param bits Reçoit les mêmes images.
+     * @return L'ensemble.
+     */
+    private static TimecodeRangeSet aleatoire(Random hasard, int taille, BitSet bits) {
+        TimecodeRangeSet ensemble = new TimecodeRangeSet();
+
+        for (int i = 0; i < 60; i++) {
+            int debut = hasard.nextInt(taille);
+            int fin = Math.min(taille, debut + 1 + hasard.nextInt(200));
+
+            if (hasard.nextInt(4) == 0) {
+                ensemble.remove(debut, fin);
+                bits.clear(debut, fin);
+            } else {
+                ensemble.add(debut, fin);
+                bits.set(debut, fin);
+            }
+        }
+
+        return ensemble;
+    }
+
+    /**
+     * Vérifie qu'un ensemble contient les mêmes images qu'un {@code BitSet}.
+     *
+     * @param attendu Les images attendues.
+     * @param ensemble L'ensemble.
+     * @param taille Nombre d'images.
+     */
+    private static void verifier(BitSet attendu, TimecodeRangeSet ensemble, int taille) {
+        assertEquals(attendu.cardinality(), ensemble.duree(), "La durée n'est pas juste.");
+        for (int i = 0; i < taille; i++) {
+            if (attendu.get(i) != ensemble.contains(i)) {
+                assertEquals(attendu.get(i), ensemble.contains(i), "L'image " + i + " n'est pas juste.");
+            }
+        }
+        for (int i = 1; i < ensemble.size(); i++) {
+            assertTrue(ensemble.getFin(i - 1) < ensemble.getDebut(i), "Les plages doivent être triées et séparées.");
+        }
+    }
+}
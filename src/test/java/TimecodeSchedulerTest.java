@@ -0,0 +1,177 @@
+import com.phenix.timecode.Framerate;
+import com.phenix.timecode.TimecodeClock;
+import com.phenix.timecode.TimecodeScheduler;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public class TimecodeSchedulerTest {
+
+    /**
+     * On test l'horloge avec une fausse source de temps.
+     */
+    @Test
+    public void testHorloge() {
+        long[] maintenant = {5_000L};
+        TimecodeClock horloge = new TimecodeClock(Framerate.F2997, () -> maintenant[0]);
+
+        assertEquals(0, horloge.getImage(), "Le nombre d'image n'est pas juste.");
+
+        // Une heure en 29,97 : 107892 images.
+        maintenant[0] += 3_600_000_000_000L;
+        assertEquals(107892, horloge.getImage(), "Le nombre d'image n'est pas juste.");
+
+        char[] texte = new char[11];
+        horloge.formatTo(texte, 0);
+        assertEquals("01:00:00;00", new String(texte), "Le timecode n'est pas juste.");
+
+        // Un an : le calcul ne doit pas déborder.
+        maintenant[0] = 5_000L + 365L * 86_400_000_000_000L;
+        assertEquals(365L * 86_400 * 30_000 / 1001, horloge.getImage(), "Le nombre d'image n'est pas juste.");
+
+        // Les bornes des images.
+        horloge.demarrer(1000);
+        for (long image = 1000; image < 1100; image++) {
+            long instant = horloge.getInstant(image);
+            assertEquals(image, horloge.getImage(instant), "L'image ne commence pas au bon instant.");
+            assertEquals(image - 1, horloge.getImage(instant - 1), "L'image ne commence pas au bon instant.");
+        }
+    }
+
+    /**
+     * On test le planificateur contre une liste triée.
+     */
+    @Test
+    public void testPlanificateur() {
+        Random aleatoire = new Random(17);
+        TimecodeScheduler planificateur = new TimecodeScheduler(0);
+        List<long[]> lancees = new ArrayList<>();
+        List<TimecodeScheduler.Cue> cues = new ArrayList<>();
+
+        for (int i = 0; i < 5000; i++) {
+            long image = aleatoire.nextInt(200_000);
+            cues.add(planificateur.planifier(image, tic -> lancees.add(new long[]{image, planificateur.getImage()})));
+        }
+        // Au-delà de la dernière roue.
+        long lointaine = (1L << 32) + 3;
+        cues.add(planificateur.planifier(lointaine, tic -> lancees.add(new long[]{lointaine, planificateur.getImage()})));
+
+        int annulees = 0;
+        for (int i = 0; i < cues.size(); i += 7) {
+            assertTrue(cues.get(i).annuler(), "La cue devrait être annulée.");
+            assertFalse(cues.get(i).annuler(), "La cue est déjà annulée.");
+            annulees++;
+        }
+        assertEquals(cues.size() - annulees, planificateur.size(), "Le nombre de cues n'est pas juste.");
+
+        // Avance par pas irréguliers.
+        long image = -1;
+        while (image < 200_000) {
+            image += 1 + aleatoire.nextInt(40);
+            planificateur.avancer(image);
+        }
+
+        long precedente = -1;
+        for (long[] lancee : lancees) {
+            assertEquals(lancee[0], lancee[1], "La cue n'est pas lancée à la bonne image.");
+            assertTrue(lancee[0] >= precedente, "Les cues ne sont pas dans l'ordre.");
+            precedente = lancee[0];
+        }
+        assertEquals(cues.size() - annulees - 1, lancees.size(), "Le nombre de cues lancées n'est pas juste.");
+
+        planificateur.avancer(lointaine);
+        assertEquals(lointaine, lancees.get(lancees.size() - 1)[0], "La cue lointaine n'est pas lancée.");
+        assertEquals(0, planificateur.size(), "Il ne devrait plus rester de cue.");
+
+        // Une cue dans le passé est lancée au prochain passage.
+        TimecodeScheduler.Cue passee = planificateur.planifier(10, tic -> lancees.add(new long[]{10, tic}));
+        planificateur.avancer(lointaine);
+        assertFalse(passee.isPlanifiee(), "La cue passée devrait être lancée.");
+    }
+
+    /**
+     * On test l'annulation d'une cue de la même image depuis une autre cue.
+     */
+    @Test
+    public void testAnnulationDansAction() {
+        TimecodeScheduler planificateur = new TimecodeScheduler(0);
+        List<String> lancees = new ArrayList<>();
+        TimecodeScheduler.Cue[] b = new TimecodeScheduler.Cue[1];
+
+        planificateur.planifier(5, tic -> {
+            lancees.add("A");
+            assertTrue(b[0].annuler(), "La cue B devrait être annulée.");
+        });
+        b[0] = planificateur.planifier(5, tic -> lancees.add("B"));
+        planificateur.planifier(5, tic -> lancees.add("C"));
+        // La dernière cue de la case annule la précédente, déjà lancée.
+        TimecodeScheduler.Cue[] d = new TimecodeScheduler.Cue[1];
+        d[0] = planificateur.planifier(6, tic -> lancees.add("D"));
+        planificateur.planifier(6, tic -> assertFalse(d[0].annuler(), "La cue D est déjà lancée."));
+
+        planificateur.avancer(10);
+
+        assertEquals(List.of("A", "C", "D"), lancees, "Les cues lancées ne sont pas justes.");
+        assertEquals(0, planificateur.size(), "Il ne devrait plus rester de cue.");
+
+        // La case est encore utilisable après l'annulation.
+        planificateur.planifier(5 + TimecodeScheduler.CASES, tic -> lancees.add("E"));
+        planificateur.avancer(10 + TimecodeScheduler.CASES);
+        assertEquals("E", lancees.get(lancees.size() - 1), "La cue E n'est pas lancée.");
+    }
+
+    /**
+     * On test qu'une action qui lève une exception ne perd pas les suivantes.
+     */
+    @Test
+    public void testExceptionDansAction() {
+        TimecodeScheduler planificateur = new TimecodeScheduler(0);
+        List<String> lancees = new ArrayList<>();
+
+        planificateur.planifier(5, tic -> {
+            throw new IllegalStateException("Erreur de l'action A.");
+        });
+        TimecodeScheduler.Cue b = planificateur.planifier(5, tic -> lancees.add("B"));
+        planificateur.planifier(7, tic -> lancees.add("C"));
+
+        assertThrows(IllegalStateException.class, () -> planificateur.avancer(1000));
+        assertTrue(b.isPlanifiee(), "La cue B devrait encore être planifiée.");
+        assertEquals(2, planificateur.size(), "Le nombre de cues n'est pas juste.");
+
+        planificateur.avancer(1000);
+
+        assertEquals(List.of("B", "C"), lancees, "Les cues lancées ne sont pas justes.");
+        assertFalse(b.isPlanifiee(), "La cue B devrait être lancée.");
+        assertEquals(0, planificateur.size(), "Il ne devrait plus rester de cue.");
+    }
+
+    /**
+     * On test qu'un grand saut ne parcourt pas chaque image.
+     */
+    @Test
+    public void testGrandSaut() {
+        TimecodeScheduler planificateur = new TimecodeScheduler(0);
+        List<Long> lancees = new ArrayList<>();
+
+        long[] images = {3, 70_000, (1L << 32) + 3, (1L << 40) + 12_345};
+        for (long image : images) {
+            planificateur.planifier(image, tic -> lancees.add(planificateur.getImage()));
+        }
+
+        assertTimeout(Duration.ofSeconds(5), () -> planificateur.avancer(1L << 41));
+
+        assertEquals(List.of(3L, 70_000L, (1L << 32) + 3, (1L << 40) + 12_345), lancees, "Les cues ne sont pas lancées à la bonne image.");
+        assertEquals(1L << 41, planificateur.getImage(), "L'image courante n'est pas juste.");
+    }
+}
@@ -0,0 +1,63 @@
+import com.phenix.timecode.Framerate;
+import com.phenix.timecode.Timecode;
+import com.phenix.timecode.TimecodeSort;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public class TimecodeSortTest {
+
+    /**
+     * On compare le tri (séquentiel et parallèle) avec un tri stable.
+     */
+    @Test
+    public void testImages() {
+        Random aleatoire = new Random(21);
+        int[] images = new int[300_000];
+        for (int i = 0; i < images.length; i++) {
+            // Beaucoup de doublons, et quelques négatifs.
+            images[i] = aleatoire.nextInt(2_000_000) - 1000;
+        }
+
+        int[] attendu = IntStream.range(0, images.length).boxed()
+                .sorted(Comparator.comparingInt(i -> images[i]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+
+        assertArrayEquals(attendu, TimecodeSort.trier(images, false), "La permutation n'est pas juste.");
+        assertArrayEquals(attendu, TimecodeSort.trier(images, true), "La permutation n'est pas juste en parallèle.");
+
+        int[] tri = images.clone();
+        Arrays.sort(tri);
+        assertArrayEquals(tri, TimecodeSort.reordonner(images, TimecodeSort.trier(images, true)), "Le tri n'est pas juste.");
+
+        long[] cles = {Long.MAX_VALUE, -5, 0, Long.MIN_VALUE, 7};
+        assertArrayEquals(new int[]{3, 1, 2, 4, 0}, TimecodeSort.trier(cles, false), "La permutation n'est pas juste.");
+    }
+
+    /**
+     * On compare le tri des timecodes avec {@link Arrays#sort(Object[])}.
+     */
+    @Test
+    public void testTimecodes() {
+        Random aleatoire = new Random(21);
+        Framerate[] framerates = {Framerate.F25, Framerate.F2997, Framerate.F2997ND, Framerate.F24};
+        Timecode[] timecodes = new Timecode[5000];
+        for (int i = 0; i < timecodes.length; i++) {
+            timecodes[i] = new Timecode(aleatoire.nextInt(100_000), framerates[aleatoire.nextInt(framerates.length)]);
+        }
+        timecodes[17] = new Timecode();
+
+        Timecode[] attendu = timecodes.clone();
+        Arrays.sort(attendu);
+
+        assertArrayEquals(attendu, TimecodeSort.reordonner(timecodes, TimecodeSort.trier(timecodes, false)), "Le tri n'est pas juste.");
+    }
+}
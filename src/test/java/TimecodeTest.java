@@ -1,13 +1,25 @@
 
 import com.phenix.timecode.Framerate;
+import com.phenix.timecode.PackedTimecode;
 import com.phenix.timecode.Timecode;
-import java.util.InputMismatchException;
+import com.phenix.timecode.TimecodeErreur;
+import com.phenix.timecode.TimecodeOrigine;
+import com.phenix.timecode.TimecodeParser;
+import com.phenix.timecode.TimecodeSort;
+import com.phenix.timecode.exceptions.TimecodeException;
+import com.phenix.timecode.exceptions.TimecodeRuntimeException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeAll;
@@ -61,13 +73,13 @@ public class TimecodeTest {
         assertEquals("-1", tc.toString(), "Quand il n'y a pas de timecode, cela doit retourner '-1'.");
         System.out.println("tc : " + tc.toString());
 
-        InputMismatchException exception_input = assertThrows(InputMismatchException.class, () -> {
+        TimecodeRuntimeException exception_input = assertThrows(TimecodeRuntimeException.class, () -> {
             Timecode tc2 = new Timecode("00:00:00:00:00");
         });
 
         assertNotNull(exception_input.getMessage(), "Le message d'erreur ne peut pas être null.");
 
-        NumberFormatException exception_format = assertThrows(NumberFormatException.class, () -> {
+        TimecodeRuntimeException exception_format = assertThrows(TimecodeRuntimeException.class, () -> {
             Timecode tc3 = new Timecode("null");
         });
 
@@ -217,9 +229,7 @@ public class TimecodeTest {
                 erreur = true;
             }
 
-            if (erreur) {
-                System.out.println(i + " -> TC " + from_image.toImage() + " / " + from_image.toString() + " -> " + from_smpte.toImage() + " / " + from_smpte.toString());
-            }
+            assertFalse(erreur, i + " -> TC " + from_image.toImage() + " / " + from_image.toString() + " -> " + from_smpte.toImage() + " / " + from_smpte.toString());
         }
     }
 
@@ -251,4 +261,175 @@ public class TimecodeTest {
         assertEquals(90000, tc_1h_25.toImage(), "Le nombre d'image n'est pas juste.");
         assertEquals("01:02:30:00", tc_1h_25.toString(), "Le timecode n'est pas juste.");
     }
+
+    /**
+     * On test l'écriture du timecode dans des tampons.
+     */
+    @Test
+    public void testFormatTo() {
+        Timecode tc = new Timecode("10:23:45:12", Framerate.F25);
+
+        StringBuilder sb = new StringBuilder("TC=");
+        tc.formatTo(sb);
+        assertEquals("TC=10:23:45:12", sb.toString(), "Le timecode n'est pas juste.");
+
+        char[] caracteres = new char[13];
+        assertEquals(12, tc.formatTo(caracteres, 1), "L'index retourné n'est pas juste.");
+        assertEquals("10:23:45:12", new String(caracteres, 1, 11), "Le timecode n'est pas juste.");
+
+        ByteBuffer tampon = ByteBuffer.allocate(16);
+        new Timecode(1800, Framerate.F2997).formatTo(tampon);
+        assertEquals(11, tampon.position(), "La position n'est pas juste.");
+        assertEquals("00:01:00;02", new String(tampon.array(), 0, 11, StandardCharsets.US_ASCII), "Le timecode n'est pas juste.");
+
+        assertEquals("100:00:00:00", new Timecode(100, 0, 0, 0, Framerate.F25).toString(), "Le timecode n'est pas juste.");
+        assertThrows(TimecodeRuntimeException.class, () -> new Timecode(100, 0, 0, 0, Framerate.F25).formatTo(caracteres, 0));
+        assertThrows(TimecodeRuntimeException.class, () -> new Timecode().formatTo(tampon));
+    }
+
+    /**
+     * On test les framerates hauts (HFR, sport) et leur fraction exacte.
+     */
+    @Test
+    public void testHauteCadence() {
+        assertEquals(24000, Framerate.F23976.getNumerateur(), "Le numérateur n'est pas juste.");
+        assertEquals(1001, Framerate.F23976.getDenominateur(), "Le dénominateur n'est pas juste.");
+        assertEquals(107892, Framerate.F2997.getImageParHeure(), "Le nombre d'image par heure n'est pas juste.");
+        assertEquals(Framerate.F11988, Framerate.fromValue("120000/1001"), "Le framerate n'est pas juste.");
+        assertEquals(Framerate.F5994ND, Framerate.fromValue(59.94D, false), "Le framerate n'est pas juste.");
+
+        assertEquals(3600 * 50, new Timecode("01:00:00:00", Framerate.F50).toImage(), "Le nombre d'image n'est pas juste.");
+        assertEquals(3600 * 60, new Timecode("01:00:00:00", Framerate.F5994ND).toImage(), "Le nombre d'image n'est pas juste.");
+        assertEquals(3600 * 120, new Timecode("01:00:00:00", Framerate.F11988).toImage(), "Le nombre d'image n'est pas juste.");
+        assertEquals("00:00:01:19", new Timecode(119, Framerate.F100).toString(), "Le timecode n'est pas juste.");
+        assertEquals("00:00:00:119", new Timecode(119, Framerate.F120).toString(), "Le timecode n'est pas juste.");
+        assertSame(Framerate.F48, new Timecode("00:00:00:00", 48D).getFramerateConnu(), "Le framerate n'est pas juste.");
+
+        assertTrue(Timecode.validation("00:00:00:99", Framerate.F100), "Le timecode devrait être valide.");
+        assertFalse(Timecode.validation("00:00:00:50", Framerate.F50), "Le timecode ne devrait pas être valide.");
+    }
+
+    /**
+     * On test le timecode de début partagé et les conversions en lot.
+     *
+     * @throws TimecodeException Le timecode de début n'a pas été renseigné.
+     */
+    @Test
+    public void testOrigine() throws TimecodeException {
+        TimecodeOrigine origine = new TimecodeOrigine("10:00:00:00");
+        assertEquals(900000, origine.getImage(Framerate.F25), "Le nombre d'image n'est pas juste.");
+        assertEquals(1078920, origine.getImage(Framerate.F2997), "Le nombre d'image n'est pas juste.");
+
+        Timecode tc = new Timecode("10:00:01:00", Framerate.F25);
+        tc.setOrigine(origine);
+        assertEquals(25, tc.toImage(true), "Le nombre d'image n'est pas juste.");
+        assertEquals("10:00:00:00", tc.getStartTimecode(), "Le timecode de début n'est pas juste.");
+
+        tc.changeFramerate(Framerate.F24);
+        assertEquals(25, tc.toImage(true), "Le nombre d'image n'est pas juste.");
+        assertEquals("10:00:01:01", tc.toString(), "Le timecode n'est pas juste.");
+
+        int[] images = {900000, 900025, 900250};
+        origine.toImagesUtiles(images, 0, Framerate.F25, images, 0, 3);
+        assertArrayEquals(new int[]{0, 25, 250}, images, "Les images utiles ne sont pas justes.");
+
+        int[] images_24 = new int[3];
+        origine.changeFramerate(new int[]{900000, 900025, 900250}, 0, Framerate.F25, Framerate.F24, images_24, 0, 3);
+        assertArrayEquals(new int[]{864000, 864025, 864250}, images_24, "Le nombre d'image n'est pas juste.");
+
+        // Plages qui se recouvrent dans le même tableau.
+        int[] decale = {0, 25, 250, 0};
+        origine.toImages(decale, 0, Framerate.F25, decale, 1, 3);
+        assertArrayEquals(new int[]{0, 900000, 900025, 900250}, decale, "Le nombre d'image n'est pas juste.");
+        origine.toImagesUtiles(decale, 1, Framerate.F25, decale, 0, 3);
+        assertArrayEquals(new int[]{0, 25, 250, 900250}, decale, "Le nombre d'image n'est pas juste.");
+
+        tc.setStartTimecode(null);
+        assertThrows(TimecodeRuntimeException.class, () -> tc.toImage(true));
+        assertThrows(TimecodeRuntimeException.class, () -> new TimecodeOrigine("10:00"));
+    }
+
+    /**
+     * On test l'ordre, l'égalité et le hash.
+     */
+    @Test
+    public void testComparaison() {
+        Timecode a = new Timecode("01:00:00:00", Framerate.F25);
+        Timecode b = new Timecode(90000, Framerate.F25);
+
+        assertEquals(a, b, "Les timecodes devraient être égaux.");
+        assertEquals(a.hashCode(), b.hashCode(), "Les hash devraient être égaux.");
+        assertEquals(0, a.compareTo(b), "Les timecodes devraient être égaux.");
+
+        assertTrue(a.compareTo(new Timecode("01:00:00:01", Framerate.F25)) < 0, "Le timecode devrait être avant.");
+        assertNotEquals(new Timecode("01:00:00;00", Framerate.F2997), new Timecode("01:00:00:00", Framerate.F2997ND), "Le drop-frame devrait être comparé.");
+        assertTrue(a.compareTo(new Timecode("00:00:00:00", Framerate.F30)) < 0, "Le framerate devrait être comparé en premier.");
+        assertTrue(new Timecode().compareTo(new Timecode(0, 0)) < 0, "Le timecode null devrait être avant.");
+
+        // Même ordre que PackedTimecode, pour tous les framerates.
+        Random aleatoire = new Random(21);
+        Framerate[] framerates = Framerate.values();
+        Timecode[] timecodes = new Timecode[2000];
+        for (int i = 0; i < timecodes.length; i++) {
+            timecodes[i] = new Timecode(aleatoire.nextInt(100_000), framerates[aleatoire.nextInt(framerates.length)]);
+        }
+
+        Timecode[] tries = timecodes.clone();
+        Arrays.sort(tries);
+        PackedTimecode[] compactes = Arrays.stream(timecodes).map(PackedTimecode::of).sorted().toArray(PackedTimecode[]::new);
+        Timecode[] radix = TimecodeSort.reordonner(timecodes, TimecodeSort.trier(timecodes, false));
+
+        for (int i = 0; i < timecodes.length; i++) {
+            assertEquals(compactes[i], PackedTimecode.of(tries[i]), "L'ordre n'est pas le même que PackedTimecode.");
+            assertEquals(compactes[i], PackedTimecode.of(radix[i]), "L'ordre n'est pas le même que PackedTimecode.");
+        }
+    }
+
+    /**
+     * On test que le {@link Framerate} est gardé par les modifications.
+     */
+    @Test
+    public void testFramerateConnu() throws TimecodeException {
+        Timecode tc = new Timecode("01:00:00;00", Framerate.F2997);
+        assertSame(Framerate.F2997, tc.getFramerateConnu(), "Le framerate n'est pas juste.");
+
+        tc.addFrame(10);
+        assertSame(Framerate.F2997, tc.getFramerateConnu(), "Le framerate n'est pas juste.");
+
+        tc.setStartTimecode("00:00:00;00");
+        assertSame(Framerate.F2997, tc.getFramerateConnu(), "Le framerate n'est pas juste.");
+
+        // Le drop-frame du Framerate est repris.
+        tc.changeFramerate(Framerate.F2997ND);
+        assertSame(Framerate.F2997ND, tc.getFramerateConnu(), "Le framerate n'est pas juste.");
+        assertFalse(tc.isDropFrame(), "Cela ne doit pas être drop-frame.");
+        assertEquals(107902, tc.toImage(), "Le nombre d'image n'est pas juste.");
+
+        // Les constructeurs en double retrouvent le Framerate.
+        assertSame(Framerate.F5994, new Timecode(0, 59.94D, true).getFramerateConnu(), "Le framerate n'est pas juste.");
+    }
+
+    /**
+     * On test les images sur trois chiffres au-dessus de 100is.
+     */
+    @Test
+    public void testImageTroisChiffres() {
+        Timecode tc = new Timecode(110, Framerate.F120);
+        String smpte = tc.toString();
+        assertEquals("00:00:00:110", smpte, "Le timecode n'est pas juste.");
+
+        assertTrue(Timecode.validation(smpte, Framerate.F120), "Le timecode devrait être valide.");
+        assertEquals(110, TimecodeParser.analyser(smpte, Framerate.F120), "Le nombre d'image n'est pas juste.");
+        assertEquals(TimecodeErreur.IMAGE, TimecodeParser.valider("00:00:00:120", Framerate.F120), "L'erreur n'est pas juste.");
+        assertEquals(TimecodeErreur.LONGUEUR, TimecodeParser.valider(smpte, Framerate.F25), "L'erreur n'est pas juste.");
+
+        char[] caracteres = new char[12];
+        assertEquals(12, tc.formatTo(caracteres, 0), "L'index de fin n'est pas juste.");
+        assertEquals(smpte, new String(caracteres), "Le timecode n'est pas juste.");
+
+        ByteBuffer tampon = ByteBuffer.allocate(12);
+        tc.formatTo(tampon);
+        assertEquals(smpte, new String(tampon.array(), StandardCharsets.US_ASCII), "Le timecode n'est pas juste.");
+        assertEquals(110, TimecodeParser.analyser(tampon, 0, 12, Framerate.F11988), "Le nombre d'image n'est pas juste.");
+    }
 }
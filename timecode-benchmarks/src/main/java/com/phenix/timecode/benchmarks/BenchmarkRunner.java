@@ -0,0 +1,45 @@
+package com.phenix.timecode.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Lance les benchmarks en ajoutant toujours le profiler GC, pour avoir le
+ * débit et le taux d'allocation ("<em>gc.alloc.rate.norm</em>") de chaque
+ * méthode.<br>
+ * Les arguments habituels de JMH restent utilisables, par exemple :
+ * "<em>java -jar target/benchmarks.jar TimecodeConstructionBenchmark -p
+ * framerate=F25</em>".
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+public final class BenchmarkRunner {
+
+    /**
+     * Classe de lancement.
+     */
+    private BenchmarkRunner() {
+    }
+
+    /**
+     * Lance les benchmarks.
+     *
+     * @param args Arguments JMH.
+     *
+     * @throws CommandLineOptionException Les arguments ne sont pas valides.
+     * @throws RunnerException Erreur pendant l'exécution des benchmarks.
+     */
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,121 @@
+package com.phenix.timecode.benchmarks;
+
+import com.phenix.timecode.Framerate;
+import com.phenix.timecode.Timecode;
+import com.phenix.timecode.TimecodeArrays;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compare la conversion en masse de {@link TimecodeArrays} à la création d'un
+ * {@link Timecode} par élément (le score est donné par timecode).
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TimecodeArraysBenchmark {
+
+    /**
+     * Nombre de timecodes par lot.
+     */
+    private static final int NOMBRE = 4096;
+
+    /**
+     * Le framerate testé (les {@link Framerate} dont les images tiennent sur
+     * deux chiffres).
+     */
+    @Param({"F23976", "F24", "F25", "F2997", "F2997ND", "F30", "F5994", "F48", "F50", "F5994ND", "F60", "F100"})
+    public Framerate framerate;
+
+    /**
+     * Les timecodes en ASCII, séparés par un retour à la ligne.
+     */
+    private byte[] smpte;
+
+    /**
+     * Les timecodes en {@code String}.
+     */
+    private String[] smpte_string;
+
+    /**
+     * Les nombres d'images.
+     */
+    private int[] images;
+
+    /**
+     * Prépare les lots.
+     */
+    @Setup
+    public void setUp() {
+        this.images = new int[NOMBRE];
+        this.smpte = new byte[NOMBRE * 12];
+        this.smpte_string = new String[NOMBRE];
+
+        for (int i = 0; i < NOMBRE; i++) {
+            this.images[i] = i * 997;
+            this.smpte[12 * i + 11] = '\n';
+        }
+
+        TimecodeArrays.toSmpte(this.images, 0, NOMBRE, this.framerate, this.smpte, 0, 12);
+
+        for (int i = 0; i < NOMBRE; i++) {
+            this.smpte_string[i] = new String(this.smpte, 12 * i, 11, StandardCharsets.US_ASCII);
+        }
+    }
+
+    /**
+     * Lot de timecodes SMPTE vers nombres d'images.
+     *
+     * @return Les nombres d'images.
+     */
+    @Benchmark
+    @OperationsPerInvocation(NOMBRE)
+    public int[] toImages() {
+        TimecodeArrays.toImages(this.smpte, 0, 12, this.framerate, this.images, 0, NOMBRE);
+        return this.images;
+    }
+
+    /**
+     * Lot de nombres d'images vers timecodes SMPTE.
+     *
+     * @return Les timecodes en ASCII.
+     */
+    @Benchmark
+    @OperationsPerInvocation(NOMBRE)
+    public byte[] toSmpte() {
+        TimecodeArrays.toSmpte(this.images, 0, NOMBRE, this.framerate, this.smpte, 0, 12);
+        return this.smpte;
+    }
+
+    /**
+     * Même conversion que {@link #toImages()} en créant un {@link Timecode}
+     * par élément.
+     *
+     * @return Les nombres d'images.
+     */
+    @Benchmark
+    @OperationsPerInvocation(NOMBRE)
+    public int[] toImagesParTimecode() {
+        for (int i = 0; i < NOMBRE; i++) {
+            this.images[i] = new Timecode(this.smpte_string[i], this.framerate).toImage();
+        }
+        return this.images;
+    }
+}
@@ -0,0 +1,111 @@
+package com.phenix.timecode.benchmarks;
+
+import com.phenix.timecode.Framerate;
+import com.phenix.timecode.Timecode;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Mesure les différents constructeurs de {@link Timecode}.
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TimecodeConstructionBenchmark {
+
+    /**
+     * Le framerate testé (tous les {@link Framerate} par défaut).
+     */
+    @Param
+    public Framerate framerate;
+
+    /**
+     * Timecode en {@code String}.
+     */
+    private String smpte;
+
+    /**
+     * Timecode en nombre d'images.
+     */
+    private int nombre_image;
+
+    /**
+     * Heure du timecode.
+     */
+    private int heure;
+
+    /**
+     * Minute du timecode.
+     */
+    private int minute;
+
+    /**
+     * Seconde du timecode.
+     */
+    private int seconde;
+
+    /**
+     * Image du timecode.
+     */
+    private int image;
+
+    /**
+     * Prépare les valeurs d'entrée.
+     */
+    @Setup
+    public void setUp() {
+        Timecode tc = new Timecode(10, 23, 45, 12, this.framerate);
+
+        this.smpte = tc.toString();
+        this.nombre_image = tc.toImage();
+        this.heure = 10;
+        this.minute = 23;
+        this.seconde = 45;
+        this.image = 12;
+    }
+
+    /**
+     * Construction depuis un {@code String}.
+     *
+     * @return Le timecode.
+     */
+    @Benchmark
+    public Timecode depuisString() {
+        return new Timecode(this.smpte, this.framerate);
+    }
+
+    /**
+     * Construction depuis un nombre d'images.
+     *
+     * @return Le timecode.
+     */
+    @Benchmark
+    public Timecode depuisNombreImage() {
+        return new Timecode(this.nombre_image, this.framerate);
+    }
+
+    /**
+     * Construction depuis heure, minute, seconde et image.
+     *
+     * @return Le timecode.
+     */
+    @Benchmark
+    public Timecode depuisChamps() {
+        return new Timecode(this.heure, this.minute, this.seconde, this.image, this.framerate);
+    }
+}
@@ -0,0 +1,136 @@
+package com.phenix.timecode.benchmarks;
+
+import com.phenix.timecode.Framerate;
+import com.phenix.timecode.Timecode;
+import com.phenix.timecode.exceptions.TimecodeException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Mesure les conversions d'un {@link Timecode} existant : nombre d'images,
+ * représentation SMPTE (NDF ou drop-frame selon le framerate), changement de
+ * framerate et ajout d'images.
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TimecodeConversionBenchmark {
+
+    /**
+     * Le framerate testé (tous les {@link Framerate} par défaut).
+     */
+    @Param
+    public Framerate framerate;
+
+    /**
+     * Timecode construit depuis un {@code String}.
+     */
+    private Timecode depuis_string;
+
+    /**
+     * Timecode construit depuis un nombre d'images.
+     */
+    private Timecode depuis_nombre_image;
+
+    /**
+     * Framerate vers lequel on convertit.
+     */
+    private Framerate cible;
+
+    /**
+     * Prépare les timecodes.
+     */
+    @Setup
+    public void setUp() {
+        this.depuis_string = new Timecode("10:23:45:12", this.framerate);
+        this.depuis_string.setStartTimecode("10:00:00:00");
+
+        this.depuis_nombre_image = new Timecode(this.depuis_string.toImage(), this.framerate);
+        this.depuis_nombre_image.setStartTimecode("10:00:00:00");
+
+        this.cible = (this.framerate == Framerate.F25) ? Framerate.F24 : Framerate.F25;
+    }
+
+    /**
+     * Nombre d'images d'un timecode construit depuis un {@code String}.
+     *
+     * @return Le nombre d'images.
+     */
+    @Benchmark
+    public int toImage() {
+        return this.depuis_string.toImage();
+    }
+
+    /**
+     * Nombre d'images utiles (depuis le timecode de début).
+     *
+     * @return Le nombre d'images utiles.
+     */
+    @Benchmark
+    public int toImageUtile() {
+        return this.depuis_string.toImage(true);
+    }
+
+    /**
+     * Représentation SMPTE d'un timecode construit depuis un {@code String}.
+     *
+     * @return Le timecode en {@code String}.
+     */
+    @Benchmark
+    public String toStringDepuisString() {
+        return this.depuis_string.toString();
+    }
+
+    /**
+     * Représentation SMPTE d'un timecode construit depuis un nombre
+     * d'images.
+     *
+     * @return Le timecode en {@code String}.
+     */
+    @Benchmark
+    public String toStringDepuisNombreImage() {
+        return this.depuis_nombre_image.toString();
+    }
+
+    /**
+     * Aller-retour de framerate (vers {@code cible} puis retour), pour que
+     * l'état du timecode reste stable entre deux appels.
+     *
+     * @return Le nombre d'images après l'aller-retour.
+     *
+     * @throws TimecodeException Le timecode de début n'a pas été renseigné.
+     */
+    @Benchmark
+    public int changeFramerate() throws TimecodeException {
+        this.depuis_nombre_image.changeFramerate(this.cible);
+        this.depuis_nombre_image.changeFramerate(this.framerate);
+        return this.depuis_nombre_image.toImage();
+    }
+
+    /**
+     * Ajoute puis retire une image, pour que le timecode ne dérive pas.
+     *
+     * @return Le nombre d'images après l'ajout.
+     */
+    @Benchmark
+    public int addFrame() {
+        this.depuis_nombre_image.addFrame(1);
+        this.depuis_nombre_image.addFrame(-1);
+        return this.depuis_nombre_image.toImage();
+    }
+}
@@ -0,0 +1,133 @@
+package com.phenix.timecode.benchmarks;
+
+import com.phenix.timecode.Framerate;
+import com.phenix.timecode.IntervalTimecode;
+import com.phenix.timecode.Timecode;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Mesure la validation de timecode, l'appartenance à un interval et la
+ * recherche d'un {@link Framerate}.
+ *
+ * @author <a href="mailto:edouard128@hotmail.com">Edouard Jeanjean</a>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TimecodeValidationBenchmark {
+
+    /**
+     * Le framerate testé (tous les {@link Framerate} par défaut).
+     */
+    @Param
+    public Framerate framerate;
+
+    /**
+     * Timecode valide.
+     */
+    private String valide;
+
+    /**
+     * Timecode non valide (minute hors limite).
+     */
+    private String non_valide;
+
+    /**
+     * Interval de référence.
+     */
+    private IntervalTimecode interval;
+
+    /**
+     * Timecode dans l'interval.
+     */
+    private Timecode dedans;
+
+    /**
+     * Valeur du framerate en {@code String}.
+     */
+    private String valeur_string;
+
+    /**
+     * Valeur du framerate en {@code double}.
+     */
+    private double valeur_double;
+
+    /**
+     * Prépare les valeurs d'entrée.
+     */
+    @Setup
+    public void setUp() {
+        this.valide = new Timecode(10, 23, 45, 12, this.framerate).toString();
+        this.non_valide = "10:73:45:12";
+
+        this.interval = new IntervalTimecode("10:00:00:00", "11:00:00:00", this.framerate);
+        this.dedans = new Timecode("10:23:45:12", this.framerate);
+
+        this.valeur_double = this.framerate.getValeur();
+        this.valeur_string = Double.toString(this.valeur_double);
+    }
+
+    /**
+     * Validation d'un timecode correct.
+     *
+     * @return Le résultat de la validation.
+     */
+    @Benchmark
+    public boolean validationValide() {
+        return Timecode.validation(this.valide, this.framerate);
+    }
+
+    /**
+     * Validation d'un timecode incorrect.
+     *
+     * @return Le résultat de la validation.
+     */
+    @Benchmark
+    public boolean validationNonValide() {
+        return Timecode.validation(this.non_valide, this.framerate);
+    }
+
+    /**
+     * Appartenance d'un timecode à un interval.
+     *
+     * @return {@code true} si le timecode est dans l'interval.
+     */
+    @Benchmark
+    public boolean dedans() {
+        return this.interval.dedans(this.dedans);
+    }
+
+    /**
+     * Recherche d'un framerate depuis un {@code String}.
+     *
+     * @return Le framerate trouvé.
+     */
+    @Benchmark
+    public Framerate fromValueString() {
+        return Framerate.fromValue(this.valeur_string);
+    }
+
+    /**
+     * Recherche d'un framerate depuis un {@code double}.
+     *
+     * @return Le framerate trouvé.
+     */
+    @Benchmark
+    public Framerate fromValueDouble() {
+        return Framerate.fromValue(this.valeur_double);
+    }
+}